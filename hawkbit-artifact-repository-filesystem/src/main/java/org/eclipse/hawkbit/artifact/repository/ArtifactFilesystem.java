@@ -12,7 +12,13 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
 
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
@@ -46,4 +52,21 @@ public class ArtifactFilesystem extends AbstractDbArtifact {
             throw Throwables.propagate(e);
         }
     }
+
+    @Override
+    public Optional<Path> getFilePath() {
+        return Optional.of(file.toPath());
+    }
+
+    @Override
+    // suppress warning, this channel needs to be closed by the caller, this
+    // cannot be closed in this method
+    @SuppressWarnings("squid:S2095")
+    public Optional<SeekableByteChannel> openSeekableChannel() {
+        try {
+            return Optional.of(Files.newByteChannel(file.toPath(), StandardOpenOption.READ));
+        } catch (final IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
 }
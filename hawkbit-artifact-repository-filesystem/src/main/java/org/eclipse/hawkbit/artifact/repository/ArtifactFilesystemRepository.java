@@ -10,8 +10,11 @@ package org.eclipse.hawkbit.artifact.repository;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
@@ -20,7 +23,6 @@ import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.springframework.validation.annotation.Validated;
 
 import com.google.common.base.Splitter;
-import com.google.common.io.Files;
 
 /**
  * Implementation of the {@link ArtifactRepository} to store artifacts on the
@@ -33,10 +35,18 @@ import com.google.common.io.Files;
  * Due the limit of many file-systems of files within one directory, the files
  * are stored in different sub-directories based on the last four digits of the
  * SHA1-hash {@code (/basepath/[two digit sha1]/[two digit sha1])}.
+ * 
+ * Uploads are written into a staging directory within the base directory and
+ * afterwards moved to their final location, i.e. on the same file-system
+ * without copying the binary a second time.
  */
 @Validated
 public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
 
+    private static final String STAGING_DIRECTORY = ".staging";
+    private static final String STAGING_FILE_PREFIX = "upload";
+    private static final String STAGING_FILE_SUFFIX = ".tmp";
+
     private final ArtifactFilesystemProperties artifactResourceProperties;
 
     /**
@@ -72,19 +82,40 @@ public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
         return renameFileToSHA1Naming(tenant, file, new ArtifactFilesystem(file, base16Hashes.getSha1(), base16Hashes, file.length(), contentType));
     }
 
+    @Override
+    protected File createTempFile() {
+        try {
+            final Path stagingDirectory = Files
+                    .createDirectories(Paths.get(artifactResourceProperties.getPath(), STAGING_DIRECTORY));
+            return Files.createTempFile(stagingDirectory, STAGING_FILE_PREFIX, STAGING_FILE_SUFFIX).toFile();
+        } catch (final IOException e) {
+            throw new ArtifactStoreException("Cannot create staging file", e);
+        }
+    }
+
     private ArtifactFilesystem renameFileToSHA1Naming(final String tenant, final File file,
             final AbstractDbArtifact artifact) throws IOException {
         final File fileSHA1Naming = getFile(tenant, artifact.getHashes().getSha1());
         if (fileSHA1Naming.exists()) {
             FileUtils.deleteQuietly(file);
         } else {
-            Files.move(file, fileSHA1Naming);
+            moveFile(file.toPath(), fileSHA1Naming.toPath());
         }
 
         return new ArtifactFilesystem(fileSHA1Naming, artifact.getArtifactId(), artifact.getHashes(),
                 artifact.getSize(), artifact.getContentType());
     }
 
+    private static void moveFile(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            // staging file is not on the same file-system, e.g. on a custom
+            // temp file location
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     private File getFile(final String tenant, final String sha1) {
         final File aritfactDirectory = getSha1DirectoryPath(tenant, sha1).toFile();
         aritfactDirectory.mkdirs();
@@ -13,6 +13,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Random;
 
 import org.apache.commons.io.FileUtils;
@@ -73,6 +74,18 @@ public class ArtifactFilesystemRepositoryTest {
         assertThat(readContent).isEqualTo(fileContent);
     }
 
+    @Test
+    @Description("Verfies that an upload is staged within the repository base directory and moved into place")
+    public void storeMovesStagingFileIntoPlace() throws IOException {
+        final byte[] fileContent = randomBytes();
+        final AbstractDbArtifact artifact = storeRandomArtifact(fileContent);
+
+        assertThat(artifact.getFilePath()).hasValueSatisfying(
+                path -> assertThat(path).startsWith(Paths.get(artifactResourceProperties.getPath())));
+        assertThat(Paths.get(artifactResourceProperties.getPath(), ".staging")).isDirectory();
+        assertThat(Paths.get(artifactResourceProperties.getPath(), ".staging").toFile().list()).isEmpty();
+    }
+
     @Test
     @Description("Verfies that an artifact can be successfully stored in the file-system repository")
     public void getStoredArtifactBasedOnSHA1Hash() {
@@ -13,6 +13,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import org.apache.commons.io.IOUtils;
 import org.assertj.core.api.Assertions;
@@ -52,4 +56,33 @@ public class ArtifactFilesystemTest {
         final byte[] buffer = new byte[1024];
         IOUtils.read(underTest.getFileInputStream(), buffer);
     }
+
+    @Test
+    @Description("Verifies that the file system artifact exposes the path of its backing file")
+    public void filePathOfFileBackedArtifact() throws IOException {
+        final File createTempFile = File.createTempFile(ArtifactFilesystemTest.class.getSimpleName(), "");
+        createTempFile.deleteOnExit();
+
+        final ArtifactFilesystem underTest = new ArtifactFilesystem(createTempFile,
+                ArtifactFilesystemTest.class.getSimpleName(), new DbArtifactHash("1", "2", "3"), 0L, null);
+
+        assertThat(underTest.getFilePath()).contains(createTempFile.toPath());
+    }
+
+    @Test
+    @Description("Verifies that the file system artifact can be read at an arbitrary position")
+    public void positionalReadOfFileBackedArtifact() throws IOException {
+        final File createTempFile = File.createTempFile(ArtifactFilesystemTest.class.getSimpleName(), "");
+        createTempFile.deleteOnExit();
+        Files.write(createTempFile.toPath(), "0123456789".getBytes(StandardCharsets.US_ASCII));
+
+        final ArtifactFilesystem underTest = new ArtifactFilesystem(createTempFile,
+                ArtifactFilesystemTest.class.getSimpleName(), new DbArtifactHash("1", "2", "3"), 10L, null);
+
+        try (SeekableByteChannel channel = underTest.openSeekableChannel().get()) {
+            final ByteBuffer buffer = ByteBuffer.allocate(3);
+            channel.position(7).read(buffer);
+            assertThat(new String(buffer.array(), StandardCharsets.US_ASCII)).isEqualTo("789");
+        }
+    }
 }
@@ -8,21 +8,22 @@
  */
 package org.eclipse.hawkbit.autoconfigure.cache;
 
+import org.eclipse.hawkbit.cache.BoundedCaffeineCacheManager;
 import org.eclipse.hawkbit.cache.TenancyCacheManager;
 import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.CacheEvictionEventListener;
+import org.eclipse.hawkbit.repository.CacheEvictionEventPublisher;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-
 /**
  * A configuration for configuring the spring {@link CacheManager} for specific
  * multi-tenancy caching. The caches between tenants must not interfere each
@@ -30,6 +31,9 @@ import com.github.benmanes.caffeine.cache.Caffeine;
  *
  * This is done by providing a special {@link TenantCacheResolver} which
  * generates a cache name included the current tenant.
+ *
+ * The caches are bounded and the evictions of tenant cache entries are
+ * propagated to the other nodes of the cluster by remote events.
  */
 @Configuration
 @EnableCaching
@@ -43,8 +47,21 @@ public class CacheAutoConfiguration {
     @ConditionalOnMissingBean
     @Primary
     TenancyCacheManager cacheManager(@Qualifier("directCacheManager") final CacheManager directCacheManager,
-            final TenantAware tenantAware) {
-        return new TenantAwareCacheManager(directCacheManager, tenantAware);
+            final TenantAware tenantAware, final CacheProperties cacheProperties,
+            final EventPublisherHolder eventPublisherHolder) {
+        return new TenantAwareCacheManager(directCacheManager, tenantAware, cacheProperties.isPropagateEvictions()
+                ? new CacheEvictionEventPublisher(eventPublisherHolder) : null);
+    }
+
+    /**
+     * @return the listener which applies the evictions of the other nodes of
+     *         the cluster
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    CacheEvictionEventListener cacheEvictionEventListener(final TenancyCacheManager cacheManager,
+            final EventPublisherHolder eventPublisherHolder) {
+        return new CacheEvictionEventListener(cacheManager, eventPublisherHolder);
     }
 
     /**
@@ -65,15 +82,8 @@ public class CacheAutoConfiguration {
         @Bean(name = "directCacheManager")
         @ConditionalOnMissingBean(name = "directCacheManager")
         public CacheManager directCacheManager(final CacheProperties cacheProperties) {
-            final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-
-            if (cacheProperties.getTtl() > 0) {
-                final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
-                        .expireAfterWrite(cacheProperties.getTtl(), cacheProperties.getTtlUnit());
-                cacheManager.setCaffeine(cacheBuilder);
-            }
-
-            return cacheManager;
+            return new BoundedCaffeineCacheManager(cacheProperties.getMaximumSize(),
+                    cacheProperties.getMaximumSizes(), cacheProperties.getTtl(), cacheProperties.getTtlUnit());
         }
 
     }
@@ -8,6 +8,8 @@
  */
 package org.eclipse.hawkbit.autoconfigure.cache;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -15,7 +17,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 /**
  * Properties for configuring the cache within a cluster. The TTL (time to live)
  * is used for the lifetime limit of data in caches. After lifetime the data
- * gets reloaded out of the database.
+ * gets reloaded out of the database. The evictions of entries are propagated
+ * to the other nodes of the cluster, so the TTL is only a safety net.
  */
 @ConfigurationProperties("hawkbit.cache.global")
 public class CacheProperties {
@@ -30,6 +33,23 @@ public class CacheProperties {
      */
     private int initialDelay;
 
+    /**
+     * Maximum number of entries of every cache of a tenant, 0 for no bound.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * Maximum number of entries per cache name, overrides the
+     * {@link #maximumSize} for the given caches.
+     */
+    private final Map<String, Long> maximumSizes = new HashMap<>();
+
+    /**
+     * Propagates the evictions of tenant cache entries to the other nodes of
+     * the cluster.
+     */
+    private boolean propagateEvictions = true;
+
     public long getInitialDelay() {
         return initialDelay;
     }
@@ -46,6 +66,26 @@ public class CacheProperties {
         this.ttl = ttl;
     }
 
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(final long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Map<String, Long> getMaximumSizes() {
+        return maximumSizes;
+    }
+
+    public boolean isPropagateEvictions() {
+        return propagateEvictions;
+    }
+
+    public void setPropagateEvictions(final boolean propagateEvictions) {
+        this.propagateEvictions = propagateEvictions;
+    }
+
     public final TimeUnit getTtlUnit() {
         return TimeUnit.MILLISECONDS;
     }
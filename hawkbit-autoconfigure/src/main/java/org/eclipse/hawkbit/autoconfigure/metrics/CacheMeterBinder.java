@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+import org.eclipse.hawkbit.cache.BoundedCaffeineCacheManager;
+import org.eclipse.hawkbit.cache.BoundedCaffeineCacheManager.CacheStatistics;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the statistics of the tenant caches. The caches of the tenants beyond
+ * the tenant tag limit are aggregated. Caches are created lazily, so the
+ * meters of new caches are registered periodically.
+ *
+ * The meters read an aggregated snapshot of the statistics of all caches,
+ * which is taken at most once per {@value #SNAPSHOT_MAX_AGE} millis, i.e. once
+ * per scrape of the registry instead of once per meter.
+ */
+public class CacheMeterBinder implements MeterBinder {
+
+    static final String HITS = "hawkbit.cache.hits";
+    static final String MISSES = "hawkbit.cache.misses";
+    static final String CACHE_TAG = "cache";
+    static final String TENANT_TAG = "tenant";
+
+    private static final long SNAPSHOT_MAX_AGE = 1_000;
+
+    private final BoundedCaffeineCacheManager cacheManager;
+    private final TenantTagLimiter tenantTags;
+    private final Map<List<String>, List<Meter>> registered = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), 0);
+
+    /**
+     * Constructor.
+     *
+     * @param cacheManager
+     *            the manager of the tenant caches
+     * @param tenantTags
+     *            to limit the number of tenant tags
+     */
+    public CacheMeterBinder(final BoundedCaffeineCacheManager cacheManager, final TenantTagLimiter tenantTags) {
+        this.cacheManager = cacheManager;
+        this.tenantTags = tenantTags;
+        tenantTags.addReleasedTagListener(this::removeMeters);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        this.registry = registry;
+        refresh();
+    }
+
+    /**
+     * Registers the meters of the caches which have been created since the
+     * last refresh.
+     */
+    @Scheduled(initialDelayString = "${hawkbit.metrics.cache-refresh-interval:60000}", fixedDelayString = "${hawkbit.metrics.cache-refresh-interval:60000}")
+    public void refresh() {
+        final MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            return;
+        }
+        takeSnapshot().values.keySet()
+                .forEach(key -> registered.computeIfAbsent(key, newKey -> bind(meterRegistry, newKey)));
+    }
+
+    private void removeMeters(final Set<String> releasedTenantTags) {
+        final MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            return;
+        }
+        // the caches of the released tenants are aggregated in the tag OTHER
+        // from now on, which is registered by the next refresh
+        registered.entrySet().removeIf(entry -> {
+            if (!releasedTenantTags.contains(entry.getKey().get(0))) {
+                return false;
+            }
+            entry.getValue().forEach(meterRegistry::remove);
+            return true;
+        });
+    }
+
+    private List<Meter> bind(final MeterRegistry meterRegistry, final List<String> key) {
+        final String tenant = key.get(0);
+        final String cacheName = key.get(1);
+        return Arrays.asList(
+                Gauge.builder("hawkbit.cache.size", this, binder -> binder.get(key, CacheValues::getSize))
+                        .description("Approximate number of cache entries").tag(CACHE_TAG, cacheName)
+                        .tag(TENANT_TAG, tenant).register(meterRegistry),
+                FunctionCounter.builder(HITS, this, binder -> binder.get(key, CacheValues::getHitCount))
+                        .description("Cache hits").tag(CACHE_TAG, cacheName).tag(TENANT_TAG, tenant)
+                        .register(meterRegistry),
+                FunctionCounter.builder(MISSES, this, binder -> binder.get(key, CacheValues::getMissCount))
+                        .description("Cache misses").tag(CACHE_TAG, cacheName).tag(TENANT_TAG, tenant)
+                        .register(meterRegistry),
+                FunctionCounter
+                        .builder("hawkbit.cache.evictions", this,
+                                binder -> binder.get(key, CacheValues::getEvictionCount))
+                        .description("Cache entries evicted because of the size bound").tag(CACHE_TAG, cacheName)
+                        .tag(TENANT_TAG, tenant).register(meterRegistry));
+    }
+
+    private double get(final List<String> key, final ToLongFunction<CacheValues> value) {
+        Snapshot current = snapshot;
+        if (System.currentTimeMillis() - current.time > SNAPSHOT_MAX_AGE) {
+            current = takeSnapshot();
+        }
+        final CacheValues values = current.values.get(key);
+        return values == null ? 0 : value.applyAsLong(values);
+    }
+
+    private Snapshot takeSnapshot() {
+        final Map<List<String>, CacheValues> values = new HashMap<>();
+        for (final CacheStatistics statistics : cacheManager.getStatistics()) {
+            values.computeIfAbsent(
+                    Arrays.asList(tenantTags.getTag(statistics.getTenant()), statistics.getCacheName()),
+                    key -> new CacheValues()).add(statistics);
+        }
+        final Snapshot taken = new Snapshot(values, System.currentTimeMillis());
+        snapshot = taken;
+        return taken;
+    }
+
+    private static final class Snapshot {
+        private final Map<List<String>, CacheValues> values;
+        private final long time;
+
+        private Snapshot(final Map<List<String>, CacheValues> values, final long time) {
+            this.values = values;
+            this.time = time;
+        }
+    }
+
+    /**
+     * Statistics of the caches of a tenant tag and cache name.
+     */
+    private static final class CacheValues {
+        private long size;
+        private long hitCount;
+        private long missCount;
+        private long evictionCount;
+
+        private void add(final CacheStatistics statistics) {
+            size += statistics.getSize();
+            hitCount += statistics.getHitCount();
+            missCount += statistics.getMissCount();
+            evictionCount += statistics.getEvictionCount();
+        }
+
+        private long getSize() {
+            return size;
+        }
+
+        private long getHitCount() {
+            return hitCount;
+        }
+
+        private long getMissCount() {
+            return missCount;
+        }
+
+        private long getEvictionCount() {
+            return evictionCount;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times the requests of the DDI API per endpoint, i.e. per request mapping
+ * pattern and not per controller ID, tagged with the outcome and the tenant.
+ */
+public class DdiMetricsInterceptor extends HandlerInterceptorAdapter {
+
+    static final String METRIC_NAME = "hawkbit.ddi.requests";
+
+    private static final String START_ATTRIBUTE = DdiMetricsInterceptor.class.getName() + ".start";
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final int TENANT_INDEX = 3;
+
+    private final MeterRegistry meterRegistry;
+    private final TenantTagLimiter tenantTags;
+    private final Map<List<String>, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry
+     *            to register the timers
+     * @param tenantTags
+     *            to limit the number of tenant tags
+     */
+    public DdiMetricsInterceptor(final MeterRegistry meterRegistry, final TenantTagLimiter tenantTags) {
+        this.meterRegistry = meterRegistry;
+        this.tenantTags = tenantTags;
+        tenantTags.addReleasedTagListener(this::removeTimers);
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+            final Object handler) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+            final Object handler, final Exception ex) {
+        final Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long)) {
+            return;
+        }
+
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        getTimer(pattern == null ? UNKNOWN : pattern.toString(), request.getMethod(),
+                getOutcome(response.getStatus(), ex), tenantTags.toTag(getTenant(request)))
+                        .record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer getTimer(final String endpoint, final String method, final String outcome, final String tenant) {
+        return timers.computeIfAbsent(Arrays.asList(endpoint, method, outcome, tenant),
+                key -> Timer.builder(METRIC_NAME).description("Requests of the DDI API").tag("endpoint", endpoint)
+                        .tag("method", method).tag("outcome", outcome).tag("tenant", tenant)
+                        .register(meterRegistry));
+    }
+
+    private void removeTimers(final Set<String> releasedTenantTags) {
+        timers.entrySet().removeIf(entry -> {
+            if (!releasedTenantTags.contains(entry.getKey().get(TENANT_INDEX))) {
+                return false;
+            }
+            meterRegistry.remove(entry.getValue());
+            return true;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String getTenant(final HttpServletRequest request) {
+        final Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables instanceof Map ? ((Map<String, String>) variables).get("tenant") : null;
+    }
+
+    private static String getOutcome(final int status, final Exception ex) {
+        if (ex != null && status < 400) {
+            // the exception has not been mapped to an error response
+            return "SERVER_ERROR";
+        }
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        if (status >= 400) {
+            return "CLIENT_ERROR";
+        }
+        if (status >= 300) {
+            return "REDIRECTION";
+        }
+        return "SUCCESS";
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.amqp.AmqpMessageHandlerService;
+import org.eclipse.hawkbit.amqp.MessageTypeStatistics;
+import org.eclipse.hawkbit.amqp.PartitionedMessageProcessor;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the processing times of the DMF messages per message type and, if the
+ * inbound messages are processed in partitions, the queue depths and latencies
+ * of the partitions.
+ */
+public class DmfMeterBinder implements MeterBinder {
+
+    private final AmqpMessageHandlerService amqpMessageHandlerService;
+
+    /**
+     * Constructor.
+     *
+     * @param amqpMessageHandlerService
+     *            the handler of the inbound DMF messages
+     */
+    public DmfMeterBinder(final AmqpMessageHandlerService amqpMessageHandlerService) {
+        this.amqpMessageHandlerService = amqpMessageHandlerService;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        final MessageTypeStatistics statistics = amqpMessageHandlerService.getMessageStatistics();
+        for (final MessageType type : MessageType.values()) {
+            FunctionTimer
+                    .builder("hawkbit.dmf.messages", statistics, stats -> stats.getCount(type),
+                            stats -> stats.getTotalNanos(type), TimeUnit.NANOSECONDS)
+                    .description("Processing of the inbound DMF messages").tag("type", type.name())
+                    .register(registry);
+            FunctionCounter.builder("hawkbit.dmf.messages.failed", statistics, stats -> stats.getFailedCount(type))
+                    .description("Inbound DMF messages which failed to be processed").tag("type", type.name())
+                    .register(registry);
+        }
+
+        final PartitionedMessageProcessor processor = amqpMessageHandlerService.getInboundProcessor();
+        if (processor == null) {
+            return;
+        }
+        for (int i = 0; i < processor.getPartitionCount(); i++) {
+            final int partition = i;
+            final String tag = String.valueOf(partition);
+            Gauge.builder("hawkbit.dmf.partitions.queue", processor, p -> p.getQueueDepth(partition))
+                    .description("Messages waiting in the queue of the partition").tag("partition", tag)
+                    .register(registry);
+            Gauge.builder("hawkbit.dmf.partitions.latency", processor, p -> p.getLastLatency(partition))
+                    .description("Queue latency of the last processed message").tag("partition", tag)
+                    .baseUnit("milliseconds").register(registry);
+            Gauge.builder("hawkbit.dmf.partitions.latency.max", processor, p -> p.getMaxLatency(partition))
+                    .description("Maximum queue latency of the processed messages").tag("partition", tag)
+                    .baseUnit("milliseconds").register(registry);
+            FunctionCounter
+                    .builder("hawkbit.dmf.partitions.processed", processor, p -> p.getProcessedCount(partition))
+                    .description("Messages processed by the partition").tag("partition", tag).register(registry);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+import org.eclipse.hawkbit.security.DosFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the rejected requests of the registered {@link DosFilter}s per filter
+ * and reason.
+ */
+public class DosFilterMeterBinder implements MeterBinder {
+
+    private final Map<String, FilterRegistrationBean<?>> filterRegistrations;
+
+    /**
+     * Constructor.
+     *
+     * @param filterRegistrations
+     *            all filter registrations by their bean name, the ones of
+     *            {@link DosFilter}s are bound and tagged with the bean name
+     */
+    public DosFilterMeterBinder(final Map<String, FilterRegistrationBean<?>> filterRegistrations) {
+        this.filterRegistrations = filterRegistrations;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        filterRegistrations.forEach((name, registration) -> {
+            if (registration.getFilter() instanceof DosFilter) {
+                final DosFilter filter = (DosFilter) registration.getFilter();
+                bind(registry, filter, name, "blacklist", DosFilter::getBlacklistRejectionCount);
+                bind(registry, filter, name, "read", DosFilter::getReadRejectionCount);
+                bind(registry, filter, name, "write", DosFilter::getWriteRejectionCount);
+            }
+        });
+    }
+
+    private static void bind(final MeterRegistry registry, final DosFilter filter, final String name,
+            final String reason, final ToDoubleFunction<DosFilter> count) {
+        FunctionCounter.builder("hawkbit.dos.rejections", filter, count)
+                .description("Requests rejected by the DoS filter").tag("filter", name).tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.Locale;
+
+import org.eclipse.hawkbit.event.EventLaneExecutor;
+import org.eclipse.hawkbit.event.LaneAwareApplicationEventMulticaster;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the pending, shed and caller-run events per event lane. The thread
+ * pools of the lanes are bound by the {@link ExecutorMeterBinder}.
+ */
+public class EventLaneMeterBinder implements MeterBinder {
+
+    private final LaneAwareApplicationEventMulticaster multicaster;
+
+    /**
+     * Constructor.
+     *
+     * @param multicaster
+     *            the multicaster of the application events
+     */
+    public EventLaneMeterBinder(final LaneAwareApplicationEventMulticaster multicaster) {
+        this.multicaster = multicaster;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        multicaster.getLaneExecutors().forEach((lane, executor) -> {
+            final String name = lane.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("hawkbit.events.lane.pending", executor, EventLaneExecutor::getPendingTaskCount)
+                    .description("Events which are queued or processed on the lane").tag("lane", name)
+                    .register(registry);
+            FunctionCounter.builder("hawkbit.events.lane.shed", executor, EventLaneExecutor::getShedTaskCount)
+                    .description("Events which have been dropped as the lane was exhausted").tag("lane", name)
+                    .register(registry);
+            FunctionCounter
+                    .builder("hawkbit.events.lane.callerruns", executor, EventLaneExecutor::getCallerRunsTaskCount)
+                    .description("Events which have been processed by the publisher as the lane was exhausted")
+                    .tag("lane", name).register(registry);
+        });
+    }
+}
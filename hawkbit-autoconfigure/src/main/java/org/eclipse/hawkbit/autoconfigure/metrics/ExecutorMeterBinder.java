@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import org.eclipse.hawkbit.autoconfigure.scheduling.MonitoredThreadPools;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Binds the pool sizes, queue depths and completed tasks of the hawkBit thread
+ * pools.
+ */
+public class ExecutorMeterBinder implements MeterBinder {
+
+    private final MonitoredThreadPools threadPools;
+
+    /**
+     * Constructor.
+     *
+     * @param threadPools
+     *            the thread pools to bind
+     */
+    public ExecutorMeterBinder(final MonitoredThreadPools threadPools) {
+        this.threadPools = threadPools;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        threadPools.getPools().forEach(
+                (name, pool) -> new ExecutorServiceMetrics(pool, name, Tags.empty()).bindTo(registry));
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.hawkbit.amqp.AmqpMessageHandlerService;
+import org.eclipse.hawkbit.autoconfigure.scheduling.MonitoredThreadPools;
+import org.eclipse.hawkbit.cache.BoundedCaffeineCacheManager;
+import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
+import org.eclipse.hawkbit.event.LaneAwareApplicationEventMulticaster;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
+import org.eclipse.hawkbit.repository.jpa.JpaControllerManagement;
+import org.eclipse.hawkbit.repository.jpa.TargetPollBuffer;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignStatistics;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignTargetBuffer;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutHandlerStatistics;
+import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
+import org.eclipse.hawkbit.security.DosFilter;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Autoconfiguration of the hawkBit metrics. The metrics are only bound if a
+ * {@link MeterRegistry} is available, e.g. by means of the Spring Boot
+ * actuator, which binds all {@link MeterBinder} beans to the registry.
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "hawkbit.metrics", name = "enabled", matchIfMissing = true)
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@EnableConfigurationProperties(MetricsProperties.class)
+public class MetricsAutoConfiguration {
+
+    /**
+     * @param metricsProperties
+     *            the metrics properties
+     * @return the limiter of the tenant tags shared by all hawkBit meters
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TenantTagLimiter tenantTagLimiter(final MetricsProperties metricsProperties) {
+        return new TenantTagLimiter(metricsProperties.getTenantTagLimit(), metricsProperties.getTenantTags());
+    }
+
+    /**
+     * @return binder of the hawkBit thread pools
+     */
+    @Bean
+    @ConditionalOnBean(MonitoredThreadPools.class)
+    public ExecutorMeterBinder executorMeterBinder(final MonitoredThreadPools monitoredThreadPools) {
+        return new ExecutorMeterBinder(monitoredThreadPools);
+    }
+
+    /**
+     * Metrics of the JPA repository.
+     */
+    @Configuration
+    @ConditionalOnClass(JpaControllerManagement.class)
+    static class RepositoryMetricsConfiguration {
+
+        @Bean
+        RepositoryMetricsAspect repositoryMetricsAspect(final MeterRegistry meterRegistry,
+                final TenantAware tenantAware, final TenantTagLimiter tenantTagLimiter) {
+            return new RepositoryMetricsAspect(meterRegistry, tenantAware, tenantTagLimiter);
+        }
+
+        @Bean
+        RepositoryMeterBinder repositoryMeterBinder(final ObjectProvider<TargetPollBuffer> pollBuffer,
+                final ObjectProvider<RolloutHandlerStatistics> rolloutHandlerStatistics,
+                final ObjectProvider<AutoAssignStatistics> autoAssignStatistics,
+                final ObjectProvider<AutoAssignTargetBuffer> autoAssignTargetBuffer,
+                final ObjectProvider<TargetSecurityTokenCache> targetSecurityTokenCache) {
+            return new RepositoryMeterBinder(pollBuffer.getIfAvailable(), rolloutHandlerStatistics.getIfAvailable(),
+                    autoAssignStatistics.getIfAvailable(), autoAssignTargetBuffer.getIfAvailable(),
+                    targetSecurityTokenCache.getIfAvailable());
+        }
+    }
+
+    /**
+     * Metrics of the tenant caches.
+     */
+    @Configuration
+    @ConditionalOnClass(BoundedCaffeineCacheManager.class)
+    static class CacheMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnBean(name = "directCacheManager")
+        MeterBinder cacheMeterBinder(@Qualifier("directCacheManager") final CacheManager directCacheManager,
+                final TenantTagLimiter tenantTagLimiter) {
+            if (directCacheManager instanceof BoundedCaffeineCacheManager) {
+                return new CacheMeterBinder((BoundedCaffeineCacheManager) directCacheManager, tenantTagLimiter);
+            }
+            // a custom cache manager without statistics
+            return registry -> {
+            };
+        }
+    }
+
+    /**
+     * Metrics of the event lanes.
+     */
+    @Configuration
+    @ConditionalOnClass(LaneAwareApplicationEventMulticaster.class)
+    static class EventLaneMetricsConfiguration {
+
+        @Bean
+        MeterBinder eventLaneMeterBinder(final ObjectProvider<ApplicationEventMulticaster> multicaster) {
+            final ApplicationEventMulticaster applicationEventMulticaster = multicaster.getIfAvailable();
+            if (applicationEventMulticaster instanceof LaneAwareApplicationEventMulticaster) {
+                return new EventLaneMeterBinder((LaneAwareApplicationEventMulticaster) applicationEventMulticaster);
+            }
+            // a custom multicaster without lanes
+            return registry -> {
+            };
+        }
+    }
+
+    /**
+     * Metrics of the DMF API.
+     */
+    @Configuration
+    @ConditionalOnClass(AmqpMessageHandlerService.class)
+    static class DmfMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnBean(AmqpMessageHandlerService.class)
+        DmfMeterBinder dmfMeterBinder(final AmqpMessageHandlerService amqpMessageHandlerService) {
+            return new DmfMeterBinder(amqpMessageHandlerService);
+        }
+    }
+
+    /**
+     * Metrics of the DDI API and the artifact downloads.
+     */
+    @Configuration
+    @ConditionalOnClass({ DdiRestConstants.class, FileStreamingUtil.class })
+    static class DdiMetricsConfiguration implements WebMvcConfigurer {
+
+        private final MeterRegistry meterRegistry;
+        private final TenantTagLimiter tenantTagLimiter;
+
+        DdiMetricsConfiguration(final MeterRegistry meterRegistry, final TenantTagLimiter tenantTagLimiter) {
+            this.meterRegistry = meterRegistry;
+            this.tenantTagLimiter = tenantTagLimiter;
+        }
+
+        @Override
+        public void addInterceptors(final InterceptorRegistry registry) {
+            registry.addInterceptor(new DdiMetricsInterceptor(meterRegistry, tenantTagLimiter))
+                    .addPathPatterns(DdiRestConstants.BASE_V1_REQUEST_MAPPING + "/**");
+        }
+
+        @Bean
+        MeterBinder downloadMeterBinder() {
+            return registry -> {
+                FunctionCounter.builder("hawkbit.downloads.shipped", FileStreamingUtil.class,
+                        util -> FileStreamingUtil.getShippedBytes()).description("Shipped artifact bytes")
+                        .baseUnit("bytes").register(registry);
+                FunctionCounter.builder("hawkbit.downloads.sendfile", FileStreamingUtil.class,
+                        util -> FileStreamingUtil.getSendfileBytes())
+                        .description("Artifact bytes handed over to the container sendfile support")
+                        .baseUnit("bytes").register(registry);
+                FunctionCounter.builder("hawkbit.downloads.failed", FileStreamingUtil.class,
+                        util -> FileStreamingUtil.getFailedStreamCount())
+                        .description("Artifact downloads which failed").register(registry);
+            };
+        }
+    }
+
+    /**
+     * Metrics of the DoS filters.
+     */
+    @Configuration
+    @ConditionalOnClass({ DosFilter.class, FilterRegistrationBean.class })
+    static class DosFilterMetricsConfiguration {
+
+        @Bean
+        DosFilterMeterBinder dosFilterMeterBinder(
+                final ObjectProvider<Map<String, FilterRegistrationBean<?>>> filterRegistrations) {
+            return new DosFilterMeterBinder(filterRegistrations.getIfAvailable(Collections::emptyMap));
+        }
+    }
+}
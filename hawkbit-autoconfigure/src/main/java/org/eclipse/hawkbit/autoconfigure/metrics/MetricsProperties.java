@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties of the hawkBit metrics.
+ */
+@ConfigurationProperties("hawkbit.metrics")
+public class MetricsProperties {
+
+    /**
+     * Maximum number of tenants which are tagged with their name in addition
+     * to the tenant-tags, i.e. the most active tenants since the last ranking.
+     * The meters of all further tenants are tagged with OTHER.
+     */
+    private int tenantTagLimit = 100;
+
+    /**
+     * Tenants which are always tagged with their name.
+     */
+    private List<String> tenantTags = new ArrayList<>();
+
+    /**
+     * Interval in millis in which the tenants are ranked by their activity to
+     * be tagged with their name.
+     */
+    private long tenantRankingInterval = 3_600_000;
+
+    /**
+     * Interval in millis in which the meters of newly created caches are
+     * registered.
+     */
+    private long cacheRefreshInterval = 60_000;
+
+    public int getTenantTagLimit() {
+        return tenantTagLimit;
+    }
+
+    public void setTenantTagLimit(final int tenantTagLimit) {
+        this.tenantTagLimit = tenantTagLimit;
+    }
+
+    public List<String> getTenantTags() {
+        return tenantTags;
+    }
+
+    public void setTenantTags(final List<String> tenantTags) {
+        this.tenantTags = tenantTags;
+    }
+
+    public long getTenantRankingInterval() {
+        return tenantRankingInterval;
+    }
+
+    public void setTenantRankingInterval(final long tenantRankingInterval) {
+        this.tenantRankingInterval = tenantRankingInterval;
+    }
+
+    public long getCacheRefreshInterval() {
+        return cacheRefreshInterval;
+    }
+
+    public void setCacheRefreshInterval(final long cacheRefreshInterval) {
+        this.cacheRefreshInterval = cacheRefreshInterval;
+    }
+}
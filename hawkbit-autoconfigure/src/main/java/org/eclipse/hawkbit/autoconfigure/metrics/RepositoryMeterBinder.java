@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
+import org.eclipse.hawkbit.repository.jpa.TargetPollBuffer;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignStatistics;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignTargetBuffer;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutHandlerStatistics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the statistics of the poll persistence, the rollout handling, the auto
+ * assignment and the security token cache of the JPA repository. All
+ * statistics are optional, e.g. there is no poll buffer if polls are persisted
+ * eagerly.
+ */
+public class RepositoryMeterBinder implements MeterBinder {
+
+    private final TargetPollBuffer pollBuffer;
+    private final RolloutHandlerStatistics rolloutHandlerStatistics;
+    private final AutoAssignStatistics autoAssignStatistics;
+    private final AutoAssignTargetBuffer autoAssignTargetBuffer;
+    private final TargetSecurityTokenCache targetSecurityTokenCache;
+
+    /**
+     * Constructor.
+     *
+     * @param pollBuffer
+     *            the buffer of the polls or <code>null</code>
+     * @param rolloutHandlerStatistics
+     *            the statistics of the rollout handling or <code>null</code>
+     * @param autoAssignStatistics
+     *            the statistics of the auto assignment or <code>null</code>
+     * @param autoAssignTargetBuffer
+     *            the buffer of the targets to check for auto assignment or
+     *            <code>null</code>
+     * @param targetSecurityTokenCache
+     *            the security token cache or <code>null</code>
+     */
+    public RepositoryMeterBinder(final TargetPollBuffer pollBuffer,
+            final RolloutHandlerStatistics rolloutHandlerStatistics, final AutoAssignStatistics autoAssignStatistics,
+            final AutoAssignTargetBuffer autoAssignTargetBuffer,
+            final TargetSecurityTokenCache targetSecurityTokenCache) {
+        this.pollBuffer = pollBuffer;
+        this.rolloutHandlerStatistics = rolloutHandlerStatistics;
+        this.autoAssignStatistics = autoAssignStatistics;
+        this.autoAssignTargetBuffer = autoAssignTargetBuffer;
+        this.targetSecurityTokenCache = targetSecurityTokenCache;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        if (pollBuffer != null) {
+            bindPollBuffer(registry);
+        }
+        if (rolloutHandlerStatistics != null) {
+            bindRolloutHandler(registry);
+        }
+        if (autoAssignStatistics != null) {
+            bindAutoAssign(registry);
+        }
+        if (autoAssignTargetBuffer != null) {
+            bindAutoAssignBuffer(registry);
+        }
+        if (targetSecurityTokenCache != null) {
+            bindTargetSecurityTokenCache(registry);
+        }
+    }
+
+    private void bindPollBuffer(final MeterRegistry registry) {
+        Gauge.builder("hawkbit.polls.buffer.size", pollBuffer, TargetPollBuffer::getSize)
+                .description("Polls waiting for persistence").register(registry);
+        FunctionCounter.builder("hawkbit.polls.received", pollBuffer, TargetPollBuffer::getReceivedCount)
+                .description("Polls offered to the buffer").register(registry);
+        FunctionCounter.builder("hawkbit.polls.dropped", pollBuffer, TargetPollBuffer::getDroppedCount)
+                .description("Polls dropped because the buffer was full").register(registry);
+        Gauge.builder("hawkbit.polls.flush.duration", pollBuffer, TargetPollBuffer::getLastFlushDuration)
+                .description("Duration of the last flush").baseUnit("milliseconds").register(registry);
+        Gauge.builder("hawkbit.polls.flush.size", pollBuffer, TargetPollBuffer::getLastFlushSize)
+                .description("Polls persisted by the last flush").register(registry);
+    }
+
+    private void bindRolloutHandler(final MeterRegistry registry) {
+        Gauge.builder("hawkbit.rollouts.handler.backlog", rolloutHandlerStatistics,
+                RolloutHandlerStatistics::getBacklog).description("Rollouts waiting to be handled")
+                .register(registry);
+        FunctionCounter.builder("hawkbit.rollouts.handler.handled", rolloutHandlerStatistics,
+                RolloutHandlerStatistics::getHandledCount).description("Handled rollouts").register(registry);
+        FunctionCounter.builder("hawkbit.rollouts.handler.failed", rolloutHandlerStatistics,
+                RolloutHandlerStatistics::getFailedCount).description("Rollouts which failed to be handled")
+                .register(registry);
+        FunctionCounter.builder("hawkbit.rollouts.handler.skipped", rolloutHandlerStatistics,
+                RolloutHandlerStatistics::getSkippedCount).description("Skipped rollout handler runs")
+                .register(registry);
+        Gauge.builder("hawkbit.rollouts.handler.duration.max", rolloutHandlerStatistics,
+                RolloutHandlerStatistics::getMaxLastDuration)
+                .description("Maximum of the last handling durations of the rollouts").baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void bindAutoAssign(final MeterRegistry registry) {
+        FunctionCounter.builder("hawkbit.autoassign.checks", autoAssignStatistics,
+                AutoAssignStatistics::getFullCheckCount).description("Auto assignment checks").tag("type", "full")
+                .register(registry);
+        FunctionCounter.builder("hawkbit.autoassign.checks", autoAssignStatistics,
+                AutoAssignStatistics::getIncrementalCheckCount).description("Auto assignment checks")
+                .tag("type", "incremental").register(registry);
+        FunctionCounter.builder("hawkbit.autoassign.targets.checked", autoAssignStatistics,
+                AutoAssignStatistics::getCheckedTargetCount)
+                .description("Targets checked by the incremental auto assignment").register(registry);
+        Gauge.builder("hawkbit.autoassign.duration.max", autoAssignStatistics,
+                AutoAssignStatistics::getMaxLastDuration)
+                .description("Maximum of the last evaluation durations of the target filters")
+                .baseUnit("milliseconds").register(registry);
+    }
+
+    private void bindAutoAssignBuffer(final MeterRegistry registry) {
+        Gauge.builder("hawkbit.autoassign.buffer.size", autoAssignTargetBuffer, AutoAssignTargetBuffer::getSize)
+                .description("Targets waiting for the incremental auto assignment").register(registry);
+        FunctionCounter.builder("hawkbit.autoassign.buffer.dropped", autoAssignTargetBuffer,
+                AutoAssignTargetBuffer::getDroppedCount)
+                .description("Targets dropped because the buffer was full").register(registry);
+    }
+
+    private void bindTargetSecurityTokenCache(final MeterRegistry registry) {
+        FunctionCounter.builder(CacheMeterBinder.HITS, targetSecurityTokenCache,
+                TargetSecurityTokenCache::getHitCount).tag(CacheMeterBinder.CACHE_TAG, "TargetSecurityToken")
+                .tag(CacheMeterBinder.TENANT_TAG, TenantTagLimiter.NONE).register(registry);
+        FunctionCounter.builder(CacheMeterBinder.MISSES, targetSecurityTokenCache,
+                TargetSecurityTokenCache::getMissCount).tag(CacheMeterBinder.CACHE_TAG, "TargetSecurityToken")
+                .tag(CacheMeterBinder.TENANT_TAG, TenantTagLimiter.NONE).register(registry);
+    }
+}
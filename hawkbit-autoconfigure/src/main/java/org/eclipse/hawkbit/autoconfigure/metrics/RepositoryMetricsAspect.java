@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times the calls of the controller, deployment and rollout management, i.e.
+ * the repository services on the hot paths of the device integration and the
+ * rollout handling.
+ */
+@Aspect
+public class RepositoryMetricsAspect {
+
+    static final String METRIC_NAME = "hawkbit.repository.calls";
+
+    private static final String NO_EXCEPTION = "None";
+
+    private static final int TENANT_INDEX = 2;
+
+    private final MeterRegistry meterRegistry;
+    private final TenantAware tenantAware;
+    private final TenantTagLimiter tenantTags;
+    // the timers are looked up by their tag values instead of building and
+    // registering them on every call
+    private final Map<List<String>, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry
+     *            to register the timers
+     * @param tenantAware
+     *            to tag the calls with the current tenant
+     * @param tenantTags
+     *            to limit the number of tenant tags
+     */
+    public RepositoryMetricsAspect(final MeterRegistry meterRegistry, final TenantAware tenantAware,
+            final TenantTagLimiter tenantTags) {
+        this.meterRegistry = meterRegistry;
+        this.tenantAware = tenantAware;
+        this.tenantTags = tenantTags;
+        tenantTags.addReleasedTagListener(this::removeTimers);
+    }
+
+    @Around("execution(public * org.eclipse.hawkbit.repository.ControllerManagement+.*(..))")
+    public Object timeControllerManagement(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("ControllerManagement", joinPoint);
+    }
+
+    @Around("execution(public * org.eclipse.hawkbit.repository.DeploymentManagement+.*(..))")
+    public Object timeDeploymentManagement(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("DeploymentManagement", joinPoint);
+    }
+
+    @Around("execution(public * org.eclipse.hawkbit.repository.RolloutManagement+.*(..))")
+    public Object timeRolloutManagement(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("RolloutManagement", joinPoint);
+    }
+
+    private Object time(final String management, final ProceedingJoinPoint joinPoint) throws Throwable {
+        final long start = System.nanoTime();
+        String exception = NO_EXCEPTION;
+        try {
+            return joinPoint.proceed();
+        } catch (final Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            getTimer(management, joinPoint.getSignature().getName(),
+                    tenantTags.toTag(tenantAware.getCurrentTenant()), exception)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer getTimer(final String management, final String method, final String tenant,
+            final String exception) {
+        return timers.computeIfAbsent(Arrays.asList(management, method, tenant, exception),
+                key -> Timer.builder(METRIC_NAME).description("Calls of the repository management services")
+                        .tag("management", management).tag("method", method).tag("tenant", tenant)
+                        .tag("exception", exception).register(meterRegistry));
+    }
+
+    private void removeTimers(final Set<String> releasedTenantTags) {
+        timers.entrySet().removeIf(entry -> {
+            if (!releasedTenantTags.contains(entry.getKey().get(TENANT_INDEX))) {
+                return false;
+            }
+            meterRegistry.remove(entry.getValue());
+            return true;
+        });
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Limits the cardinality of the tenant tag of the meters. The configured
+ * tenants are always tagged with their name. Up to the limit, further tenants
+ * are tagged with their name as well. These tenants are ranked periodically
+ * by their activity, i.e. the number of tagged meter updates since the last
+ * ranking, so that the most active tenants keep their name and inactive
+ * tenants release their slot. All other tenants share the tag {@value #OTHER}.
+ * The meters which are tagged with the tags of released slots are removed by
+ * the listeners of the ranking, so the registry does not keep the meters of
+ * all tenants which have ever been ranked.
+ */
+public class TenantTagLimiter {
+
+    /**
+     * Tag of the tenants beyond the limit.
+     */
+    public static final String OTHER = "OTHER";
+
+    /**
+     * Tag if there is no tenant, e.g. for system calls.
+     */
+    public static final String NONE = "NONE";
+
+    private final int limit;
+    private final Set<String> configuredTenants;
+    private final Map<String, LongAdder> activity = new ConcurrentHashMap<>();
+    private final List<Consumer<Set<String>>> releasedTagListeners = new CopyOnWriteArrayList<>();
+    private volatile Set<String> rankedTenants = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param limit
+     *            maximum number of tenants which are tagged with their name,
+     *            in addition to the configured tenants
+     * @param configuredTenants
+     *            the tenants which are always tagged with their name
+     */
+    public TenantTagLimiter(final int limit, final Collection<String> configuredTenants) {
+        this.limit = limit;
+        this.configuredTenants = configuredTenants.stream().map(String::toUpperCase).collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the tag of a tenant and records the activity of the tenant for
+     * the next ranking.
+     *
+     * @param tenant
+     *            the tenant or <code>null</code>
+     * @return the tag value of the tenant
+     */
+    public String toTag(final String tenant) {
+        if (tenant == null) {
+            return NONE;
+        }
+        final String tag = tenant.toUpperCase();
+        if (configuredTenants.contains(tag)) {
+            return tag;
+        }
+        activity.computeIfAbsent(tag, key -> new LongAdder()).increment();
+
+        final Set<String> ranked = rankedTenants;
+        if (ranked.contains(tag)) {
+            return tag;
+        }
+        // free slots are taken by the next active tenants until the next
+        // ranking, the limit might be exceeded slightly by concurrent calls
+        if (ranked.size() < limit) {
+            ranked.add(tag);
+            return tag;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Returns the current tag of a tenant without recording an activity, e.g.
+     * to aggregate statistics which are collected for all tenants.
+     *
+     * @param tenant
+     *            the tenant or <code>null</code>
+     * @return the tag value of the tenant
+     */
+    public String getTag(final String tenant) {
+        if (tenant == null) {
+            return NONE;
+        }
+        final String tag = tenant.toUpperCase();
+        return configuredTenants.contains(tag) || rankedTenants.contains(tag) ? tag : OTHER;
+    }
+
+    /**
+     * Adds a listener which is called by the ranking with the tags which are
+     * no longer used, i.e. of the tenants which now share the tag
+     * {@value #OTHER}, to remove the meters with these tags.
+     *
+     * @param listener
+     *            called with the released tags
+     */
+    public void addReleasedTagListener(final Consumer<Set<String>> listener) {
+        releasedTagListeners.add(listener);
+    }
+
+    /**
+     * Ranks the tenants by their activity since the last ranking. The most
+     * active tenants up to the limit are tagged with their name until the
+     * next ranking.
+     */
+    @Scheduled(initialDelayString = "${hawkbit.metrics.tenant-ranking-interval:3600000}", fixedDelayString = "${hawkbit.metrics.tenant-ranking-interval:3600000}")
+    public void rank() {
+        final Map<String, Long> counts = new HashMap<>();
+        activity.forEach((tenant, count) -> counts.put(tenant, count.sumThenReset()));
+        // forget the tenants without activity since the last ranking
+        counts.forEach((tenant, count) -> {
+            if (count == 0) {
+                activity.remove(tenant);
+            }
+        });
+
+        final Set<String> ranked = ConcurrentHashMap.newKeySet();
+        counts.entrySet().stream().filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long> comparingByValue().reversed()).limit(limit)
+                .forEach(entry -> ranked.add(entry.getKey()));
+        final Set<String> released = new HashSet<>(rankedTenants);
+        rankedTenants = ranked;
+
+        released.removeAll(ranked);
+        if (!released.isEmpty()) {
+            final Set<String> tags = Collections.unmodifiableSet(released);
+            releasedTagListeners.forEach(listener -> listener.accept(tags));
+        }
+    }
+}
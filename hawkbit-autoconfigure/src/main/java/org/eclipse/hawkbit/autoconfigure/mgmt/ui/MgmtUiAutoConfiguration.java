@@ -18,11 +18,11 @@ import org.eclipse.hawkbit.ui.push.DelayedEventBusPushStrategy;
 import org.eclipse.hawkbit.ui.push.EventPushStrategy;
 import org.eclipse.hawkbit.ui.push.HawkbitEventPermissionChecker;
 import org.eclipse.hawkbit.ui.push.HawkbitEventProvider;
+import org.eclipse.hawkbit.ui.push.UIEventAggregator;
 import org.eclipse.hawkbit.ui.push.UIEventPermissionChecker;
 import org.eclipse.hawkbit.ui.push.UIEventProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -82,34 +82,41 @@ public class MgmtUiAutoConfiguration {
     }
 
     /**
-     * The UI scoped event push strategy. Session scope is necessary, that every
-     * UI has an own strategy.
+     * The aggregator which collects the events for all UIs of the node.
      * 
-     * @param applicationContext
-     *            the context to add the listener to
      * @param executorService
      *            the general scheduler service
-     * @param eventBus
-     *            the ui event bus
      * @param eventProvider
      *            the event provider
-     * @param eventPermissionChecker
-     *            the event permission checker
      * @param uiProperties
      *            the ui properties
+     * @return the aggregator bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    UIEventAggregator uiEventAggregator(final ScheduledExecutorService executorService,
+            final UIEventProvider eventProvider, final UiProperties uiProperties) {
+        return new UIEventAggregator(executorService, eventProvider, uiProperties.getEvent().getPush().getDelay(),
+                uiProperties.getEvent().getPush().getMaxEntityIds());
+    }
+
+    /**
+     * The UI scoped event push strategy. Session scope is necessary, that every
+     * UI has an own strategy.
+     * 
+     * @param eventAggregator
+     *            the aggregator of the events
+     * @param eventBus
+     *            the ui event bus
+     * @param eventPermissionChecker
+     *            the event permission checker
      * @return the push strategy bean
      */
     @Bean
     @ConditionalOnMissingBean
     @UIScope
-    EventPushStrategy eventPushStrategy(final ConfigurableApplicationContext applicationContext,
-            final ScheduledExecutorService executorService, final UIEventBus eventBus,
-            final UIEventProvider eventProvider, final UIEventPermissionChecker eventPermissionChecker,
-            final UiProperties uiProperties) {
-        final DelayedEventBusPushStrategy delayedEventBusPushStrategy = new DelayedEventBusPushStrategy(executorService,
-                eventBus, eventProvider, eventPermissionChecker, uiProperties.getEvent().getPush().getDelay());
-        applicationContext.addApplicationListener(delayedEventBusPushStrategy);
-
-        return delayedEventBusPushStrategy;
+    EventPushStrategy eventPushStrategy(final UIEventAggregator eventAggregator, final UIEventBus eventBus,
+            final UIEventPermissionChecker eventPermissionChecker) {
+        return new DelayedEventBusPushStrategy(eventAggregator, eventBus, eventPermissionChecker);
     }
 }
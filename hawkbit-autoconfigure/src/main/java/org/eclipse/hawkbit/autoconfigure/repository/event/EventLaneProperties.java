@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.repository.event;
+
+import org.eclipse.hawkbit.event.EventLaneExecutor.SheddingPolicy;
+import org.eclipse.hawkbit.repository.event.EventLane;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties of the {@link EventLane}s on which the application events are
+ * processed. Events of the {@link EventLane#DEFAULT} lane are processed by the
+ * central event executor, see <code>hawkbit.threadpool</code>.
+ */
+@ConfigurationProperties("hawkbit.event.lanes")
+public class EventLaneProperties {
+
+    /**
+     * Set to <code>false</code> to process all events on the central event
+     * executor.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Lane of the polls and download progress of the devices.
+     */
+    private final Lane poll = new Lane(2, 4, 10_000, SheddingPolicy.DISCARD);
+
+    /**
+     * Lane of the entity events.
+     */
+    private final Lane entity = new Lane(2, 8, 5_000, SheddingPolicy.CALLER_RUNS);
+
+    /**
+     * Lane of the assignment, cancellation and attribute request events.
+     */
+    private final Lane deployment = new Lane(2, 8, 5_000, SheddingPolicy.CALLER_RUNS);
+
+    /**
+     * Lane of the listeners which push the events to the UI.
+     */
+    private final Lane ui = new Lane(1, 2, 5_000, SheddingPolicy.DISCARD_OLDEST);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Lane getPoll() {
+        return poll;
+    }
+
+    public Lane getEntity() {
+        return entity;
+    }
+
+    public Lane getDeployment() {
+        return deployment;
+    }
+
+    public Lane getUi() {
+        return ui;
+    }
+
+    /**
+     * @param lane
+     *            the lane
+     * @return the properties of the lane, <code>null</code> for the
+     *         {@link EventLane#DEFAULT} lane
+     */
+    public Lane getLane(final EventLane lane) {
+        switch (lane) {
+        case POLL:
+            return poll;
+        case ENTITY:
+            return entity;
+        case DEPLOYMENT:
+            return deployment;
+        case UI:
+            return ui;
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Properties of a single lane.
+     */
+    public static class Lane {
+
+        /**
+         * Core processing threads of the lane.
+         */
+        private int corethreads;
+
+        /**
+         * Maximum threads of the lane, or concurrently running virtual threads.
+         */
+        private int maxthreads;
+
+        /**
+         * Max queue size of the lane.
+         */
+        private int queuesize;
+
+        /**
+         * When the number of threads is greater than the core, this is the
+         * maximum time that excess idle threads will wait for new tasks before
+         * terminating.
+         */
+        private long idletimeout = 10_000L;
+
+        /**
+         * Handling of the events which exceed the capacity of the lane.
+         */
+        private SheddingPolicy shedding;
+
+        /**
+         * Set to <code>true</code> to process the events on virtual threads if
+         * the JDK supports them.
+         */
+        private boolean virtualThreads;
+
+        Lane(final int corethreads, final int maxthreads, final int queuesize, final SheddingPolicy shedding) {
+            this.corethreads = corethreads;
+            this.maxthreads = maxthreads;
+            this.queuesize = queuesize;
+            this.shedding = shedding;
+        }
+
+        public int getCorethreads() {
+            return corethreads;
+        }
+
+        public void setCorethreads(final int corethreads) {
+            this.corethreads = corethreads;
+        }
+
+        public int getMaxthreads() {
+            return maxthreads;
+        }
+
+        public void setMaxthreads(final int maxthreads) {
+            this.maxthreads = maxthreads;
+        }
+
+        public int getQueuesize() {
+            return queuesize;
+        }
+
+        public void setQueuesize(final int queuesize) {
+            this.queuesize = queuesize;
+        }
+
+        public long getIdletimeout() {
+            return idletimeout;
+        }
+
+        public void setIdletimeout(final long idletimeout) {
+            this.idletimeout = idletimeout;
+        }
+
+        public SheddingPolicy getShedding() {
+            return shedding;
+        }
+
+        public void setShedding(final SheddingPolicy shedding) {
+            this.shedding = shedding;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(final boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+    }
+}
@@ -8,17 +8,27 @@
  */
 package org.eclipse.hawkbit.autoconfigure.repository.event;
 
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.Executor;
 
+import org.eclipse.hawkbit.autoconfigure.scheduling.MonitoredThreadPools;
 import org.eclipse.hawkbit.event.BusProtoStuffMessageConverter;
+import org.eclipse.hawkbit.event.EventLaneExecutor;
+import org.eclipse.hawkbit.event.LaneAwareApplicationEventMulticaster;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.event.ApplicationEventFilter;
+import org.eclipse.hawkbit.repository.event.EventLane;
 import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.bus.ConditionalOnBusEnabled;
 import org.springframework.cloud.bus.ServiceMatcher;
 import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
@@ -28,10 +38,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.event.ApplicationEventMulticaster;
-import org.springframework.context.event.SimpleApplicationEventMulticaster;
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.core.ResolvableType;
 import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 
 import io.protostuff.ProtostuffIOUtil;
 import io.protostuff.Schema;
@@ -43,20 +53,50 @@ import io.protostuff.Schema;
 @Configuration
 @RemoteApplicationEventScan(basePackages = "org.eclipse.hawkbit.repository.event.remote")
 @PropertySource("classpath:/hawkbit-eventbus-defaults.properties")
+@EnableConfigurationProperties(EventLaneProperties.class)
 public class EventPublisherAutoConfiguration {
     /**
-     * Server internal event publisher that allows parallel event processing if
-     * the event listener is marked as so.
+     * Server internal event publisher that processes the events on the
+     * executors of their {@link EventLane}s and all other events on the
+     * central event executor.
      *
      * @return publisher bean
      */
     @Bean(name = AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
     ApplicationEventMulticaster applicationEventMulticaster(@Qualifier("asyncExecutor") final Executor executor,
-            final TenantAware tenantAware) {
-        final SimpleApplicationEventMulticaster simpleApplicationEventMulticaster = new TenantAwareApplicationEventPublisher(
-                tenantAware, applicationEventFilter());
-        simpleApplicationEventMulticaster.setTaskExecutor(executor);
-        return simpleApplicationEventMulticaster;
+            final TenantAware tenantAware, final EventLaneProperties eventLaneProperties,
+            final ObjectProvider<MonitoredThreadPools> monitoredThreadPools) {
+        final LaneAwareApplicationEventMulticaster multicaster = new TenantAwareApplicationEventPublisher(
+                tenantAware, applicationEventFilter(),
+                eventLaneExecutors(eventLaneProperties, monitoredThreadPools.getIfAvailable()));
+        multicaster.setTaskExecutor(executor);
+        return multicaster;
+    }
+
+    private static Map<EventLane, EventLaneExecutor> eventLaneExecutors(final EventLaneProperties properties,
+            final MonitoredThreadPools monitoredThreadPools) {
+        final Map<EventLane, EventLaneExecutor> executors = new EnumMap<>(EventLane.class);
+        if (!properties.isEnabled()) {
+            return executors;
+        }
+
+        for (final EventLane lane : EventLane.values()) {
+            final EventLaneProperties.Lane laneProperties = properties.getLane(lane);
+            if (laneProperties == null) {
+                continue;
+            }
+            final String name = lane.name().toLowerCase(Locale.ROOT);
+            // the security context of the publisher is captured on submission
+            final EventLaneExecutor executor = new EventLaneExecutor(name, laneProperties.getCorethreads(),
+                    laneProperties.getMaxthreads(), laneProperties.getQueuesize(),
+                    laneProperties.getIdletimeout(), laneProperties.getShedding(),
+                    laneProperties.isVirtualThreads(), DelegatingSecurityContextRunnable::new);
+            if (monitoredThreadPools != null) {
+                executor.getThreadPool().ifPresent(pool -> monitoredThreadPools.register("event-lane-" + name, pool));
+            }
+            executors.put(lane, executor);
+        }
+        return executors;
     }
 
     /**
@@ -80,7 +120,7 @@ public class EventPublisherAutoConfiguration {
         return e -> false;
     }
 
-    private static class TenantAwareApplicationEventPublisher extends SimpleApplicationEventMulticaster {
+    private static class TenantAwareApplicationEventPublisher extends LaneAwareApplicationEventMulticaster {
 
         private final TenantAware tenantAware;
 
@@ -94,9 +134,13 @@ public class EventPublisherAutoConfiguration {
          * 
          * @param tenantAware
          *            the tenant ware
+         * @param laneExecutors
+         *            the executors of the event lanes
          */
         protected TenantAwareApplicationEventPublisher(final TenantAware tenantAware,
-                final ApplicationEventFilter applicationEventFilter) {
+                final ApplicationEventFilter applicationEventFilter,
+                final Map<EventLane, EventLaneExecutor> laneExecutors) {
+            super(laneExecutors);
             this.tenantAware = tenantAware;
             this.applicationEventFilter = applicationEventFilter;
         }
@@ -135,12 +179,14 @@ public class EventPublisherAutoConfiguration {
     protected static class BusProtoStuffAutoConfiguration {
         /**
          * 
+         * @param repositoryProperties
+         *            to check if the entity snapshots are enabled
          * @return the protostuff io message converter
          */
         @Bean
         @StreamMessageConverter
-        public MessageConverter busProtoBufConverter() {
-            return new BusProtoStuffMessageConverter();
+        public MessageConverter busProtoBufConverter(final RepositoryProperties repositoryProperties) {
+            return new BusProtoStuffMessageConverter(repositoryProperties.isEventEntitySnapshots());
         }
 
     }
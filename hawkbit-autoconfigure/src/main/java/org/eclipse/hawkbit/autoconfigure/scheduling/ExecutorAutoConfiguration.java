@@ -12,8 +12,8 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
 import java.util.concurrent.TimeUnit;
@@ -48,6 +48,14 @@ public class ExecutorAutoConfiguration {
     @Autowired
     private AsyncConfigurerThreadpoolProperties asyncConfigurerProperties;
 
+    /**
+     * @return the registry of the thread pools created by this configuration
+     */
+    @Bean
+    public MonitoredThreadPools monitoredThreadPools() {
+        return new MonitoredThreadPools();
+    }
+
     /**
      * @return ExecutorService with security context availability in thread
      *         execution.
@@ -74,11 +82,12 @@ public class ExecutorAutoConfiguration {
     private ThreadPoolExecutor threadPoolExecutor() {
         final BlockingQueue<Runnable> blockingQueue = new ArrayBlockingQueue<>(
                 asyncConfigurerProperties.getQueuesize());
-        return new ThreadPoolExecutor(asyncConfigurerProperties.getCorethreads(),
-                asyncConfigurerProperties.getMaxthreads(), asyncConfigurerProperties.getIdletimeout(),
-                TimeUnit.MILLISECONDS, blockingQueue,
-                new ThreadFactoryBuilder().setNameFormat("central-executor-pool-%d").build(),
-                new PoolSizeExceededPolicy());
+        return monitoredThreadPools().register("central-executor-pool",
+                new ThreadPoolExecutor(asyncConfigurerProperties.getCorethreads(),
+                        asyncConfigurerProperties.getMaxthreads(), asyncConfigurerProperties.getIdletimeout(),
+                        TimeUnit.MILLISECONDS, blockingQueue,
+                        new ThreadFactoryBuilder().setNameFormat("central-executor-pool-%d").build(),
+                        new PoolSizeExceededPolicy()));
     }
 
     private static class PoolSizeExceededPolicy extends CallerRunsPolicy {
@@ -101,7 +110,8 @@ public class ExecutorAutoConfiguration {
         final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 20, 10000, TimeUnit.MILLISECONDS,
                 blockingQueue, new ThreadFactoryBuilder().setNameFormat("ui-executor-pool-%d").build());
         threadPoolExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        return new DelegatingSecurityContextExecutor(threadPoolExecutor);
+        return new DelegatingSecurityContextExecutor(monitoredThreadPools().register("ui-executor-pool",
+                threadPoolExecutor));
     }
 
     /**
@@ -111,9 +121,10 @@ public class ExecutorAutoConfiguration {
     @Bean(destroyMethod = "shutdown")
     @ConditionalOnMissingBean
     public ScheduledExecutorService scheduledExecutorService() {
-        return new DelegatingSecurityContextScheduledExecutorService(
-                Executors.newScheduledThreadPool(asyncConfigurerProperties.getSchedulerThreads(),
-                        new ThreadFactoryBuilder().setNameFormat("central-scheduled-executor-pool-%d").build()));
+        return new DelegatingSecurityContextScheduledExecutorService(monitoredThreadPools().register(
+                "central-scheduled-executor-pool",
+                new ScheduledThreadPoolExecutor(asyncConfigurerProperties.getSchedulerThreads(),
+                        new ThreadFactoryBuilder().setNameFormat("central-scheduled-executor-pool-%d").build())));
     }
 
     /**
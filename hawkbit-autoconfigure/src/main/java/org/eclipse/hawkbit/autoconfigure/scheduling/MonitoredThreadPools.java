@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.scheduling;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Registry of the thread pools created by the {@link ExecutorAutoConfiguration}.
+ * The executor beans wrap the pools to propagate the security context, so the
+ * pools themselves are kept here to monitor e.g. their queue depths.
+ */
+public class MonitoredThreadPools {
+
+    private final Map<String, ThreadPoolExecutor> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a thread pool.
+     *
+     * @param name
+     *            of the pool
+     * @param pool
+     *            the thread pool
+     * @return the given pool
+     */
+    public <T extends ThreadPoolExecutor> T register(final String name, final T pool) {
+        pools.put(name, pool);
+        return pool;
+    }
+
+    /**
+     * @return the registered pools by their name
+     */
+    public Map<String, ThreadPoolExecutor> getPools() {
+        return Collections.unmodifiableMap(pools);
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.cache.BoundedCaffeineCacheManager;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Metrics")
+@Story("Cache metrics")
+public class CacheMeterBinderTest {
+
+    private final BoundedCaffeineCacheManager cacheManager = spy(
+            new BoundedCaffeineCacheManager(10, Collections.emptyMap(), 0, TimeUnit.MILLISECONDS));
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @Description("Verifies that the caches of the tenants beyond the tenant tag limit are aggregated and that all meters are read from a single snapshot of the statistics.")
+    public void cachesBeyondTheLimitAreAggregated() {
+        final TenantTagLimiter tenantTags = new TenantTagLimiter(1, Collections.emptyList());
+        tenantTags.toTag("TENANT1");
+        hitAndMiss("TENANT1|cache");
+        hitAndMiss("TENANT2|cache");
+        hitAndMiss("TENANT3|cache");
+
+        new CacheMeterBinder(cacheManager, tenantTags).bindTo(registry);
+
+        assertThat(registry.get(CacheMeterBinder.HITS).tag("tenant", "TENANT1").tag("cache", "cache")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get(CacheMeterBinder.MISSES).tag("tenant", "TENANT1").tag("cache", "cache")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get(CacheMeterBinder.HITS).tag("tenant", TenantTagLimiter.OTHER).tag("cache", "cache")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get(CacheMeterBinder.MISSES).tag("tenant", TenantTagLimiter.OTHER)
+                .tag("cache", "cache").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("hawkbit.cache.size").tag("tenant", TenantTagLimiter.OTHER).gauge().value())
+                .isEqualTo(2);
+        assertThat(registry.find("hawkbit.cache.size").gauges()).hasSize(2);
+
+        verify(cacheManager, times(1)).getStatistics();
+    }
+
+    @Test
+    @Description("Verifies that the meters of caches which are created after the binding are registered by the refresh.")
+    public void newCachesAreRegisteredOnRefresh() {
+        final CacheMeterBinder underTest = new CacheMeterBinder(cacheManager,
+                new TenantTagLimiter(10, Collections.emptyList()));
+        underTest.bindTo(registry);
+        assertThat(registry.find(CacheMeterBinder.HITS).functionCounters()).isEmpty();
+
+        hitAndMiss("TENANT1|cache");
+        underTest.refresh();
+
+        assertThat(registry.get(CacheMeterBinder.HITS).tag("tenant", "TENANT1").tag("cache", "cache")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that the meters of tenants which lost their tenant tag are removed and that their caches are aggregated after the next refresh.")
+    public void metersOfReleasedTenantTagsAreRemoved() {
+        final TenantTagLimiter tenantTags = new TenantTagLimiter(1, Collections.emptyList());
+        tenantTags.toTag("TENANT1");
+        hitAndMiss("TENANT1|cache");
+        final CacheMeterBinder underTest = new CacheMeterBinder(cacheManager, tenantTags);
+        underTest.bindTo(registry);
+        assertThat(registry.find(CacheMeterBinder.HITS).tag("tenant", "TENANT1").functionCounter()).isNotNull();
+
+        // no activity of TENANT1 since the last ranking
+        tenantTags.rank();
+        tenantTags.rank();
+        assertThat(registry.find(CacheMeterBinder.HITS).tag("tenant", "TENANT1").functionCounter()).isNull();
+        assertThat(registry.find("hawkbit.cache.size").gauges()).isEmpty();
+
+        underTest.refresh();
+        assertThat(registry.find(CacheMeterBinder.HITS).tag("tenant", TenantTagLimiter.OTHER).functionCounter())
+                .isNotNull();
+    }
+
+    private void hitAndMiss(final String cacheName) {
+        final Cache cache = cacheManager.getCache(cacheName);
+        assertThat(cache.get("key")).isNull();
+        cache.put("key", "value");
+        assertThat(cache.get("key")).isNotNull();
+    }
+}
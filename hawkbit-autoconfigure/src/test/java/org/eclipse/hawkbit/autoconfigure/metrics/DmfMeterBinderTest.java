@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.amqp.AmqpMessageHandlerService;
+import org.eclipse.hawkbit.amqp.MessageTypeStatistics;
+import org.eclipse.hawkbit.amqp.PartitionedMessageProcessor;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Metrics")
+@Story("DMF metrics")
+@RunWith(MockitoJUnitRunner.class)
+public class DmfMeterBinderTest {
+
+    @Mock
+    private AmqpMessageHandlerService amqpMessageHandlerService;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @Description("Verifies that the processed and failed messages are tagged with the message type.")
+    public void messagesAreTaggedWithTheType() {
+        final MessageTypeStatistics statistics = new MessageTypeStatistics();
+        statistics.record(MessageType.EVENT, TimeUnit.MILLISECONDS.toNanos(10), true);
+        statistics.record(MessageType.EVENT, TimeUnit.MILLISECONDS.toNanos(30), false);
+        when(amqpMessageHandlerService.getMessageStatistics()).thenReturn(statistics);
+
+        new DmfMeterBinder(amqpMessageHandlerService).bindTo(registry);
+
+        final FunctionTimer events = registry.get("hawkbit.dmf.messages").tag("type", "EVENT").functionTimer();
+        assertThat(events.count()).isEqualTo(2);
+        assertThat(events.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40);
+        assertThat(registry.get("hawkbit.dmf.messages.failed").tag("type", "EVENT").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("hawkbit.dmf.messages").tag("type", "PING").functionTimer().count()).isZero();
+        assertThat(registry.find("hawkbit.dmf.partitions.queue").gauges()).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the meters of the partitions are tagged with the partition.")
+    public void partitionsAreTaggedWithTheIndex() {
+        final PartitionedMessageProcessor processor = new PartitionedMessageProcessor(2, 10, 10,
+                (tenant, messages) -> messages.forEach(Runnable::run));
+        try {
+            when(amqpMessageHandlerService.getMessageStatistics()).thenReturn(new MessageTypeStatistics());
+            when(amqpMessageHandlerService.getInboundProcessor()).thenReturn(processor);
+
+            new DmfMeterBinder(amqpMessageHandlerService).bindTo(registry);
+
+            assertThat(registry.find("hawkbit.dmf.partitions.queue").gauges()).hasSize(2);
+            assertThat(registry.get("hawkbit.dmf.partitions.processed").tag("partition", "1").functionCounter()
+                    .count()).isZero();
+        } finally {
+            processor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+
+import org.eclipse.hawkbit.security.DosFilter;
+import org.junit.Test;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.CharacterEncodingFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Metrics")
+@Story("DoS filter metrics")
+public class DosFilterMeterBinderTest {
+
+    @Test
+    @Description("Verifies that the rejections of the DoS filters are tagged with the filter and the reason and that other filters are ignored.")
+    public void rejectionsAreTaggedWithFilterAndReason() throws ServletException, IOException {
+        final DosFilter dosFilter = new DosFilter(null, 10, 10, null, "127\\.0\\.0\\.1", "X-Forwarded-For");
+        final Map<String, FilterRegistrationBean<?>> filterRegistrations = new HashMap<>();
+        filterRegistrations.put("dosFilter", new FilterRegistrationBean<>(dosFilter));
+        filterRegistrations.put("otherFilter", new FilterRegistrationBean<>(new CharacterEncodingFilter()));
+
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        new DosFilterMeterBinder(filterRegistrations).bindTo(registry);
+
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rest/v1/targets");
+        request.setRemoteAddr("127.0.0.1");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        dosFilter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(registry.get("hawkbit.dos.rejections").tag("filter", "dosFilter").tag("reason", "blacklist")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("hawkbit.dos.rejections").tag("reason", "read").functionCounter().count())
+                .isZero();
+        assertThat(registry.find("hawkbit.dos.rejections").functionCounters()).hasSize(3);
+        assertThat(registry.find("hawkbit.dos.rejections").tag("filter", "otherFilter").functionCounters())
+                .isEmpty();
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.event.EventLaneExecutor;
+import org.eclipse.hawkbit.event.EventLaneExecutor.SheddingPolicy;
+import org.eclipse.hawkbit.event.LaneAwareApplicationEventMulticaster;
+import org.eclipse.hawkbit.repository.event.EventLane;
+import org.junit.After;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Metrics")
+@Story("Event lane metrics")
+public class EventLaneMeterBinderTest {
+
+    private final Map<EventLane, EventLaneExecutor> lanes = new EnumMap<>(EventLane.class);
+
+    private final CountDownLatch blocker = new CountDownLatch(1);
+
+    @After
+    public void after() {
+        blocker.countDown();
+        lanes.values().forEach(EventLaneExecutor::shutdown);
+    }
+
+    @Test
+    @Description("Verifies that the pending, shed and caller runs tasks of the lanes are tagged with the lane.")
+    public void metersAreTaggedWithTheLane() {
+        final EventLaneExecutor poll = new EventLaneExecutor("poll", 1, 1, 1, 1000, SheddingPolicy.DISCARD, false,
+                null);
+        lanes.put(EventLane.POLL, poll);
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        new EventLaneMeterBinder(new LaneAwareApplicationEventMulticaster(lanes)).bindTo(registry);
+
+        // one running and one queued task exhaust the lane
+        poll.execute(this::await);
+        poll.execute(this::await);
+        poll.execute(this::await);
+
+        assertThat(registry.get("hawkbit.events.lane.pending").tag("lane", "poll").gauge().value())
+                .isBetween(1.0, 2.0);
+        assertThat(registry.get("hawkbit.events.lane.shed").tag("lane", "poll").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("hawkbit.events.lane.callerruns").tag("lane", "poll").functionCounter().count())
+                .isZero();
+    }
+
+    private void await() {
+        try {
+            blocker.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
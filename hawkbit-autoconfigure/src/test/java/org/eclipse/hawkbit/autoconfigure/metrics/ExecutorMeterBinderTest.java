@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.autoconfigure.scheduling.MonitoredThreadPools;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Metrics")
+@Story("Executor metrics")
+public class ExecutorMeterBinderTest {
+
+    @Test
+    @Description("Verifies that the executor meters of the registered thread pools are tagged with the name of the pool.")
+    public void registeredPoolsAreBound() throws InterruptedException {
+        final MonitoredThreadPools threadPools = new MonitoredThreadPools();
+        final ThreadPoolExecutor pool = threadPools.register("test",
+                new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()));
+        try {
+            final MeterRegistry registry = new SimpleMeterRegistry();
+            new ExecutorMeterBinder(threadPools).bindTo(registry);
+
+            pool.submit(() -> {
+            });
+            pool.shutdown();
+            assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(registry.get("executor.completed").tag("name", "test").functionCounter().count())
+                    .isEqualTo(1);
+            assertThat(registry.get("executor.pool.size").tag("name", "test").gauge()).isNotNull();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.hawkbit.repository.jpa.TargetPollBuffer;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignTargetBuffer;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutHandlerStatistics;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Metrics")
+@Story("Repository metrics")
+public class RepositoryMeterBinderTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @Description("Verifies that the meters read the statistics of the buffers and the rollout handler.")
+    public void metersReadTheStatistics() {
+        final TargetPollBuffer pollBuffer = new TargetPollBuffer(1);
+        pollBuffer.add("tenant", "controller1", 1L);
+        pollBuffer.add("tenant", "controller2", 1L);
+        final RolloutHandlerStatistics rolloutHandlerStatistics = new RolloutHandlerStatistics();
+        rolloutHandlerStatistics.recordHandled("tenant", 1L, 10L, true);
+        rolloutHandlerStatistics.recordHandled("tenant", 2L, 20L, false);
+        final AutoAssignTargetBuffer autoAssignTargetBuffer = new AutoAssignTargetBuffer(1);
+        autoAssignTargetBuffer.add("tenant", 1L);
+        autoAssignTargetBuffer.add("tenant", 2L);
+
+        new RepositoryMeterBinder(pollBuffer, rolloutHandlerStatistics, null, autoAssignTargetBuffer, null)
+                .bindTo(registry);
+
+        assertThat(registry.get("hawkbit.polls.buffer.size").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("hawkbit.polls.received").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("hawkbit.polls.dropped").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("hawkbit.rollouts.handler.handled").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("hawkbit.rollouts.handler.failed").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("hawkbit.rollouts.handler.duration.max").gauge().value()).isEqualTo(20);
+        assertThat(registry.get("hawkbit.autoassign.buffer.size").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("hawkbit.autoassign.buffer.dropped").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that no meters are registered for the components which are not available.")
+    public void missingComponentsAreSkipped() {
+        new RepositoryMeterBinder(null, null, null, null, null).bindTo(registry);
+
+        assertThat(registry.getMeters()).isEmpty();
+    }
+}
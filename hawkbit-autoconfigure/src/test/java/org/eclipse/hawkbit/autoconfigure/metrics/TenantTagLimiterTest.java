@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Metrics")
+@Story("Tenant tags")
+public class TenantTagLimiterTest {
+
+    @Test
+    @Description("Verifies that configured tenants are always tagged with their name and that further tenants are tagged with their name up to the limit.")
+    public void tenantsBeyondTheLimitShareATag() {
+        final TenantTagLimiter underTest = new TenantTagLimiter(1, Collections.singletonList("configured"));
+
+        assertThat(underTest.toTag(null)).isEqualTo(TenantTagLimiter.NONE);
+        assertThat(underTest.toTag("configured")).isEqualTo("CONFIGURED");
+        assertThat(underTest.toTag("first")).isEqualTo("FIRST");
+        assertThat(underTest.toTag("second")).isEqualTo(TenantTagLimiter.OTHER);
+        assertThat(underTest.toTag("first")).isEqualTo("FIRST");
+
+        assertThat(underTest.getTag("CONFIGURED")).isEqualTo("CONFIGURED");
+        assertThat(underTest.getTag("first")).isEqualTo("FIRST");
+        assertThat(underTest.getTag("second")).isEqualTo(TenantTagLimiter.OTHER);
+        assertThat(underTest.getTag(null)).isEqualTo(TenantTagLimiter.NONE);
+    }
+
+    @Test
+    @Description("Verifies that the ranking replaces the tenants which were less active or inactive since the last ranking.")
+    public void rankingReplacesInactiveTenants() {
+        final TenantTagLimiter underTest = new TenantTagLimiter(1, Collections.emptyList());
+
+        assertThat(underTest.toTag("first")).isEqualTo("FIRST");
+        assertThat(underTest.toTag("second")).isEqualTo(TenantTagLimiter.OTHER);
+        assertThat(underTest.toTag("second")).isEqualTo(TenantTagLimiter.OTHER);
+
+        underTest.rank();
+        assertThat(underTest.getTag("second")).isEqualTo("SECOND");
+        assertThat(underTest.toTag("first")).isEqualTo(TenantTagLimiter.OTHER);
+
+        // no activity of the second tenant since the last ranking
+        underTest.rank();
+        assertThat(underTest.toTag("second")).isEqualTo(TenantTagLimiter.OTHER);
+        assertThat(underTest.getTag("first")).isEqualTo("FIRST");
+
+        // the slots are released if there is no activity until the next ranking
+        underTest.rank();
+        underTest.rank();
+        assertThat(underTest.getTag("first")).isEqualTo(TenantTagLimiter.OTHER);
+        assertThat(underTest.toTag("third")).isEqualTo("THIRD");
+    }
+
+    @Test
+    @Description("Verifies that reading the tag of a tenant neither records an activity nor takes a free slot.")
+    public void getTagDoesNotRecordActivity() {
+        final TenantTagLimiter underTest = new TenantTagLimiter(1, Collections.emptyList());
+
+        assertThat(underTest.getTag("first")).isEqualTo(TenantTagLimiter.OTHER);
+        assertThat(underTest.toTag("second")).isEqualTo("SECOND");
+
+        underTest.rank();
+        assertThat(underTest.getTag("first")).isEqualTo(TenantTagLimiter.OTHER);
+        assertThat(underTest.getTag("second")).isEqualTo("SECOND");
+    }
+
+    @Test
+    @Description("Verifies that the ranking notifies the listeners about the tags of the tenants which lost their slot.")
+    public void rankingReleasesTagsOfDroppedTenants() {
+        final TenantTagLimiter underTest = new TenantTagLimiter(1, Collections.singletonList("configured"));
+        final List<Set<String>> released = new ArrayList<>();
+        underTest.addReleasedTagListener(released::add);
+
+        underTest.toTag("configured");
+        underTest.toTag("first");
+        underTest.toTag("second");
+        underTest.toTag("second");
+        underTest.rank();
+        assertThat(released).containsExactly(Collections.singleton("FIRST"));
+
+        // the ranked tenant keeps its tag
+        underTest.toTag("second");
+        underTest.rank();
+        assertThat(released).hasSize(1);
+
+        underTest.rank();
+        assertThat(released).containsExactly(Collections.singleton("FIRST"), Collections.singleton("SECOND"));
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.artifact.repository.ArtifactFilesystemProperties;
+import org.eclipse.hawkbit.artifact.repository.ArtifactFilesystemRepository;
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * JMH benchmark of the upload of an artifact into the file system repository,
+ * i.e. writing the staging file while calculating the SHA1, MD5 and SHA256
+ * hashes. The same content is stored in every invocation, so the staging file
+ * is discarded because the artifact exists already.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactRepositoryBenchmark {
+
+    private static final String TENANT = "DEFAULT";
+
+    @Param({ "1048576", "16777216" })
+    private int size;
+
+    private Path directory;
+    private ArtifactFilesystemRepository repository;
+    private byte[] content;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory(ArtifactRepositoryBenchmark.class.getSimpleName());
+        final ArtifactFilesystemProperties properties = new ArtifactFilesystemProperties();
+        properties.setPath(directory.toString());
+        repository = new ArtifactFilesystemRepository(properties);
+
+        content = new byte[size];
+        new Random(0).nextBytes(content);
+    }
+
+    @TearDown
+    public void deleteDirectory() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public AbstractDbArtifact store() {
+        return repository.store(TENANT, new ByteArrayInputStream(content), "artifact.bin", null, null);
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.event.BusProtoStuffMessageConverter;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.ActionProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.messaging.Message;
+
+/**
+ * JMH benchmark of the serialization of the remote events which are sent to
+ * the other nodes of a cluster, i.e. a small entity event and an assignment
+ * event with the actions of 500 targets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusProtoStuffMessageConverterBenchmark {
+
+    private static final String TENANT = "DEFAULT";
+    private static final String APPLICATION_ID = "node-1";
+    private static final int ASSIGNED_TARGETS = 500;
+
+    @Param({ "TargetDeletedEvent", "TargetAssignDistributionSetEvent" })
+    private String event;
+
+    private final BusProtoStuffMessageConverter converter = new BusProtoStuffMessageConverter();
+    private RemoteApplicationEvent payload;
+    private Message<?> message;
+
+    @Setup
+    public void setup() {
+        if ("TargetDeletedEvent".equals(event)) {
+            payload = new TargetDeletedEvent(TENANT, 4711L, "device-4711", "http://192.168.0.1",
+                    "org.eclipse.hawkbit.repository.jpa.model.JpaTarget", APPLICATION_ID);
+        } else {
+            final TargetAssignDistributionSetEvent assignment = new TargetAssignDistributionSetEvent(TENANT, 42L,
+                    Collections.emptyList(), APPLICATION_ID, false);
+            for (long i = 0; i < ASSIGNED_TARGETS; i++) {
+                final ActionProperties action = new ActionProperties();
+                action.setId(10_000L + i);
+                action.setActionType(ActionType.FORCED);
+                action.setTenant(TENANT);
+                assignment.getActions().put("device-" + i, action);
+            }
+            payload = assignment;
+        }
+        message = serialize();
+    }
+
+    @Benchmark
+    public Message<?> serialize() {
+        return converter.toMessage(payload, null);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return converter.fromMessage(message, RemoteApplicationEvent.class);
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.dmf.json.model.DmfActionStatus;
+import org.eclipse.hawkbit.dmf.json.model.DmfActionUpdateStatus;
+import org.eclipse.hawkbit.dmf.json.model.DmfArtifact;
+import org.eclipse.hawkbit.dmf.json.model.DmfArtifactHash;
+import org.eclipse.hawkbit.dmf.json.model.DmfDownloadAndUpdateRequest;
+import org.eclipse.hawkbit.dmf.json.model.DmfMetadata;
+import org.eclipse.hawkbit.dmf.json.model.DmfSoftwareModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JMH benchmark of the JSON mapping of the DMF payloads, i.e. of the download
+ * and update request sent for every assignment and of the action status
+ * updates received from the devices.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DmfJsonBenchmark {
+
+    private static final int SOFTWARE_MODULES = 3;
+    private static final int ARTIFACTS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private DmfDownloadAndUpdateRequest request;
+    private byte[] status;
+
+    @Setup
+    public void setup() throws IOException {
+        request = new DmfDownloadAndUpdateRequest();
+        request.setActionId(4711L);
+        request.setTargetSecurityToken("2d86c2a659e364e9abba49ea6ffcd53d");
+        for (long i = 0; i < SOFTWARE_MODULES; i++) {
+            final DmfSoftwareModule module = new DmfSoftwareModule();
+            module.setModuleId(i);
+            module.setModuleType("firmware");
+            module.setModuleVersion("1.0." + i);
+            final List<DmfArtifact> artifacts = new ArrayList<>(ARTIFACTS);
+            for (int j = 0; j < ARTIFACTS; j++) {
+                final DmfArtifact artifact = new DmfArtifact();
+                artifact.setFilename("firmware part " + j + ".bin");
+                artifact.setSize(50_000L + j);
+                artifact.setLastModified(1_580_000_000_000L);
+                artifact.setHashes(new DmfArtifactHash("2d86c2a659e364e9abba49ea6ffcd53dd5559f05",
+                        "0e8a4d1f8de5a4f1b7d1a9f4f4e2c8a1"));
+                final Map<String, String> urls = new HashMap<>();
+                urls.put("HTTP", "http://localhost:8080/DEFAULT/controller/v1/device-4711/softwaremodules/" + i
+                        + "/artifacts/firmware%20part%20" + j + ".bin");
+                urls.put("HTTPS", "https://localhost:8443/DEFAULT/controller/v1/device-4711/softwaremodules/" + i
+                        + "/artifacts/firmware%20part%20" + j + ".bin");
+                artifact.setUrls(urls);
+                artifacts.add(artifact);
+            }
+            module.setArtifacts(artifacts);
+            final List<DmfMetadata> metadata = new ArrayList<>();
+            metadata.add(new DmfMetadata("installer", "opkg"));
+            module.setMetadata(metadata);
+            request.addSoftwareModule(module);
+        }
+
+        final DmfActionUpdateStatus update = new DmfActionUpdateStatus(4711L, DmfActionStatus.RUNNING);
+        update.setSoftwareModuleId(1L);
+        update.addMessage("Download of firmware part 0.bin finished");
+        status = objectMapper.writeValueAsBytes(update);
+    }
+
+    @Benchmark
+    public byte[] writeDownloadAndUpdateRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public DmfActionUpdateStatus readActionUpdateStatus() throws IOException {
+        return objectMapper.readValue(status, DmfActionUpdateStatus.class);
+    }
+}
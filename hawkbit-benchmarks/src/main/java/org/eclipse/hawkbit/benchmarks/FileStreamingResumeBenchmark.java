@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * JMH benchmark of a download of a 64 MiB file which is resumed at different
+ * offsets with a 1 MiB range request. The artifact is either read by
+ * positional reads or, like an artifact of a repository that does not support
+ * seeking, by reading and discarding the bytes in front of the range.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStreamingResumeBenchmark {
+
+    private static final int SIZE = 64 * 1024 * 1024;
+    private static final int RANGE_SIZE = 1024 * 1024;
+    private static final String FILENAME = "artifact.bin";
+
+    @Param({ "0", "50", "90" })
+    private int offsetPercent;
+
+    @Param({ "false", "true" })
+    private boolean positionalReads;
+
+    private Path file;
+    private AbstractDbArtifact artifact;
+    private String range;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile(FileStreamingResumeBenchmark.class.getSimpleName(), "");
+        final byte[] chunk = new byte[1024 * 1024];
+        final Random random = new Random(0);
+        for (int i = 0; i < SIZE / chunk.length; i++) {
+            random.nextBytes(chunk);
+            Files.write(file, chunk, StandardOpenOption.APPEND);
+        }
+
+        final long offset = SIZE / 100L * offsetPercent;
+        range = "bytes=" + offset + "-" + (offset + RANGE_SIZE - 1);
+        artifact = positionalReads ? seekableArtifact() : skippingArtifact();
+    }
+
+    @TearDown
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long resume() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", range);
+        final CountingResponse response = new CountingResponse();
+        FileStreamingUtil.writeFileResponse(artifact, FILENAME, 1L, response, request, null, false);
+        return response.written;
+    }
+
+    private InputStream openFile() {
+        try {
+            return Files.newInputStream(file);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private AbstractDbArtifact skippingArtifact() {
+        return new AbstractDbArtifact("1", new DbArtifactHash("sha1", "md5", "sha256"), SIZE, null) {
+            @Override
+            public InputStream getFileInputStream() {
+                return new FilterInputStream(openFile()) {
+                    @Override
+                    public int available() {
+                        return 0;
+                    }
+
+                    @Override
+                    public long skip(final long n) {
+                        return 0;
+                    }
+                };
+            }
+        };
+    }
+
+    private AbstractDbArtifact seekableArtifact() {
+        return new AbstractDbArtifact("1", new DbArtifactHash("sha1", "md5", "sha256"), SIZE, null) {
+            @Override
+            public InputStream getFileInputStream() {
+                return openFile();
+            }
+
+            @Override
+            public Optional<SeekableByteChannel> openSeekableChannel() {
+                try {
+                    return Optional.of(Files.newByteChannel(file));
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Response that only counts the written bytes so that the benchmark is not
+     * dominated by an in-memory copy of the content.
+     */
+    private static final class CountingResponse extends MockHttpServletResponse {
+        private long written;
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(final int b) {
+                written++;
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                written += len;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+                // not needed
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
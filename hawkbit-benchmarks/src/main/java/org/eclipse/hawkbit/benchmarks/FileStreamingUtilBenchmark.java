@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * JMH benchmark of the artifact download of a 16 MiB file, in full and as a
+ * range request for a 1 MiB chunk in the middle of the file, copied from the
+ * artifact stream or read from the file channel (zero-copy without container
+ * sendfile support). The response only counts the bytes, i.e. the benchmark
+ * does not include the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStreamingUtilBenchmark {
+
+    private static final int SIZE = 16 * 1024 * 1024;
+    private static final String RANGE = "bytes=" + (SIZE / 2) + "-" + (SIZE / 2 + 1024 * 1024 - 1);
+    private static final String FILENAME = "artifact.bin";
+
+    @Param({ "false", "true" })
+    private boolean zeroCopy;
+
+    private Path file;
+    private AbstractDbArtifact artifact;
+
+    @Setup
+    public void setup() throws IOException {
+        final byte[] content = new byte[SIZE];
+        new Random(0).nextBytes(content);
+        file = Files.createTempFile(FileStreamingUtilBenchmark.class.getSimpleName(), "");
+        Files.write(file, content);
+
+        artifact = new AbstractDbArtifact("1", new DbArtifactHash("sha1", "md5", "sha256"), SIZE, null) {
+            @Override
+            public InputStream getFileInputStream() {
+                try {
+                    return Files.newInputStream(file);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public Optional<Path> getFilePath() {
+                return Optional.of(file);
+            }
+        };
+    }
+
+    @TearDown
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long full() {
+        final CountingResponse response = new CountingResponse();
+        FileStreamingUtil.writeFileResponse(artifact, FILENAME, 1L, response, new MockHttpServletRequest(), null,
+                zeroCopy);
+        return response.written;
+    }
+
+    @Benchmark
+    public long range() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", RANGE);
+        final CountingResponse response = new CountingResponse();
+        FileStreamingUtil.writeFileResponse(artifact, FILENAME, 1L, response, request, null, zeroCopy);
+        return response.written;
+    }
+
+    /**
+     * Response that only counts the written bytes so that the benchmark is not
+     * dominated by an in-memory copy of the content.
+     */
+    private static final class CountingResponse extends MockHttpServletResponse {
+        private long written;
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(final int b) {
+                written++;
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                written += len;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+                // not needed
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
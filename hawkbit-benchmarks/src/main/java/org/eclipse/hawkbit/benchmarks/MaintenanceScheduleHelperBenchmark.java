@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.MaintenanceScheduleHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of the calculation of the next maintenance window, which is
+ * done for every action with a maintenance window on every poll.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaintenanceScheduleHelperBenchmark {
+
+    private static final Map<String, String> SCHEDULES = new HashMap<>();
+
+    static {
+        SCHEDULES.put("daily", "0 0 3 ? * *");
+        SCHEDULES.put("workdays", "0 30 1,13 ? * MON-FRI");
+        SCHEDULES.put("monthly", "0 0/15 22-23 1-7 * ?");
+    }
+
+    // JMH does not support commas in parameter values
+    @Param({ "daily", "workdays", "monthly" })
+    private String schedule;
+
+    private String cronSchedule;
+
+    @Setup
+    public void setup() {
+        cronSchedule = SCHEDULES.get(schedule);
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> nextMaintenanceWindow() {
+        return MaintenanceScheduleHelper.getNextMaintenanceWindow(cronSchedule, "01:30:00", "+02:00");
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.api.ApiType;
+import org.eclipse.hawkbit.api.ArtifactUrlHandler;
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties;
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
+import org.eclipse.hawkbit.api.Base62Util;
+import org.eclipse.hawkbit.api.PropertyBasedArtifactUrlHandler;
+import org.eclipse.hawkbit.api.URLPlaceholder;
+import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.StringUtils;
+
+/**
+ * JMH benchmark of the URL generation of the artifacts of a distribution set
+ * with 20 artifacts for a device response with three configured protocols.
+ * The <code>placeholderReplacement</code> benchmark is the sequential
+ * placeholder replacement which has been used before the patterns have been
+ * parsed into templates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyBasedArtifactUrlHandlerBenchmark {
+
+    private static final int ARTIFACTS = 20;
+
+    private ArtifactUrlHandlerProperties properties;
+    private ArtifactUrlHandler urlHandler;
+    private List<URLPlaceholder> placeholders;
+    private URI requestUri;
+
+    @Setup
+    public void setup() {
+        properties = new ArtifactUrlHandlerProperties();
+        properties.getProtocols().put("download-http", new UrlProtocol());
+
+        final UrlProtocol https = new UrlProtocol();
+        https.setRel("download");
+        https.setProtocol("https");
+        https.setPort(443);
+        https.setHostname("device.example.com");
+        https.setRef("{protocol}://{domainRequest}/{tenant}/controller/v1/{controllerId}/softwaremodules/"
+                + "{softwareModuleId}/artifacts/{artifactFileName}");
+        properties.getProtocols().put("download", https);
+
+        final UrlProtocol cdn = new UrlProtocol();
+        cdn.setRel("download-cdn");
+        cdn.setProtocol("https");
+        cdn.setHostname("cdn.example.com");
+        cdn.setRef("{protocol}://{hostname}/{tenantIdBase62}/{targetIdBase62}/{artifactIdBase62}/{artifactSHA1}");
+        properties.getProtocols().put("download-cdn", cdn);
+
+        urlHandler = new PropertyBasedArtifactUrlHandler(properties);
+        requestUri = URI.create("https://device.example.com/DEFAULT/controller/v1/device-4711");
+
+        placeholders = new ArrayList<>(ARTIFACTS);
+        for (long i = 0; i < ARTIFACTS; i++) {
+            placeholders.add(new URLPlaceholder("DEFAULT", 1L, "device-4711", 123_456L,
+                    new SoftwareData(1000L + i / 5, "firmware part " + i + ".bin", 50_000L + i,
+                            "2d86c2a659e364e9abba49ea6ffcd53dd5559f05")));
+        }
+    }
+
+    @Benchmark
+    public void templates(final Blackhole blackhole) {
+        for (final URLPlaceholder placeholder : placeholders) {
+            blackhole.consume(urlHandler.getUrls(placeholder, ApiType.DDI, requestUri));
+        }
+    }
+
+    @Benchmark
+    public void placeholderReplacement(final Blackhole blackhole) {
+        for (final URLPlaceholder placeholder : placeholders) {
+            for (final UrlProtocol protocol : properties.getProtocols().values()) {
+                blackhole.consume(replacePlaceholders(protocol, placeholder));
+            }
+        }
+    }
+
+    private String replacePlaceholders(final UrlProtocol protocol, final URLPlaceholder placeholder) {
+        final Map<String, String> replaceMap = new HashMap<>();
+        replaceMap.put("ip", protocol.getIp());
+        replaceMap.put("hostname", protocol.getHostname());
+        replaceMap.put("hostnameRequest", requestUri.getHost());
+        replaceMap.put("portRequest", String.valueOf(protocol.getPort()));
+        replaceMap.put("domainRequest", requestUri.getHost());
+        try {
+            replaceMap.put("artifactFileName", URLEncoder.encode(placeholder.getSoftwareData().getFilename(),
+                    StandardCharsets.UTF_8.toString()));
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        replaceMap.put("artifactSHA1", placeholder.getSoftwareData().getSha1Hash());
+        replaceMap.put("protocol", protocol.getProtocol());
+        replaceMap.put("port", String.valueOf(protocol.getPort()));
+        replaceMap.put("tenant", placeholder.getTenant());
+        replaceMap.put("tenantId", String.valueOf(placeholder.getTenantId()));
+        replaceMap.put("tenantIdBase62", Base62Util.fromBase10(placeholder.getTenantId()));
+        replaceMap.put("controllerId", placeholder.getControllerId());
+        replaceMap.put("targetId", String.valueOf(placeholder.getTargetId()));
+        replaceMap.put("targetIdBase62", Base62Util.fromBase10(placeholder.getTargetId()));
+        replaceMap.put("artifactIdBase62", Base62Util.fromBase10(placeholder.getSoftwareData().getArtifactId()));
+        replaceMap.put("artifactId", String.valueOf(placeholder.getSoftwareData().getArtifactId()));
+        replaceMap.put("softwareModuleId", String.valueOf(placeholder.getSoftwareData().getSoftwareModuleId()));
+        replaceMap.put("softwareModuleIdBase62",
+                Base62Util.fromBase10(placeholder.getSoftwareData().getSoftwareModuleId()));
+
+        String url = protocol.getRef();
+        for (final Entry<String, String> entry : replaceMap.entrySet()) {
+            if ("port".equals(entry.getKey())) {
+                url = url.replace(":{port}", StringUtils.isEmpty(entry.getValue()) ? "" : (":" + entry.getValue()));
+            } else {
+                url = url.replace("{" + entry.getKey() + "}", entry.getValue());
+            }
+        }
+        return url;
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLTargetPredicate;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
+import org.eclipse.hawkbit.repository.model.TargetWithDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of the parsing of RSQL target filter queries as done for the
+ * validation of every query and before the creation of the JPA predicates,
+ * and of the compilation of the in-memory predicates of the auto assignment.
+ * The creation of the JPA predicates needs a persistence unit and is not
+ * covered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RSQLUtilityBenchmark {
+
+    private static final Map<String, String> QUERIES = new HashMap<>();
+
+    static {
+        QUERIES.put("simple", "name==target*");
+        QUERIES.put("medium", "updateStatus==pending;(tag==europe,tag==asia);attribute.revision=in=(1.0,1.1)");
+        QUERIES.put("complex",
+                "(controllerId==device-1*,controllerId==device-2*);assignedDs.name!=Firmware;metadata.region==eu*;"
+                        + "description!=test*;installedDs.version=out=(1.0.0,1.0.1,1.0.2)");
+    }
+
+    // JMH does not support commas in parameter values
+    @Param({ "simple", "medium", "complex" })
+    private String complexity;
+
+    private String query;
+    private Predicate<TargetWithDetails> predicate;
+
+    @Setup
+    public void setup() {
+        query = QUERIES.get(complexity);
+        predicate = RSQLTargetPredicate.compile(query)
+                .orElseThrow(() -> new IllegalStateException("not compilable: " + query));
+    }
+
+    @Benchmark
+    public String validate() {
+        RSQLUtility.isValid(query.toLowerCase());
+        return query;
+    }
+
+    @Benchmark
+    public Predicate<TargetWithDetails> compileTargetPredicate() {
+        return RSQLTargetPredicate.compile(query).orElse(predicate);
+    }
+}
@@ -26,10 +26,16 @@ public class HawkbitServerProperties {
 
     private final Build build = new Build();
 
+    private final Download download = new Download();
+
     public Anonymous getAnonymous() {
         return anonymous;
     }
 
+    public Download getDownload() {
+        return download;
+    }
+
     public Build getBuild() {
         return build;
     }
@@ -68,6 +74,61 @@ public class HawkbitServerProperties {
         }
     }
 
+    /**
+     * Properties for artifact download by Devices/Controllers and the
+     * management API.
+     *
+     */
+    public static class Download {
+
+        /**
+         * Hands file-backed artifacts over to the sendfile support of the
+         * servlet container if true and if the container supports it. Downloads
+         * which report their progress, i.e. the DDI downloads, are always
+         * copied as the container does not tell when it is done.
+         */
+        private boolean zeroCopy;
+
+        /**
+         * Interval in milliseconds in which the accumulated download progress
+         * is published, 0 to publish the progress every 10 percent of every
+         * download.
+         */
+        private long progressFlushInterval = 1000;
+
+        /**
+         * Time window in milliseconds within repeated range requests of the
+         * same artifact for the same action are logged by a single action
+         * status, 0 to log every range request.
+         */
+        private long rangeLogWindow = 60_000;
+
+        public boolean isZeroCopy() {
+            return zeroCopy;
+        }
+
+        public void setZeroCopy(final boolean zeroCopy) {
+            this.zeroCopy = zeroCopy;
+        }
+
+        public long getProgressFlushInterval() {
+            return progressFlushInterval;
+        }
+
+        public void setProgressFlushInterval(final long progressFlushInterval) {
+            this.progressFlushInterval = progressFlushInterval;
+        }
+
+        public long getRangeLogWindow() {
+            return rangeLogWindow;
+        }
+
+        public void setRangeLogWindow(final long rangeLogWindow) {
+            this.rangeLogWindow = rangeLogWindow;
+        }
+
+    }
+
     /**
      * Build information of the hawkBit instance. Influenced by maven.
      *
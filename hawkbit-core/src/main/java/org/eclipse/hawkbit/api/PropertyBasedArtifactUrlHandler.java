@@ -12,13 +12,14 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
@@ -47,28 +48,13 @@ public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(PropertyBasedArtifactUrlHandler.class);
 
-    private static final String PROTOCOL_PLACEHOLDER = "protocol";
-    private static final String CONTROLLER_ID_PLACEHOLDER = "controllerId";
-    private static final String TARGET_ID_BASE10_PLACEHOLDER = "targetId";
-    private static final String TARGET_ID_BASE62_PLACEHOLDER = "targetIdBase62";
-    private static final String IP_PLACEHOLDER = "ip";
-    private static final String PORT_PLACEHOLDER = "port";
-    private static final String HOSTNAME_PLACEHOLDER = "hostname";
-    private static final String HOSTNAME_REQUEST_PLACEHOLDER = "hostnameRequest";
-    private static final String PORT_REQUEST_PLACEHOLDER = "portRequest";
-    private static final String HOSTNAME_WITH_DOMAIN_REQUEST_PLACEHOLDER = "domainRequest";
-    private static final String ARTIFACT_FILENAME_PLACEHOLDER = "artifactFileName";
-    private static final String ARTIFACT_SHA1_PLACEHOLDER = "artifactSHA1";
-    private static final String ARTIFACT_ID_BASE10_PLACEHOLDER = "artifactId";
-    private static final String ARTIFACT_ID_BASE62_PLACEHOLDER = "artifactIdBase62";
-    private static final String TENANT_PLACEHOLDER = "tenant";
-    private static final String TENANT_ID_BASE10_PLACEHOLDER = "tenantId";
-    private static final String TENANT_ID_BASE62_PLACEHOLDER = "tenantIdBase62";
-    private static final String SOFTWARE_MODULE_ID_BASE10_PLACDEHOLDER = "softwareModuleId";
-    private static final String SOFTWARE_MODULE_ID_BASE62_PLACDEHOLDER = "softwareModuleIdBase62";
-
     private final ArtifactUrlHandlerProperties urlHandlerProperties;
 
+    /**
+     * The parsed {@link UrlProtocol#getRef()} patterns by pattern.
+     */
+    private final Map<String, UrlTemplate> templates = new ConcurrentHashMap<>();
+
     /**
      * @param urlHandlerProperties
      *            for URL generation configuration
@@ -84,66 +70,188 @@ public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
 
     @Override
     public List<ArtifactUrl> getUrls(final URLPlaceholder placeholder, final ApiType api, final URI requestUri) {
+        final PlaceholderValues values = new PlaceholderValues(placeholder, requestUri);
 
         return urlHandlerProperties.getProtocols().values().stream()
                 .filter(urlProtocol -> urlProtocol.getSupports().contains(api) && urlProtocol.isEnabled())
                 .map(urlProtocol -> new ArtifactUrl(urlProtocol.getProtocol().toUpperCase(), urlProtocol.getRel(),
-                        generateUrl(urlProtocol, placeholder, requestUri)))
+                        templates.computeIfAbsent(urlProtocol.getRef(), UrlTemplate::parse).render(urlProtocol,
+                                values)))
                 .collect(Collectors.toList());
 
     }
 
-    private static String generateUrl(final UrlProtocol protocol, final URLPlaceholder placeholder,
-            final URI requestUri) {
-        final Set<Entry<String, String>> entrySet = getReplaceMap(protocol, placeholder, requestUri).entrySet();
+    /**
+     * The placeholders supported in the {@link UrlProtocol#getRef()} pattern.
+     */
+    private enum Placeholder {
+        PROTOCOL("protocol", true, (protocol, values) -> protocol.getProtocol()),
+
+        CONTROLLER_ID("controllerId", false, (protocol, values) -> values.placeholder.getControllerId()),
+
+        TARGET_ID_BASE10("targetId", false, (protocol, values) -> String.valueOf(values.placeholder.getTargetId())),
+
+        TARGET_ID_BASE62("targetIdBase62", false,
+                (protocol, values) -> Base62Util.fromBase10(values.placeholder.getTargetId())),
+
+        IP("ip", true, (protocol, values) -> protocol.getIp()),
+
+        PORT("port", true, (protocol, values) -> getPort(protocol)),
+
+        HOSTNAME("hostname", true, (protocol, values) -> protocol.getHostname()),
+
+        HOSTNAME_REQUEST("hostnameRequest", true,
+                (protocol, values) -> getRequestHost(protocol, values.requestUri)),
+
+        PORT_REQUEST("portRequest", true, (protocol, values) -> getRequestPort(protocol, values.requestUri)),
+
+        HOSTNAME_WITH_DOMAIN_REQUEST("domainRequest", true,
+                (protocol, values) -> computeHostWithRequestDomain(protocol, values.requestUri)),
+
+        ARTIFACT_FILENAME("artifactFileName", false,
+                (protocol, values) -> encode(values.placeholder.getSoftwareData().getFilename())),
+
+        ARTIFACT_SHA1("artifactSHA1", false, (protocol, values) -> values.placeholder.getSoftwareData().getSha1Hash()),
+
+        ARTIFACT_ID_BASE10("artifactId", false,
+                (protocol, values) -> String.valueOf(values.placeholder.getSoftwareData().getArtifactId())),
+
+        ARTIFACT_ID_BASE62("artifactIdBase62", false,
+                (protocol, values) -> Base62Util.fromBase10(values.placeholder.getSoftwareData().getArtifactId())),
+
+        TENANT("tenant", false, (protocol, values) -> values.placeholder.getTenant()),
+
+        TENANT_ID_BASE10("tenantId", false, (protocol, values) -> String.valueOf(values.placeholder.getTenantId())),
+
+        TENANT_ID_BASE62("tenantIdBase62", false,
+                (protocol, values) -> Base62Util.fromBase10(values.placeholder.getTenantId())),
+
+        SOFTWARE_MODULE_ID_BASE10("softwareModuleId", false,
+                (protocol, values) -> String.valueOf(values.placeholder.getSoftwareData().getSoftwareModuleId())),
+
+        SOFTWARE_MODULE_ID_BASE62("softwareModuleIdBase62", false, (protocol, values) -> Base62Util
+                .fromBase10(values.placeholder.getSoftwareData().getSoftwareModuleId()));
+
+        private static final Map<String, Placeholder> BY_KEY = Arrays.stream(values())
+                .collect(Collectors.toMap(placeholder -> placeholder.key, Function.identity()));
+
+        private final String key;
+        private final boolean protocolSpecific;
+        private final BiFunction<UrlProtocol, PlaceholderValues, String> value;
+
+        Placeholder(final String key, final boolean protocolSpecific,
+                final BiFunction<UrlProtocol, PlaceholderValues, String> value) {
+            this.key = key;
+            this.protocolSpecific = protocolSpecific;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The values of the placeholders for a {@link URLPlaceholder}. The values
+     * which do not depend on the {@link UrlProtocol} are computed only once for
+     * all protocols and only if they are used by a pattern.
+     */
+    private static final class PlaceholderValues {
+        private final URLPlaceholder placeholder;
+        private final URI requestUri;
+        private final String[] values = new String[Placeholder.values().length];
 
-        String urlPattern = protocol.getRef();
+        private PlaceholderValues(final URLPlaceholder placeholder, final URI requestUri) {
+            this.placeholder = placeholder;
+            this.requestUri = requestUri;
+        }
+
+        private String get(final Placeholder key, final UrlProtocol protocol) {
+            if (key.protocolSpecific) {
+                return key.value.apply(protocol, this);
+            }
 
-        for (final Entry<String, String> entry : entrySet) {
-            if (entry.getKey().equals(PORT_PLACEHOLDER)) {
-                urlPattern = urlPattern.replace(":{" + entry.getKey() + "}",
-                        StringUtils.isEmpty(entry.getValue()) ? "" : (":" + entry.getValue()));
-            } else {
-                urlPattern = urlPattern.replace("{" + entry.getKey() + "}", entry.getValue());
+            String value = values[key.ordinal()];
+            if (value == null) {
+                value = key.value.apply(protocol, this);
+                values[key.ordinal()] = value;
             }
+            return value;
         }
-        return urlPattern;
     }
 
-    private static Map<String, String> getReplaceMap(final UrlProtocol protocol, final URLPlaceholder placeholder,
-            final URI requestUri) {
-        final Map<String, String> replaceMap = new HashMap<>();
-        replaceMap.put(IP_PLACEHOLDER, protocol.getIp());
-        replaceMap.put(HOSTNAME_PLACEHOLDER, protocol.getHostname());
+    /**
+     * A {@link UrlProtocol#getRef()} pattern parsed into literal and
+     * placeholder segments which is rendered in a single pass.
+     */
+    private static final class UrlTemplate {
+        private final List<Object> segments;
 
-        replaceMap.put(HOSTNAME_REQUEST_PLACEHOLDER, getRequestHost(protocol, requestUri));
-        replaceMap.put(PORT_REQUEST_PLACEHOLDER, getRequestPort(protocol, requestUri));
-        replaceMap.put(HOSTNAME_WITH_DOMAIN_REQUEST_PLACEHOLDER, computeHostWithRequestDomain(protocol, requestUri));
+        private UrlTemplate(final List<Object> segments) {
+            this.segments = segments;
+        }
 
+        private static UrlTemplate parse(final String pattern) {
+            final List<Object> segments = new ArrayList<>();
+            final StringBuilder literal = new StringBuilder();
+
+            int index = 0;
+            while (index < pattern.length()) {
+                final int start = pattern.indexOf('{', index);
+                final int end = start < 0 ? -1 : pattern.indexOf('}', start);
+                if (end < 0) {
+                    literal.append(pattern, index, pattern.length());
+                    break;
+                }
+
+                literal.append(pattern, index, start);
+                final Placeholder placeholder = Placeholder.BY_KEY.get(pattern.substring(start + 1, end));
+                // the port is only replaced together with its separator as it
+                // might be omitted
+                final boolean portWithSeparator = placeholder == Placeholder.PORT && literal.length() > 0
+                        && literal.charAt(literal.length() - 1) == ':';
+                if (placeholder == null || (placeholder == Placeholder.PORT && !portWithSeparator)) {
+                    literal.append(pattern, start, end + 1);
+                } else {
+                    if (portWithSeparator) {
+                        literal.setLength(literal.length() - 1);
+                    }
+                    if (literal.length() > 0) {
+                        segments.add(literal.toString());
+                        literal.setLength(0);
+                    }
+                    segments.add(placeholder);
+                }
+                index = end + 1;
+            }
+
+            if (literal.length() > 0) {
+                segments.add(literal.toString());
+            }
+            return new UrlTemplate(segments);
+        }
+
+        private String render(final UrlProtocol protocol, final PlaceholderValues values) {
+            final StringBuilder url = new StringBuilder(128);
+            for (final Object segment : segments) {
+                if (segment == Placeholder.PORT) {
+                    final String port = values.get(Placeholder.PORT, protocol);
+                    if (!StringUtils.isEmpty(port)) {
+                        url.append(':').append(port);
+                    }
+                } else if (segment instanceof Placeholder) {
+                    url.append(values.get((Placeholder) segment, protocol));
+                } else {
+                    url.append((String) segment);
+                }
+            }
+            return url.toString();
+        }
+    }
+
+    private static String encode(final String filename) {
         try {
-            replaceMap.put(ARTIFACT_FILENAME_PLACEHOLDER,
-                    URLEncoder.encode(placeholder.getSoftwareData().getFilename(), StandardCharsets.UTF_8.toString()));
+            return URLEncoder.encode(filename, StandardCharsets.UTF_8.toString());
         } catch (final UnsupportedEncodingException e) {
-            LOG.error("Could not encode {}", placeholder.getSoftwareData().getFilename(), e);
+            LOG.error("Could not encode {}", filename, e);
+            return "{artifactFileName}";
         }
-
-        replaceMap.put(ARTIFACT_SHA1_PLACEHOLDER, placeholder.getSoftwareData().getSha1Hash());
-        replaceMap.put(PROTOCOL_PLACEHOLDER, protocol.getProtocol());
-        replaceMap.put(PORT_PLACEHOLDER, getPort(protocol));
-        replaceMap.put(TENANT_PLACEHOLDER, placeholder.getTenant());
-        replaceMap.put(TENANT_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getTenantId()));
-        replaceMap.put(TENANT_ID_BASE62_PLACEHOLDER, Base62Util.fromBase10(placeholder.getTenantId()));
-        replaceMap.put(CONTROLLER_ID_PLACEHOLDER, placeholder.getControllerId());
-        replaceMap.put(TARGET_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getTargetId()));
-        replaceMap.put(TARGET_ID_BASE62_PLACEHOLDER, Base62Util.fromBase10(placeholder.getTargetId()));
-        replaceMap.put(ARTIFACT_ID_BASE62_PLACEHOLDER,
-                Base62Util.fromBase10(placeholder.getSoftwareData().getArtifactId()));
-        replaceMap.put(ARTIFACT_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getSoftwareData().getArtifactId()));
-        replaceMap.put(SOFTWARE_MODULE_ID_BASE10_PLACDEHOLDER,
-                String.valueOf(placeholder.getSoftwareData().getSoftwareModuleId()));
-        replaceMap.put(SOFTWARE_MODULE_ID_BASE62_PLACDEHOLDER,
-                Base62Util.fromBase10(placeholder.getSoftwareData().getSoftwareModuleId()));
-        return replaceMap;
     }
 
     private static String getRequestPort(final UrlProtocol protocol, final URI requestUri) {
@@ -8,15 +8,9 @@
  */
 package org.eclipse.hawkbit.artifact.repository;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.security.DigestInputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
@@ -24,9 +18,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
-import com.google.common.io.BaseEncoding;
-import com.google.common.io.ByteStreams;
-
 /**
  * Abstract utility class for ArtifactRepository implementations with common
  * functionality, e.g. computation of hashes.
@@ -37,36 +28,25 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractArtifactRepository.class);
 
+    /**
+     * Stores the content in a single pass into a file created by
+     * {@link #createTempFile()} while the hashes are calculated in parallel,
+     * and hands the file over to {@link #store(String, DbArtifactHash, String, String)}.
+     */
     @Override
-    // suppress warning, of not strong enough hashing algorithm, SHA-1 and MD5
-    // is not used security related
-    @SuppressWarnings("squid:S2070")
     public AbstractDbArtifact store(final String tenant, final InputStream content, final String filename,
             final String contentType, final DbArtifactHash providedHashes) {
-        final MessageDigest mdSHA1;
-        final MessageDigest mdMD5;
-        final MessageDigest mdSHA256;
-        try {
-            mdSHA1 = MessageDigest.getInstance("SHA1");
-            mdMD5 = MessageDigest.getInstance("MD5");
-            mdSHA256 = MessageDigest.getInstance("SHA-256");
-        } catch (final NoSuchAlgorithmException e) {
-            throw new ArtifactStoreException(e.getMessage(), e);
-        }
 
         String tempFile = null;
-        try (final DigestInputStream inputstream = wrapInDigestInputStream(content, mdSHA1, mdMD5, mdSHA256)) {
-
-            tempFile = storeTempFile(inputstream);
+        try (final InputStream inputstream = content) {
+            final File file = createTempFile();
+            tempFile = file.getPath();
 
-            final String sha1Hash16 = BaseEncoding.base16().lowerCase().encode(mdSHA1.digest());
-            final String md5Hash16 = BaseEncoding.base16().lowerCase().encode(mdMD5.digest());
-            final String sha256Hash16 = BaseEncoding.base16().lowerCase().encode(mdSHA256.digest());
+            final DbArtifactHash hashes = ParallelDigestFileWriter.write(inputstream, file);
 
-            checkHashes(sha1Hash16, md5Hash16, sha256Hash16, providedHashes);
+            checkHashes(hashes.getSha1(), hashes.getMd5(), hashes.getSha256(), providedHashes);
 
-            return store(sanitizeTenant(tenant), new DbArtifactHash(sha1Hash16, md5Hash16, sha256Hash16), contentType,
-                    tempFile);
+            return store(sanitizeTenant(tenant), hashes, contentType, tempFile);
         } catch (final IOException e) {
             throw new ArtifactStoreException(e.getMessage(), e);
         } finally {
@@ -84,18 +64,16 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
         }
     }
 
-    protected String storeTempFile(final InputStream content) throws IOException {
-        final File file = createTempFile();
-
-        try (final OutputStream outputstream = new BufferedOutputStream(new FileOutputStream(file))) {
-            ByteStreams.copy(content, outputstream);
-            outputstream.flush();
-        }
-
-        return file.getPath();
-    }
-
-    private static File createTempFile() {
+    /**
+     * Creates the file the content of an artifact is written to before it is
+     * handed over to {@link #store(String, DbArtifactHash, String, String)}.
+     * Repositories that keep the artifacts on the local file system should
+     * create it on the same file system so that it can be moved into place
+     * instead of being copied.
+     * 
+     * @return the created file, by default in the system temp directory
+     */
+    protected File createTempFile() {
 
         try {
             return File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
@@ -130,11 +108,6 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
     protected abstract AbstractDbArtifact store(final String tenant, final DbArtifactHash base16Hashes,
             final String contentType, final String tempFile) throws IOException;
 
-    private static DigestInputStream wrapInDigestInputStream(final InputStream input, final MessageDigest mdSHA1,
-            final MessageDigest mdMD5, final MessageDigest mdSHA256) {
-        return new DigestInputStream(new DigestInputStream(new DigestInputStream(input, mdSHA256), mdMD5), mdSHA1);
-    }
-
     protected static String sanitizeTenant(final String tenant) {
         return tenant.trim().toUpperCase();
     }
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Writes an {@link InputStream} into a file in a single pass while the SHA-1,
+ * MD5 and SHA-256 hashes of the content are calculated concurrently, each on
+ * its own thread. The chunks read from the stream are shared with the hashing
+ * threads through a fixed ring of buffers, i.e. the memory consumption of an
+ * upload is bounded independent of the artifact size.
+ */
+final class ParallelDigestFileWriter {
+
+    private static final int BUFFER_SIZE = 0x10000; // 64k
+    private static final int RING_SIZE = 16;
+
+    private static final ExecutorService DIGEST_EXECUTOR = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("artifact-digest-%d").setDaemon(true).build());
+
+    private static final Chunk END = new Chunk(0);
+
+    private final Chunk[] ring = new Chunk[RING_SIZE];
+    private final Semaphore free = new Semaphore(RING_SIZE);
+    private final List<BlockingQueue<Chunk>> queues = new ArrayList<>();
+    private final List<Future<byte[]>> digests = new ArrayList<>();
+
+    private ParallelDigestFileWriter(final MessageDigest... messageDigests) {
+        for (int i = 0; i < RING_SIZE; i++) {
+            ring[i] = new Chunk(BUFFER_SIZE);
+        }
+        for (final MessageDigest messageDigest : messageDigests) {
+            // one slot more than the ring size for the end marker
+            final BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(RING_SIZE + 1);
+            queues.add(queue);
+            digests.add(DIGEST_EXECUTOR.submit(() -> digest(messageDigest, queue)));
+        }
+    }
+
+    /**
+     * Writes the given content into the given file and calculates the hashes
+     * of the content.
+     *
+     * @param content
+     *            to write
+     * @param file
+     *            to write into
+     * @return the base16 encoded hashes of the content
+     * @throws IOException
+     *             if reading the content or writing the file failed
+     */
+    // suppress warning, of not strong enough hashing algorithm, SHA-1 and MD5
+    // is not used security related
+    @SuppressWarnings("squid:S2070")
+    static DbArtifactHash write(final InputStream content, final File file) throws IOException {
+        final ParallelDigestFileWriter writer;
+        try {
+            writer = new ParallelDigestFileWriter(MessageDigest.getInstance("SHA1"), MessageDigest.getInstance("MD5"),
+                    MessageDigest.getInstance("SHA-256"));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new ArtifactStoreException(e.getMessage(), e);
+        }
+
+        try (final OutputStream outputstream = new FileOutputStream(file)) {
+            writer.copy(content, outputstream);
+        } finally {
+            writer.queues.forEach(queue -> queue.add(END));
+        }
+
+        final BaseEncoding base16 = BaseEncoding.base16().lowerCase();
+        return new DbArtifactHash(base16.encode(writer.getDigest(0)), base16.encode(writer.getDigest(1)),
+                base16.encode(writer.getDigest(2)));
+    }
+
+    private void copy(final InputStream content, final OutputStream outputstream) throws IOException {
+        int index = 0;
+        int read = BUFFER_SIZE;
+
+        while (read == BUFFER_SIZE) {
+            acquire();
+            final Chunk chunk = ring[index];
+
+            read = ByteStreams.read(content, chunk.data, 0, BUFFER_SIZE);
+            if (read <= 0) {
+                free.release();
+                break;
+            }
+
+            outputstream.write(chunk.data, 0, read);
+
+            chunk.length = read;
+            chunk.pending.set(queues.size());
+            // never blocks as the queues can hold the whole ring
+            queues.forEach(queue -> queue.add(chunk));
+
+            index = (index + 1) % RING_SIZE;
+        }
+    }
+
+    private void acquire() throws InterruptedIOException {
+        try {
+            free.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the hash calculation");
+        }
+    }
+
+    private byte[] getDigest(final int index) throws IOException {
+        try {
+            return digests.get(index).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the hash calculation");
+        } catch (final ExecutionException e) {
+            throw new ArtifactStoreException("Hash calculation failed", e.getCause());
+        }
+    }
+
+    private byte[] digest(final MessageDigest messageDigest, final BlockingQueue<Chunk> queue)
+            throws InterruptedException {
+        Chunk chunk = queue.take();
+        while (chunk != END) {
+            messageDigest.update(chunk.data, 0, chunk.length);
+
+            // the chunks are consumed in ring order by every digest, i.e. the
+            // chunk released last is always the next one to fill
+            if (chunk.pending.decrementAndGet() == 0) {
+                free.release();
+            }
+            chunk = queue.take();
+        }
+        return messageDigest.digest();
+    }
+
+    private static final class Chunk {
+        private final byte[] data;
+        private final AtomicInteger pending = new AtomicInteger();
+        private int length;
+
+        private Chunk(final int size) {
+            data = new byte[size];
+        }
+    }
+}
@@ -9,6 +9,9 @@
 package org.eclipse.hawkbit.artifact.repository.model;
 
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
 
 import org.springframework.util.Assert;
 
@@ -68,4 +71,30 @@ public abstract class AbstractDbArtifact {
      * @return {@link InputStream} to read from artifact.
      */
     public abstract InputStream getFileInputStream();
+
+    /**
+     * Provides the location of the artifact binary on the local file system if
+     * the repository keeps it there. This allows callers to stream the
+     * artifact by means of channels (e.g. zero-copy transfer) instead of
+     * copying it through an {@link InputStream}.
+     * 
+     * @return {@link Path} of the artifact binary or empty if the artifact is
+     *         not file-backed
+     */
+    public Optional<Path> getFilePath() {
+        return Optional.empty();
+    }
+
+    /**
+     * Opens a channel on the artifact binary which supports positional reads,
+     * i.e. a range of the binary can be read without reading the bytes in
+     * front of it as it is the case for {@link #getFileInputStream()}.
+     * 
+     * @return {@link SeekableByteChannel} which needs to be closed by the
+     *         caller or empty if the repository does not support positional
+     *         reads
+     */
+    public Optional<SeekableByteChannel> openSeekableChannel() {
+        return Optional.empty();
+    }
 }
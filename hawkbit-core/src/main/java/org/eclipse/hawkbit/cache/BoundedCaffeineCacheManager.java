@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * A {@link CaffeineCacheManager} which bounds the size of every cache and
+ * records the statistics of the caches. It is meant to be the delegate of the
+ * {@link TenantAwareCacheManager}, i.e. the maximum size can be configured per
+ * cache name without the tenant and applies to the cache of every tenant.
+ */
+public class BoundedCaffeineCacheManager extends CaffeineCacheManager {
+
+    private final long defaultMaximumSize;
+    private final Map<String, Long> maximumSizes;
+    private final long ttl;
+    private final TimeUnit ttlUnit;
+
+    /**
+     * Constructor.
+     *
+     * @param defaultMaximumSize
+     *            the maximum number of entries of caches without a configured
+     *            maximum size, <code>0</code> for no bound
+     * @param maximumSizes
+     *            the maximum number of entries per cache name without the
+     *            tenant
+     * @param ttl
+     *            the time to live of the entries after they have been written,
+     *            <code>0</code> for no expiry
+     * @param ttlUnit
+     *            the unit of the time to live
+     */
+    public BoundedCaffeineCacheManager(final long defaultMaximumSize, final Map<String, Long> maximumSizes,
+            final long ttl, final TimeUnit ttlUnit) {
+        this.defaultMaximumSize = defaultMaximumSize;
+        this.maximumSizes = new HashMap<>(maximumSizes);
+        this.ttl = ttl;
+        this.ttlUnit = ttlUnit;
+    }
+
+    @Override
+    protected Cache<Object, Object> createNativeCaffeineCache(final String name) {
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().recordStats();
+        final long maximumSize = getMaximumSize(name);
+        if (maximumSize > 0) {
+            cacheBuilder.maximumSize(maximumSize);
+        }
+        if (ttl > 0) {
+            cacheBuilder.expireAfterWrite(ttl, ttlUnit);
+        }
+        return cacheBuilder.build();
+    }
+
+    /**
+     * @param name
+     *            the name of the cache, with or without the tenant
+     * @return the maximum number of entries of the cache, <code>0</code> if
+     *         not bounded
+     */
+    public long getMaximumSize(final String name) {
+        return maximumSizes.getOrDefault(TenantAwareCacheManager.getCacheNameWithoutTenant(name), defaultMaximumSize);
+    }
+
+    /**
+     * @return the statistics of all caches which have been created so far
+     */
+    public List<CacheStatistics> getStatistics() {
+        return getCacheNames().stream().map(this::getStatistics).collect(Collectors.toList());
+    }
+
+    private CacheStatistics getStatistics(final String name) {
+        final Cache<Object, Object> nativeCache = ((CaffeineCache) getCache(name)).getNativeCache();
+        return new CacheStatistics(TenantAwareCacheManager.getTenant(name),
+                TenantAwareCacheManager.getCacheNameWithoutTenant(name), nativeCache.estimatedSize(),
+                getMaximumSize(name), nativeCache.stats());
+    }
+
+    /**
+     * Statistics of the cache of a tenant.
+     */
+    public static final class CacheStatistics {
+        private final String tenant;
+        private final String cacheName;
+        private final long size;
+        private final long maximumSize;
+        private final CacheStats stats;
+
+        private CacheStatistics(final String tenant, final String cacheName, final long size,
+                final long maximumSize, final CacheStats stats) {
+            this.tenant = tenant;
+            this.cacheName = cacheName;
+            this.size = size;
+            this.maximumSize = maximumSize;
+            this.stats = stats;
+        }
+
+        /**
+         * @return the tenant or <code>null</code> for caches which are not
+         *         separated by tenant
+         */
+        public String getTenant() {
+            return tenant;
+        }
+
+        /**
+         * @return the name of the cache without the tenant
+         */
+        public String getCacheName() {
+            return cacheName;
+        }
+
+        /**
+         * @return the approximate number of entries
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return the maximum number of entries, <code>0</code> if not bounded
+         */
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public long getHitCount() {
+            return stats.hitCount();
+        }
+
+        public long getMissCount() {
+            return stats.missCount();
+        }
+
+        public long getEvictionCount() {
+            return stats.evictionCount();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.cache;
+
+/**
+ * Listener which is notified by the {@link TenantAwareCacheManager} about
+ * entries evicted from a tenant's cache, e.g. to propagate the eviction to the
+ * other nodes of a cluster.
+ */
+@FunctionalInterface
+public interface CacheEvictionListener {
+
+    /**
+     * Called after an entry has been evicted or a cache has been cleared.
+     *
+     * @param tenant
+     *            the tenant of the cache
+     * @param cacheName
+     *            the name of the cache without the tenant or
+     *            <code>null</code> if all caches of the tenant have been
+     *            cleared
+     * @param key
+     *            the key of the evicted entry or <code>null</code> if the
+     *            whole cache has been cleared
+     */
+    void onEvict(String tenant, String cacheName, Object key);
+}
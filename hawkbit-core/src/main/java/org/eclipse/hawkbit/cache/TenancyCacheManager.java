@@ -29,10 +29,27 @@ public interface TenancyCacheManager extends CacheManager {
 
     /**
      * Evicts all caches for a given tenant. All caches under a certain tenant
-     * gets evicted.
+     * gets evicted. The {@link CacheEvictionListener} is notified once for all
+     * caches of the tenant.
      *
      * @param tenant
      *            the tenant to evict caches
      */
     void evictCaches(final String tenant);
+
+    /**
+     * Evicts an entry of a tenant's cache without notifying the
+     * {@link CacheEvictionListener}, e.g. to apply an eviction which has been
+     * propagated by another node of the cluster.
+     *
+     * @param tenant
+     *            the tenant of the cache
+     * @param cacheName
+     *            the name of the cache without the tenant or
+     *            <code>null</code> to clear all caches of the tenant
+     * @param key
+     *            the key of the entry to evict or <code>null</code> to clear
+     *            the whole cache
+     */
+    void evictWithoutNotification(String tenant, String cacheName, Object key);
 }
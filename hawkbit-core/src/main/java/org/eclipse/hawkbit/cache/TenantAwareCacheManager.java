@@ -10,6 +10,7 @@ package org.eclipse.hawkbit.cache;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.tenancy.TenantAware;
@@ -25,6 +26,10 @@ import org.springframework.cache.CacheManager;
  *
  * Additionally it also provide functionality to retrieve all caches overall
  * tenants at once, for monitoring and system access.
+ *
+ * Evictions of the tenant's caches can be observed by a
+ * {@link CacheEvictionListener}, e.g. to evict the entries on the other nodes
+ * of a cluster as well.
  */
 public class TenantAwareCacheManager implements TenancyCacheManager {
 
@@ -34,6 +39,8 @@ public class TenantAwareCacheManager implements TenancyCacheManager {
 
     private final TenantAware tenantAware;
 
+    private final CacheEvictionListener evictionListener;
+
     /**
      * Constructor.
      *
@@ -43,8 +50,25 @@ public class TenantAwareCacheManager implements TenancyCacheManager {
      *            the tenant aware to retrieve the current tenant
      */
     public TenantAwareCacheManager(final CacheManager delegate, final TenantAware tenantAware) {
+        this(delegate, tenantAware, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *            the {@link CacheManager} to delegate to.
+     * @param tenantAware
+     *            the tenant aware to retrieve the current tenant
+     * @param evictionListener
+     *            the listener which is notified about evictions of the
+     *            tenant's caches, may be <code>null</code>
+     */
+    public TenantAwareCacheManager(final CacheManager delegate, final TenantAware tenantAware,
+            final CacheEvictionListener evictionListener) {
         this.tenantAware = tenantAware;
         this.delegate = delegate;
+        this.evictionListener = evictionListener;
     }
 
     @Override
@@ -56,7 +80,11 @@ public class TenantAwareCacheManager implements TenancyCacheManager {
 
         currentTenant = currentTenant.toUpperCase();
 
-        return delegate.getCache(buildKey(currentTenant, name));
+        final Cache cache = delegate.getCache(buildKey(currentTenant, name));
+        if (cache == null || evictionListener == null) {
+            return cache;
+        }
+        return new EvictionNotifyingCache(cache, currentTenant, name, evictionListener);
     }
 
     @Override
@@ -87,7 +115,62 @@ public class TenantAwareCacheManager implements TenancyCacheManager {
 
     @Override
     public void evictCaches(final String tenant) {
-        getCacheNames(tenant).forEach(cachename -> delegate.getCache(buildKey(tenant, cachename)).clear());
+        if (isTenantInvalid(tenant)) {
+            return;
+        }
+        final String upperCaseTenant = tenant.toUpperCase();
+        clearCaches(upperCaseTenant);
+        if (evictionListener != null) {
+            evictionListener.onEvict(upperCaseTenant, null, null);
+        }
+    }
+
+    @Override
+    public void evictWithoutNotification(final String tenant, final String cacheName, final Object key) {
+        if (isTenantInvalid(tenant)) {
+            return;
+        }
+        if (cacheName == null) {
+            clearCaches(tenant.toUpperCase());
+            return;
+        }
+        final String cacheKey = buildKey(tenant.toUpperCase(), cacheName);
+        // do not create caches which have never been used on this node
+        if (!delegate.getCacheNames().contains(cacheKey)) {
+            return;
+        }
+        final Cache cache = delegate.getCache(cacheKey);
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+
+    /**
+     * Extracts the name of the cache without the tenant from a cache name of
+     * the delegate.
+     *
+     * @param directCacheName
+     *            the name of the cache of the delegate
+     * @return the name of the cache without the tenant
+     */
+    public static String getCacheNameWithoutTenant(final String directCacheName) {
+        final int index = directCacheName.indexOf(TENANT_CACHE_DELIMITER);
+        return index < 0 ? directCacheName : directCacheName.substring(index + TENANT_CACHE_DELIMITER.length());
+    }
+
+    /**
+     * Extracts the tenant from a cache name of the delegate.
+     *
+     * @param directCacheName
+     *            the name of the cache of the delegate
+     * @return the tenant or <code>null</code> for direct caches which are not
+     *         separated by tenant
+     */
+    public static String getTenant(final String directCacheName) {
+        final int index = directCacheName.indexOf(TENANT_CACHE_DELIMITER);
+        return index < 0 ? null : directCacheName.substring(0, index);
     }
 
     private static boolean isTenantInvalid(final String tenant) {
@@ -98,9 +181,80 @@ public class TenantAwareCacheManager implements TenancyCacheManager {
         return tenant + TENANT_CACHE_DELIMITER + cacheName;
     }
 
+    private void clearCaches(final String tenant) {
+        getCacheNames(tenant).forEach(cachename -> delegate.getCache(buildKey(tenant, cachename)).clear());
+    }
+
     private Collection<String> getCacheNames(final String tenant) {
         final String tenantWithDelimiter = tenant + TENANT_CACHE_DELIMITER;
         return delegate.getCacheNames().parallelStream().filter(cacheName -> cacheName.startsWith(tenantWithDelimiter))
                 .map(cacheName -> cacheName.substring(tenantWithDelimiter.length())).collect(Collectors.toList());
     }
+
+    /**
+     * {@link Cache} delegator which notifies the {@link CacheEvictionListener}
+     * about evictions.
+     */
+    private static final class EvictionNotifyingCache implements Cache {
+
+        private final Cache cache;
+        private final String tenant;
+        private final String name;
+        private final CacheEvictionListener evictionListener;
+
+        private EvictionNotifyingCache(final Cache cache, final String tenant, final String name,
+                final CacheEvictionListener evictionListener) {
+            this.cache = cache;
+            this.tenant = tenant;
+            this.name = name;
+            this.evictionListener = evictionListener;
+        }
+
+        @Override
+        public String getName() {
+            return cache.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return cache.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(final Object key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public <T> T get(final Object key, final Class<T> type) {
+            return cache.get(key, type);
+        }
+
+        @Override
+        public <T> T get(final Object key, final Callable<T> valueLoader) {
+            return cache.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(final Object key, final Object value) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(final Object key, final Object value) {
+            return cache.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(final Object key) {
+            cache.evict(key);
+            evictionListener.onEvict(tenant, name, key);
+        }
+
+        @Override
+        public void clear() {
+            cache.clear();
+            evictionListener.onEvict(tenant, name, null);
+        }
+    }
 }
@@ -269,7 +269,14 @@ public enum SpServerError {
     *
     */
     SP_NO_WEIGHT_PROVIDED_IN_MULTIASSIGNMENT_MODE("hawkbit.server.error.noWeightProvidedInMultiAssignmentMode",
-            "The requested operation requires a weight to be specified when multi assignments is enabled.");
+            "The requested operation requires a weight to be specified when multi assignments is enabled."),
+
+    /**
+     * Error message informing that the continuation token of a keyset paging
+     * request is invalid or does not match the requested sorting.
+     */
+    SP_REPO_INVALID_CONTINUATION_TOKEN("hawkbit.server.error.repo.invalidContinuationToken",
+            "The given continuation token is invalid or does not match the requested sorting.");
 
     private final String key;
     private final String message;
@@ -187,4 +187,25 @@ public class PropertyBasedArtifactUrlHandlerTest {
                         + SOFTWAREMODULEID + "/artifacts/" + FILENAME_ENCODE));
 
     }
+
+    @Test
+    @Description("Verifies that a pattern is rendered with the current configuration after it has been changed, "
+            + "that an unset port is omitted together with its separator and that unknown placeholders are kept.")
+    public void urlGenerationAfterConfigurationChange() {
+        final UrlProtocol proto = new UrlProtocol();
+        proto.setPort(null);
+        proto.setRef("{protocol}://{hostname}:{port}/{unknown}/{tenantId}/{artifactId}");
+        properties.getProtocols().put("download-http", proto);
+
+        assertThat(urlHandlerUnderTest.getUrls(placeholder, ApiType.DDI)).containsExactly(new ArtifactUrl(
+                "HTTP", "download-http", "http://localhost/{unknown}/" + TENANT_ID + "/" + ARTIFACTID));
+
+        proto.setPort(8443);
+        proto.setProtocol("https");
+        proto.setRef("{protocol}://{hostname}:{port}/{softwareModuleIdBase62}/{artifactSHA1}");
+
+        assertThat(urlHandlerUnderTest.getUrls(placeholder, ApiType.DDI)).containsExactly(new ArtifactUrl("HTTPS",
+                "download-http",
+                "https://localhost:8443/" + Base62Util.fromBase10(SOFTWAREMODULEID) + "/" + SHA1HASH));
+    }
 }
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.junit.Test;
+
+import com.google.common.hash.Hashing;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Artifact Repository")
+@Story("Single pass artifact ingest")
+public class ParallelDigestFileWriterTest {
+
+    @Test
+    @Description("Verifies that content of various sizes is written completely and hashed correctly.")
+    @SuppressWarnings("deprecation")
+    public void writesContentAndCalculatesHashes() throws IOException {
+        for (final int size : new int[] { 0, 1, 0x10000, 0x10001, 0x10000 * 16, 0x10000 * 17 + 5,
+                3 * 1024 * 1024 }) {
+            final byte[] content = new byte[size];
+            new Random().nextBytes(content);
+            final File file = File.createTempFile(ParallelDigestFileWriterTest.class.getSimpleName(), "");
+            try {
+                final DbArtifactHash hashes = ParallelDigestFileWriter.write(new ByteArrayInputStream(content), file);
+
+                assertThat(Files.readAllBytes(file.toPath())).isEqualTo(content);
+                assertThat(hashes.getSha1()).isEqualTo(Hashing.sha1().hashBytes(content).toString());
+                assertThat(hashes.getMd5()).isEqualTo(Hashing.md5().hashBytes(content).toString());
+                assertThat(hashes.getSha256()).isEqualTo(Hashing.sha256().hashBytes(content).toString());
+            } finally {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+}
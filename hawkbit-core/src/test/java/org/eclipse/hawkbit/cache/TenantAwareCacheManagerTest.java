@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.eclipse.hawkbit.cache.BoundedCaffeineCacheManager.CacheStatistics;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.cache.Cache;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Cache")
+@Story("Tenant aware cache manager")
+@RunWith(MockitoJUnitRunner.class)
+public class TenantAwareCacheManagerTest {
+
+    private static final String CACHE_NAME = "testCache";
+
+    @Mock
+    private TenantAware tenantAware;
+
+    @Mock
+    private CacheEvictionListener evictionListener;
+
+    private BoundedCaffeineCacheManager delegate;
+
+    private TenantAwareCacheManager underTest;
+
+    @Before
+    public void before() {
+        delegate = new BoundedCaffeineCacheManager(10, Collections.singletonMap(CACHE_NAME, 5L), 0,
+                TimeUnit.MILLISECONDS);
+        underTest = new TenantAwareCacheManager(delegate, tenantAware, evictionListener);
+        when(tenantAware.getCurrentTenant()).thenReturn("tenant");
+    }
+
+    @Test
+    @Description("Verifies that the eviction listener is notified about evicted entries and cleared caches.")
+    public void evictionListenerIsNotified() {
+        final Cache cache = underTest.getCache(CACHE_NAME);
+        cache.put("key", "value");
+
+        cache.evict("key");
+        verify(evictionListener).onEvict("TENANT", CACHE_NAME, "key");
+        assertThat(cache.get("key")).isNull();
+
+        cache.clear();
+        verify(evictionListener).onEvict("TENANT", CACHE_NAME, null);
+    }
+
+    @Test
+    @Description("Verifies that an entry can be evicted without notifying the eviction listener.")
+    public void evictWithoutNotification() {
+        final Cache cache = underTest.getCache(CACHE_NAME);
+        cache.put("key", "value");
+        cache.put("otherKey", "value");
+
+        underTest.evictWithoutNotification("tenant", CACHE_NAME, "key");
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.get("otherKey")).isNotNull();
+
+        underTest.evictWithoutNotification("tenant", CACHE_NAME, null);
+        assertThat(cache.get("otherKey")).isNull();
+
+        underTest.evictWithoutNotification("otherTenant", CACHE_NAME, null);
+        assertThat(delegate.getCacheNames()).containsOnly("TENANT|" + CACHE_NAME);
+        verifyZeroInteractions(evictionListener);
+    }
+
+    @Test
+    @Description("Verifies that all caches of a tenant are evicted, independent of the case of the tenant, and "
+            + "that the eviction listener is notified once for the tenant.")
+    public void evictCachesOfTenant() {
+        final Cache cache = underTest.getCache(CACHE_NAME);
+        final Cache otherCache = underTest.getCache("otherCache");
+        cache.put("key", "value");
+        otherCache.put("key", "value");
+
+        underTest.evictCaches("tenant");
+        assertThat(cache.get("key")).isNull();
+        assertThat(otherCache.get("key")).isNull();
+        verify(evictionListener).onEvict("TENANT", null, null);
+
+        cache.put("key", "value");
+        otherCache.put("key", "value");
+        underTest.evictWithoutNotification("tenant", null, null);
+        assertThat(cache.get("key")).isNull();
+        assertThat(otherCache.get("key")).isNull();
+        verifyNoMoreInteractions(evictionListener);
+    }
+
+    @Test
+    @Description("Verifies that the caches are bounded per tenant and record their statistics.")
+    public void cachesAreBoundedAndRecordStatistics() {
+        final Cache cache = underTest.getCache(CACHE_NAME);
+        final Cache otherCache = underTest.getCache("otherCache");
+        IntStream.range(0, 20).forEach(i -> {
+            cache.put(i, i);
+            otherCache.put(i, i);
+        });
+        cache.get(19);
+        cache.get("unknown");
+        // run the pending size based evictions
+        ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache()).cleanUp();
+        ((com.github.benmanes.caffeine.cache.Cache<?, ?>) otherCache.getNativeCache()).cleanUp();
+
+        final CacheStatistics statistics = delegate.getStatistics().stream()
+                .filter(s -> CACHE_NAME.equals(s.getCacheName())).findAny().get();
+        assertThat(statistics.getTenant()).isEqualTo("TENANT");
+        assertThat(statistics.getMaximumSize()).isEqualTo(5);
+        assertThat(statistics.getSize()).isEqualTo(5);
+        assertThat(statistics.getEvictionCount()).isEqualTo(15);
+        assertThat(statistics.getHitCount() + statistics.getMissCount()).isEqualTo(2);
+
+        final CacheStatistics otherStatistics = delegate.getStatistics().stream()
+                .filter(s -> "otherCache".equals(s.getCacheName())).findAny().get();
+        assertThat(otherStatistics.getMaximumSize()).isEqualTo(10);
+        assertThat(otherStatistics.getSize()).isEqualTo(10);
+    }
+}
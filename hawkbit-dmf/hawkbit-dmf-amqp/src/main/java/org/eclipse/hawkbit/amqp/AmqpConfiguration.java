@@ -10,6 +10,8 @@ package org.eclipse.hawkbit.amqp;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
 import org.eclipse.hawkbit.api.HostnameResolver;
@@ -29,6 +31,7 @@ import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.FanoutExchange;
@@ -42,6 +45,7 @@ import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -51,9 +55,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ErrorHandler;
 
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Spring configuration for AMQP based DMF communication for indirect device
@@ -235,17 +241,20 @@ public class AmqpConfiguration {
      *            for target repo access
      * @param entityFactory
      *            to create entities
+     * @param txManager
+     *            to process batches of incoming events in one transaction
      *
      * @return handler service bean
      */
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     public AmqpMessageHandlerService amqpMessageHandlerService(final RabbitTemplate rabbitTemplate,
             final AmqpMessageDispatcherService amqpMessageDispatcherService,
             final ControllerManagement controllerManagement, final EntityFactory entityFactory,
             final SystemSecurityContext systemSecurityContext,
-            final TenantConfigurationManagement tenantConfigurationManagement) {
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final PlatformTransactionManager txManager) {
         return new AmqpMessageHandlerService(rabbitTemplate, amqpMessageDispatcherService, controllerManagement,
-                entityFactory, systemSecurityContext, tenantConfigurationManagement);
+                entityFactory, systemSecurityContext, tenantConfigurationManagement, amqpProperties, txManager);
     }
 
     /**
@@ -289,6 +298,26 @@ public class AmqpConfiguration {
         return factory;
     }
 
+    /**
+     * Create RabbitListenerContainerFactory bean for the DMF receiver queue if
+     * no receiverListenerContainerFactory bean found. The messages are
+     * acknowledged manually if they are processed on inbound partitions.
+     *
+     * @return RabbitListenerContainerFactory bean
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "receiverListenerContainerFactory")
+    public RabbitListenerContainerFactory<SimpleMessageListenerContainer> receiverListenerContainerFactory(
+            final SimpleRabbitListenerContainerFactoryConfigurer configurer, final ErrorHandler errorHandler) {
+        final ConfigurableRabbitListenerContainerFactory factory = new ConfigurableRabbitListenerContainerFactory(
+                amqpProperties.isMissingQueuesFatal(), amqpProperties.getDeclarationRetries(), errorHandler);
+        configurer.configure(factory, rabbitConnectionFactory);
+        if (amqpProperties.getInboundPartitions() > 0) {
+            factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        }
+        return factory;
+    }
+
     /**
      * create the authentication bean for controller over amqp.
      *
@@ -322,10 +351,23 @@ public class AmqpConfiguration {
             final AmqpMessageSenderService amqpSenderService, final ArtifactUrlHandler artifactUrlHandler,
             final SystemSecurityContext systemSecurityContext, final SystemManagement systemManagement,
             final TargetManagement targetManagement, final DistributionSetManagement distributionSetManagement,
-            final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement) {
+            final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement,
+            @Qualifier("dmfDispatchExecutor") final ExecutorService dispatchExecutor) {
         return new AmqpMessageDispatcherService(rabbitTemplate, amqpSenderService, artifactUrlHandler,
                 systemSecurityContext, systemManagement, targetManagement, serviceMatcher, distributionSetManagement,
-                softwareModuleManagement, deploymentManagement);
+                softwareModuleManagement, deploymentManagement, dispatchExecutor,
+                amqpProperties.getDispatcherBatchSize());
+    }
+
+    /**
+     * @return the executor on which the DMF messages of the assignments are
+     *         built and sent
+     */
+    @Bean(name = "dmfDispatchExecutor", destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = "dmfDispatchExecutor")
+    ExecutorService dmfDispatchExecutor() {
+        return Executors.newFixedThreadPool(amqpProperties.getDispatcherThreads(),
+                new ThreadFactoryBuilder().setNameFormat("dmf-dispatcher-%d").setDaemon(true).build());
     }
 
     private static Map<String, Object> getTTLMaxArgsAuthenticationQueue() {
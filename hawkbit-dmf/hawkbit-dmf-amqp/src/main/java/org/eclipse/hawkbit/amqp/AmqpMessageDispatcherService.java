@@ -11,11 +11,16 @@ package org.eclipse.hawkbit.amqp;
 import static org.eclipse.hawkbit.repository.RepositoryConstants.MAX_ACTION_COUNT;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -52,6 +57,7 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
@@ -66,6 +72,9 @@ import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.util.CollectionUtils;
 
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
+
 /**
  * {@link AmqpMessageDispatcherService} create all outgoing AMQP messages and
  * delegate the messages to a {@link AmqpMessageSenderService}.
@@ -87,6 +96,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     private final DistributionSetManagement distributionSetManagement;
     private final DeploymentManagement deploymentManagement;
     private final SoftwareModuleManagement softwareModuleManagement;
+    private final Executor dispatchExecutor;
+    private final int dispatchBatchSize;
 
     /**
      * Constructor.
@@ -108,13 +119,22 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
      *            cluster node
      * @param distributionSetManagement
      *            to retrieve modules
+     * @param softwareModuleManagement
+     *            to retrieve the metadata of the modules
+     * @param deploymentManagement
+     *            to retrieve the active actions of targets
+     * @param dispatchExecutor
+     *            to build and send the messages of an assignment in batches on
+     * @param dispatchBatchSize
+     *            maximum number of targets per batch
      */
     protected AmqpMessageDispatcherService(final RabbitTemplate rabbitTemplate,
             final AmqpMessageSenderService amqpSenderService, final ArtifactUrlHandler artifactUrlHandler,
             final SystemSecurityContext systemSecurityContext, final SystemManagement systemManagement,
             final TargetManagement targetManagement, final ServiceMatcher serviceMatcher,
             final DistributionSetManagement distributionSetManagement,
-            final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement) {
+            final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement,
+            final Executor dispatchExecutor, final int dispatchBatchSize) {
         super(rabbitTemplate);
         this.artifactUrlHandler = artifactUrlHandler;
         this.amqpSenderService = amqpSenderService;
@@ -125,6 +145,45 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         this.distributionSetManagement = distributionSetManagement;
         this.softwareModuleManagement = softwareModuleManagement;
         this.deploymentManagement = deploymentManagement;
+        this.dispatchExecutor = dispatchExecutor;
+        this.dispatchBatchSize = dispatchBatchSize;
+    }
+
+    /**
+     * Constructor for a dispatcher which sends the messages of an assignment
+     * on the calling thread.
+     *
+     * @param rabbitTemplate
+     *            the rabbitTemplate
+     * @param amqpSenderService
+     *            to send AMQP message
+     * @param artifactUrlHandler
+     *            for generating download URLs
+     * @param systemSecurityContext
+     *            for execution with system permissions
+     * @param systemManagement
+     *            the systemManagement
+     * @param targetManagement
+     *            to access target information
+     * @param serviceMatcher
+     *            to check in cluster case if the message is from the same
+     *            cluster node
+     * @param distributionSetManagement
+     *            to retrieve modules
+     * @param softwareModuleManagement
+     *            to retrieve the metadata of the modules
+     * @param deploymentManagement
+     *            to retrieve the active actions of targets
+     */
+    protected AmqpMessageDispatcherService(final RabbitTemplate rabbitTemplate,
+            final AmqpMessageSenderService amqpSenderService, final ArtifactUrlHandler artifactUrlHandler,
+            final SystemSecurityContext systemSecurityContext, final SystemManagement systemManagement,
+            final TargetManagement targetManagement, final ServiceMatcher serviceMatcher,
+            final DistributionSetManagement distributionSetManagement,
+            final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement) {
+        this(rabbitTemplate, amqpSenderService, artifactUrlHandler, systemSecurityContext, systemManagement,
+                targetManagement, serviceMatcher, distributionSetManagement, softwareModuleManagement,
+                deploymentManagement, MoreExecutors.directExecutor(), Integer.MAX_VALUE);
     }
 
     /**
@@ -144,16 +203,40 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
         distributionSetManagement.get(assignedEvent.getDistributionSetId()).ifPresent(ds -> {
 
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules = getSoftwareModulesWithMetadata(
-                    ds);
+            // the payload of the software modules is the same for all targets
+            // but the artifact URLs
+            final SoftwareModulesTemplate softwareModules = new SoftwareModulesTemplate(
+                    getSoftwareModulesWithMetadata(ds));
+
+            final List<Target> targets = targetManagement.getByControllerID(assignedEvent.getActions().keySet())
+                    .stream().filter(target -> IpUtil.isAmqpUri(target.getAddress())).collect(Collectors.toList());
 
-            targetManagement.getByControllerID(assignedEvent.getActions().keySet()).forEach(
+            sendInBatches(assignedEvent.getTenant(), targets,
                     target -> sendUpdateMessageToTarget(assignedEvent.getActions().get(target.getControllerId()),
                             target, softwareModules));
-
         });
     }
 
+    /**
+     * Sends the messages to the given targets in batches on the dispatch
+     * executor and waits until all of them are sent, i.e. the order of the
+     * messages to a single target is retained.
+     */
+    private void sendInBatches(final String tenant, final List<Target> targets, final Consumer<Target> sender) {
+        final List<CompletableFuture<Void>> batches = Lists.partition(targets, dispatchBatchSize).stream()
+                .map(batch -> CompletableFuture.runAsync(() -> systemSecurityContext.runAsSystemAsTenant(() -> {
+                    batch.forEach(sender);
+                    return null;
+                }, tenant), dispatchExecutor)).collect(Collectors.toList());
+
+        try {
+            CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+        } catch (final CompletionException e) {
+            LOG.error("Failed to send the assignment messages to {} targets of tenant {}", targets.size(), tenant,
+                    e.getCause());
+        }
+    }
+
     /**
      * Listener for Multi-Action events.
      *
@@ -234,8 +317,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         request.setActionId(action.getId());
         request.setTargetSecurityToken(systemSecurityContext.runAsSystem(target::getSecurityToken));
         if (softwareModules != null) {
-            softwareModules.entrySet()
-                    .forEach(entry -> request.addSoftwareModule(convertToAmqpSoftwareModule(target, entry)));
+            new SoftwareModulesTemplate(softwareModules).forTarget(target).forEach(request::addSoftwareModule);
         }
         return request;
     }
@@ -323,6 +405,11 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     protected void sendUpdateMessageToTarget(final ActionProperties action, final Target target,
             final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
+        sendUpdateMessageToTarget(action, target, new SoftwareModulesTemplate(modules));
+    }
+
+    private void sendUpdateMessageToTarget(final ActionProperties action, final Target target,
+            final SoftwareModulesTemplate modules) {
 
         final String tenant = action.getTenant();
 
@@ -337,11 +424,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         final String targetSecurityToken = systemSecurityContext.runAsSystem(target::getSecurityToken);
         downloadAndUpdateRequest.setTargetSecurityToken(targetSecurityToken);
 
-        modules.entrySet().forEach(entry -> {
-
-            final DmfSoftwareModule amqpSoftwareModule = convertToAmqpSoftwareModule(target, entry);
-            downloadAndUpdateRequest.addSoftwareModule(amqpSoftwareModule);
-        });
+        modules.forTarget(target).forEach(downloadAndUpdateRequest::addSoftwareModule);
 
         final Message message = getMessageConverter().toMessage(downloadAndUpdateRequest,
                 createConnectorMessagePropertiesEvent(tenant, target.getControllerId(), getEventTypeForTarget(action)));
@@ -433,51 +516,10 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         return messageProperties;
     }
 
-    private DmfSoftwareModule convertToAmqpSoftwareModule(final Target target,
-            final Entry<SoftwareModule, List<SoftwareModuleMetadata>> entry) {
-        final DmfSoftwareModule amqpSoftwareModule = new DmfSoftwareModule();
-        amqpSoftwareModule.setModuleId(entry.getKey().getId());
-        amqpSoftwareModule.setModuleType(entry.getKey().getType().getKey());
-        amqpSoftwareModule.setModuleVersion(entry.getKey().getVersion());
-        amqpSoftwareModule.setArtifacts(convertArtifacts(target, entry.getKey().getArtifacts()));
-
-        if (!CollectionUtils.isEmpty(entry.getValue())) {
-            amqpSoftwareModule.setMetadata(convertMetadata(entry.getValue()));
-        }
-
-        return amqpSoftwareModule;
-    }
-
-    private List<DmfMetadata> convertMetadata(final List<SoftwareModuleMetadata> metadata) {
+    private static List<DmfMetadata> convertMetadata(final List<SoftwareModuleMetadata> metadata) {
         return metadata.stream().map(md -> new DmfMetadata(md.getKey(), md.getValue())).collect(Collectors.toList());
     }
 
-    private List<DmfArtifact> convertArtifacts(final Target target, final List<Artifact> localArtifacts) {
-        if (localArtifacts.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        return localArtifacts.stream().map(localArtifact -> convertArtifact(target, localArtifact))
-                .collect(Collectors.toList());
-    }
-
-    private DmfArtifact convertArtifact(final Target target, final Artifact localArtifact) {
-        final DmfArtifact artifact = new DmfArtifact();
-
-        artifact.setUrls(artifactUrlHandler
-                .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
-                        new SoftwareData(localArtifact.getSoftwareModule().getId(), localArtifact.getFilename(),
-                                localArtifact.getId(), localArtifact.getSha1Hash())),
-                        ApiType.DMF)
-                .stream().collect(Collectors.toMap(ArtifactUrl::getProtocol, ArtifactUrl::getRef)));
-
-        artifact.setFilename(localArtifact.getFilename());
-        artifact.setHashes(new DmfArtifactHash(localArtifact.getSha1Hash(), localArtifact.getMd5Hash()));
-        artifact.setSize(localArtifact.getSize());
-        return artifact;
-    }
-
     private Map<SoftwareModule, List<SoftwareModuleMetadata>> getSoftwareModulesWithMetadata(
             final DistributionSet distributionSet) {
         return distributionSet.getModules().stream().collect(Collectors.toMap(m -> m, this::getSoftwareModuleMetadata));
@@ -488,4 +530,84 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
                 PageRequest.of(0, RepositoryConstants.MAX_META_DATA_COUNT), module.getId()).getContent();
     }
 
+    /**
+     * The {@link DmfSoftwareModule}s of a distribution set, converted once and
+     * completed per target by the artifact URLs only.
+     */
+    private final class SoftwareModulesTemplate {
+        private final String tenant;
+        private final Long tenantId;
+        private final List<SoftwareModuleTemplate> modules;
+
+        private SoftwareModulesTemplate(final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
+            final TenantMetaData tenantMetaData = systemManagement.getTenantMetadata();
+            this.tenant = tenantMetaData.getTenant();
+            this.tenantId = tenantMetaData.getId();
+            this.modules = softwareModules.entrySet().stream().map(SoftwareModuleTemplate::new)
+                    .collect(Collectors.toList());
+        }
+
+        private List<DmfSoftwareModule> forTarget(final Target target) {
+            return modules.stream().map(module -> module.forTarget(target)).collect(Collectors.toList());
+        }
+
+        private final class SoftwareModuleTemplate {
+            private final Long moduleId;
+            private final String moduleType;
+            private final String moduleVersion;
+            private final List<DmfMetadata> metadata;
+            private final List<Artifact> artifacts;
+            private final List<DmfArtifactHash> hashes;
+
+            private SoftwareModuleTemplate(final Entry<SoftwareModule, List<SoftwareModuleMetadata>> entry) {
+                final SoftwareModule module = entry.getKey();
+                this.moduleId = module.getId();
+                this.moduleType = module.getType().getKey();
+                this.moduleVersion = module.getVersion();
+                this.metadata = CollectionUtils.isEmpty(entry.getValue()) ? null : convertMetadata(entry.getValue());
+                this.artifacts = module.getArtifacts();
+                this.hashes = artifacts.stream()
+                        .map(artifact -> new DmfArtifactHash(artifact.getSha1Hash(), artifact.getMd5Hash()))
+                        .collect(Collectors.toList());
+            }
+
+            private DmfSoftwareModule forTarget(final Target target) {
+                final DmfSoftwareModule amqpSoftwareModule = new DmfSoftwareModule();
+                amqpSoftwareModule.setModuleId(moduleId);
+                amqpSoftwareModule.setModuleType(moduleType);
+                amqpSoftwareModule.setModuleVersion(moduleVersion);
+                amqpSoftwareModule.setMetadata(metadata);
+
+                if (artifacts.isEmpty()) {
+                    amqpSoftwareModule.setArtifacts(Collections.emptyList());
+                    return amqpSoftwareModule;
+                }
+
+                final List<DmfArtifact> dmfArtifacts = new ArrayList<>(artifacts.size());
+                for (int i = 0; i < artifacts.size(); i++) {
+                    dmfArtifacts.add(convertArtifact(target, artifacts.get(i), hashes.get(i)));
+                }
+                amqpSoftwareModule.setArtifacts(dmfArtifacts);
+                return amqpSoftwareModule;
+            }
+
+            private DmfArtifact convertArtifact(final Target target, final Artifact localArtifact,
+                    final DmfArtifactHash hash) {
+                final DmfArtifact artifact = new DmfArtifact();
+
+                artifact.setUrls(artifactUrlHandler
+                        .getUrls(new URLPlaceholder(tenant, tenantId, target.getControllerId(), target.getId(),
+                                new SoftwareData(moduleId, localArtifact.getFilename(), localArtifact.getId(),
+                                        localArtifact.getSha1Hash())),
+                                ApiType.DMF)
+                        .stream().collect(Collectors.toMap(ArtifactUrl::getProtocol, ArtifactUrl::getRef)));
+
+                artifact.setFilename(localArtifact.getFilename());
+                artifact.setHashes(hash);
+                artifact.setSize(localArtifact.getSize());
+                return artifact;
+            }
+        }
+    }
+
 }
\ No newline at end of file
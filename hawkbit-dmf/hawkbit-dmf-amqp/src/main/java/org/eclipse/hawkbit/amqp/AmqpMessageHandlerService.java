@@ -12,6 +12,7 @@ import static org.eclipse.hawkbit.repository.RepositoryConstants.MAX_ACTION_COUN
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.MULTI_ASSIGNMENTS_ENABLED;
 import static org.springframework.util.StringUtils.hasText;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.URI;
 import java.util.Collections;
@@ -22,6 +23,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.eclipse.hawkbit.amqp.PartitionedMessageProcessor.Acknowledgement;
 import org.eclipse.hawkbit.dmf.amqp.api.EventTopic;
 import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
 import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
@@ -49,6 +51,7 @@ import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpIOException;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -61,8 +64,14 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import com.rabbitmq.client.Channel;
+
 /**
  *
  * {@link AmqpMessageHandlerService} handles all incoming target interaction
@@ -88,6 +97,12 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
 
     private static final String EMPTY_MESSAGE_BODY = "\"\"";
 
+    private final PlatformTransactionManager txManager;
+
+    private final PartitionedMessageProcessor inboundProcessor;
+
+    private final MessageTypeStatistics messageStatistics = new MessageTypeStatistics();
+
     /**
      * Constructor.
      * 
@@ -109,16 +124,58 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
             final ControllerManagement controllerManagement, final EntityFactory entityFactory,
             final SystemSecurityContext systemSecurityContext,
             final TenantConfigurationManagement tenantConfigurationManagement) {
+        this(rabbitTemplate, amqpMessageDispatcherService, controllerManagement, entityFactory, systemSecurityContext,
+                tenantConfigurationManagement, null, null);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param rabbitTemplate
+     *            for converting messages
+     * @param amqpMessageDispatcherService
+     *            to sending events to DMF client
+     * @param controllerManagement
+     *            for target repo access
+     * @param entityFactory
+     *            to create entities
+     * @param systemSecurityContext
+     *            the system Security Context
+     * @param tenantConfigurationManagement
+     *            the tenant configuration Management
+     * @param amqpProperties
+     *            to configure the partitioned processing of the messages,
+     *            <code>null</code> to process them on the listener threads
+     * @param txManager
+     *            to process a batch of event messages in one transaction
+     */
+    public AmqpMessageHandlerService(final RabbitTemplate rabbitTemplate,
+            final AmqpMessageDispatcherService amqpMessageDispatcherService,
+            final ControllerManagement controllerManagement, final EntityFactory entityFactory,
+            final SystemSecurityContext systemSecurityContext,
+            final TenantConfigurationManagement tenantConfigurationManagement, final AmqpProperties amqpProperties,
+            final PlatformTransactionManager txManager) {
         super(rabbitTemplate);
         this.amqpMessageDispatcherService = amqpMessageDispatcherService;
         this.controllerManagement = controllerManagement;
         this.entityFactory = entityFactory;
         this.systemSecurityContext = systemSecurityContext;
         this.tenantConfigurationManagement = tenantConfigurationManagement;
+        this.txManager = txManager;
+
+        if (amqpProperties != null && amqpProperties.getInboundPartitions() > 0) {
+            inboundProcessor = new PartitionedMessageProcessor(amqpProperties.getInboundPartitions(),
+                    amqpProperties.getInboundQueueCapacity(), amqpProperties.getInboundBatchSize(),
+                    this::runInboundBatch);
+        } else {
+            inboundProcessor = null;
+        }
     }
 
     /**
-     * Method to handle all incoming DMF amqp messages.
+     * Method to handle all incoming DMF amqp messages. If the messages are
+     * processed on inbound partitions they are acknowledged manually, i.e.
+     * after their processing.
      *
      * @param message
      *            incoming message
@@ -126,13 +183,30 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *            the message type
      * @param tenant
      *            the contentType of the message
+     * @param channel
+     *            the message has been received on
      * @return a message if <null> no message is send back to sender
      */
-    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "listenerContainerFactory")
+    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "receiverListenerContainerFactory")
     public Message onMessage(final Message message,
             @Header(name = MessageHeaderKey.TYPE, required = false) final String type,
-            @Header(name = MessageHeaderKey.TENANT, required = false) final String tenant) {
-        return onMessage(message, type, tenant, getRabbitTemplate().getConnectionFactory().getVirtualHost());
+            @Header(name = MessageHeaderKey.TENANT, required = false) final String tenant, final Channel channel) {
+        final String virtualHost = getRabbitTemplate().getConnectionFactory().getVirtualHost();
+        if (inboundProcessor == null) {
+            return onMessage(message, type, tenant, virtualHost);
+        }
+
+        final Acknowledgement acknowledgement = new ChannelAcknowledgement(channel,
+                message.getMessageProperties().getDeliveryTag());
+        try {
+            if (!handleMessage(message, type, tenant, virtualHost, acknowledgement)) {
+                acknowledgement.ack();
+            }
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to process DMF message of tenant {}, rejecting it", tenant, e);
+            acknowledgement.reject();
+        }
+        return null;
     }
 
     /**
@@ -149,6 +223,16 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      * @return the rpc message back to supplier.
      */
     public Message onMessage(final Message message, final String type, final String tenant, final String virtualHost) {
+        handleMessage(message, type, tenant, virtualHost, PartitionedMessageProcessor.NONE);
+        return null;
+    }
+
+    /**
+     * @return <code>true</code> if the message has been submitted to the
+     *         inbound partitions which acknowledge it after the processing
+     */
+    private boolean handleMessage(final Message message, final String type, final String tenant,
+            final String virtualHost, final Acknowledgement acknowledgement) {
         if (StringUtils.isEmpty(type) || StringUtils.isEmpty(tenant)) {
             throw new AmqpRejectAndDontRequeueException("Invalid message! tenant and type header are mandatory!");
         }
@@ -158,21 +242,26 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
             final MessageType messageType = MessageType.valueOf(type);
             switch (messageType) {
             case THING_CREATED:
-                setTenantSecurityContext(tenant);
-                registerTarget(message, virtualHost);
-                break;
             case THING_REMOVED:
-                setTenantSecurityContext(tenant);
-                deleteTarget(message);
-                break;
             case EVENT:
-                checkContentTypeJson(message);
-                setTenantSecurityContext(tenant);
-                handleIncomingEvent(message);
+                if (messageType == MessageType.EVENT) {
+                    checkContentTypeJson(message);
+                }
+                final Object thingId = message.getMessageProperties().getHeaders().get(MessageHeaderKey.THING_ID);
+                if (inboundProcessor != null && thingId != null) {
+                    inboundProcessor.submit(tenant, thingId.toString(), messageType == MessageType.EVENT,
+                            () -> handleThingMessage(message, messageType, virtualHost), acknowledgement);
+                    return true;
+                } else {
+                    setTenantSecurityContext(tenant);
+                    handleThingMessage(message, messageType, virtualHost);
+                }
                 break;
             case PING:
                 if (isCorrelationIdNotEmpty(message)) {
+                    final long start = System.nanoTime();
                     amqpMessageDispatcherService.sendPingReponseToDmfReceiver(message, tenant, virtualHost);
+                    messageStatistics.record(messageType, System.nanoTime() - start, true);
                 }
                 break;
             default:
@@ -183,7 +272,81 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         } finally {
             SecurityContextHolder.setContext(oldContext);
         }
-        return null;
+        return false;
+    }
+
+    private void handleThingMessage(final Message message, final MessageType messageType, final String virtualHost) {
+        final long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            switch (messageType) {
+            case THING_CREATED:
+                registerTarget(message, virtualHost);
+                break;
+            case THING_REMOVED:
+                deleteTarget(message);
+                break;
+            default:
+                handleIncomingEvent(message);
+                break;
+            }
+            successful = true;
+        } finally {
+            messageStatistics.record(messageType, System.nanoTime() - start, successful);
+        }
+    }
+
+    /**
+     * Processes the messages of a tenant that have been received by the
+     * {@link PartitionedMessageProcessor}. Several event messages are
+     * processed in one transaction. If that fails the transaction is rolled
+     * back and the processor runs the messages one by one again. The messages
+     * which are sent to the targets while processing a batch are only sent
+     * once the batch has been committed, so that they are not sent twice.
+     */
+    private void runInboundBatch(final String tenant, final List<Runnable> messages) {
+        final SecurityContext oldContext = SecurityContextHolder.getContext();
+        try {
+            setTenantSecurityContext(tenant);
+            if (messages.size() > 1 && txManager != null) {
+                final TransactionTemplate transactionTemplate = new TransactionTemplate(txManager);
+                transactionTemplate.setName("dmfInboundBatch");
+                transactionTemplate.execute(status -> {
+                    messages.forEach(Runnable::run);
+                    return null;
+                });
+            } else {
+                messages.forEach(Runnable::run);
+            }
+        } finally {
+            SecurityContextHolder.setContext(oldContext);
+        }
+    }
+
+    /**
+     * Stops the processing of incoming messages after the queued messages
+     * have been processed. The listener containers are stopped before, as
+     * they are stopped with the lifecycle of the application context.
+     */
+    public void shutdown() {
+        if (inboundProcessor != null) {
+            inboundProcessor.shutdown();
+        }
+    }
+
+    /**
+     * @return the processor of the incoming messages or <code>null</code> if
+     *         the messages are processed on the listener threads
+     */
+    public PartitionedMessageProcessor getInboundProcessor() {
+        return inboundProcessor;
+    }
+
+    /**
+     * @return the statistics of the processed messages per message type
+     */
+    public MessageTypeStatistics getMessageStatistics() {
+        return messageStatistics;
     }
 
     private static void setSecurityContext(final Authentication authentication) {
@@ -259,8 +422,8 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         final Map<Long, Map<SoftwareModule, List<SoftwareModuleMetadata>>> softwareModulesPerDistributionSet = distributionSets
                 .stream().collect(Collectors.toMap(DistributionSet::getId, this::getSoftwareModulesWithMetadata));
 
-        amqpMessageDispatcherService.sendMultiActionRequestToTarget(target.getTenant(), target, actions,
-                action -> softwareModulesPerDistributionSet.get(action.getDistributionSet().getId()));
+        sendAfterCommit(() -> amqpMessageDispatcherService.sendMultiActionRequestToTarget(target.getTenant(), target,
+                actions, action -> softwareModulesPerDistributionSet.get(action.getDistributionSet().getId())));
     }
 
     private void sendOldestActionToTarget(final Target target) {
@@ -273,14 +436,40 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
 
         final Action action = actionOptional.get();
         if (action.isCancelingOrCanceled()) {
-            amqpMessageDispatcherService.sendCancelMessageToTarget(target.getTenant(), target.getControllerId(),
-                    action.getId(), target.getAddress());
+            sendAfterCommit(() -> amqpMessageDispatcherService.sendCancelMessageToTarget(target.getTenant(),
+                    target.getControllerId(), action.getId(), target.getAddress()));
         } else {
-            amqpMessageDispatcherService.sendUpdateMessageToTarget(new ActionProperties(action), action.getTarget(),
-                    getSoftwareModulesWithMetadata(action.getDistributionSet()));
+            final ActionProperties actionProperties = new ActionProperties(action);
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules = getSoftwareModulesWithMetadata(
+                    action.getDistributionSet());
+            sendAfterCommit(() -> amqpMessageDispatcherService.sendUpdateMessageToTarget(actionProperties,
+                    action.getTarget(), softwareModules));
         }
     }
 
+    /**
+     * Sends a message to a target after the commit of the surrounding batch
+     * transaction, if any, as a failed batch is processed once more message by
+     * message.
+     */
+    private static void sendAfterCommit(final Runnable send) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                try {
+                    send.run();
+                } catch (final RuntimeException e) {
+                    // the batch must not be processed once more
+                    LOG.error("Failed to send DMF message after the commit of an inbound batch", e);
+                }
+            }
+        });
+    }
+
     private Map<SoftwareModule, List<SoftwareModuleMetadata>> getSoftwareModulesWithMetadata(
             final DistributionSet distributionSet) {
         final List<Long> smIds = distributionSet.getModules().stream().map(SoftwareModule::getId)
@@ -458,4 +647,36 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
     public void setControllerManagement(final ControllerManagement controllerManagement) {
         this.controllerManagement = controllerManagement;
     }
+
+    /**
+     * Acknowledges a message on the channel it has been received on. Rejected
+     * messages are not requeued, i.e. they are dead lettered.
+     */
+    private static final class ChannelAcknowledgement implements Acknowledgement {
+        private final Channel channel;
+        private final long deliveryTag;
+
+        private ChannelAcknowledgement(final Channel channel, final long deliveryTag) {
+            this.channel = channel;
+            this.deliveryTag = deliveryTag;
+        }
+
+        @Override
+        public void ack() {
+            try {
+                channel.basicAck(deliveryTag, false);
+            } catch (final IOException e) {
+                throw new AmqpIOException(e);
+            }
+        }
+
+        @Override
+        public void reject() {
+            try {
+                channel.basicReject(deliveryTag, false);
+            } catch (final IOException e) {
+                throw new AmqpIOException(e);
+            }
+        }
+    }
 }
@@ -66,6 +66,79 @@ public class AmqpProperties {
      */
     private long requeueDelay = DEFAULT_REQUEUE_DELAY;
 
+    /**
+     * Number of threads the messages of a distribution set assignment are
+     * built and sent on.
+     */
+    private int dispatcherThreads = 4;
+
+    /**
+     * Maximum number of targets whose assignment messages are built and sent
+     * as one batch on a dispatcher thread.
+     */
+    private int dispatcherBatchSize = 500;
+
+    /**
+     * Number of partitions the incoming messages of the things are processed
+     * on, in the order of their arrival per thing. The messages are
+     * acknowledged after their processing and dead lettered if it failed, so
+     * the prefetch count of the listeners limits the number of waiting
+     * messages as well. 0 processes the messages on the listener threads.
+     */
+    private int inboundPartitions;
+
+    /**
+     * Maximum number of messages waiting per partition before the listener
+     * threads are blocked.
+     */
+    private int inboundQueueCapacity = 1000;
+
+    /**
+     * Maximum number of event messages of a tenant processed in one
+     * transaction by a partition.
+     */
+    private int inboundBatchSize = 100;
+
+    public int getInboundPartitions() {
+        return inboundPartitions;
+    }
+
+    public void setInboundPartitions(final int inboundPartitions) {
+        this.inboundPartitions = inboundPartitions;
+    }
+
+    public int getInboundQueueCapacity() {
+        return inboundQueueCapacity;
+    }
+
+    public void setInboundQueueCapacity(final int inboundQueueCapacity) {
+        this.inboundQueueCapacity = inboundQueueCapacity;
+    }
+
+    public int getInboundBatchSize() {
+        return inboundBatchSize;
+    }
+
+    public void setInboundBatchSize(final int inboundBatchSize) {
+        this.inboundBatchSize = inboundBatchSize;
+    }
+
+    public int getDispatcherThreads() {
+        return dispatcherThreads;
+    }
+
+    public void setDispatcherThreads(final int dispatcherThreads) {
+        this.dispatcherThreads = dispatcherThreads;
+    }
+
+    public int getDispatcherBatchSize() {
+        return dispatcherBatchSize;
+    }
+
+    public void setDispatcherBatchSize(final int dispatcherBatchSize) {
+        this.dispatcherBatchSize = dispatcherBatchSize;
+    }
+
     public long getRequeueDelay() {
         return requeueDelay;
     }
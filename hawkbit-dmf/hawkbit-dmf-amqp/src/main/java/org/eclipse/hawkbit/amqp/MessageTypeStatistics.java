@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+
+/**
+ * Statistics of the processing of the incoming DMF messages per
+ * {@link MessageType}, i.e. the number of processed and failed messages and
+ * the total processing time.
+ */
+public class MessageTypeStatistics {
+
+    private final Map<MessageType, Statistics> statistics = new EnumMap<>(MessageType.class);
+
+    /**
+     * Constructor.
+     */
+    public MessageTypeStatistics() {
+        for (final MessageType type : MessageType.values()) {
+            statistics.put(type, new Statistics());
+        }
+    }
+
+    /**
+     * Records a processed message.
+     *
+     * @param type
+     *            of the message
+     * @param durationNanos
+     *            processing time of the message
+     * @param successful
+     *            <code>false</code> if the processing failed
+     */
+    public void record(final MessageType type, final long durationNanos, final boolean successful) {
+        final Statistics typeStatistics = statistics.get(type);
+        typeStatistics.count.increment();
+        typeStatistics.totalNanos.add(durationNanos);
+        if (!successful) {
+            typeStatistics.failed.increment();
+        }
+    }
+
+    /**
+     * @param type
+     *            of the messages
+     * @return number of processed messages
+     */
+    public long getCount(final MessageType type) {
+        return statistics.get(type).count.sum();
+    }
+
+    /**
+     * @param type
+     *            of the messages
+     * @return number of messages which failed
+     */
+    public long getFailedCount(final MessageType type) {
+        return statistics.get(type).failed.sum();
+    }
+
+    /**
+     * @param type
+     *            of the messages
+     * @return total processing time of the messages in nanoseconds
+     */
+    public long getTotalNanos(final MessageType type) {
+        return statistics.get(type).totalNanos.sum();
+    }
+
+    private static final class Statistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+    }
+}
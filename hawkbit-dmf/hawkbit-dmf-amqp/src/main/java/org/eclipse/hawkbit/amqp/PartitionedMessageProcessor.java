@@ -0,0 +1,405 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Processes incoming DMF messages on a fixed number of partitions. The
+ * messages of a thing are always processed by the same partition in the
+ * order of their arrival while the messages of different things are
+ * processed in parallel. Consecutive batchable messages of the same tenant
+ * which are waiting in a partition are handed over as one batch.
+ *
+ * The queues of the partitions are bounded, i.e. the listener threads are
+ * blocked if a partition is full. The messages are acknowledged by the
+ * partitions once they have been processed and rejected if they failed. If a
+ * batch fails its messages are processed one by one, so that an invalid
+ * message does not prevent the others from being acknowledged.
+ */
+public class PartitionedMessageProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PartitionedMessageProcessor.class);
+
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Queued after the last message of a partition on shutdown.
+     */
+    private static final InboundMessage STOP = new InboundMessage(null, false, null, null);
+
+    /**
+     * For messages which do not need to be acknowledged.
+     */
+    static final Acknowledgement NONE = new Acknowledgement() {
+        @Override
+        public void ack() {
+            // nothing to acknowledge
+        }
+
+        @Override
+        public void reject() {
+            // nothing to reject
+        }
+    };
+
+    /**
+     * Runs a batch of messages of a tenant.
+     */
+    @FunctionalInterface
+    public interface BatchRunner {
+
+        /**
+         * @param tenant
+         *            of the messages
+         * @param messages
+         *            the processing of the messages in the order of their
+         *            arrival
+         */
+        void run(String tenant, List<Runnable> messages);
+    }
+
+    /**
+     * Settles a message with the broker after its processing.
+     */
+    public interface Acknowledgement {
+
+        /**
+         * Called after the message has been processed.
+         */
+        void ack();
+
+        /**
+         * Called if the processing of the message failed.
+         */
+        void reject();
+    }
+
+    private final List<Partition> partitions;
+    private final int maxBatchSize;
+    private final BatchRunner batchRunner;
+    private final ExecutorService executor;
+    private volatile boolean stopped;
+
+    /**
+     * Constructor.
+     *
+     * @param partitionCount
+     *            number of partitions, i.e. threads
+     * @param queueCapacity
+     *            maximum number of waiting messages per partition
+     * @param maxBatchSize
+     *            maximum number of messages per batch
+     * @param batchRunner
+     *            to run the batches
+     */
+    public PartitionedMessageProcessor(final int partitionCount, final int queueCapacity, final int maxBatchSize,
+            final BatchRunner batchRunner) {
+        this.maxBatchSize = maxBatchSize;
+        this.batchRunner = batchRunner;
+        this.executor = Executors.newFixedThreadPool(partitionCount,
+                new ThreadFactoryBuilder().setNameFormat("dmf-inbound-%d").setDaemon(true).build());
+
+        final List<Partition> list = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            final Partition partition = new Partition(queueCapacity);
+            list.add(partition);
+            executor.execute(partition::run);
+        }
+        this.partitions = list;
+    }
+
+    /**
+     * Submits a message for processing which does not need to be
+     * acknowledged. Blocks if the partition of the thing is full.
+     *
+     * @param tenant
+     *            of the message
+     * @param thingId
+     *            the message belongs to
+     * @param batchable
+     *            <code>true</code> if the message may be processed in a batch
+     *            with other messages of the tenant
+     * @param processing
+     *            of the message
+     */
+    public void submit(final String tenant, final String thingId, final boolean batchable,
+            final Runnable processing) {
+        submit(tenant, thingId, batchable, processing, NONE);
+    }
+
+    /**
+     * Submits a message for processing. Blocks if the partition of the thing
+     * is full.
+     *
+     * @param tenant
+     *            of the message
+     * @param thingId
+     *            the message belongs to
+     * @param batchable
+     *            <code>true</code> if the message may be processed in a batch
+     *            with other messages of the tenant
+     * @param processing
+     *            of the message
+     * @param acknowledgement
+     *            called by the partition after the processing
+     */
+    public void submit(final String tenant, final String thingId, final boolean batchable,
+            final Runnable processing, final Acknowledgement acknowledgement) {
+        if (stopped) {
+            throw new AmqpException("The inbound partitions are shut down");
+        }
+        final Partition partition = partitions.get(Math.floorMod(thingId.hashCode(), partitions.size()));
+        try {
+            partition.queue.put(new InboundMessage(tenant, batchable, processing, acknowledgement));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted while waiting for a free slot in the inbound partition", e);
+        }
+    }
+
+    /**
+     * Stops the processing after the running batches have been processed,
+     * waiting at most 30 seconds.
+     *
+     * @return <code>true</code> if the partitions stopped in time
+     */
+    public boolean shutdown() {
+        return shutdown(DEFAULT_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the processing after the running batches have been processed. No
+     * further messages are accepted, i.e. the listeners have to be stopped
+     * before. The waiting messages are discarded without being acknowledged,
+     * so that the broker delivers them again once the channels of the
+     * listeners are closed.
+     *
+     * @param timeout
+     *            maximum time to wait for the running batches
+     * @param unit
+     *            of the timeout
+     * @return <code>true</code> if the partitions stopped in time
+     */
+    public boolean shutdown(final long timeout, final TimeUnit unit) {
+        stopped = true;
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        final List<InboundMessage> discarded = new ArrayList<>();
+        try {
+            for (final Partition partition : partitions) {
+                partition.queue.drainTo(discarded);
+                if (!partition.queue.offer(STOP, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            }
+            if (!discarded.isEmpty()) {
+                LOG.info("{} waiting DMF messages are discarded on shutdown", discarded.size());
+            }
+            executor.shutdown();
+            if (executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        LOG.error("Inbound partitions did not finish the running batches in time");
+        executor.shutdownNow();
+        return false;
+    }
+
+    /**
+     * @return number of partitions
+     */
+    public int getPartitionCount() {
+        return partitions.size();
+    }
+
+    /**
+     * @param partition
+     *            index of the partition
+     * @return number of messages waiting in the partition
+     */
+    public int getQueueDepth(final int partition) {
+        return partitions.get(partition).queue.size();
+    }
+
+    /**
+     * @param partition
+     *            index of the partition
+     * @return time in milliseconds from the arrival until the end of the
+     *         processing of the last message of the partition
+     */
+    public long getLastLatency(final int partition) {
+        return partitions.get(partition).lastLatency.get();
+    }
+
+    /**
+     * @param partition
+     *            index of the partition
+     * @return maximum time in milliseconds from the arrival until the end of
+     *         the processing of a message of the partition
+     */
+    public long getMaxLatency(final int partition) {
+        return partitions.get(partition).maxLatency.get();
+    }
+
+    /**
+     * @param partition
+     *            index of the partition
+     * @return total number of messages processed by the partition
+     */
+    public long getProcessedCount(final int partition) {
+        return partitions.get(partition).processed.sum();
+    }
+
+    private static final class InboundMessage {
+        private final String tenant;
+        private final boolean batchable;
+        private final Runnable processing;
+        private final Acknowledgement acknowledgement;
+        private final long arrival = System.currentTimeMillis();
+
+        private InboundMessage(final String tenant, final boolean batchable, final Runnable processing,
+                final Acknowledgement acknowledgement) {
+            this.tenant = tenant;
+            this.batchable = batchable;
+            this.processing = processing;
+            this.acknowledgement = acknowledgement;
+        }
+
+        private boolean isBatchableWith(final InboundMessage other) {
+            return batchable && other.batchable && tenant.equals(other.tenant);
+        }
+
+        private void settle(final boolean successful) {
+            try {
+                if (successful) {
+                    acknowledgement.ack();
+                } else {
+                    acknowledgement.reject();
+                }
+            } catch (final RuntimeException e) {
+                LOG.warn("Failed to settle DMF message of tenant {}, it is delivered again", tenant, e);
+            }
+        }
+    }
+
+    private final class Partition {
+        private final BlockingQueue<InboundMessage> queue;
+        private final AtomicLong lastLatency = new AtomicLong();
+        private final AtomicLong maxLatency = new AtomicLong();
+        private final LongAdder processed = new LongAdder();
+
+        private Partition(final int queueCapacity) {
+            queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        private void run() {
+            try {
+                processMessages();
+            } finally {
+                // the listener threads would wait for a free slot forever
+                // if the partition ended before the shutdown
+                if (!stopped) {
+                    LOG.error("Inbound partition ended unexpectedly, restarting it");
+                    executor.execute(this::run);
+                }
+            }
+        }
+
+        private void processMessages() {
+            final List<InboundMessage> messages = new ArrayList<>(maxBatchSize);
+            boolean last = false;
+            while (!last && !Thread.currentThread().isInterrupted()) {
+                try {
+                    messages.add(queue.take());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                queue.drainTo(messages, maxBatchSize - 1);
+                // no message is queued after the stop marker
+                last = messages.remove(STOP);
+
+                int start = 0;
+                while (start < messages.size()) {
+                    int end = start + 1;
+                    while (end < messages.size() && messages.get(start).isBatchableWith(messages.get(end))) {
+                        end++;
+                    }
+                    runBatch(messages.subList(start, end));
+                    start = end;
+                }
+                messages.clear();
+            }
+        }
+
+        private void runBatch(final List<InboundMessage> batch) {
+            final String tenant = batch.get(0).tenant;
+            if (batch.size() == 1) {
+                runSingle(tenant, batch.get(0));
+            } else {
+                final Throwable failure = run(tenant, batch);
+                if (failure == null) {
+                    batch.forEach(message -> message.settle(true));
+                } else {
+                    LOG.debug("Batch of {} DMF messages of tenant {} failed, processing them one by one.",
+                            batch.size(), tenant, failure);
+                    batch.forEach(message -> runSingle(tenant, message));
+                }
+            }
+
+            final long now = System.currentTimeMillis();
+            batch.forEach(message -> {
+                final long latency = now - message.arrival;
+                lastLatency.set(latency);
+                maxLatency.accumulateAndGet(latency, Math::max);
+            });
+            processed.add(batch.size());
+        }
+
+        private void runSingle(final String tenant, final InboundMessage message) {
+            final Throwable failure = run(tenant, Collections.singletonList(message));
+            if (failure != null) {
+                LOG.error("Failed to process DMF message of tenant {}, rejecting it", tenant, failure);
+            }
+            message.settle(failure == null);
+        }
+
+        // Exception squid:S1181 - an Error must not end the partition as the
+        // message would neither be acknowledged nor rejected
+        @SuppressWarnings("squid:S1181")
+        private Throwable run(final String tenant, final List<InboundMessage> messages) {
+            try {
+                batchRunner.run(tenant,
+                        messages.stream().map(message -> message.processing).collect(Collectors.toList()));
+                return null;
+            } catch (final Throwable e) {
+                return e;
+            }
+        }
+    }
+}
@@ -32,7 +32,6 @@ import org.eclipse.hawkbit.repository.jpa.JpaEntityFactory;
 import org.eclipse.hawkbit.repository.jpa.model.JpaArtifact;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModule;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModuleType;
-import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
 import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.security.DdiSecurityProperties;
@@ -41,6 +40,7 @@ import org.eclipse.hawkbit.security.DdiSecurityProperties.Rp;
 import org.eclipse.hawkbit.security.DmfTenantSecurityToken;
 import org.eclipse.hawkbit.security.DmfTenantSecurityToken.FileResource;
 import org.eclipse.hawkbit.security.SecurityContextTenantAware;
+import org.eclipse.hawkbit.security.SecurityTokenGenerator;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.junit.Before;
@@ -104,9 +104,6 @@ public class AmqpControllerAuthenticationTest {
     @Mock
     private ControllerManagement controllerManagementMock;
 
-    @Mock
-    private Target targetMock;
-
     private static final TenantConfigurationValue<Boolean> CONFIG_VALUE_FALSE = TenantConfigurationValue
             .<Boolean> builder().value(Boolean.FALSE).build();
 
@@ -133,11 +130,9 @@ public class AmqpControllerAuthenticationTest {
                 .thenReturn(CONFIG_VALUE_FALSE);
 
         final ControllerManagement controllerManagement = mock(ControllerManagement.class);
-        when(controllerManagement.getByControllerId(anyString())).thenReturn(Optional.of(targetMock));
-        when(controllerManagement.get(any(Long.class))).thenReturn(Optional.of(targetMock));
-
-        when(targetMock.getSecurityToken()).thenReturn(CONTROLLER_ID);
-        when(targetMock.getControllerId()).thenReturn(CONTROLLER_ID);
+        when(controllerManagement.getSecurityTokenHashByControllerId(anyString()))
+                .thenReturn(Optional.of(SecurityTokenGenerator.hashToken(CONTROLLER_ID)));
+        when(controllerManagement.getControllerIdByTargetId(any(Long.class))).thenReturn(Optional.of(CONTROLLER_ID));
 
         final SecurityContextTenantAware tenantAware = new SecurityContextTenantAware();
         final SystemSecurityContext systemSecurityContext = new SystemSecurityContext(tenantAware);
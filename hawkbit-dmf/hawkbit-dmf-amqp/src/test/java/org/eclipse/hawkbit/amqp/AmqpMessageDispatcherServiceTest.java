@@ -23,6 +23,9 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.api.ArtifactUrl;
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
@@ -35,6 +38,7 @@ import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
 import org.eclipse.hawkbit.dmf.json.model.DmfActionRequest;
 import org.eclipse.hawkbit.dmf.json.model.DmfDownloadAndUpdateRequest;
 import org.eclipse.hawkbit.dmf.json.model.DmfMetadata;
+import org.eclipse.hawkbit.dmf.json.model.DmfSoftwareModule;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
@@ -86,6 +90,8 @@ public class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
 
     private DefaultAmqpMessageSenderService senderService;
 
+    private ArtifactUrlHandler artifactUrlHandlerMock;
+
     private Target testTarget;
 
     @Override
@@ -99,7 +105,7 @@ public class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
 
         senderService = Mockito.mock(DefaultAmqpMessageSenderService.class);
 
-        final ArtifactUrlHandler artifactUrlHandlerMock = Mockito.mock(ArtifactUrlHandler.class);
+        artifactUrlHandlerMock = Mockito.mock(ArtifactUrlHandler.class);
         when(artifactUrlHandlerMock.getUrls(any(), any()))
                 .thenReturn(Arrays.asList(new ArtifactUrl("http", "download", "http://mockurl")));
 
@@ -214,6 +220,48 @@ public class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Verifies that the messages of an assignment to many targets are built and sent in parallel batches, each with the artifact URLs and the security token of its target.")
+    public void sendDownloadRequestsInParallelBatches() {
+        final List<Target> targets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            targets.add(targetManagement.create(entityFactory.target().create().controllerId("batch" + i)
+                    .securityToken("token" + i).address(AMQP_URI.toString())));
+        }
+        final DistributionSet ds = testdataFactory.createDistributionSet(UUID.randomUUID().toString());
+        testdataFactory.createArtifacts(ds.getModules().iterator().next().getId());
+        final List<Action> actions = assignDistributionSet(ds, targets).getAssignedEntity();
+
+        final ExecutorService dispatchExecutor = Executors.newFixedThreadPool(3);
+        try {
+            new AmqpMessageDispatcherService(rabbitTemplate, senderService, artifactUrlHandlerMock,
+                    systemSecurityContext, systemManagement, targetManagement, serviceMatcher,
+                    distributionSetManagement, softwareModuleManagement, deploymentManagement, dispatchExecutor, 2)
+                            .targetAssignDistributionSet(new TargetAssignDistributionSetEvent(TENANT, ds.getId(),
+                                    actions, serviceMatcher.getServiceId(), true));
+        } finally {
+            dispatchExecutor.shutdown();
+        }
+
+        final ArgumentCaptor<Message> argumentCaptor = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(senderService, Mockito.times(targets.size())).sendMessage(argumentCaptor.capture(),
+                eq(AMQP_URI));
+        assertThat(argumentCaptor.getAllValues()).allSatisfy(message -> {
+            final String controllerId = (String) message.getMessageProperties().getHeaders()
+                    .get(MessageHeaderKey.THING_ID);
+            final DmfDownloadAndUpdateRequest request = convertMessage(message, DmfDownloadAndUpdateRequest.class);
+            assertThat(request.getTargetSecurityToken()).isEqualTo("token" + controllerId.substring(5));
+            assertThat(request.getSoftwareModules()).hasSameSizeAs(ds.getModules());
+            assertThat(request.getSoftwareModules()).flatExtracting(DmfSoftwareModule::getArtifacts).isNotEmpty()
+                    .allSatisfy(artifact -> assertThat(artifact.getUrls()).containsValue("http://mockurl"));
+        });
+        assertThat(argumentCaptor.getAllValues())
+                .extracting(message -> message.getMessageProperties().getHeaders().get(MessageHeaderKey.THING_ID))
+                .containsOnlyElementsOf(
+                        targets.stream().map(Target::getControllerId).collect(Collectors.toList()))
+                .doesNotHaveDuplicates();
+    }
+
     @Test
     @Description("Verifies that sending update controller attributes event works.")
     public void sendUpdateAttributesRequest() {
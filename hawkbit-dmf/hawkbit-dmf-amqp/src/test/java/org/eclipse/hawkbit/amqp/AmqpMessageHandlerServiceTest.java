@@ -199,6 +199,8 @@ public class AmqpMessageHandlerServiceTest {
         assertThat(targetIdCaptor.getValue()).as("Thing id is wrong").isEqualTo(knownThingId);
         assertThat(uriCaptor.getValue().toString()).as("Uri is not right")
                 .isEqualTo("amqp://" + VIRTUAL_HOST + "/MyTest");
+        assertThat(amqpMessageHandlerService.getMessageStatistics().getCount(MessageType.THING_CREATED))
+                .as("Processed messages").isEqualTo(1);
     }
 
     @Test
@@ -237,6 +239,8 @@ public class AmqpMessageHandlerServiceTest {
                 .isThrownBy(() -> amqpMessageHandlerService.onMessage(
                         createMessage("Not allowed Body".getBytes(), getThingCreatedMessageProperties(knownThingId)),
                         MessageType.THING_CREATED.name(), TENANT, VIRTUAL_HOST));
+        assertThat(amqpMessageHandlerService.getMessageStatistics().getFailedCount(MessageType.THING_CREATED))
+                .as("Failed messages").isEqualTo(1);
     }
 
     @Test
@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.amqp.AmqpException;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Device Management Federation API")
+@Story("Partitioned Message Processor Test")
+public class PartitionedMessageProcessorTest {
+
+    private final List<String> batches = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> settled = Collections.synchronizedList(new ArrayList<>());
+
+    private PartitionedMessageProcessor processor;
+
+    @After
+    public void shutdown() {
+        processor.shutdown();
+    }
+
+    @Test
+    @Description("Verifies that the messages of a thing are processed in the order of their arrival.")
+    public void messagesOfThingAreProcessedInOrder() throws InterruptedException {
+        processor = new PartitionedMessageProcessor(4, 10, 3, this::runBatch);
+        final CountDownLatch done = new CountDownLatch(200);
+
+        for (int i = 0; i < 100; i++) {
+            submit("tenant", "thing1", i % 7 != 0, "thing1-" + i, done);
+            submit("tenant", "thing2", true, "thing2-" + i, done);
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        final List<String> thing1 = new ArrayList<>();
+        final List<String> thing2 = new ArrayList<>();
+        processed.forEach(message -> (message.startsWith("thing1") ? thing1 : thing2).add(message));
+        for (int i = 0; i < 100; i++) {
+            assertThat(thing1.get(i)).isEqualTo("thing1-" + i);
+            assertThat(thing2.get(i)).isEqualTo("thing2-" + i);
+        }
+
+        final long processedCount = processor.getProcessedCount(0) + processor.getProcessedCount(1)
+                + processor.getProcessedCount(2) + processor.getProcessedCount(3);
+        assertThat(processedCount).isEqualTo(200);
+    }
+
+    @Test
+    @Description("Verifies that waiting batchable messages of the same tenant are processed as one batch.")
+    public void waitingMessagesOfTenantAreBatched() throws InterruptedException {
+        processor = new PartitionedMessageProcessor(1, 10, 10, this::runBatch);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(6);
+
+        processor.submit("tenant1", "thing", false, () -> {
+            blocked.countDown();
+            await(release);
+        });
+        assertThat(blocked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        submit("tenant1", "thing", true, "a", done);
+        submit("tenant1", "thing", true, "b", done);
+        submit("tenant2", "thing", true, "c", done);
+        submit("tenant2", "thing", true, "d", done);
+        submit("tenant2", "thing", false, "e", done);
+        submit("tenant2", "thing", true, "f", done);
+        assertThat(processor.getQueueDepth(0)).isEqualTo(6);
+        release.countDown();
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(processed).containsExactly("a", "b", "c", "d", "e", "f");
+        assertThat(batches).containsExactly("tenant1:1", "tenant1:2", "tenant2:2", "tenant2:1", "tenant2:1");
+    }
+
+    @Test
+    @Description("Verifies that the messages are acknowledged after their processing and that the failed messages of a batch are rejected while the others are acknowledged.")
+    public void messagesAreSettledAfterProcessing() throws InterruptedException {
+        processor = new PartitionedMessageProcessor(1, 10, 10, this::runBatch);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(4);
+
+        processor.submit("tenant", "thing", false, () -> {
+            blocked.countDown();
+            await(release);
+        }, new RecordingAcknowledgement("blocking", done));
+        assertThat(blocked.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(settled).isEmpty();
+
+        processor.submit("tenant", "thing", true, () -> processed.add("a"), new RecordingAcknowledgement("a", done));
+        processor.submit("tenant", "thing", true, () -> {
+            throw new IllegalStateException("invalid message");
+        }, new RecordingAcknowledgement("b", done));
+        processor.submit("tenant", "thing", true, () -> processed.add("c"), new RecordingAcknowledgement("c", done));
+        release.countDown();
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(settled).containsExactly("ack:blocking", "ack:a", "reject:b", "ack:c");
+        assertThat(batches).containsExactly("tenant:1", "tenant:3", "tenant:1", "tenant:1", "tenant:1");
+    }
+
+    @Test
+    @Description("Verifies that an error does not end the partition, i.e. the following messages are still processed.")
+    public void errorDoesNotEndPartition() throws InterruptedException {
+        processor = new PartitionedMessageProcessor(1, 1, 10, this::runBatch);
+        final CountDownLatch done = new CountDownLatch(1);
+        final CountDownLatch rejected = new CountDownLatch(1);
+
+        processor.submit("tenant", "thing", false, () -> {
+            throw new OutOfMemoryError("simulated");
+        }, new RecordingAcknowledgement("error", rejected));
+        for (int i = 0; i < 5; i++) {
+            submit("tenant", "thing", false, "message-" + i, new CountDownLatch(1));
+        }
+        submit("tenant", "thing", false, "last", done);
+
+        assertThat(rejected.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(settled).containsExactly("reject:error");
+        assertThat(processed).containsExactly("message-0", "message-1", "message-2", "message-3", "message-4",
+                "last");
+    }
+
+    @Test
+    @Description("Verifies that the running batches are finished on shutdown while the waiting messages are discarded without being settled and further messages are rejected.")
+    public void waitingMessagesAreDiscardedOnShutdown() throws InterruptedException {
+        processor = new PartitionedMessageProcessor(2, 10, 10, this::runBatch);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+
+        processor.submit("tenant", "thing", false, () -> {
+            blocked.countDown();
+            await(release);
+        }, new RecordingAcknowledgement("blocking", done));
+        assertThat(blocked.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 5; i++) {
+            processor.submit("tenant", "thing", i % 2 == 0, () -> processed.add("waiting"),
+                    new RecordingAcknowledgement("waiting", new CountDownLatch(1)));
+        }
+
+        // release the running message once the waiting ones have been
+        // discarded, i.e. only the stop markers may be left
+        new Thread(() -> {
+            while (processor.getQueueDepth(0) + processor.getQueueDepth(1) > 2) {
+                sleep();
+            }
+            release.countDown();
+        }).start();
+        assertThat(processor.shutdown()).isTrue();
+
+        assertThat(done.getCount()).isZero();
+        assertThat(processed).isEmpty();
+        assertThat(settled).containsExactly("ack:blocking");
+        assertThat(processor.getQueueDepth(0) + processor.getQueueDepth(1)).isZero();
+        assertThatExceptionOfType(AmqpException.class)
+                .isThrownBy(() -> submit("tenant", "thing", true, "rejected", new CountDownLatch(1)));
+    }
+
+    private void submit(final String tenant, final String thingId, final boolean batchable, final String message,
+            final CountDownLatch done) {
+        processor.submit(tenant, thingId, batchable, () -> {
+            processed.add(message);
+            done.countDown();
+        });
+    }
+
+    private void runBatch(final String tenant, final List<Runnable> messages) {
+        batches.add(tenant + ":" + messages.size());
+        messages.forEach(Runnable::run);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(10);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class RecordingAcknowledgement implements PartitionedMessageProcessor.Acknowledgement {
+        private final String message;
+        private final CountDownLatch done;
+
+        private RecordingAcknowledgement(final String message, final CountDownLatch done) {
+            this.message = message;
+            this.done = done;
+        }
+
+        @Override
+        public void ack() {
+            settled.add("ack:" + message);
+            done.countDown();
+        }
+
+        @Override
+        public void reject() {
+            settled.add("reject:" + message);
+            done.countDown();
+        }
+    }
+}
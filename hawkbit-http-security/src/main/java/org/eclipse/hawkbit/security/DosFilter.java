@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 
 import javax.servlet.FilterChain;
@@ -60,6 +61,10 @@ public class DosFilter extends OncePerRequestFilter {
 
     private final String forwardHeader;
 
+    private final LongAdder blacklistRejections = new LongAdder();
+    private final LongAdder readRejections = new LongAdder();
+    private final LongAdder writeRejections = new LongAdder();
+
     /**
      * Filter constructor including configuration.
      * 
@@ -153,6 +158,7 @@ public class DosFilter extends OncePerRequestFilter {
     private boolean checkAgainstBlacklist(final HttpServletResponse response, final String ip) {
         if (ipAdressBlacklist != null && ipAdressBlacklist.matcher(ip).find()) {
             LOG_BLACKLIST.info("Blacklisted client ({}) tries to access the server!", ip);
+            blacklistRejections.increment();
             response.setStatus(HttpStatus.FORBIDDEN.value());
             return false;
         }
@@ -178,6 +184,7 @@ public class DosFilter extends OncePerRequestFilter {
         } else if (count.getAndIncrement() > maxWrite) {
             LOG_DOS.info("Registered DOS attack! Client {} is above configured WRITE request threshold ({})!", ip,
                     maxWrite);
+            writeRejections.increment();
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             processChain = false;
         }
@@ -194,10 +201,35 @@ public class DosFilter extends OncePerRequestFilter {
         } else if (count.getAndIncrement() > maxRead) {
             LOG_DOS.info("Registered DOS attack! Client {} is above configured READ request threshold ({})!", ip,
                     maxRead);
+            readRejections.increment();
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             processChain = false;
         }
 
         return processChain;
     }
+
+    /**
+     * @return number of requests of blacklisted clients which have been
+     *         rejected
+     */
+    public long getBlacklistRejectionCount() {
+        return blacklistRejections.sum();
+    }
+
+    /**
+     * @return number of read requests which have been rejected as the client
+     *         exceeded the threshold
+     */
+    public long getReadRejectionCount() {
+        return readRejections.sum();
+    }
+
+    /**
+     * @return number of write requests which have been rejected as the client
+     *         exceeded the threshold
+     */
+    public long getWriteRejectionCount() {
+        return writeRejections.sum();
+    }
 }
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.net.URI;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.amqp.core.Message;
+
+/**
+ * Stand-in for the RabbitMQ broker of the load test. The messages that the
+ * {@link AmqpMessageDispatcherService} sends to the devices are queued in
+ * memory until a simulated DMF device takes them, the messages of the devices
+ * are passed to the {@link AmqpMessageHandlerService} directly.
+ */
+public class InProcessDmfBroker implements AmqpMessageSenderService {
+
+    private final BlockingQueue<Delivery> deliveries = new LinkedBlockingQueue<>();
+
+    @Override
+    public void sendMessage(final Message message, final URI replyTo) {
+        deliveries.add(new Delivery(message, System.nanoTime()));
+    }
+
+    /**
+     * Takes the next message that has been sent to a device.
+     *
+     * @param timeout
+     *            how long to wait for a message
+     * @param unit
+     *            the unit of the timeout
+     * @return the message or <code>null</code> if none has been sent within
+     *         the timeout
+     * @throws InterruptedException
+     *             if interrupted while waiting
+     */
+    public Delivery poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return deliveries.poll(timeout, unit);
+    }
+
+    /**
+     * A message sent to a device.
+     */
+    public static final class Delivery {
+        private final Message message;
+        private final long sentNanos;
+
+        private Delivery(final Message message, final long sentNanos) {
+            this.message = message;
+            this.sentNanos = sentNanos;
+        }
+
+        public Message getMessage() {
+            return message;
+        }
+
+        /**
+         * @return the {@link System#nanoTime()} when the message has been sent
+         */
+        public long getSentNanos() {
+            return sentNanos;
+        }
+    }
+}
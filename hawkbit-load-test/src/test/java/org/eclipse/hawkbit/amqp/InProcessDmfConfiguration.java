@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.hawkbit.api.ArtifactUrlHandler;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.DistributionSetManagement;
+import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.SoftwareModuleManagement;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Sets up the DMF services like the {@link AmqpConfiguration} does, but with
+ * the {@link InProcessDmfBroker} instead of a RabbitMQ broker. The
+ * {@link RabbitTemplate} is only used for the message conversion, its
+ * connection factory never connects.
+ */
+@Configuration
+@EnableConfigurationProperties(AmqpProperties.class)
+public class InProcessDmfConfiguration {
+
+    @Bean
+    InProcessDmfBroker inProcessDmfBroker() {
+        return new InProcessDmfBroker();
+    }
+
+    @Bean
+    RabbitTemplate rabbitTemplate() {
+        final RabbitTemplate rabbitTemplate = new RabbitTemplate(new CachingConnectionFactory());
+        rabbitTemplate.setMessageConverter(new Jackson2JsonMessageConverter());
+        return rabbitTemplate;
+    }
+
+    @Bean
+    AmqpMessageDispatcherService amqpMessageDispatcherService(final RabbitTemplate rabbitTemplate,
+            final InProcessDmfBroker inProcessDmfBroker, final ArtifactUrlHandler artifactUrlHandler,
+            final SystemSecurityContext systemSecurityContext, final SystemManagement systemManagement,
+            final TargetManagement targetManagement, final ServiceMatcher serviceMatcher,
+            final DistributionSetManagement distributionSetManagement,
+            final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement,
+            final AmqpProperties amqpProperties) {
+        final ExecutorService dispatchExecutor = Executors.newFixedThreadPool(amqpProperties.getDispatcherThreads(),
+                new ThreadFactoryBuilder().setNameFormat("dmf-dispatcher-%d").setDaemon(true).build());
+        return new AmqpMessageDispatcherService(rabbitTemplate, inProcessDmfBroker, artifactUrlHandler,
+                systemSecurityContext, systemManagement, targetManagement, serviceMatcher, distributionSetManagement,
+                softwareModuleManagement, deploymentManagement, dispatchExecutor,
+                amqpProperties.getDispatcherBatchSize());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    AmqpMessageHandlerService amqpMessageHandlerService(final RabbitTemplate rabbitTemplate,
+            final AmqpMessageDispatcherService amqpMessageDispatcherService,
+            final ControllerManagement controllerManagement, final EntityFactory entityFactory,
+            final SystemSecurityContext systemSecurityContext,
+            final TenantConfigurationManagement tenantConfigurationManagement, final AmqpProperties amqpProperties,
+            final PlatformTransactionManager txManager) {
+        return new AmqpMessageHandlerService(rabbitTemplate, amqpMessageDispatcherService, controllerManagement,
+                entityFactory, systemSecurityContext, tenantConfigurationManagement, amqpProperties, txManager);
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
+import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
+import org.eclipse.hawkbit.rest.util.JsonBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Simulates DDI devices that poll the server and, if an update is available,
+ * fetch the deployment base, download the artifacts and report the
+ * successful installation. The devices of a simulator are driven one after
+ * the other without a polling interval, so the load is given by the number of
+ * simulator threads and not by the number of devices.
+ */
+public class DdiDeviceSimulator implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DdiDeviceSimulator.class);
+
+    private static final String CONTROLLER_BASE = "/{tenant}/controller/v1/{controllerId}";
+    private static final String FEEDBACK = CONTROLLER_BASE + "/deploymentBase/{actionId}/feedback";
+    private static final String DOWNLOAD_LINK = "download-http";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WithSpringAuthorityRule securityRule = new WithSpringAuthorityRule();
+    private final List<Device> devices = new ArrayList<>();
+    private final MockMvc mvc;
+    private final LatencyRecorder recorder;
+    private final LongAdder finishedDeployments;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param mvc
+     *            to send the requests of the devices
+     * @param recorder
+     *            to record the latencies of the requests
+     * @param finishedDeployments
+     *            incremented for every deployment that has been reported as
+     *            successful
+     */
+    public DdiDeviceSimulator(final MockMvc mvc, final LatencyRecorder recorder,
+            final LongAdder finishedDeployments) {
+        this.mvc = mvc;
+        this.recorder = recorder;
+        this.finishedDeployments = finishedDeployments;
+    }
+
+    /**
+     * Adds a device to be driven by this simulator.
+     *
+     * @param tenant
+     *            of the device
+     * @param controllerId
+     *            of the device
+     */
+    public void addDevice(final String tenant, final String controllerId) {
+        devices.add(new Device(tenant, controllerId));
+    }
+
+    /**
+     * Stops the simulation after the current request.
+     */
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            for (final Device device : devices) {
+                if (!running) {
+                    return;
+                }
+                try {
+                    securityRule.runAs(WithSpringAuthorityRule.withUserAndTenant(device.controllerId, device.tenant,
+                            false, true, true, SpringEvalExpressions.CONTROLLER_ROLE), () -> {
+                                pollAndUpdate(device);
+                                return null;
+                            });
+                } catch (final Exception e) {
+                    LOG.warn("DDI device {} of tenant {} failed", device.controllerId, device.tenant, e);
+                }
+            }
+        }
+    }
+
+    private void pollAndUpdate(final Device device) throws Exception {
+        final JsonNode poll = perform("ddi.poll", get(CONTROLLER_BASE, device.tenant, device.controllerId)
+                .accept(MediaType.APPLICATION_JSON));
+        final JsonNode deploymentBaseLink = poll == null ? null : poll.path("_links").path("deploymentBase");
+        if (deploymentBaseLink == null || deploymentBaseLink.isMissingNode()) {
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final JsonNode deploymentBase = perform("ddi.deploymentBase",
+                get(URI.create(deploymentBaseLink.path("href").asText())).accept(MediaType.APPLICATION_JSON));
+        if (deploymentBase == null) {
+            return;
+        }
+
+        for (final JsonNode chunk : deploymentBase.path("deployment").path("chunks")) {
+            for (final JsonNode artifact : chunk.path("artifacts")) {
+                final JsonNode download = artifact.path("_links").path(DOWNLOAD_LINK);
+                if (!download.isMissingNode()
+                        && perform("ddi.download", get(URI.create(download.path("href").asText()))) == null) {
+                    return;
+                }
+            }
+        }
+
+        final String actionId = deploymentBase.path("id").asText();
+        if (perform("ddi.feedback",
+                post(FEEDBACK, device.tenant, device.controllerId, actionId)
+                        .content(JsonBuilder.deploymentActionFeedback(actionId, "closed", "success", "load test"))
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)) != null) {
+            finishedDeployments.increment();
+            recorder.record("ddi.deployment", System.nanoTime() - start, true);
+        }
+    }
+
+    /**
+     * Performs the request and records its latency.
+     *
+     * @return the JSON response, an empty node if the response is not JSON or
+     *         <code>null</code> if the request failed
+     */
+    private JsonNode perform(final String endpoint, final RequestBuilder request) throws Exception {
+        final long start = System.nanoTime();
+        final MvcResult result = mvc.perform(request).andReturn();
+        final int status = result.getResponse().getStatus();
+        final boolean successful = status < 400;
+        recorder.record(endpoint, System.nanoTime() - start, successful);
+
+        if (!successful) {
+            LOG.debug("{} returned {}", endpoint, status);
+            return null;
+        }
+        final String contentType = result.getResponse().getContentType();
+        if (contentType == null || !contentType.contains("json")) {
+            return objectMapper.createObjectNode();
+        }
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    private static final class Device {
+        private final String tenant;
+        private final String controllerId;
+
+        private Device(final String tenant, final String controllerId) {
+            this.tenant = tenant;
+            this.controllerId = controllerId;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.amqp.AmqpMessageHandlerService;
+import org.eclipse.hawkbit.amqp.InProcessDmfBroker;
+import org.eclipse.hawkbit.amqp.InProcessDmfConfiguration;
+import org.eclipse.hawkbit.ddi.rest.resource.DdiApiConfiguration;
+import org.eclipse.hawkbit.loadtest.LatencyRecorder.EndpointStatistics;
+import org.eclipse.hawkbit.repository.jpa.RepositoryApplicationConfiguration;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.test.TestConfiguration;
+import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
+import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
+import org.eclipse.hawkbit.rest.AbstractRestIntegrationTest;
+import org.eclipse.hawkbit.rest.RestConfiguration;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.stream.test.binder.TestSupportBinderAutoConfiguration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Load test of the DDI and DMF device integration. Creates the tenants with
+ * their devices and drives them against the embedded server with the H2
+ * database until the configured duration is over. Every tenant gets a new
+ * update for all its devices as soon as all devices have installed the
+ * previous one. The latency and the throughput per endpoint is logged and
+ * written to <code>target/load-test-report.csv</code>. See
+ * {@link LoadTestParameters} for the configuration.
+ */
+@Feature("Load Tests - Device Integration")
+@Story("Device Fleet")
+@ContextConfiguration(classes = { DdiApiConfiguration.class, RestConfiguration.class,
+        RepositoryApplicationConfiguration.class, TestConfiguration.class, TestSupportBinderAutoConfiguration.class,
+        InProcessDmfConfiguration.class })
+@TestPropertySource(locations = "classpath:/load-test.properties")
+public class DeviceFleetLoadTest extends AbstractRestIntegrationTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeviceFleetLoadTest.class);
+
+    private static final Path REPORT = Paths.get("target", "load-test-report.csv");
+
+    @Autowired
+    private InProcessDmfBroker inProcessDmfBroker;
+
+    @Autowired
+    private AmqpMessageHandlerService amqpMessageHandlerService;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Test
+    @Description("Drives the simulated DDI and DMF devices of all tenants against the server and reports the latency "
+            + "and the throughput per endpoint.")
+    public void deviceFleet() throws Exception {
+        final LoadTestParameters parameters = LoadTestParameters.fromSystemProperties();
+        LOG.info("Starting load test with {}", parameters);
+
+        final LatencyRecorder recorder = new LatencyRecorder();
+        final LongAdder finishedDeployments = new LongAdder();
+        final List<TenantFleet> fleets = new ArrayList<>();
+        for (int i = 0; i < parameters.getTenants(); i++) {
+            fleets.add(createFleet("LOADTEST" + i, parameters));
+        }
+
+        final DmfDeviceSimulator dmfSimulator = new DmfDeviceSimulator(inProcessDmfBroker, amqpMessageHandlerService,
+                rabbitTemplate.getMessageConverter(), recorder, finishedDeployments);
+        final List<DdiDeviceSimulator> ddiSimulators = new ArrayList<>();
+        for (int i = 0; i < parameters.getDdiThreads(); i++) {
+            ddiSimulators.add(new DdiDeviceSimulator(mvc, recorder, finishedDeployments));
+        }
+        int device = 0;
+        for (final TenantFleet fleet : fleets) {
+            fleet.dmfDevices.forEach(thingId -> dmfSimulator.createThing(fleet.tenant, thingId));
+            for (final String controllerId : fleet.ddiDevices) {
+                ddiSimulators.get(device++ % ddiSimulators.size()).addDevice(fleet.tenant, controllerId);
+            }
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                parameters.getDdiThreads() + parameters.getDmfThreads(),
+                new ThreadFactoryBuilder().setNameFormat("loadtest-device-%d").build());
+        final long start = System.nanoTime();
+        try {
+            ddiSimulators.forEach(executor::execute);
+            for (int i = 0; i < parameters.getDmfThreads(); i++) {
+                executor.execute(dmfSimulator);
+            }
+            rollOutUpdates(fleets, parameters, recorder, finishedDeployments, start);
+        } finally {
+            ddiSimulators.forEach(DdiDeviceSimulator::stop);
+            dmfSimulator.stop();
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        report(recorder.getStatistics(System.nanoTime() - start));
+        assertThat(finishedDeployments.sum()).as("finished deployments").isPositive();
+        assertThat(recorder.getFailures("ddi.poll")).as("failed DDI polls").isZero();
+    }
+
+    private TenantFleet createFleet(final String tenant, final LoadTestParameters parameters) throws Exception {
+        return securityRule.runAs(WithSpringAuthorityRule.withUserAndTenant("loadtest", tenant), () -> {
+            final byte[] content = new byte[parameters.getArtifactSize()];
+            new Random(0).nextBytes(content);
+
+            final List<DistributionSet> distributionSets = new ArrayList<>();
+            for (final String version : new String[] { "1.0", "2.0" }) {
+                final DistributionSet distributionSet = testdataFactory.createDistributionSet("firmware-" + version);
+                final SoftwareModule os = distributionSet.getModules().stream()
+                        .filter(module -> TestdataFactory.SM_TYPE_OS.equals(module.getType().getKey())).findAny()
+                        .orElseThrow(() -> new IllegalStateException("no OS module"));
+                testdataFactory.createArtifact(content, os.getId(), "firmware.bin", content.length);
+                distributionSets.add(distributionSet);
+            }
+
+            final List<String> ddiDevices = testdataFactory.createTargets(parameters.getDdiDevices(), "ddi-")
+                    .stream().map(Target::getControllerId).collect(Collectors.toList());
+            final List<String> dmfDevices = new ArrayList<>();
+            for (int i = 0; i < parameters.getDmfDevices(); i++) {
+                dmfDevices.add("dmf-" + i);
+            }
+            return new TenantFleet(tenant, distributionSets, ddiDevices, dmfDevices);
+        });
+    }
+
+    /**
+     * Assigns the distribution sets of the tenants alternately to all their
+     * devices. The next update is assigned as soon as all devices have
+     * reported the previous one as finished or when the duration is over.
+     */
+    private void rollOutUpdates(final List<TenantFleet> fleets, final LoadTestParameters parameters,
+            final LatencyRecorder recorder, final LongAdder finishedDeployments, final long start)
+            throws Exception {
+        final long end = start + parameters.getDuration().toNanos();
+        long expectedDeployments = 0;
+        for (int wave = 0; System.nanoTime() < end; wave++) {
+            for (final TenantFleet fleet : fleets) {
+                final DistributionSet distributionSet = fleet.distributionSets
+                        .get(wave % fleet.distributionSets.size());
+                final List<String> controllerIds = new ArrayList<>(fleet.ddiDevices);
+                controllerIds.addAll(fleet.dmfDevices);
+
+                final long assignmentStart = System.nanoTime();
+                securityRule.runAs(WithSpringAuthorityRule.withUserAndTenant("loadtest", fleet.tenant),
+                        () -> assignDistributionSet(distributionSet.getId(), controllerIds, ActionType.FORCED));
+                recorder.record("mgmt.assignment", System.nanoTime() - assignmentStart, true);
+                expectedDeployments += controllerIds.size();
+            }
+
+            while (finishedDeployments.sum() < expectedDeployments && System.nanoTime() < end) {
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            LOG.info("Wave {} finished with {} of {} deployments after {} s", wave, finishedDeployments.sum(),
+                    expectedDeployments, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        }
+    }
+
+    private static void report(final List<EndpointStatistics> statistics) throws IOException {
+        final StringBuilder table = new StringBuilder(String.format("%n%-32s %9s %8s %10s %10s %10s %10s",
+                "endpoint", "calls", "failures", "ops/s", "p50 [ms]", "p99 [ms]", "max [ms]"));
+        final List<String> csv = new ArrayList<>();
+        csv.add("endpoint,calls,failures,ops/s,p50 [ms],p99 [ms],max [ms]");
+        for (final EndpointStatistics endpoint : statistics) {
+            table.append(System.lineSeparator()).append(endpoint);
+            csv.add(endpoint.toCsv());
+        }
+        LOG.info("Load test results:{}", table);
+
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, csv, StandardCharsets.UTF_8);
+    }
+
+    private static final class TenantFleet {
+        private final String tenant;
+        private final List<DistributionSet> distributionSets;
+        private final List<String> ddiDevices;
+        private final List<String> dmfDevices;
+
+        private TenantFleet(final String tenant, final List<DistributionSet> distributionSets,
+                final List<String> ddiDevices, final List<String> dmfDevices) {
+            this.tenant = tenant;
+            this.distributionSets = distributionSets;
+            this.ddiDevices = ddiDevices;
+            this.dmfDevices = dmfDevices;
+        }
+    }
+}
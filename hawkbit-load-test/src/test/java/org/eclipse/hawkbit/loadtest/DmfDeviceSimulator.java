@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.hawkbit.amqp.AmqpMessageHandlerService;
+import org.eclipse.hawkbit.amqp.InProcessDmfBroker;
+import org.eclipse.hawkbit.amqp.InProcessDmfBroker.Delivery;
+import org.eclipse.hawkbit.dmf.amqp.api.EventTopic;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+import org.eclipse.hawkbit.dmf.json.model.DmfActionStatus;
+import org.eclipse.hawkbit.dmf.json.model.DmfActionUpdateStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Simulates DMF devices that register themselves and install the updates
+ * that are sent to them, i.e. report that the update is running and then that
+ * it is finished. The messages of all devices are processed by the threads
+ * that run the simulator.
+ */
+public class DmfDeviceSimulator implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DmfDeviceSimulator.class);
+
+    private static final String VIRTUAL_HOST = "/";
+    private static final String REPLY_TO = "loadtest";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InProcessDmfBroker broker;
+    private final AmqpMessageHandlerService handler;
+    private final MessageConverter messageConverter;
+    private final LatencyRecorder recorder;
+    private final LongAdder finishedDeployments;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param broker
+     *            that receives the messages sent to the devices
+     * @param handler
+     *            that processes the messages of the devices
+     * @param messageConverter
+     *            to create the message bodies
+     * @param recorder
+     *            to record the latencies of the messages
+     * @param finishedDeployments
+     *            incremented for every deployment that has been reported as
+     *            finished
+     */
+    public DmfDeviceSimulator(final InProcessDmfBroker broker, final AmqpMessageHandlerService handler,
+            final MessageConverter messageConverter, final LatencyRecorder recorder,
+            final LongAdder finishedDeployments) {
+        this.broker = broker;
+        this.handler = handler;
+        this.messageConverter = messageConverter;
+        this.recorder = recorder;
+        this.finishedDeployments = finishedDeployments;
+    }
+
+    /**
+     * Registers a device as it is done by a DMF client when it comes online.
+     *
+     * @param tenant
+     *            of the device
+     * @param thingId
+     *            the controller ID of the device
+     */
+    public void createThing(final String tenant, final String thingId) {
+        final MessageProperties messageProperties = createMessageProperties(MessageType.THING_CREATED, tenant,
+                thingId);
+        messageProperties.setReplyTo(REPLY_TO);
+        send(MessageType.THING_CREATED.name(), new Message(new byte[0], messageProperties), tenant);
+    }
+
+    /**
+     * Stops the simulation after the current message.
+     */
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                final Delivery delivery = broker.poll(100, TimeUnit.MILLISECONDS);
+                if (delivery != null) {
+                    receive(delivery);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final IOException | RuntimeException e) {
+                LOG.warn("DMF message processing failed", e);
+            }
+        }
+    }
+
+    private void receive(final Delivery delivery) throws IOException {
+        final Map<String, Object> headers = delivery.getMessage().getMessageProperties().getHeaders();
+        final String topic = String.valueOf(headers.get(MessageHeaderKey.TOPIC));
+        final String tenant = String.valueOf(headers.get(MessageHeaderKey.TENANT));
+        final String thingId = String.valueOf(headers.get(MessageHeaderKey.THING_ID));
+
+        if (EventTopic.DOWNLOAD_AND_INSTALL.name().equals(topic) || EventTopic.DOWNLOAD.name().equals(topic)) {
+            final long actionId = readActionId(delivery.getMessage());
+            if (updateActionStatus(tenant, thingId, actionId, DmfActionStatus.RUNNING)
+                    && updateActionStatus(tenant, thingId, actionId, DmfActionStatus.FINISHED)) {
+                finishedDeployments.increment();
+                recorder.record("dmf.deployment", System.nanoTime() - delivery.getSentNanos(), true);
+            }
+        } else if (EventTopic.CANCEL_DOWNLOAD.name().equals(topic)) {
+            updateActionStatus(tenant, thingId, readActionId(delivery.getMessage()), DmfActionStatus.CANCELED);
+        }
+    }
+
+    private long readActionId(final Message message) throws IOException {
+        return objectMapper.readTree(message.getBody()).path("actionId").asLong();
+    }
+
+    private boolean updateActionStatus(final String tenant, final String thingId, final long actionId,
+            final DmfActionStatus status) {
+        final MessageProperties messageProperties = createMessageProperties(MessageType.EVENT, tenant, thingId);
+        messageProperties.setHeader(MessageHeaderKey.TOPIC, EventTopic.UPDATE_ACTION_STATUS.name());
+        return send(EventTopic.UPDATE_ACTION_STATUS.name(),
+                messageConverter.toMessage(new DmfActionUpdateStatus(actionId, status), messageProperties), tenant);
+    }
+
+    private boolean send(final String endpoint, final Message message, final String tenant) {
+        final long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            handler.onMessage(message, String.valueOf(message.getMessageProperties().getHeaders().get(
+                    MessageHeaderKey.TYPE)), tenant, VIRTUAL_HOST);
+            successful = true;
+        } catch (final RuntimeException e) {
+            LOG.debug("DMF message {} failed", endpoint, e);
+        } finally {
+            recorder.record("dmf." + endpoint, System.nanoTime() - start, successful);
+        }
+        return successful;
+    }
+
+    private static MessageProperties createMessageProperties(final MessageType type, final String tenant,
+            final String thingId) {
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setHeader(MessageHeaderKey.TYPE, type.name());
+        messageProperties.setHeader(MessageHeaderKey.TENANT, tenant);
+        messageProperties.setHeader(MessageHeaderKey.THING_ID, thingId);
+        messageProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return messageProperties;
+    }
+}
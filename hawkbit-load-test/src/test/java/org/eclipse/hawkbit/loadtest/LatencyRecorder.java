@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the latencies of the calls of the simulated devices per endpoint and
+ * calculates the percentiles and the throughput for the report of a load test
+ * run.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Records a call.
+     *
+     * @param endpoint
+     *            the name of the endpoint
+     * @param nanos
+     *            the latency of the call
+     * @param successful
+     *            <code>false</code> if the call failed
+     */
+    public void record(final String endpoint, final long nanos, final boolean successful) {
+        endpoints.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, successful);
+    }
+
+    /**
+     * @param endpoint
+     *            the name of the endpoint
+     * @return the number of failed calls of the endpoint
+     */
+    public long getFailures(final String endpoint) {
+        final Samples samples = endpoints.get(endpoint);
+        return samples == null ? 0 : samples.failures.sum();
+    }
+
+    /**
+     * @param elapsedNanos
+     *            the duration of the measurement
+     * @return the statistics of all endpoints sorted by name
+     */
+    public List<EndpointStatistics> getStatistics(final long elapsedNanos) {
+        final List<EndpointStatistics> statistics = new ArrayList<>();
+        new TreeMap<>(endpoints).forEach(
+                (endpoint, samples) -> statistics.add(samples.toStatistics(endpoint, elapsedNanos)));
+        return statistics;
+    }
+
+    /**
+     * Latencies of one endpoint. The samples are kept in a growing array as a
+     * load test run on a developer machine produces some million samples at
+     * most.
+     */
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final LongAdder failures = new LongAdder();
+
+        private synchronized void add(final long nanos, final boolean successful) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!successful) {
+                failures.increment();
+            }
+        }
+
+        private synchronized EndpointStatistics toStatistics(final String endpoint, final long elapsedNanos) {
+            final long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new EndpointStatistics(endpoint, count, failures.sum(),
+                    count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos, percentile(sorted, 0.5),
+                    percentile(sorted, 0.99), count == 0 ? 0 : sorted[count - 1]);
+        }
+
+        private static long percentile(final long[] sorted, final double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+        }
+    }
+
+    /**
+     * The statistics of an endpoint.
+     */
+    public static final class EndpointStatistics {
+        private final String endpoint;
+        private final long calls;
+        private final long failures;
+        private final double opsPerSecond;
+        private final long p50;
+        private final long p99;
+        private final long max;
+
+        private EndpointStatistics(final String endpoint, final long calls, final long failures,
+                final double opsPerSecond, final long p50, final long p99, final long max) {
+            this.endpoint = endpoint;
+            this.calls = calls;
+            this.failures = failures;
+            this.opsPerSecond = opsPerSecond;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public double getOpsPerSecond() {
+            return opsPerSecond;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return the statistics as line of the CSV report
+         */
+        public String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f", endpoint, calls, failures,
+                    opsPerSecond, toMillis(p50), toMillis(p99), toMillis(max));
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-32s %9d %8d %10.1f %10.3f %10.3f %10.3f", endpoint, calls,
+                    failures, opsPerSecond, toMillis(p50), toMillis(p99), toMillis(max));
+        }
+
+        private static double toMillis(final long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
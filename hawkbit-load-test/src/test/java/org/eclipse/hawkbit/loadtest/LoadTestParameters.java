@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Parameters of a load test run, read from the system properties so that they
+ * can be given on the Maven command line, e.g.
+ * <code>-Dloadtest.tenants=4</code>.
+ */
+public final class LoadTestParameters {
+
+    private final int tenants;
+    private final int ddiDevices;
+    private final int ddiThreads;
+    private final int dmfDevices;
+    private final int dmfThreads;
+    private final int artifactSize;
+    private final Duration duration;
+
+    private LoadTestParameters() {
+        tenants = Integer.getInteger("loadtest.tenants", 2);
+        ddiDevices = Integer.getInteger("loadtest.ddi.devices", 50);
+        ddiThreads = Integer.getInteger("loadtest.ddi.threads", 8);
+        dmfDevices = Integer.getInteger("loadtest.dmf.devices", 50);
+        dmfThreads = Integer.getInteger("loadtest.dmf.threads", 4);
+        artifactSize = Integer.getInteger("loadtest.artifact.size", 64 * 1024);
+        duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 60));
+    }
+
+    /**
+     * @return the parameters given by the system properties
+     */
+    public static LoadTestParameters fromSystemProperties() {
+        return new LoadTestParameters();
+    }
+
+    /**
+     * @return number of tenants
+     */
+    public int getTenants() {
+        return tenants;
+    }
+
+    /**
+     * @return number of DDI devices per tenant
+     */
+    public int getDdiDevices() {
+        return ddiDevices;
+    }
+
+    /**
+     * @return number of threads that drive the DDI devices of all tenants
+     */
+    public int getDdiThreads() {
+        return ddiThreads;
+    }
+
+    /**
+     * @return number of DMF devices per tenant
+     */
+    public int getDmfDevices() {
+        return dmfDevices;
+    }
+
+    /**
+     * @return number of threads that process the DMF messages sent to the
+     *         devices of all tenants
+     */
+    public int getDmfThreads() {
+        return dmfThreads;
+    }
+
+    /**
+     * @return size of the artifact in bytes that is downloaded by the DDI
+     *         devices
+     */
+    public int getArtifactSize() {
+        return artifactSize;
+    }
+
+    /**
+     * @return duration of the measurement
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadTestParameters [tenants=" + tenants + ", ddiDevices=" + ddiDevices + ", ddiThreads=" + ddiThreads
+                + ", dmfDevices=" + dmfDevices + ", dmfThreads=" + dmfThreads + ", artifactSize=" + artifactSize
+                + ", duration=" + duration + "]";
+    }
+}
@@ -29,10 +29,12 @@ import org.eclipse.hawkbit.repository.exception.AssignmentQuotaExceededException
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.security.SecurityTokenGenerator;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -236,6 +238,23 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     Target findOrRegisterTargetIfItDoesNotExist(@NotEmpty String controllerId, @NotNull URI address, String name);
 
+    /**
+     * Registers a poll of a target like
+     * {@link #findOrRegisterTargetIfItDoesNotExist(String, URI)} and returns
+     * the state of the target which is relevant to answer the poll. The state
+     * is served from a cache as long as nothing changed for the target and
+     * the polls are persisted lazily, i.e. the common poll of a target that
+     * has nothing to do does not hit the database.
+     *
+     * @param controllerId
+     *            reference
+     * @param address
+     *            the client IP address of the target, might be {@code null}
+     * @return the poll state of the target
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    ControllerPollState registerPoll(@NotEmpty String controllerId, @NotNull URI address);
+
     /**
      * Retrieves last {@link Action} for a download of an artifact of given
      * module and target if exists and is not canceled.
@@ -413,6 +432,35 @@ public interface ControllerManagement {
             + SpringEvalExpressions.IS_SYSTEM_CODE)
     Optional<Target> get(long targetId);
 
+    /**
+     * Retrieves the hash of the security token of a {@link Target} for the
+     * authentication of its controller. In contrast to
+     * {@link #getByControllerId(String)} the hash is served from a cache if
+     * possible.
+     *
+     * @param controllerId
+     *            of the target
+     * @return the hash of the security token of the target or empty if the
+     *         target does not exist
+     * @see Target#getSecurityToken()
+     * @see SecurityTokenGenerator#hashToken(String)
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
+    Optional<String> getSecurityTokenHashByControllerId(@NotEmpty String controllerId);
+
+    /**
+     * Retrieves the controller ID of a {@link Target}. In contrast to
+     * {@link #get(long)} the controller ID is served from a cache if possible.
+     *
+     * @param targetId
+     *            of the target
+     * @return the controller ID of the target or empty if the target does not
+     *         exist
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.IS_SYSTEM_CODE)
+    Optional<String> getControllerIdByTargetId(long targetId);
+
     /**
      * Retrieves the specified number of messages from action history of the
      * given {@link Action} based on messageCount. Regardless of the value of
@@ -10,6 +10,7 @@ package org.eclipse.hawkbit.repository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
@@ -23,6 +24,7 @@ import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEv
 import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.IncompleteDistributionSetException;
+import org.eclipse.hawkbit.repository.exception.InvalidContinuationTokenException;
 import org.eclipse.hawkbit.repository.exception.MultiAssignmentIsNotEnabledException;
 import org.eclipse.hawkbit.repository.exception.AssignmentQuotaExceededException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterSyntaxException;
@@ -266,6 +268,21 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Slice<Action> findActionsByDistributionSet(@NotNull Pageable pageable, long distributionSetId);
 
+    /**
+     * Finds which of the given {@link DistributionSet}s are in the action
+     * history of the given {@link Target}s.
+     *
+     * @param targetIds
+     *            technical IDs of the targets
+     * @param distributionSetIds
+     *            IDs of the distribution sets
+     * @return IDs of the given distribution sets with an action by target ID,
+     *         targets without such an action are not contained
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Map<Long, Set<Long>> findDistributionSetIdsInActionHistory(@NotNull Collection<Long> targetIds,
+            @NotNull Collection<Long> distributionSetIds);
+
     /**
      * Retrieves all {@link Action}s assigned to a specific {@link Target} and a
      * given specification.
@@ -303,6 +320,53 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Slice<Action> findActionsByTarget(@NotEmpty String controllerId, @NotNull Pageable pageable);
 
+    /**
+     * Retrieves all {@link Action}s assigned to a specific {@link Target} and a
+     * given specification by keyset paging, i.e. without offset scan and count
+     * query.
+     *
+     * @param rsqlParam
+     *            rsql query string
+     * @param controllerId
+     *            the target which must be assigned to the actions
+     * @param request
+     *            the keyset page request
+     * @return the actions and the token for the next page
+     *
+     * @throws EntityNotFoundException
+     *             if target with given ID does not exist
+     * @throws InvalidContinuationTokenException
+     *             if the continuation token of the request is invalid
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    KeysetSlice<Action> findActionsByTargetAndKeyset(@NotNull String rsqlParam, @NotEmpty String controllerId,
+            @NotNull KeysetPageRequest request);
+
+    /**
+     * Retrieves all {@link Action}s which are referring the given
+     * {@link Target} by keyset paging, i.e. without offset scan and count
+     * query.
+     *
+     * @param controllerId
+     *            the target to find actions for
+     * @param request
+     *            the keyset page request
+     * @return the actions and the token for the next page
+     *
+     * @throws EntityNotFoundException
+     *             if target with given ID does not exist
+     * @throws InvalidContinuationTokenException
+     *             if the continuation token of the request is invalid
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    KeysetSlice<Action> findActionsByTargetAndKeyset(@NotEmpty String controllerId,
+            @NotNull KeysetPageRequest request);
+
     /**
      * Retrieves all the {@link ActionStatus} entries of the given
      * {@link Action} and {@link Target}.
@@ -319,6 +383,25 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Page<ActionStatus> findActionStatusByAction(@NotNull Pageable pageReq, long actionId);
 
+    /**
+     * Retrieves all the {@link ActionStatus} entries of the given
+     * {@link Action} by keyset paging, i.e. without offset scan and count
+     * query.
+     *
+     * @param request
+     *            keyset pagination parameter
+     * @param actionId
+     *            to be filtered on
+     * @return the status entries and the token for the next page
+     *
+     * @throws EntityNotFoundException
+     *             if action with given ID does not exist
+     * @throws InvalidContinuationTokenException
+     *             if the continuation token of the request is invalid
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    KeysetSlice<ActionStatus> findActionStatusByActionAndKeyset(@NotNull KeysetPageRequest request, long actionId);
+
     /**
      * Retrieves all messages for an {@link ActionStatus}.
      *
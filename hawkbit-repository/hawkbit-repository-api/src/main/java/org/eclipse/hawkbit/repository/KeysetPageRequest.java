@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+
+/**
+ * Request for a {@link KeysetSlice}, i.e. a page which is not addressed by an
+ * offset but by the sort value and ID of the last entity of the previous page.
+ * Neither an offset scan nor a count query is necessary to page through large
+ * tables.
+ * <p>
+ * The entities are sorted by a single property and their ID as tie-breaker in
+ * the same direction. The property has to be a non {@code null} basic
+ * attribute of the entity.
+ */
+public final class KeysetPageRequest {
+
+    private final Order order;
+    private final int limit;
+    private final String continuationToken;
+
+    /**
+     * Creates a request for the first page.
+     * 
+     * @param order
+     *            the sort property and direction
+     * @param limit
+     *            the maximum number of entities of the page
+     */
+    public KeysetPageRequest(final Order order, final int limit) {
+        this(order, limit, null);
+    }
+
+    /**
+     * Creates a request for the page following the given continuation token.
+     * 
+     * @param order
+     *            the sort property and direction, which has to be the same as
+     *            for the request of the previous page
+     * @param limit
+     *            the maximum number of entities of the page
+     * @param continuationToken
+     *            of the previous {@link KeysetSlice} or {@code null} for the
+     *            first page
+     */
+    public KeysetPageRequest(final Order order, final int limit, final String continuationToken) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must not be less than one!");
+        }
+        this.order = order;
+        this.limit = limit;
+        this.continuationToken = continuationToken;
+    }
+
+    /**
+     * Creates a request sorted by the given property.
+     * 
+     * @param direction
+     *            of the sorting
+     * @param property
+     *            to sort by
+     * @param limit
+     *            the maximum number of entities of the page
+     * @param continuationToken
+     *            of the previous {@link KeysetSlice} or {@code null} for the
+     *            first page
+     * @return the request
+     */
+    public static KeysetPageRequest of(final Direction direction, final String property, final int limit,
+            final String continuationToken) {
+        return new KeysetPageRequest(new Order(direction, property), limit, continuationToken);
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public Optional<String> getContinuationToken() {
+        return Optional.ofNullable(continuationToken);
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPageRequest [order=" + order + ", limit=" + limit + ", continuationToken=" + continuationToken
+                + "]";
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A page of entities requested by a {@link KeysetPageRequest}.
+ *
+ * @param <T>
+ *            the type of the entities
+ */
+public final class KeysetSlice<T> {
+
+    private final List<T> content;
+    private final String nextToken;
+
+    /**
+     * Constructor.
+     * 
+     * @param content
+     *            of the page
+     * @param nextToken
+     *            to request the next page or {@code null} if this is the last
+     *            page
+     */
+    public KeysetSlice(final List<? extends T> content, final String nextToken) {
+        this.content = Collections.unmodifiableList(new ArrayList<>(content));
+        this.nextToken = nextToken;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return the continuation token to request the next page or
+     *         {@link Optional#empty()} if this is the last page
+     */
+    public Optional<String> getNextToken() {
+        return Optional.ofNullable(nextToken);
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
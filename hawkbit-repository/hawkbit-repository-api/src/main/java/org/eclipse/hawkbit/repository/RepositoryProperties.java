@@ -40,7 +40,9 @@ public class RepositoryProperties {
     private boolean publishTargetPollEvent = true;
 
     /**
-     * Maximum number of poll operations queued before flush.
+     * Maximum number of targets with polls queued before flush. Repeated polls
+     * of the same target are coalesced, polls of further targets are dropped
+     * until the next flush.
      */
     private int pollPersistenceQueueSize = 10_000;
 
@@ -54,11 +56,92 @@ public class RepositoryProperties {
      */
     private boolean eagerPollPersistence;
 
+    /**
+     * Time to live of the cached poll states of the targets in
+     * {@link TimeUnit#MILLISECONDS}, limits the time a stale state is served
+     * if an invalidating event has been missed.
+     */
+    private long pollStateCacheTtl = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Time to live of the cached security token hashes of the targets in
+     * {@link TimeUnit#MILLISECONDS}, limits the time a changed token is still
+     * accepted if an invalidating event has been missed.
+     */
+    private long securityTokenCacheTtl = TimeUnit.MINUTES.toMillis(5);
+
     /**
      * If an {@link Action} has a weight of null this value is used as weight.
      */
     private int actionWeightIfAbsent = 1000;
 
+    /**
+     * Number of threads the rollouts of different tenants are handled on in
+     * parallel by the rollout scheduler.
+     */
+    private int rolloutHandlerThreads = 4;
+
+    /**
+     * Interval in {@link TimeUnit#MILLISECONDS} in which the persisted action
+     * status counters of the running rollout groups are recounted from the
+     * actions, e.g. to catch up with deleted actions.
+     */
+    private long rolloutGroupStatusReconcileInterval = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Set to <code>true</code> to send a snapshot of the basic fields of the
+     * targets with the remote entity events so that the receiving nodes do not
+     * have to reload the target. Secrets and relations are not part of the
+     * snapshot, they are reloaded on first use. Changes the layout of the protostuff bus messages, i.e. has to
+     * be set on all nodes of a cluster at once and must not be set during a
+     * rolling upgrade from a version without snapshots.
+     */
+    private boolean eventEntitySnapshots;
+
+    /**
+     * Set to <code>true</code> to combine the concurrent reloads of the
+     * entities of remote events into one query per tenant and entity type.
+     */
+    private boolean eventEntityBatchReload;
+
+    /**
+     * Maximum number of changed targets queued for the incremental auto assign
+     * check. Further targets are only checked by the next full auto assign
+     * check.
+     */
+    private int autoAssignTargetQueueSize = 100_000;
+
+    /**
+     * Set to <code>true</code> to check all auto assign target filter queries
+     * which can be evaluated in memory in one pass over the targets instead of
+     * one database query per target filter query.
+     */
+    private boolean autoAssignSinglePass;
+
+    public long getRolloutGroupStatusReconcileInterval() {
+        return rolloutGroupStatusReconcileInterval;
+    }
+
+    public void setRolloutGroupStatusReconcileInterval(final long rolloutGroupStatusReconcileInterval) {
+        this.rolloutGroupStatusReconcileInterval = rolloutGroupStatusReconcileInterval;
+    }
+
+    public int getAutoAssignTargetQueueSize() {
+        return autoAssignTargetQueueSize;
+    }
+
+    public void setAutoAssignTargetQueueSize(final int autoAssignTargetQueueSize) {
+        this.autoAssignTargetQueueSize = autoAssignTargetQueueSize;
+    }
+
+    public boolean isAutoAssignSinglePass() {
+        return autoAssignSinglePass;
+    }
+
+    public void setAutoAssignSinglePass(final boolean autoAssignSinglePass) {
+        this.autoAssignSinglePass = autoAssignSinglePass;
+    }
+
     public boolean isEagerPollPersistence() {
         return eagerPollPersistence;
     }
@@ -67,6 +150,22 @@ public class RepositoryProperties {
         this.eagerPollPersistence = eagerPollPersistence;
     }
 
+    public long getPollStateCacheTtl() {
+        return pollStateCacheTtl;
+    }
+
+    public void setPollStateCacheTtl(final long pollStateCacheTtl) {
+        this.pollStateCacheTtl = pollStateCacheTtl;
+    }
+
+    public long getSecurityTokenCacheTtl() {
+        return securityTokenCacheTtl;
+    }
+
+    public void setSecurityTokenCacheTtl(final long securityTokenCacheTtl) {
+        this.securityTokenCacheTtl = securityTokenCacheTtl;
+    }
+
     public long getPollPersistenceFlushTime() {
         return pollPersistenceFlushTime;
     }
@@ -107,4 +206,28 @@ public class RepositoryProperties {
         this.actionWeightIfAbsent = actionWeightIfAbsent;
     }
 
+    public int getRolloutHandlerThreads() {
+        return rolloutHandlerThreads;
+    }
+
+    public void setRolloutHandlerThreads(final int rolloutHandlerThreads) {
+        this.rolloutHandlerThreads = rolloutHandlerThreads;
+    }
+
+    public boolean isEventEntitySnapshots() {
+        return eventEntitySnapshots;
+    }
+
+    public void setEventEntitySnapshots(final boolean eventEntitySnapshots) {
+        this.eventEntitySnapshots = eventEntitySnapshots;
+    }
+
+    public boolean isEventEntityBatchReload() {
+        return eventEntityBatchReload;
+    }
+
+    public void setEventEntityBatchReload(final boolean eventEntityBatchReload) {
+        this.eventEntityBatchReload = eventEntityBatchReload;
+    }
+
 }
@@ -24,6 +24,7 @@ import org.eclipse.hawkbit.repository.builder.TargetUpdate;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.AssignmentQuotaExceededException;
+import org.eclipse.hawkbit.repository.exception.InvalidContinuationTokenException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterSyntaxException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
@@ -36,6 +37,7 @@ import org.eclipse.hawkbit.repository.model.TargetMetadata;
 import org.eclipse.hawkbit.repository.model.TargetTag;
 import org.eclipse.hawkbit.repository.model.TargetTagAssignmentResult;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.model.TargetWithDetails;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -192,6 +194,27 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_TARGET)
     List<Target> create(@NotNull @Valid Collection<TargetCreate> creates);
 
+    /**
+     * Creates a chunk of targets of a bulk import. In contrast to
+     * {@link #create(Collection)} targets with a controller ID which already
+     * exists, compared case insensitive, are skipped instead of failing the
+     * chunk, the security tokens are generated at once and a single
+     * {@link org.eclipse.hawkbit.repository.event.remote.TargetBulkCreatedEvent}
+     * is published for the chunk instead of an event per target. Like
+     * {@link #create(Collection)} the chunk is not subject to a quota, as
+     * there is no quota on the number of targets.
+     *
+     * @param creates
+     *            to be created.
+     * @return the created {@link Target}s, i.e. without the skipped ones
+     *
+     * @throws ConstraintViolationException
+     *             if fields are not filled as specified. Check
+     *             {@link TargetCreate} for field constraints.
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_TARGET)
+    List<Target> createInBulk(@NotNull @Valid Collection<TargetCreate> creates);
+
     /**
      * Deletes all targets with the given IDs.
      *
@@ -236,6 +259,28 @@ public interface TargetManagement {
     Page<Target> findByTargetFilterQueryAndNonDS(@NotNull Pageable pageRequest, long distributionSetId,
             @NotNull String rsqlParam);
 
+    /**
+     * Finds the targets out of the given targets which match the given
+     * {@link TargetFilterQuery} and that don't have the specified distribution
+     * set in their action history.
+     *
+     * @param pageRequest
+     *            the pageRequest to enhance the query for paging and sorting
+     * @param distributionSetId
+     *            id of the {@link DistributionSet}
+     * @param rsqlParam
+     *            filter definition in RSQL syntax
+     * @param targetIds
+     *            technical IDs of the targets to check
+     * @return a page of the found {@link Target}s
+     *
+     * @throws EntityNotFoundException
+     *             if distribution set with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Page<Target> findByTargetFilterQueryAndNonDSAndIdIn(@NotNull Pageable pageRequest, long distributionSetId,
+            @NotNull String rsqlParam, @NotEmpty Collection<Long> targetIds);
+
     /**
      * Counts all targets for all the given parameter {@link TargetFilterQuery}
      * and that don't have the specified distribution set in their action
@@ -462,6 +507,83 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Page<Target> findByRsql(@NotNull Pageable pageable, @NotNull String rsqlParam);
 
+    /**
+     * Retrieves all targets by keyset paging, i.e. without offset scan and
+     * count query.
+     *
+     * @param request
+     *            keyset pagination parameter
+     * @return the found {@link Target}s and the token for the next page
+     *
+     * @throws InvalidContinuationTokenException
+     *             if the continuation token of the request is invalid
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    KeysetSlice<Target> findByKeyset(@NotNull KeysetPageRequest request);
+
+    /**
+     * Retrieves all targets matching the given RSQL query by keyset paging,
+     * i.e. without offset scan and count query.
+     *
+     * @param request
+     *            keyset pagination parameter
+     * @param rsqlParam
+     *            in RSQL notation
+     * @return the found {@link Target}s and the token for the next page
+     *
+     * @throws InvalidContinuationTokenException
+     *             if the continuation token of the request is invalid
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    KeysetSlice<Target> findByRsqlAndKeyset(@NotNull KeysetPageRequest request, @NotNull String rsqlParam);
+
+    /**
+     * Retrieves all targets with their details by keyset paging. The details
+     * of the page are loaded with one query per detail type, so the page can
+     * be large, e.g. to export all targets batch by batch. The returned
+     * entities are detached from the persistence context.
+     *
+     * @param request
+     *            keyset pagination parameter
+     * @return the found {@link TargetWithDetails} and the token for the next
+     *         page
+     *
+     * @throws InvalidContinuationTokenException
+     *             if the continuation token of the request is invalid
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    KeysetSlice<TargetWithDetails> findWithDetailsByKeyset(@NotNull KeysetPageRequest request);
+
+    /**
+     * Retrieves all targets matching the given RSQL query with their details
+     * by keyset paging.
+     *
+     * @param request
+     *            keyset pagination parameter
+     * @param rsqlParam
+     *            in RSQL notation
+     * @return the found {@link TargetWithDetails} and the token for the next
+     *         page
+     *
+     * @throws InvalidContinuationTokenException
+     *             if the continuation token of the request is invalid
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     *
+     * @see #findWithDetailsByKeyset(KeysetPageRequest)
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    KeysetSlice<TargetWithDetails> findWithDetailsByRsqlAndKeyset(@NotNull KeysetPageRequest request,
+            @NotNull String rsqlParam);
+
     /**
      * Retrieves all target based on {@link TargetFilterQuery}.
      * 
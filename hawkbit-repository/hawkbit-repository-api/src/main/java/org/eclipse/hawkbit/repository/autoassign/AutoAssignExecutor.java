@@ -8,6 +8,8 @@
  */
 package org.eclipse.hawkbit.repository.autoassign;
 
+import java.util.Collection;
+
 /**
  * An interface declaration which contains the check for the auto assignment
  * logic.
@@ -22,4 +24,18 @@ public interface AutoAssignExecutor {
      */
     void check();
 
+    /**
+     * Checks the given (e.g. created or updated) targets against all target
+     * filter queries with an auto assign distribution set and triggers the
+     * assignment to the matching targets that don't have the design DS yet.
+     * Target filter queries which have been added or changed since the last
+     * check are checked against all targets.
+     *
+     * @param targetIds
+     *            technical IDs of the targets to check
+     */
+    default void checkTargets(final Collection<Long> targetIds) {
+        check();
+    }
+
 }
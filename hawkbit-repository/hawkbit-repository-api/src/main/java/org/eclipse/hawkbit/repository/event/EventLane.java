@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event;
+
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.event.remote.MultiActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetBulkCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Categories of application events which are processed on separate executors
+ * by the application event multicaster, so that e.g. a flood of poll events
+ * does not delay the dispatching of deployments.
+ */
+public enum EventLane {
+
+    /**
+     * Polls and download progress of the devices, frequent and of low value.
+     */
+    POLL,
+
+    /**
+     * Creation, modification and deletion of repository entities.
+     */
+    ENTITY,
+
+    /**
+     * Assignments, cancellations and attribute requests which are dispatched
+     * to the devices, e.g. by DMF.
+     */
+    DEPLOYMENT,
+
+    /**
+     * Events collected for the push to the UIs, see {@link EventLaneAware}.
+     */
+    UI,
+
+    /**
+     * All other events.
+     */
+    DEFAULT;
+
+    /**
+     * @param event
+     *            the event to process
+     * @return the lane of the event
+     */
+    public static EventLane of(final ApplicationEvent event) {
+        if (event instanceof TargetPollEvent || event instanceof DownloadProgressEvent) {
+            return POLL;
+        }
+        // assignment events are entity events as well
+        if (event instanceof TargetAssignDistributionSetEvent || event instanceof MultiActionEvent
+                || event instanceof CancelTargetAssignmentEvent || event instanceof TargetAttributesRequestedEvent) {
+            return DEPLOYMENT;
+        }
+        if (event instanceof RemoteIdEvent || event instanceof TargetBulkCreatedEvent) {
+            return ENTITY;
+        }
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event;
+
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Implemented by {@link ApplicationListener}s which are invoked on the same
+ * {@link EventLane} for all events instead of the lane of the event.
+ */
+@FunctionalInterface
+public interface EventLaneAware {
+
+    /**
+     * @return the lane to invoke the listener on
+     */
+    EventLane getEventLane();
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+/**
+ * Defines the remote event of evicting an entry of a tenant's cache, so that
+ * the entry is evicted on the other nodes of the cluster as well.
+ */
+public class CacheEvictedEvent extends RemoteTenantAwareEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private String cacheName;
+
+    private String key;
+
+    /**
+     * Default constructor.
+     */
+    public CacheEvictedEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenant
+     *            tenant the event is scoped to
+     * @param applicationId
+     *            the application id
+     * @param cacheName
+     *            the name of the cache without the tenant or
+     *            <code>null</code> if all caches of the tenant have been
+     *            cleared
+     * @param key
+     *            the key of the evicted entry or <code>null</code> if the
+     *            whole cache has been cleared
+     */
+    public CacheEvictedEvent(final String tenant, final String applicationId, final String cacheName,
+            final String key) {
+        super(applicationId, tenant, applicationId);
+        this.cacheName = cacheName;
+        this.key = key;
+    }
+
+    /**
+     * @return the name of the cache without the tenant or <code>null</code> if
+     *         all caches of the tenant have been cleared
+     */
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * @return the key of the evicted entry or <code>null</code> if the whole
+     *         cache has been cleared
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -8,6 +8,12 @@
  */
 package org.eclipse.hawkbit.repository.event.remote;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
 
 /**
@@ -29,4 +35,50 @@ public interface EventEntityManager {
      */
     <E extends TenantAwareBaseEntity> E findEntity(String tenant, Long id, Class<E> entityType);
 
+    /**
+     * Find the entities by given ids and return them.
+     *
+     * @param tenant
+     *            the tenant
+     * @param ids
+     *            the ids
+     * @param entityType
+     *            the entity type
+     * @return the found entities in no particular order
+     */
+    default <E extends TenantAwareBaseEntity> List<E> findEntities(final String tenant, final Collection<Long> ids,
+            final Class<E> entityType) {
+        return ids.stream().map(id -> findEntity(tenant, id, entityType)).filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a snapshot of an entity which is sent with a
+     * {@link RemoteEntityEvent} so that the entity does not have to be
+     * reloaded on the receiving side, see
+     * {@link #restoreSnapshot(byte[], Class)}.
+     *
+     * @param entity
+     *            the entity
+     * @return the snapshot or <code>null</code> if snapshots are not supported
+     *         for the entity
+     */
+    default byte[] createSnapshot(final TenantAwareBaseEntity entity) {
+        return null;
+    }
+
+    /**
+     * Restores an entity from a snapshot, see
+     * {@link #createSnapshot(TenantAwareBaseEntity)}.
+     *
+     * @param snapshot
+     *            the snapshot
+     * @param entityType
+     *            the entity type
+     * @return the entity or <code>null</code> if it cannot be restored
+     */
+    default <E extends TenantAwareBaseEntity> E restoreSnapshot(final byte[] snapshot, final Class<E> entityType) {
+        return null;
+    }
+
 }
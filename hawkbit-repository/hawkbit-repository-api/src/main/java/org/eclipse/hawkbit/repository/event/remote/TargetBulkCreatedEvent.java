@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defines the remote event of creating a chunk of targets by the bulk import.
+ * It is published once per chunk instead of a
+ * {@link org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent}
+ * per target.
+ */
+public class TargetBulkCreatedEvent extends RemoteTenantAwareEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Long> targetIds = new ArrayList<>();
+
+    /**
+     * Default constructor.
+     */
+    public TargetBulkCreatedEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenant
+     *            tenant the event is scoped to
+     * @param applicationId
+     *            the application id
+     * @param targetIds
+     *            the IDs of the created targets
+     */
+    public TargetBulkCreatedEvent(final String tenant, final String applicationId, final List<Long> targetIds) {
+        super(applicationId, tenant, applicationId);
+        this.targetIds.addAll(targetIds);
+    }
+
+    public List<Long> getTargetIds() {
+        return targetIds;
+    }
+}
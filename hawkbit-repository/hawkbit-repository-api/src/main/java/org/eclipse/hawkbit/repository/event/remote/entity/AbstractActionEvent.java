@@ -49,6 +49,32 @@ public abstract class AbstractActionEvent extends RemoteEntityEvent<Action> {
         this.rolloutGroupId = rolloutGroupId;
     }
 
+    /**
+     * Constructor for an action which is not at hand.
+     * 
+     * @param tenant
+     *            the tenant of the action
+     * @param actionId
+     *            the ID of the action
+     * @param actionClass
+     *            the class of the action
+     * @param targetId
+     *            targetId identifier (optional)
+     * @param rolloutId
+     *            rollout identifier (optional)
+     * @param rolloutGroupId
+     *            rollout group identifier (optional)
+     * @param applicationId
+     *            the origin application id
+     */
+    public AbstractActionEvent(final String tenant, final Long actionId, final Class<? extends Action> actionClass,
+            final Long targetId, final Long rolloutId, final Long rolloutGroupId, final String applicationId) {
+        super(tenant, actionId, actionClass, applicationId);
+        this.targetId = targetId;
+        this.rolloutId = rolloutId;
+        this.rolloutGroupId = rolloutGroupId;
+    }
+
     public Long getTargetId() {
         return targetId;
     }
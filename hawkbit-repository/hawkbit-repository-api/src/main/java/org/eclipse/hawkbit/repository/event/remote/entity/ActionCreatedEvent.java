@@ -43,4 +43,28 @@ public class ActionCreatedEvent extends AbstractActionEvent implements EntityCre
         super(action, targetId, rolloutId, rolloutGroupId, applicationId);
     }
 
+    /**
+     * Constructor for an action which is not at hand, e.g. has been created
+     * by a bulk insert.
+     * 
+     * @param tenant
+     *            the tenant of the action
+     * @param actionId
+     *            the ID of the created action
+     * @param actionClass
+     *            the class of the action
+     * @param targetId
+     *            targetId identifier (optional)
+     * @param rolloutId
+     *            rollout identifier (optional)
+     * @param rolloutGroupId
+     *            rollout group identifier (optional)
+     * @param applicationId
+     *            the origin application id
+     */
+    public ActionCreatedEvent(final String tenant, final Long actionId, final Class<? extends Action> actionClass,
+            final Long targetId, final Long rolloutId, final Long rolloutGroupId, final String applicationId) {
+        super(tenant, actionId, actionClass, targetId, rolloutId, rolloutGroupId, applicationId);
+    }
+
 }
@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository.event.remote.entity;
 
+import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManagerHolder;
 import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
@@ -31,6 +32,13 @@ public class RemoteEntityEvent<E extends TenantAwareBaseEntity> extends RemoteId
 
     private transient E entity;
 
+    /**
+     * Not part of the serialized event so that the wire layout of the events
+     * does not change. The snapshot is transported by the message converter,
+     * see <code>BusProtoStuffMessageConverter</code>.
+     */
+    private transient byte[] entitySnapshot;
+
     /**
      * Default constructor.
      */
@@ -51,6 +59,24 @@ public class RemoteEntityEvent<E extends TenantAwareBaseEntity> extends RemoteId
         this.entity = baseEntity;
     }
 
+    /**
+     * Constructor for an entity which is not at hand. The entity is reloaded
+     * from the repository on access.
+     *
+     * @param tenant
+     *            the tenant of the entity
+     * @param entityId
+     *            the ID of the entity
+     * @param entityClass
+     *            the class of the entity
+     * @param applicationId
+     *            the origin application id
+     */
+    protected RemoteEntityEvent(final String tenant, final Long entityId, final Class<? extends E> entityClass,
+            final String applicationId) {
+        super(entityId, tenant, entityClass.getName(), applicationId);
+    }
+
     @JsonIgnore
     public E getEntity() {
         if (entity == null) {
@@ -59,12 +85,42 @@ public class RemoteEntityEvent<E extends TenantAwareBaseEntity> extends RemoteId
         return entity;
     }
 
+    /**
+     * Attaches a snapshot of the entity to the event, i.e. the entity is
+     * restored from the snapshot instead of being reloaded from the repository
+     * on the receiving side of a remote event. Nothing is attached if the
+     * entity is not at hand or if the {@link EventEntityManager} does not
+     * support snapshots of the entity.
+     */
+    public void attachEntitySnapshot() {
+        if (entity != null && entitySnapshot == null) {
+            entitySnapshot = EventEntityManagerHolder.getInstance().getEventEntityManager().createSnapshot(entity);
+        }
+    }
+
+    @JsonIgnore
+    public byte[] getEntitySnapshot() {
+        return entitySnapshot;
+    }
+
+    @JsonIgnore
+    public void setEntitySnapshot(final byte[] entitySnapshot) {
+        this.entitySnapshot = entitySnapshot;
+    }
+
     @SuppressWarnings("unchecked")
     private E reloadEntityFromRepository() {
         try {
             final Class<E> clazz = (Class<E>) Class.forName(getEntityClass());
-            return EventEntityManagerHolder.getInstance().getEventEntityManager().findEntity(getTenant(), getEntityId(),
-                    clazz);
+            final EventEntityManager eventEntityManager = EventEntityManagerHolder.getInstance()
+                    .getEventEntityManager();
+            if (entitySnapshot != null) {
+                final E restored = eventEntityManager.restoreSnapshot(entitySnapshot, clazz);
+                if (restored != null) {
+                    return restored;
+                }
+            }
+            return eventEntityManager.findEntity(getTenant(), getEntityId(), clazz);
         } catch (final ClassNotFoundException e) {
             LOG.error("Cannot reload entity because class is not found", e);
         }
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.exception;
+
+import org.eclipse.hawkbit.exception.AbstractServerRtException;
+import org.eclipse.hawkbit.exception.SpServerError;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+
+/**
+ * This exception is thrown if the continuation token of a
+ * {@link KeysetPageRequest} cannot be decoded or has been issued for a
+ * different sorting.
+ */
+public class InvalidContinuationTokenException extends AbstractServerRtException {
+
+    private static final long serialVersionUID = 1L;
+    private static final SpServerError THIS_ERROR = SpServerError.SP_REPO_INVALID_CONTINUATION_TOKEN;
+
+    /**
+     * Default constructor.
+     */
+    public InvalidContinuationTokenException() {
+        super(THIS_ERROR);
+    }
+
+    /**
+     * Parameterized constructor.
+     * 
+     * @param message
+     *            of the exception
+     */
+    public InvalidContinuationTokenException(final String message) {
+        super(message, THIS_ERROR);
+    }
+
+    /**
+     * Parameterized constructor.
+     * 
+     * @param message
+     *            of the exception
+     * @param cause
+     *            of the exception
+     */
+    public InvalidContinuationTokenException(final String message, final Throwable cause) {
+        super(message, THIS_ERROR, cause);
+    }
+}
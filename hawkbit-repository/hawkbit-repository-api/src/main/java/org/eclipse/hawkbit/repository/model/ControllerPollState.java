@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.io.Serializable;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the state of a {@link Target} that is relevant to
+ * answer a poll of the controller, i.e. the target itself and its active
+ * {@link Action} with the highest weight.
+ */
+public class ControllerPollState implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long targetId;
+    private final String controllerId;
+    private final URI address;
+    private final TargetUpdateStatus updateStatus;
+    private final boolean requestControllerAttributes;
+    private final Long activeActionId;
+
+    /**
+     * Constructor.
+     *
+     * @param target
+     *            the polling target
+     * @param activeAction
+     *            the active action of the target with the highest weight, might
+     *            be <code>null</code>
+     */
+    public ControllerPollState(final Target target, final Action activeAction) {
+        this.targetId = target.getId();
+        this.controllerId = target.getControllerId();
+        this.address = target.getAddress();
+        this.updateStatus = target.getUpdateStatus();
+        this.requestControllerAttributes = target.isRequestControllerAttributes();
+        this.activeActionId = activeAction != null ? activeAction.getId() : null;
+    }
+
+    public long getTargetId() {
+        return targetId;
+    }
+
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    public URI getAddress() {
+        return address;
+    }
+
+    public TargetUpdateStatus getUpdateStatus() {
+        return updateStatus;
+    }
+
+    public boolean isRequestControllerAttributes() {
+        return requestControllerAttributes;
+    }
+
+    /**
+     * @return the ID of the active {@link Action} with the highest weight or
+     *         empty if the target has nothing to do
+     */
+    public Optional<Long> getActiveActionId() {
+        return Optional.ofNullable(activeActionId);
+    }
+
+    @Override
+    public String toString() {
+        return "ControllerPollState [targetId=" + targetId + ", controllerId=" + controllerId + ", updateStatus="
+                + updateStatus + ", activeActionId=" + activeActionId + "]";
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A custom view on {@link Target} together with the details which are
+ * otherwise loaded lazily or by separate requests, i.e. the controller
+ * attributes, the tags, the meta data and the assigned and installed
+ * {@link DistributionSet}.
+ */
+public class TargetWithDetails {
+    private final Target target;
+    private final Map<String, String> controllerAttributes;
+    private final List<TargetTag> tags;
+    private final List<TargetMetadata> metadata;
+    private final DistributionSet assignedDistributionSet;
+    private final DistributionSet installedDistributionSet;
+
+    /**
+     * Constructor.
+     *
+     * @param target
+     *            the target
+     * @param controllerAttributes
+     *            of the target
+     * @param tags
+     *            assigned to the target
+     * @param metadata
+     *            of the target
+     * @param assignedDistributionSet
+     *            of the target or {@code null} if none is assigned
+     * @param installedDistributionSet
+     *            of the target or {@code null} if none is installed
+     */
+    public TargetWithDetails(final Target target, final Map<String, String> controllerAttributes,
+            final List<TargetTag> tags, final List<TargetMetadata> metadata,
+            final DistributionSet assignedDistributionSet, final DistributionSet installedDistributionSet) {
+        this.target = target;
+        this.controllerAttributes = Collections.unmodifiableMap(controllerAttributes);
+        this.tags = Collections.unmodifiableList(tags);
+        this.metadata = Collections.unmodifiableList(metadata);
+        this.assignedDistributionSet = assignedDistributionSet;
+        this.installedDistributionSet = installedDistributionSet;
+    }
+
+    public Target getTarget() {
+        return target;
+    }
+
+    public Map<String, String> getControllerAttributes() {
+        return controllerAttributes;
+    }
+
+    public List<TargetTag> getTags() {
+        return tags;
+    }
+
+    public List<TargetMetadata> getMetadata() {
+        return metadata;
+    }
+
+    public Optional<DistributionSet> getAssignedDistributionSet() {
+        return Optional.ofNullable(assignedDistributionSet);
+    }
+
+    public Optional<DistributionSet> getInstalledDistributionSet() {
+        return Optional.ofNullable(installedDistributionSet);
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
+import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
+
+/**
+ * {@link EventEntityManager} which combines the concurrent entity reloads of
+ * the remote events of the same tenant and entity type into a single
+ * {@link EventEntityManager#findEntities(String, Collection, Class)} call.
+ *
+ * A reload is never delayed: if no reload of the tenant and entity type is
+ * running, the entity is loaded right away. Entities which are requested while
+ * a reload is running are collected and loaded together by one of the waiting
+ * threads as soon as the running reload is finished. So a sequential consumer
+ * of the events loads every entity on its own, while the threads of the event
+ * lanes share their reloads under load.
+ */
+public class BatchingEventEntityManager implements EventEntityManager {
+
+    private final EventEntityManager delegate;
+    private final int maxBatchSize;
+
+    private final ConcurrentMap<BatchKey, Loader> loaders = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *            to load the entities from
+     * @param maxBatchSize
+     *            maximum number of entities that are loaded at once
+     */
+    public BatchingEventEntityManager(final EventEntityManager delegate, final int maxBatchSize) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public <E extends TenantAwareBaseEntity> E findEntity(final String tenant, final Long id,
+            final Class<E> entityType) {
+        final BatchKey key = new BatchKey(tenant, entityType);
+        return entityType.cast(loaders.computeIfAbsent(key, Loader::new).load(id));
+    }
+
+    @Override
+    public <E extends TenantAwareBaseEntity> List<E> findEntities(final String tenant, final Collection<Long> ids,
+            final Class<E> entityType) {
+        return delegate.findEntities(tenant, ids, entityType);
+    }
+
+    @Override
+    public byte[] createSnapshot(final TenantAwareBaseEntity entity) {
+        return delegate.createSnapshot(entity);
+    }
+
+    @Override
+    public <E extends TenantAwareBaseEntity> E restoreSnapshot(final byte[] snapshot, final Class<E> entityType) {
+        return delegate.restoreSnapshot(snapshot, entityType);
+    }
+
+    private static TenantAwareBaseEntity join(final CompletableFuture<TenantAwareBaseEntity> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the entities of a tenant and entity type, at most one batch at a
+     * time.
+     */
+    private final class Loader {
+        private final BatchKey key;
+        private final Map<Long, CompletableFuture<TenantAwareBaseEntity>> pending = new LinkedHashMap<>();
+        private final Map<Long, CompletableFuture<TenantAwareBaseEntity>> running = new HashMap<>();
+        private boolean loading;
+
+        private Loader(final BatchKey key) {
+            this.key = key;
+        }
+
+        private TenantAwareBaseEntity load(final Long id) {
+            final CompletableFuture<TenantAwareBaseEntity> future;
+            final Map<Long, CompletableFuture<TenantAwareBaseEntity>> batch;
+            synchronized (this) {
+                future = request(id);
+                while (loading && !future.isDone()) {
+                    awaitRunningBatch();
+                }
+                if (future.isDone()) {
+                    return join(future);
+                }
+                batch = nextBatch(id);
+                loading = true;
+            }
+
+            try {
+                loadBatch(batch);
+            } finally {
+                synchronized (this) {
+                    running.clear();
+                    loading = false;
+                    // wakes up the requesters of the next batch
+                    notifyAll();
+                }
+            }
+            return join(future);
+        }
+
+        private CompletableFuture<TenantAwareBaseEntity> request(final Long id) {
+            final CompletableFuture<TenantAwareBaseEntity> future = running.get(id);
+            if (future != null) {
+                return future;
+            }
+            return pending.computeIfAbsent(id, k -> new CompletableFuture<>());
+        }
+
+        private void awaitRunningBatch() {
+            try {
+                wait();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the entity reload", e);
+            }
+        }
+
+        private Map<Long, CompletableFuture<TenantAwareBaseEntity>> nextBatch(final Long id) {
+            // the entity of the loading thread is always part of the batch
+            running.put(id, pending.remove(id));
+            final Iterator<Map.Entry<Long, CompletableFuture<TenantAwareBaseEntity>>> iterator = pending.entrySet()
+                    .iterator();
+            while (running.size() < maxBatchSize && iterator.hasNext()) {
+                final Map.Entry<Long, CompletableFuture<TenantAwareBaseEntity>> entry = iterator.next();
+                running.put(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+            return new HashMap<>(running);
+        }
+
+        private void loadBatch(final Map<Long, CompletableFuture<TenantAwareBaseEntity>> batch) {
+            try {
+                final Map<Long, TenantAwareBaseEntity> loaded = new HashMap<>();
+                delegate.findEntities(key.tenant, batch.keySet(), key.entityType)
+                        .forEach(entity -> loaded.put(entity.getId(), entity));
+                batch.forEach((id, future) -> future.complete(loaded.get(id)));
+            } catch (final RuntimeException e) {
+                batch.values().forEach(future -> future.completeExceptionally(e));
+            }
+        }
+    }
+
+    private static final class BatchKey {
+        private final String tenant;
+        private final Class<? extends TenantAwareBaseEntity> entityType;
+
+        private BatchKey(final String tenant, final Class<? extends TenantAwareBaseEntity> entityType) {
+            this.tenant = tenant;
+            this.entityType = entityType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, entityType);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final BatchKey other = (BatchKey) obj;
+            return Objects.equals(tenant, other.tenant) && Objects.equals(entityType, other.entityType);
+        }
+    }
+}
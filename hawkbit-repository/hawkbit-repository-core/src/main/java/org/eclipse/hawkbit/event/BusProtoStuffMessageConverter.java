@@ -8,6 +8,9 @@
  */
 package org.eclipse.hawkbit.event;
 
+import java.nio.ByteBuffer;
+
+import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.bus.event.RemoteApplicationEvent;
@@ -33,6 +36,12 @@ import io.protostuff.runtime.RuntimeSchema;
  * information about the event-type is encoded in the payload of the message
  * directly using the encoded values of {@link EventType}.
  *
+ * If the entity snapshots are enabled, the snapshot of a
+ * {@link RemoteEntityEvent} is appended to the content, followed by the length
+ * of the snapshot as 4 byte integer. The snapshots have to be enabled on all
+ * nodes of a cluster or on none, as nodes without the snapshots cannot read
+ * the appended snapshots and vice versa. Without the snapshots the message
+ * layout is unchanged.
  */
 public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
 
@@ -42,12 +51,32 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
      * The length of the class type length of the payload.
      */
     private static final byte EVENT_TYPE_LENGTH = 2;
+    /**
+     * The length of the snapshot length behind the snapshot.
+     */
+    private static final byte SNAPSHOT_LENGTH_LENGTH = 4;
+
+    private final boolean entitySnapshots;
 
     /**
      * Constructor.
      */
     public BusProtoStuffMessageConverter() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param entitySnapshots
+     *            <code>true</code> to attach a snapshot of the entity to the
+     *            {@link RemoteEntityEvent}s so that the receiving nodes do not
+     *            have to reload the entity from the repository. Has to be the
+     *            same on all nodes of a cluster.
+     */
+    public BusProtoStuffMessageConverter(final boolean entitySnapshots) {
         super(APPLICATION_BINARY_PROTOSTUFF);
+        this.entitySnapshots = entitySnapshots;
     }
 
     @Override
@@ -66,6 +95,9 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
             final byte[] content = extraxtContent(payload);
 
             final EventType eventType = readClassHeader(clazzHeader);
+            if (entitySnapshots && isEntityEvent(eventType)) {
+                return readEntityEvent(eventType, content);
+            }
             return readContent(eventType, content);
         }
         return null;
@@ -79,9 +111,53 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
 
         final byte[] writeContent = writeContent(payload);
 
+        if (entitySnapshots && payload instanceof RemoteEntityEvent) {
+            final RemoteEntityEvent<?> event = (RemoteEntityEvent<?>) payload;
+            event.attachEntitySnapshot();
+            return mergeClassHeaderAndContent(clazzHeader, appendSnapshot(writeContent, event.getEntitySnapshot()));
+        }
+
         return mergeClassHeaderAndContent(clazzHeader, writeContent);
     }
 
+    private static boolean isEntityEvent(final EventType eventType) {
+        return eventType.getTargetClass() != null
+                && RemoteEntityEvent.class.isAssignableFrom(eventType.getTargetClass());
+    }
+
+    private static Object readEntityEvent(final EventType eventType, final byte[] contentAndSnapshot) {
+        if (contentAndSnapshot.length < SNAPSHOT_LENGTH_LENGTH) {
+            throw new MessageConversionException("Missing entity snapshot of event type " + eventType.getValue());
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(contentAndSnapshot);
+        final int snapshotLength = buffer.getInt(contentAndSnapshot.length - SNAPSHOT_LENGTH_LENGTH);
+        final int contentLength = contentAndSnapshot.length - SNAPSHOT_LENGTH_LENGTH - snapshotLength;
+        if (snapshotLength < 0 || contentLength < 0) {
+            throw new MessageConversionException("Invalid entity snapshot of event type " + eventType.getValue());
+        }
+
+        final byte[] content = new byte[contentLength];
+        buffer.get(content);
+        final RemoteEntityEvent<?> event = (RemoteEntityEvent<?>) readContent(eventType, content);
+        if (snapshotLength > 0) {
+            final byte[] snapshot = new byte[snapshotLength];
+            buffer.get(snapshot);
+            event.setEntitySnapshot(snapshot);
+        }
+        return event;
+    }
+
+    private static byte[] appendSnapshot(final byte[] content, final byte[] snapshot) {
+        final int snapshotLength = snapshot == null ? 0 : snapshot.length;
+        final ByteBuffer buffer = ByteBuffer.allocate(content.length + snapshotLength + SNAPSHOT_LENGTH_LENGTH);
+        buffer.put(content);
+        if (snapshot != null) {
+            buffer.put(snapshot);
+        }
+        buffer.putInt(snapshotLength);
+        return buffer.array();
+    }
+
     private static Object readContent(final EventType eventType, final byte[] content) {
         final Class<?> targetClass = eventType.getTargetClass();
         if (targetClass == null) {
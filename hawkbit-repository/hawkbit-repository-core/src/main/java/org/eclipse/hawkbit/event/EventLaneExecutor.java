@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.hawkbit.repository.event.EventLane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskDecorator;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Bounded executor of an {@link EventLane}. If the capacity of the lane is
+ * exhausted the events are either processed by the publishing thread or shed,
+ * depending on the {@link SheddingPolicy}. The tasks are either executed by a
+ * thread pool or, on JDKs which support them, by virtual threads of which only
+ * as many are started as the lane has capacity.
+ */
+public class EventLaneExecutor implements Executor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventLaneExecutor.class);
+
+    /**
+     * Handling of the events which exceed the capacity of the lane.
+     */
+    public enum SheddingPolicy {
+        /**
+         * The publishing thread processes the event itself.
+         */
+        CALLER_RUNS,
+
+        /**
+         * The event is dropped.
+         */
+        DISCARD,
+
+        /**
+         * The oldest queued event is dropped in favor of the new one. Lanes
+         * with virtual threads have no queue and drop the new event.
+         */
+        DISCARD_OLDEST
+    }
+
+    private final String name;
+    private final SheddingPolicy sheddingPolicy;
+    private final TaskDecorator taskDecorator;
+    private final ThreadPoolExecutor threadPool;
+    private final ExecutorService virtualThreads;
+    private final Semaphore virtualThreadPermits;
+    private final int capacity;
+
+    private final LongAdder shedTasks = new LongAdder();
+    private final LongAdder callerRunsTasks = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param name
+     *            of the lane, used for the thread names
+     * @param corePoolSize
+     *            number of threads kept in the pool
+     * @param maxPoolSize
+     *            maximum number of threads in the pool, or of concurrently
+     *            running virtual threads
+     * @param queueCapacity
+     *            number of tasks which are queued if all threads are busy, or
+     *            which may additionally wait to run on virtual threads
+     * @param keepAliveMillis
+     *            idle time after which threads above the core pool size are
+     *            terminated
+     * @param sheddingPolicy
+     *            handling of the tasks which exceed the capacity
+     * @param useVirtualThreads
+     *            <code>true</code> to execute the tasks on virtual threads if
+     *            the JDK supports them
+     * @param taskDecorator
+     *            applied to the tasks on submission, e.g. to propagate the
+     *            security context, may be <code>null</code>
+     */
+    public EventLaneExecutor(final String name, final int corePoolSize, final int maxPoolSize,
+            final int queueCapacity, final long keepAliveMillis, final SheddingPolicy sheddingPolicy,
+            final boolean useVirtualThreads, final TaskDecorator taskDecorator) {
+        this.name = name;
+        this.sheddingPolicy = sheddingPolicy;
+        this.taskDecorator = taskDecorator;
+        this.capacity = maxPoolSize + queueCapacity;
+
+        final Optional<ExecutorService> virtualThreadExecutor = useVirtualThreads
+                ? newVirtualThreadPerTaskExecutor(name)
+                : Optional.empty();
+        if (virtualThreadExecutor.isPresent()) {
+            this.virtualThreads = virtualThreadExecutor.get();
+            this.virtualThreadPermits = new Semaphore(capacity);
+            this.threadPool = null;
+        } else {
+            this.virtualThreads = null;
+            this.virtualThreadPermits = null;
+            this.threadPool = new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveMillis,
+                    TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                    new ThreadFactoryBuilder().setNameFormat("event-lane-" + name + "-%d").build(),
+                    new LaneCapacityExceededHandler());
+        }
+    }
+
+    private static Optional<ExecutorService> newVirtualThreadPerTaskExecutor(final String name) {
+        try {
+            return Optional.of((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch (final ReflectiveOperationException e) {
+            LOG.warn("Virtual threads are not supported by this JDK, event lane {} uses a thread pool.", name);
+            LOG.trace("Virtual thread executor not available", e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        final Runnable decorated = taskDecorator == null ? task : taskDecorator.decorate(task);
+        if (threadPool != null) {
+            threadPool.execute(decorated);
+            return;
+        }
+
+        if (!virtualThreadPermits.tryAcquire()) {
+            exceeded(decorated);
+            return;
+        }
+        try {
+            virtualThreads.execute(() -> {
+                try {
+                    decorated.run();
+                } finally {
+                    virtualThreadPermits.release();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            virtualThreadPermits.release();
+            throw e;
+        }
+    }
+
+    private void exceeded(final Runnable task) {
+        if (sheddingPolicy == SheddingPolicy.CALLER_RUNS) {
+            callerRunsTasks.increment();
+            LOG.warn("Caller has to run on its own instead of event lane {}, reached capacity of {}", name,
+                    capacity);
+            task.run();
+        } else {
+            shedTasks.increment();
+            LOG.debug("Event of lane {} has been shed, reached capacity of {}", name, capacity);
+        }
+    }
+
+    /**
+     * Shuts the lane down. Tasks which have already been submitted are still
+     * executed.
+     */
+    public void shutdown() {
+        if (threadPool != null) {
+            threadPool.shutdown();
+        } else {
+            virtualThreads.shutdown();
+        }
+    }
+
+    /**
+     * @return the name of the lane
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the handling of the tasks which exceed the capacity
+     */
+    public SheddingPolicy getSheddingPolicy() {
+        return sheddingPolicy;
+    }
+
+    /**
+     * @return <code>true</code> if the tasks are executed on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads != null;
+    }
+
+    /**
+     * @return the thread pool of the lane, empty if virtual threads are used
+     */
+    public Optional<ThreadPoolExecutor> getThreadPool() {
+        return Optional.ofNullable(threadPool);
+    }
+
+    /**
+     * @return number of tasks which are queued or running
+     */
+    public int getPendingTaskCount() {
+        if (threadPool != null) {
+            return threadPool.getQueue().size() + threadPool.getActiveCount();
+        }
+        return capacity - virtualThreadPermits.availablePermits();
+    }
+
+    /**
+     * @return number of tasks which have been dropped since the start
+     */
+    public long getShedTaskCount() {
+        return shedTasks.sum();
+    }
+
+    /**
+     * @return number of tasks which have been run by the publishing threads
+     *         since the start
+     */
+    public long getCallerRunsTaskCount() {
+        return callerRunsTasks.sum();
+    }
+
+    private final class LaneCapacityExceededHandler implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                LOG.debug("Event lane {} is shut down, task is dropped", name);
+                return;
+            }
+
+            if (sheddingPolicy == SheddingPolicy.DISCARD_OLDEST) {
+                if (executor.getQueue().poll() != null) {
+                    shedTasks.increment();
+                }
+                executor.execute(task);
+                return;
+            }
+            exceeded(task);
+        }
+    }
+}
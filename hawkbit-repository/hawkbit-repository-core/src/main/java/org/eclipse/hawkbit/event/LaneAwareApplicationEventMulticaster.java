@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.eclipse.hawkbit.repository.event.EventLane;
+import org.eclipse.hawkbit.repository.event.EventLaneAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.core.ResolvableType;
+
+/**
+ * {@link SimpleApplicationEventMulticaster} which invokes the listeners on the
+ * executor of the {@link EventLane} of the event, or of the listener if it is
+ * {@link EventLaneAware}. Events of lanes without an executor are processed
+ * on the {@link #getTaskExecutor()}, or synchronously if there is none.
+ */
+public class LaneAwareApplicationEventMulticaster extends SimpleApplicationEventMulticaster
+        implements DisposableBean {
+
+    private final Map<EventLane, EventLaneExecutor> laneExecutors;
+
+    /**
+     * Constructor.
+     *
+     * @param laneExecutors
+     *            the executors of the lanes, which are shut down together with
+     *            the multicaster
+     */
+    public LaneAwareApplicationEventMulticaster(final Map<EventLane, EventLaneExecutor> laneExecutors) {
+        this.laneExecutors = laneExecutors.isEmpty() ? Collections.emptyMap() : new EnumMap<>(laneExecutors);
+    }
+
+    @Override
+    public void multicastEvent(final ApplicationEvent event, final ResolvableType eventType) {
+        final ResolvableType type = eventType != null ? eventType : ResolvableType.forInstance(event);
+        for (final ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+            final Executor executor = getExecutor(event, listener);
+            if (executor != null) {
+                executor.execute(() -> invokeListener(listener, event));
+            } else {
+                invokeListener(listener, event);
+            }
+        }
+    }
+
+    private Executor getExecutor(final ApplicationEvent event, final ApplicationListener<?> listener) {
+        final EventLane lane = listener instanceof EventLaneAware ? ((EventLaneAware) listener).getEventLane()
+                : EventLane.of(event);
+        final Executor laneExecutor = laneExecutors.get(lane);
+        return laneExecutor != null ? laneExecutor : getTaskExecutor();
+    }
+
+    /**
+     * @return the executors of the lanes
+     */
+    public Map<EventLane, EventLaneExecutor> getLaneExecutors() {
+        return Collections.unmodifiableMap(laneExecutors);
+    }
+
+    @Override
+    public void destroy() {
+        laneExecutors.values().forEach(EventLaneExecutor::shutdown);
+    }
+}
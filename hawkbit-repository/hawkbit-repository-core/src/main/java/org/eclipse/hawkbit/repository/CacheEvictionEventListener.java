@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.CacheEvictedEvent;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Applies the {@link CacheEvictedEvent}s of the other nodes of the cluster to
+ * the caches of this node, see {@link CacheEvictionEventPublisher}.
+ */
+public class CacheEvictionEventListener {
+
+    private final TenancyCacheManager cacheManager;
+
+    private final EventPublisherHolder eventPublisherHolder;
+
+    /**
+     * Constructor.
+     *
+     * @param cacheManager
+     *            the cache manager to evict the entries from
+     * @param eventPublisherHolder
+     *            to identify the events of this node
+     */
+    public CacheEvictionEventListener(final TenancyCacheManager cacheManager,
+            final EventPublisherHolder eventPublisherHolder) {
+        this.cacheManager = cacheManager;
+        this.eventPublisherHolder = eventPublisherHolder;
+    }
+
+    @EventListener(classes = CacheEvictedEvent.class)
+    void evictOnRemoteEviction(final CacheEvictedEvent event) {
+        // the entry has already been evicted on this node
+        if (eventPublisherHolder.getApplicationId().equals(event.getOriginService())) {
+            return;
+        }
+        cacheManager.evictWithoutNotification(event.getTenant(), event.getCacheName(), event.getKey());
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import org.eclipse.hawkbit.cache.CacheEvictionListener;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.CacheEvictedEvent;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link CacheEvictionListener} of the {@link TenantAwareCacheManager} which
+ * publishes a {@link CacheEvictedEvent} for every eviction, so that the entry
+ * is evicted on the other nodes of the cluster as well, see
+ * {@link CacheEvictionEventListener}. Entries with other than {@link String}
+ * keys cannot be identified on the other nodes, so their caches are cleared.
+ * 
+ * Evictions within a transaction are published after its commit, otherwise
+ * the other nodes might reload the entry before the modification is visible
+ * to them.
+ */
+public class CacheEvictionEventPublisher implements CacheEvictionListener {
+
+    private final EventPublisherHolder eventPublisherHolder;
+
+    /**
+     * Constructor.
+     *
+     * @param eventPublisherHolder
+     *            to publish the remote events
+     */
+    public CacheEvictionEventPublisher(final EventPublisherHolder eventPublisherHolder) {
+        this.eventPublisherHolder = eventPublisherHolder;
+    }
+
+    @Override
+    public void onEvict(final String tenant, final String cacheName, final Object key) {
+        final ApplicationEventPublisher eventPublisher = eventPublisherHolder.getEventPublisher();
+        // caches might be evicted before the context is refreshed
+        if (eventPublisher == null) {
+            return;
+        }
+        final CacheEvictedEvent event = new CacheEvictedEvent(tenant, eventPublisherHolder.getApplicationId(),
+                cacheName, key instanceof String ? (String) key : null);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                eventPublisher.publishEvent(event);
+            }
+        });
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.MultiActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.AbstractActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Internal cache for the {@link ControllerPollState} of the targets by
+ * controller ID. The entries are invalidated by the remote events of the
+ * repository, i.e. on every node of a cluster, and expire after a time to live
+ * in case an event has been missed.
+ *
+ */
+public class ControllerPollStateCache {
+    private static final String CACHE_STATE_NAME = "ControllerPollState";
+    private static final String CACHE_ID_NAME = "ControllerPollStateTargetId";
+    /**
+     * Default maximum size of the cache.
+     */
+    public static final long DEFAULT_SIZE = 100_000;
+    private static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(5);
+    private final TenancyCacheManager cacheManager;
+    private final TenantAware tenantAware;
+    private final TenantCacheGenerations generations = new TenantCacheGenerations();
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param size
+     *            the maximum size of the cache
+     * @param ttl
+     *            the time to live of the entries in
+     *            {@link TimeUnit#MILLISECONDS}, <code>0</code> for no expiry
+     */
+    public ControllerPollStateCache(final TenantAware tenantAware, final long size, final long ttl) {
+        this.tenantAware = tenantAware;
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().maximumSize(size);
+        if (ttl > 0) {
+            cacheBuilder.expireAfterWrite(ttl, TimeUnit.MILLISECONDS);
+        }
+        final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(cacheBuilder);
+
+        this.cacheManager = new TenantAwareCacheManager(caffeineCacheManager, tenantAware);
+    }
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     */
+    public ControllerPollStateCache(final TenantAware tenantAware) {
+        this(tenantAware, DEFAULT_SIZE, DEFAULT_TTL);
+    }
+
+    /**
+     * Retrieves the cached {@link ControllerPollState} of a target. A state
+     * whose target ID mapping has been evicted from the cache is not served
+     * anymore, as it could not be invalidated by the events which only carry
+     * the target ID.
+     *
+     * @param controllerId
+     *            of the target
+     * @return the cached state
+     */
+    public Optional<ControllerPollState> get(final String controllerId) {
+        final Cache cache = cacheManager.getCache(CACHE_STATE_NAME);
+        final ControllerPollState state = cache.get(controllerId, ControllerPollState.class);
+        if (state == null) {
+            return Optional.empty();
+        }
+        if (cacheManager.getCache(CACHE_ID_NAME).get(state.getTargetId()) == null) {
+            cache.evict(controllerId);
+            return Optional.empty();
+        }
+        return Optional.of(state);
+    }
+
+    /**
+     * @return the current generation of the cache of the current tenant which
+     *         has to be retrieved before the state is read from the database,
+     *         see {@link #put(ControllerPollState, long)}
+     */
+    public long getGeneration() {
+        return generations.get(tenantAware.getCurrentTenant());
+    }
+
+    /**
+     * Puts the {@link ControllerPollState} of a target into the cache unless
+     * the cache has been invalidated in the meantime.
+     *
+     * @param state
+     *            to cache
+     * @param readGeneration
+     *            the generation of the cache before the state has been read
+     */
+    public void put(final ControllerPollState state, final long readGeneration) {
+        final Cache stateCache = cacheManager.getCache(CACHE_STATE_NAME);
+        cacheManager.getCache(CACHE_ID_NAME).put(state.getTargetId(), state.getControllerId());
+        stateCache.put(state.getControllerId(), state);
+
+        // an invalidation might have missed the entry that was just put
+        if (generations.get(tenantAware.getCurrentTenant()) != readGeneration) {
+            stateCache.evict(state.getControllerId());
+        }
+    }
+
+    @EventListener(classes = TargetAssignDistributionSetEvent.class)
+    void invalidateOnAssignment(final TargetAssignDistributionSetEvent event) {
+        evictByControllerIds(event.getTenant(), event.getActions().keySet());
+    }
+
+    @EventListener(classes = MultiActionEvent.class)
+    void invalidateOnMultiAction(final MultiActionEvent event) {
+        evictByControllerIds(event.getTenant(), event.getControllerIds());
+    }
+
+    @EventListener(classes = CancelTargetAssignmentEvent.class)
+    void invalidateOnCancelAssignment(final CancelTargetAssignmentEvent event) {
+        evictByTargetId(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TargetUpdatedEvent.class)
+    void invalidateOnTargetUpdate(final TargetUpdatedEvent event) {
+        evictByTargetId(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = AbstractActionEvent.class)
+    void invalidateOnActionChange(final AbstractActionEvent event) {
+        if (event.getTargetId() != null) {
+            evictByTargetId(event.getTenant(), event.getTargetId());
+        }
+    }
+
+    @EventListener(classes = TargetAttributesRequestedEvent.class)
+    void invalidateOnAttributesRequest(final TargetAttributesRequestedEvent event) {
+        evictByControllerIds(event.getTenant(), Collections.singletonList(event.getControllerId()));
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    void invalidateOnTargetDelete(final TargetDeletedEvent event) {
+        evictByControllerIds(event.getTenant(), Collections.singletonList(event.getControllerId()));
+    }
+
+    private void evictByControllerIds(final String tenant, final Collection<String> controllerIds) {
+        generations.increment(tenant);
+        final Cache cache = tenantAware.runAsTenant(tenant, () -> cacheManager.getCache(CACHE_STATE_NAME));
+        controllerIds.forEach(cache::evict);
+    }
+
+    private void evictByTargetId(final String tenant, final Long targetId) {
+        generations.increment(tenant);
+        final Cache idCache = tenantAware.runAsTenant(tenant, () -> cacheManager.getCache(CACHE_ID_NAME));
+        final String controllerId = idCache.get(targetId, String.class);
+        if (controllerId != null) {
+            tenantAware.runAsTenant(tenant, () -> cacheManager.getCache(CACHE_STATE_NAME)).evict(controllerId);
+        }
+    }
+
+    /**
+     * Evicts all caches for a given tenant. All caches under a certain tenant
+     * gets evicted.
+     *
+     * @param tenant
+     *            the tenant to evict caches
+     */
+    public void evictCaches(final String tenant) {
+        generations.increment(tenant);
+        cacheManager.evictCaches(tenant);
+    }
+}
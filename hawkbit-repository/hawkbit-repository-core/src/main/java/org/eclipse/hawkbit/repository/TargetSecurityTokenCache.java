@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.security.SecurityTokenGenerator;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Internal cache for the security tokens of the targets which are needed for
+ * the authentication of every controller request. Only the hashes of the
+ * tokens are kept, see {@link SecurityTokenGenerator#hashToken(String)}. The
+ * entries are invalidated by the remote events of the repository, i.e. on
+ * every node of a cluster, and expire after a time to live in case an event
+ * has been missed.
+ *
+ */
+public class TargetSecurityTokenCache {
+    private static final String CACHE_TOKEN_NAME = "TargetSecurityToken";
+    private static final String CACHE_ID_NAME = "TargetSecurityTokenTargetId";
+    /**
+     * Default maximum size of the cache.
+     */
+    public static final long DEFAULT_SIZE = 100_000;
+    private static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(5);
+    private final TenancyCacheManager cacheManager;
+    private final TenantAware tenantAware;
+    private final TenantCacheGenerations generations = new TenantCacheGenerations();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param size
+     *            the maximum size of the cache
+     * @param ttl
+     *            the time to live of the entries in
+     *            {@link TimeUnit#MILLISECONDS}, <code>0</code> for no expiry
+     */
+    public TargetSecurityTokenCache(final TenantAware tenantAware, final long size, final long ttl) {
+        this.tenantAware = tenantAware;
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().maximumSize(size);
+        if (ttl > 0) {
+            cacheBuilder.expireAfterWrite(ttl, TimeUnit.MILLISECONDS);
+        }
+        final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(cacheBuilder);
+
+        this.cacheManager = new TenantAwareCacheManager(caffeineCacheManager, tenantAware);
+    }
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     */
+    public TargetSecurityTokenCache(final TenantAware tenantAware) {
+        this(tenantAware, DEFAULT_SIZE, DEFAULT_TTL);
+    }
+
+    /**
+     * Retrieves the cached security token of a target.
+     *
+     * @param controllerId
+     *            of the target
+     * @return the cached token
+     */
+    public Optional<TargetToken> getByControllerId(final String controllerId) {
+        final Long targetId = cacheManager.getCache(CACHE_ID_NAME).get(controllerId, Long.class);
+        if (targetId == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        return getByTargetId(targetId);
+    }
+
+    /**
+     * Retrieves the cached security token of a target.
+     *
+     * @param targetId
+     *            of the target
+     * @return the cached token
+     */
+    public Optional<TargetToken> getByTargetId(final long targetId) {
+        final TargetToken token = cacheManager.getCache(CACHE_TOKEN_NAME).get(targetId, TargetToken.class);
+        if (token == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return Optional.ofNullable(token);
+    }
+
+    /**
+     * @return the current generation of the cache of the current tenant which
+     *         has to be retrieved before the token is read from the database,
+     *         see {@link #put(long, String, String, long)}
+     */
+    public long getGeneration() {
+        return generations.get(tenantAware.getCurrentTenant());
+    }
+
+    /**
+     * Puts the hash of the security token of a target into the cache unless
+     * the cache has been invalidated in the meantime.
+     *
+     * @param targetId
+     *            of the target
+     * @param controllerId
+     *            of the target
+     * @param securityToken
+     *            of the target
+     * @param readGeneration
+     *            the generation of the cache before the token has been read
+     */
+    public void put(final long targetId, final String controllerId, final String securityToken,
+            final long readGeneration) {
+        final Cache tokenCache = cacheManager.getCache(CACHE_TOKEN_NAME);
+        // the controller ID of a target cannot be changed
+        cacheManager.getCache(CACHE_ID_NAME).put(controllerId, targetId);
+        tokenCache.put(targetId, new TargetToken(controllerId, SecurityTokenGenerator.hashToken(securityToken)));
+
+        // an invalidation might have missed the entry that was just put
+        if (generations.get(tenantAware.getCurrentTenant()) != readGeneration) {
+            tokenCache.evict(targetId);
+        }
+    }
+
+    /**
+     * @return number of tokens served from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of tokens that had to be read from the database
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @EventListener(classes = TargetUpdatedEvent.class)
+    void invalidateOnTargetUpdate(final TargetUpdatedEvent event) {
+        generations.increment(event.getTenant());
+        tenantAware.runAsTenant(event.getTenant(), () -> cacheManager.getCache(CACHE_TOKEN_NAME))
+                .evict(event.getEntityId());
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    void invalidateOnTargetDelete(final TargetDeletedEvent event) {
+        generations.increment(event.getTenant());
+        tenantAware.runAsTenant(event.getTenant(), () -> cacheManager.getCache(CACHE_TOKEN_NAME))
+                .evict(event.getEntityId());
+        tenantAware.runAsTenant(event.getTenant(), () -> cacheManager.getCache(CACHE_ID_NAME))
+                .evict(event.getControllerId());
+    }
+
+    /**
+     * Evicts all caches for a given tenant. All caches under a certain tenant
+     * gets evicted.
+     *
+     * @param tenant
+     *            the tenant to evict caches
+     */
+    public void evictCaches(final String tenant) {
+        generations.increment(tenant);
+        cacheManager.evictCaches(tenant);
+    }
+
+    /**
+     * The cached security token hash of a {@link Target}.
+     */
+    public static final class TargetToken {
+        private final String controllerId;
+        private final String securityTokenHash;
+
+        private TargetToken(final String controllerId, final String securityTokenHash) {
+            this.controllerId = controllerId;
+            this.securityTokenHash = securityTokenHash;
+        }
+
+        public String getControllerId() {
+            return controllerId;
+        }
+
+        public String getSecurityTokenHash() {
+            return securityTokenHash;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generations of the caches of the tenants. The generation of a tenant is
+ * incremented on every invalidation of its cache, so that a value which has
+ * been read from the database before a concurrent invalidation is not cached,
+ * while the invalidations of other tenants do not interfere.
+ */
+final class TenantCacheGenerations {
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * @param tenant
+     *            the tenant or <code>null</code>
+     * @return the current generation of the tenant
+     */
+    long get(final String tenant) {
+        final AtomicLong generation = generations.get(toKey(tenant));
+        return generation == null ? 0 : generation.get();
+    }
+
+    /**
+     * @param tenant
+     *            the tenant whose cache is invalidated
+     */
+    void increment(final String tenant) {
+        generations.computeIfAbsent(toKey(tenant), key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static String toKey(final String tenant) {
+        return tenant == null ? "" : tenant.toUpperCase();
+    }
+}
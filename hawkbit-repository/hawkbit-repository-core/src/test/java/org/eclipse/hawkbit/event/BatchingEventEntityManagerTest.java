@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Batched reload of remote event entities")
+public class BatchingEventEntityManagerTest {
+
+    private final List<Collection<Long>> loadedBatches = new ArrayList<>();
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    @Description("Verifies that the reloads which are requested during a running reload are loaded with one query.")
+    public void reloadsDuringRunningReloadAreBatched() throws InterruptedException {
+        final BatchingEventEntityManager underTest = new BatchingEventEntityManager(new TestEntityManager(true), 100);
+        final Map<Long, Long> found = new ConcurrentHashMap<>();
+
+        final Thread first = reload(underTest, 1L, found);
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        final List<Thread> waiting = new ArrayList<>();
+        for (long id = 2; id <= 4; id++) {
+            waiting.add(reload(underTest, id, found));
+        }
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!waiting.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)
+                && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        release.countDown();
+
+        first.join(5000);
+        for (final Thread thread : waiting) {
+            thread.join(5000);
+        }
+        assertThat(found).containsOnlyKeys(1L, 2L, 3L, 4L);
+        found.forEach((id, entityId) -> assertThat(entityId).isEqualTo(id));
+        assertThat(loadedBatches).hasSize(2);
+        assertThat(loadedBatches.get(0)).containsOnly(1L);
+        assertThat(loadedBatches.get(1)).containsOnly(2L, 3L, 4L);
+    }
+
+    @Test
+    @Description("Verifies that a reload is executed right away if no other reload is running and missing entities are returned as null.")
+    public void singleReloadIsNotDelayed() {
+        final BatchingEventEntityManager underTest = new BatchingEventEntityManager(new TestEntityManager(false), 100);
+
+        assertThat(underTest.findEntity("tenant", 1L, Target.class).getId()).isEqualTo(1L);
+        assertThat(underTest.findEntity("tenant", -1L, Target.class)).isNull();
+        assertThat(loadedBatches).hasSize(2);
+    }
+
+    @Test
+    @Description("Verifies that a failure of the batched reload is propagated to the caller.")
+    public void failureIsPropagated() {
+        final EventEntityManager failing = new EventEntityManager() {
+            @Override
+            public <E extends TenantAwareBaseEntity> E findEntity(final String tenant, final Long id,
+                    final Class<E> entityType) {
+                throw new IllegalStateException("failed");
+            }
+        };
+        final BatchingEventEntityManager underTest = new BatchingEventEntityManager(failing, 100);
+
+        assertThatThrownBy(() -> underTest.findEntity("tenant", 1L, Target.class))
+                .isInstanceOf(IllegalStateException.class).hasMessage("failed");
+    }
+
+    private static Thread reload(final BatchingEventEntityManager underTest, final Long id,
+            final Map<Long, Long> found) {
+        final Thread thread = new Thread(() -> found.put(id, underTest.findEntity("tenant", id, Target.class).getId()));
+        thread.start();
+        return thread;
+    }
+
+    private class TestEntityManager implements EventEntityManager {
+        private final boolean blockFirstReload;
+
+        private TestEntityManager(final boolean blockFirstReload) {
+            this.blockFirstReload = blockFirstReload;
+        }
+
+        @Override
+        public <E extends TenantAwareBaseEntity> E findEntity(final String tenant, final Long id,
+                final Class<E> entityType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <E extends TenantAwareBaseEntity> List<E> findEntities(final String tenant,
+                final Collection<Long> ids, final Class<E> entityType) {
+            final boolean firstReload;
+            synchronized (loadedBatches) {
+                firstReload = loadedBatches.isEmpty();
+                loadedBatches.add(new ArrayList<>(ids));
+            }
+            if (blockFirstReload && firstReload) {
+                loading.countDown();
+                await(release);
+            }
+            return ids.stream().filter(id -> id > 0).map(id -> {
+                final E entity = mock(entityType);
+                when(entity.getId()).thenReturn(id);
+                return entity;
+            }).collect(Collectors.toList());
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -61,6 +61,37 @@ public class BusProtoStuffMessageConverterTest {
         assertThat(deserializedEvent).isEqualTo(targetCreatedEvent);
     }
 
+    @Test
+    @Description("Verifies that the entity snapshot is transported behind the event if the snapshots are enabled")
+    public void entitySnapshotIsTransportedIfEnabled() {
+        final BusProtoStuffMessageConverter withSnapshots = new BusProtoStuffMessageConverter(true);
+        final TargetCreatedEvent targetCreatedEvent = new TargetCreatedEvent(targetMock, "1");
+        targetCreatedEvent.setEntitySnapshot(new byte[] { 1, 2, 3 });
+
+        final Object serializedEvent = withSnapshots.convertToInternal(targetCreatedEvent,
+                new MessageHeaders(new HashMap<>()), null);
+        when(messageMock.getPayload()).thenReturn(serializedEvent);
+        final TargetCreatedEvent deserializedEvent = (TargetCreatedEvent) withSnapshots
+                .convertFromInternal(messageMock, RemoteApplicationEvent.class, null);
+
+        assertThat(deserializedEvent).isEqualTo(targetCreatedEvent);
+        assertThat(deserializedEvent.getEntitySnapshot()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @Description("Verifies that the message layout does not change if the snapshots are disabled")
+    public void messageLayoutIsUnchangedWithoutSnapshots() {
+        final TargetCreatedEvent targetCreatedEvent = new TargetCreatedEvent(targetMock, "1");
+
+        final Object serializedWithoutSnapshot = underTest.convertToInternal(targetCreatedEvent,
+                new MessageHeaders(new HashMap<>()), null);
+        targetCreatedEvent.setEntitySnapshot(new byte[] { 1, 2, 3 });
+        final Object serializedWithSnapshot = underTest.convertToInternal(targetCreatedEvent,
+                new MessageHeaders(new HashMap<>()), null);
+
+        assertThat((byte[]) serializedWithSnapshot).isEqualTo((byte[]) serializedWithoutSnapshot);
+    }
+
     @Test
     @Description("Verifies that a MessageConversationException is thrown on missing event-type information encoding")
     public void missingEventTypeMappingThrowsMessageConversationException() {
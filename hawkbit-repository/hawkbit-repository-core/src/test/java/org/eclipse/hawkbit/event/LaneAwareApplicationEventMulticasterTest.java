@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hawkbit.event.EventLaneExecutor.SheddingPolicy;
+import org.eclipse.hawkbit.repository.event.EventLane;
+import org.eclipse.hawkbit.repository.event.EventLaneAware;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.SmartApplicationListener;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Event lanes")
+public class LaneAwareApplicationEventMulticasterTest {
+
+    private final Map<EventLane, EventLaneExecutor> lanes = new EnumMap<>(EventLane.class);
+
+    @After
+    public void after() {
+        lanes.values().forEach(EventLaneExecutor::shutdown);
+    }
+
+    @Test
+    @Description("Verifies that the listeners are invoked on the lane of the event, or on the lane of an EventLaneAware listener.")
+    public void eventsAreProcessedOnTheirLane() throws InterruptedException {
+        lanes.put(EventLane.POLL, lane("poll", 10, SheddingPolicy.DISCARD));
+        lanes.put(EventLane.DEPLOYMENT, lane("deployment", 10, SheddingPolicy.CALLER_RUNS));
+        lanes.put(EventLane.UI, lane("ui", 10, SheddingPolicy.DISCARD_OLDEST));
+        final LaneAwareApplicationEventMulticaster underTest = new LaneAwareApplicationEventMulticaster(lanes);
+
+        final CountDownLatch invocations = new CountDownLatch(8);
+        final Map<String, String> threads = new ConcurrentHashMap<>();
+        underTest.addApplicationListener(event -> {
+            threads.put(event.getClass().getSimpleName(), Thread.currentThread().getName());
+            invocations.countDown();
+        });
+        underTest.addApplicationListener(new UiListener(event -> {
+            threads.put("ui-" + event.getClass().getSimpleName(), Thread.currentThread().getName());
+            invocations.countDown();
+        }));
+
+        underTest.multicastEvent(new TargetPollEvent("controller", "tenant", "node"));
+        underTest.multicastEvent(new DownloadProgressEvent("tenant", 1L, 100L, "node"));
+        underTest.multicastEvent(
+                new TargetAttributesRequestedEvent("tenant", 1L, "controller", null, "Target", "node"));
+        underTest.multicastEvent(new TestEvent());
+
+        assertThat(invocations.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(threads.get("TargetPollEvent")).startsWith("event-lane-poll-");
+        assertThat(threads.get("DownloadProgressEvent")).startsWith("event-lane-poll-");
+        assertThat(threads.get("TargetAttributesRequestedEvent")).startsWith("event-lane-deployment-");
+        assertThat(threads.get("TestEvent")).isEqualTo(Thread.currentThread().getName());
+        assertThat(threads.entrySet().stream().filter(entry -> entry.getKey().startsWith("ui-")))
+                .hasSize(4).allSatisfy(entry -> assertThat(entry.getValue()).startsWith("event-lane-ui-"));
+    }
+
+    @Test
+    @Description("Verifies that events which exceed the capacity of a lane are shed or processed by the caller, depending on the shedding policy.")
+    public void exceededCapacityIsHandledBySheddingPolicy() throws InterruptedException {
+        final EventLaneExecutor discarding = lane("discard", 1, SheddingPolicy.DISCARD);
+        final EventLaneExecutor callerRuns = lane("callerruns", 1, SheddingPolicy.CALLER_RUNS);
+        final EventLaneExecutor discardingOldest = lane("discardoldest", 1, SheddingPolicy.DISCARD_OLDEST);
+        lanes.put(EventLane.POLL, discarding);
+        lanes.put(EventLane.ENTITY, callerRuns);
+        lanes.put(EventLane.DEPLOYMENT, discardingOldest);
+
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final AtomicInteger executed = new AtomicInteger();
+        for (final EventLaneExecutor lane : lanes.values()) {
+            // one running and one queued task exhaust the lane
+            lane.execute(() -> await(blocker));
+            lane.execute(executed::incrementAndGet);
+            lane.execute(executed::incrementAndGet);
+            lane.execute(executed::incrementAndGet);
+        }
+
+        assertThat(discarding.getShedTaskCount()).isEqualTo(2);
+        assertThat(discarding.getCallerRunsTaskCount()).isZero();
+        assertThat(callerRuns.getShedTaskCount()).isZero();
+        assertThat(callerRuns.getCallerRunsTaskCount()).isEqualTo(2);
+        assertThat(discardingOldest.getShedTaskCount()).isEqualTo(2);
+        assertThat(executed).hasValue(2);
+
+        blocker.countDown();
+        lanes.values().forEach(EventLaneExecutor::shutdown);
+        for (final EventLaneExecutor lane : lanes.values()) {
+            assertThat(lane.getThreadPool().get().awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+        // one queued task of each lane
+        assertThat(executed).hasValue(5);
+    }
+
+    @Test
+    @Description("Verifies that the events which are not supported by a listener are not dispatched to its lane, so that they cannot shed the supported events.")
+    public void unsupportedEventsAreNotDispatchedToTheLane() throws InterruptedException {
+        final EventLaneExecutor uiLane = lane("ui", 1, SheddingPolicy.DISCARD_OLDEST);
+        lanes.put(EventLane.UI, uiLane);
+        final LaneAwareApplicationEventMulticaster underTest = new LaneAwareApplicationEventMulticaster(lanes);
+        final AtomicInteger received = new AtomicInteger();
+        underTest.addApplicationListener(new TestEventUiListener(event -> received.incrementAndGet()));
+
+        // one running task and the supported event exhaust the lane
+        final CountDownLatch blocker = new CountDownLatch(1);
+        uiLane.execute(() -> await(blocker));
+        underTest.multicastEvent(new TestEvent());
+        for (int i = 0; i < 100; i++) {
+            underTest.multicastEvent(new TargetPollEvent("controller" + i, "tenant", "node"));
+        }
+        blocker.countDown();
+        uiLane.shutdown();
+        assertThat(uiLane.getThreadPool().get().awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(uiLane.getShedTaskCount()).isZero();
+        assertThat(received).hasValue(1);
+    }
+
+    @Test
+    @Description("Verifies that a lane with virtual threads falls back to a thread pool if the JDK does not support them.")
+    public void virtualThreadsAreUsedIfSupported() {
+        final EventLaneExecutor underTest = new EventLaneExecutor("virtual", 1, 1, 1, 1000, SheddingPolicy.DISCARD,
+                true, null);
+        lanes.put(EventLane.POLL, underTest);
+
+        final boolean supported = Integer
+                .parseInt(System.getProperty("java.specification.version").replace("1.", "")) >= 21;
+        assertThat(underTest.isVirtualThreads()).isEqualTo(supported);
+        assertThat(underTest.getThreadPool().isPresent()).isNotEqualTo(supported);
+    }
+
+    private static EventLaneExecutor lane(final String name, final int queueCapacity,
+            final SheddingPolicy sheddingPolicy) {
+        return new EventLaneExecutor(name, 1, 1, queueCapacity, 1000, sheddingPolicy, false, null);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class TestEvent extends ApplicationEvent {
+        private static final long serialVersionUID = 1L;
+
+        private TestEvent() {
+            super("test");
+        }
+    }
+
+    private static final class UiListener implements ApplicationListener<ApplicationEvent>, EventLaneAware {
+        private final ApplicationListener<ApplicationEvent> delegate;
+
+        private UiListener(final ApplicationListener<ApplicationEvent> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onApplicationEvent(final ApplicationEvent event) {
+            delegate.onApplicationEvent(event);
+        }
+
+        @Override
+        public EventLane getEventLane() {
+            return EventLane.UI;
+        }
+    }
+
+    private static final class TestEventUiListener implements SmartApplicationListener, EventLaneAware {
+        private final ApplicationListener<ApplicationEvent> delegate;
+
+        private TestEventUiListener(final ApplicationListener<ApplicationEvent> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean supportsEventType(final Class<? extends ApplicationEvent> eventType) {
+            return TestEvent.class.isAssignableFrom(eventType);
+        }
+
+        @Override
+        public void onApplicationEvent(final ApplicationEvent event) {
+            delegate.onApplicationEvent(event);
+        }
+
+        @Override
+        public EventLane getEventLane() {
+            return EventLane.UI;
+        }
+    }
+}
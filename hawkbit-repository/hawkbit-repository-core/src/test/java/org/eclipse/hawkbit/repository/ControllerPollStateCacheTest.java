@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Controller poll state cache")
+public class ControllerPollStateCacheTest {
+
+    private final TestTenantAware tenantAware = new TestTenantAware();
+
+    @Test
+    @Description("Verifies that a state read before an invalidation of the same tenant is not cached, while invalidations of other tenants do not interfere.")
+    public void invalidationsOfOtherTenantsDoNotDropPuts() {
+        final ControllerPollStateCache underTest = new ControllerPollStateCache(tenantAware, 10, 0);
+
+        final long generation = tenantAware.runAsTenant("tenant", underTest::getGeneration);
+        underTest.evictCaches("other");
+        tenantAware.runAsTenant("tenant", () -> {
+            underTest.put(state(1L, "controller1"), generation);
+            return null;
+        });
+        assertThat(tenantAware.runAsTenant("tenant", () -> underTest.get("controller1"))).isPresent();
+
+        final long staleGeneration = tenantAware.runAsTenant("tenant", underTest::getGeneration);
+        underTest.evictCaches("TENANT");
+        tenantAware.runAsTenant("tenant", () -> {
+            underTest.put(state(2L, "controller2"), staleGeneration);
+            return null;
+        });
+        assertThat(tenantAware.runAsTenant("tenant", () -> underTest.get("controller2"))).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the cached states expire after the time to live.")
+    public void statesExpire() throws InterruptedException {
+        final ControllerPollStateCache underTest = new ControllerPollStateCache(tenantAware, 10, 100);
+
+        tenantAware.runAsTenant("tenant", () -> {
+            underTest.put(state(1L, "controller"), underTest.getGeneration());
+            return null;
+        });
+        assertThat(tenantAware.runAsTenant("tenant", () -> underTest.get("controller"))).isPresent();
+
+        Thread.sleep(300);
+        assertThat(tenantAware.runAsTenant("tenant", () -> underTest.get("controller"))).isEmpty();
+    }
+
+    private static ControllerPollState state(final long targetId, final String controllerId) {
+        final Target target = mock(Target.class);
+        when(target.getId()).thenReturn(targetId);
+        when(target.getControllerId()).thenReturn(controllerId);
+        return new ControllerPollState(target, null);
+    }
+
+    static final class TestTenantAware implements TenantAware {
+        private final ThreadLocal<String> tenant = new ThreadLocal<>();
+
+        @Override
+        public String getCurrentTenant() {
+            return tenant.get();
+        }
+
+        @Override
+        public <T> T runAsTenant(final String tenant, final TenantRunner<T> tenantRunner) {
+            final String previous = this.tenant.get();
+            this.tenant.set(tenant);
+            try {
+                return tenantRunner.run();
+            } finally {
+                this.tenant.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.hawkbit.repository.ControllerPollStateCacheTest.TestTenantAware;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.security.SecurityTokenGenerator;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Target security token cache")
+public class TargetSecurityTokenCacheTest {
+
+    private final TestTenantAware tenantAware = new TestTenantAware();
+
+    @Test
+    @Description("Verifies that a token read before an invalidation of the same tenant is not cached, while invalidations of other tenants do not interfere.")
+    public void invalidationsOfOtherTenantsDoNotDropPuts() {
+        final TargetSecurityTokenCache underTest = new TargetSecurityTokenCache(tenantAware, 10, 0);
+
+        final long generation = tenantAware.runAsTenant("tenant", underTest::getGeneration);
+        underTest.invalidateOnTargetDelete(new TargetDeletedEvent("other", 5L, "controller5", null, "Target", "node"));
+        tenantAware.runAsTenant("tenant", () -> {
+            underTest.put(1L, "controller1", "token", generation);
+            return null;
+        });
+        assertThat(tenantAware.runAsTenant("tenant", () -> underTest.getByControllerId("controller1")))
+                .hasValueSatisfying(token -> assertThat(token.getSecurityTokenHash())
+                        .isEqualTo(SecurityTokenGenerator.hashToken("token")));
+
+        final long staleGeneration = tenantAware.runAsTenant("tenant", underTest::getGeneration);
+        underTest.invalidateOnTargetDelete(new TargetDeletedEvent("TENANT", 5L, "controller5", null, "Target", "node"));
+        tenantAware.runAsTenant("tenant", () -> {
+            underTest.put(2L, "controller2", "token", staleGeneration);
+            return null;
+        });
+        assertThat(tenantAware.runAsTenant("tenant", () -> underTest.getByTargetId(2L))).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the cached tokens expire after the time to live.")
+    public void tokensExpire() throws InterruptedException {
+        final TargetSecurityTokenCache underTest = new TargetSecurityTokenCache(tenantAware, 10, 100);
+
+        tenantAware.runAsTenant("tenant", () -> {
+            underTest.put(1L, "controller", "token", underTest.getGeneration());
+            return null;
+        });
+        assertThat(tenantAware.runAsTenant("tenant", () -> underTest.getByTargetId(1L))).isPresent();
+
+        Thread.sleep(300);
+        assertThat(tenantAware.runAsTenant("tenant", () -> underTest.getByTargetId(1L))).isEmpty();
+    }
+}
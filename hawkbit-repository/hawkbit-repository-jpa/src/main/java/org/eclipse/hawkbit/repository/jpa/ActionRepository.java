@@ -167,6 +167,20 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
     @Query("Select a from JpaAction a join a.distributionSet ds join ds.modules modul where a.target.controllerId = :target and modul.id = :module order by a.id desc")
     List<Action> findActionByTargetAndSoftwareModule(@Param("target") String targetId, @Param("module") Long moduleId);
 
+    /**
+     * Retrieves the distinct pairs of target ID and distribution set ID of the
+     * actions of the given targets and distribution sets.
+     *
+     * @param targetIds
+     *            the technical IDs of the targets
+     * @param distributionSetIds
+     *            the IDs of the distribution sets
+     * @return target ID and distribution set ID per row
+     */
+    @Query("SELECT DISTINCT a.target.id, a.distributionSet.id FROM JpaAction a WHERE a.target.id IN :targetIds AND a.distributionSet.id IN :dsIds")
+    List<Object[]> findTargetIdAndDistributionSetIdByTargetIdInAndDistributionSetIdIn(
+            @Param("targetIds") Collection<Long> targetIds, @Param("dsIds") Collection<Long> distributionSetIds);
+
     /**
      * Retrieves all {@link Action}s which are referring the given
      * {@link DistributionSet} and {@link Target}.
@@ -233,6 +247,24 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
     void switchStatus(@Param("statusToSet") Action.Status statusToSet, @Param("targetsIds") List<Long> targetIds,
             @Param("active") boolean active, @Param("currentStatus") Action.Status currentStatus);
 
+    /**
+     * Counts the actions of rollout groups which
+     * {@link #switchStatus(Action.Status, List, boolean, Action.Status)} would
+     * switch with the same arguments.
+     *
+     * @param targetIds
+     *            the IDs of the targets of the actions which are affected
+     * @param active
+     *            the active flag of the actions which should be affected
+     * @param currentStatus
+     *            the current status of the actions which are affected
+     * @return list of objects with the rollout group ID and the number of
+     *         affected actions of the group
+     */
+    @Query("SELECT a.rolloutGroup.id, COUNT(a.id) FROM JpaAction a WHERE a.target IN :targetsIds AND a.active = :active AND a.status = :currentStatus AND a.distributionSet.requiredMigrationStep = false GROUP BY a.rolloutGroup.id")
+    List<Object[]> countByRolloutGroupForSwitchStatus(@Param("targetsIds") List<Long> targetIds,
+            @Param("active") boolean active, @Param("currentStatus") Action.Status currentStatus);
+
     /**
      *
      * Retrieves all IDs for {@link Action}s referring to the given target IDs,
@@ -342,6 +374,31 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
      */
     Long countByTargetId(Long targetId);
 
+    /**
+     * Counts the {@link Action}s of each of the given targets.
+     *
+     * @param targetIds
+     *            the targets to count the {@link Action}s
+     * @return pairs of target ID and count of actions referring to the target,
+     *         targets without actions are omitted
+     */
+    @Query("SELECT a.target.id, COUNT(a.id) FROM JpaAction a WHERE a.target.id IN :targetIds GROUP BY a.target.id")
+    List<Object[]> countByTargetIdInGroupByTargetId(@Param("targetIds") Collection<Long> targetIds);
+
+    /**
+     * Retrieves the IDs of the {@link Action}s of a {@link RolloutGroup} for
+     * the given targets.
+     *
+     * @param rolloutGroupId
+     *            the rollout group the actions belong to
+     * @param targetIds
+     *            the targets the actions belong to
+     * @return pairs of action ID and target ID
+     */
+    @Query("SELECT a.id, a.target.id FROM JpaAction a WHERE a.rolloutGroup.id = :rolloutGroupId AND a.target.id IN :targetIds")
+    List<Object[]> findIdsByRolloutGroupIdAndTargetIdIn(@Param("rolloutGroupId") Long rolloutGroupId,
+            @Param("targetIds") Collection<Long> targetIds);
+
     /**
      * Counts all {@link Action}s referring to the given DistributionSet.
      *
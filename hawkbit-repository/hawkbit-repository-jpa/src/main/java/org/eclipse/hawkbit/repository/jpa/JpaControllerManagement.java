@@ -15,24 +15,25 @@ import static org.eclipse.hawkbit.repository.model.Target.CONTROLLER_ATTRIBUTE_K
 import static org.eclipse.hawkbit.repository.model.Target.CONTROLLER_ATTRIBUTE_VALUE_SIZE;
 
 import java.net.URI;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
-import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
@@ -40,11 +41,14 @@ import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
 import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.ControllerPollStateCache;
 import org.eclipse.hawkbit.repository.EntityFactory;
 import org.eclipse.hawkbit.repository.MaintenanceScheduleHelper;
 import org.eclipse.hawkbit.repository.QuotaManagement;
 import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache.TargetToken;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.UpdateMode;
 import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
@@ -71,12 +75,14 @@ import org.eclipse.hawkbit.repository.jpa.utils.QuotaHelper;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.eclipse.hawkbit.security.SecurityTokenGenerator;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
@@ -91,17 +97,20 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 /**
@@ -113,7 +122,11 @@ import com.google.common.collect.Sets;
 public class JpaControllerManagement extends JpaActionManagement implements ControllerManagement {
     private static final Logger LOG = LoggerFactory.getLogger(JpaControllerManagement.class);
 
-    private final BlockingDeque<TargetPoll> queue;
+    private static final String UPDATE_LAST_TARGET_QUERY = "UPDATE sp_target SET last_target_query = ? WHERE controller_id = ? AND tenant = ?";
+
+    private static final int POLL_BATCH_SIZE = 500;
+
+    private final TargetPollBuffer pollBuffer;
 
     @Autowired
     private EntityManager entityManager;
@@ -154,18 +167,24 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     @Autowired
     private TenantAware tenantAware;
 
+    @Autowired
+    private ControllerPollStateCache pollStateCache;
+
+    @Autowired
+    private TargetSecurityTokenCache securityTokenCache;
+
+    private final RetryTemplate retryTemplate = createRetryTemplate();
+
     JpaControllerManagement(final ScheduledExecutorService executorService,
-            final RepositoryProperties repositoryProperties, final ActionRepository actionRepository) {
+            final RepositoryProperties repositoryProperties, final ActionRepository actionRepository,
+            final TargetPollBuffer pollBuffer) {
         super(actionRepository, repositoryProperties);
 
-        if (!repositoryProperties.isEagerPollPersistence()) {
+        this.pollBuffer = pollBuffer;
+        if (pollBuffer != null) {
             executorService.scheduleWithFixedDelay(this::flushUpdateQueue,
                     repositoryProperties.getPollPersistenceFlushTime(),
                     repositoryProperties.getPollPersistenceFlushTime(), TimeUnit.MILLISECONDS);
-
-            queue = new LinkedBlockingDeque<>(repositoryProperties.getPollPersistenceQueueSize());
-        } else {
-            queue = null;
         }
     }
 
@@ -384,6 +403,49 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     @Retryable(include = ConcurrencyFailureException.class, exclude = EntityAlreadyExistsException.class, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public Target findOrRegisterTargetIfItDoesNotExist(final String controllerId, final URI address,
             final String name) {
+        return findOrRegisterTarget(controllerId, address, name);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ControllerPollState registerPoll(final String controllerId, final URI address) {
+        if (pollBuffer == null) {
+            return registerPollInNewTransaction(controllerId, address);
+        }
+
+        final Optional<ControllerPollState> cached = pollStateCache.get(controllerId)
+                .filter(state -> !isAddressChanged(state.getAddress(), address)
+                        && !isStatusUnknown(state.getUpdateStatus()));
+        if (cached.isPresent()) {
+            // the tenant is stored in upper case, see AbstractJpaTenantAwareBaseEntity
+            if (!pollBuffer.add(tenantAware.getCurrentTenant().toUpperCase(), controllerId,
+                    System.currentTimeMillis())) {
+                LOG.debug("Poll of target {} dropped as the poll buffer is full.", controllerId);
+            }
+            return cached.get();
+        }
+
+        final long generation = pollStateCache.getGeneration();
+        final ControllerPollState state = registerPollInNewTransaction(controllerId, address);
+        pollStateCache.put(state, generation);
+        return state;
+    }
+
+    private ControllerPollState registerPollInNewTransaction(final String controllerId, final URI address) {
+        return retryTemplate.execute(retryContext -> DeploymentHelper.runInNewTransaction(txManager, "registerPoll",
+                Isolation.READ_COMMITTED.value(), status -> {
+                    final Target target = findOrRegisterTarget(controllerId, address, null);
+                    if (target.getId() == null) {
+                        // ID of a plug-and-play registered target is needed
+                        // for the poll state
+                        entityManager.flush();
+                    }
+                    return new ControllerPollState(target,
+                            findActiveActionWithHighestWeight(controllerId).orElse(null));
+                }));
+    }
+
+    private Target findOrRegisterTarget(final String controllerId, final URI address, final String name) {
         final Specification<JpaTarget> spec = (targetRoot, query, cb) -> cb
                 .equal(targetRoot.get(JpaTarget_.controllerId), controllerId);
 
@@ -411,87 +473,95 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     private void flushUpdateQueue() {
         LOG.debug("Run flushUpdateQueue.");
 
-        final int size = queue.size();
-        if (size <= 0) {
+        if (pollBuffer.getSize() <= 0) {
             return;
         }
 
-        LOG.debug("{} events in flushUpdateQueue.", size);
-
-        final Set<TargetPoll> events = Sets.newHashSetWithExpectedSize(queue.size());
-        final int drained = queue.drainTo(events);
+        final long start = System.currentTimeMillis();
+        final Map<String, Map<String, Long>> polls = pollBuffer.drain();
+        final int drained = polls.values().stream().mapToInt(Map::size).sum();
 
         if (drained <= 0) {
             return;
         }
 
-        try {
-            events.stream().collect(Collectors.groupingBy(TargetPoll::getTenant)).forEach((tenant, polls) -> {
-                final TransactionCallback<Void> createTransaction = status -> updateLastTargetQueries(tenant, polls);
+        LOG.debug("{} events in flushUpdateQueue.", drained);
+
+        polls.forEach((tenant, tenantPolls) -> {
+            final TransactionCallback<Void> createTransaction = status -> updateLastTargetQueries(tenant,
+                    tenantPolls);
+            try {
                 tenantAware.runAsTenant(tenant,
                         () -> DeploymentHelper.runInNewTransaction(txManager, "flushUpdateQueue", createTransaction));
-            });
-        } catch (final RuntimeException ex) {
-            LOG.error("Failed to persist UpdateQueue content.", ex);
-            return;
-        }
+            } catch (final RuntimeException ex) {
+                LOG.error("Failed to persist UpdateQueue content of tenant {}.", tenant, ex);
+            }
+        });
 
-        LOG.debug("{} events persisted.", drained);
+        final long duration = System.currentTimeMillis() - start;
+        pollBuffer.recordFlush(drained, duration);
+
+        LOG.debug("{} events persisted in {} ms.", drained, duration);
     }
 
-    private Void updateLastTargetQueries(final String tenant, final List<TargetPoll> polls) {
+    private Void updateLastTargetQueries(final String tenant, final Map<String, Long> polls) {
         LOG.debug("Persist {} targetqueries.", polls.size());
 
-        final List<List<String>> pollChunks = Lists.partition(
-                polls.stream().map(TargetPoll::getControllerId).collect(Collectors.toList()),
-                Constants.MAX_ENTRIES_IN_STATEMENT);
-
-        pollChunks.forEach(chunk -> {
-            setLastTargetQuery(tenant, System.currentTimeMillis(), chunk);
-            chunk.forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
-                    .publishEvent(new TargetPollEvent(controllerId, tenant, eventPublisherHolder.getApplicationId()))));
-        });
+        setLastTargetQueries(tenant, polls);
+        polls.keySet().forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                .publishEvent(new TargetPollEvent(controllerId, tenant, eventPublisherHolder.getApplicationId()))));
 
         return null;
     }
 
     /**
-     * Sets {@link Target#getLastTargetQuery()} by native SQL in order to avoid
-     * raising opt lock revision as this update is not mission critical and in fact
-     * only written by {@link ControllerManagement}, i.e. the target itself.
+     * Sets {@link Target#getLastTargetQuery()} by JDBC batch update in order
+     * to avoid raising opt lock revision as this update is not mission
+     * critical and in fact only written by {@link ControllerManagement}, i.e.
+     * the target itself.
      */
-    private void setLastTargetQuery(final String tenant, final long currentTimeMillis, final List<String> chunk) {
-        final Map<String, String> paramMapping = Maps.newHashMapWithExpectedSize(chunk.size());
-
-        for (int i = 0; i < chunk.size(); i++) {
-            paramMapping.put("cid" + i, chunk.get(i));
+    private void setLastTargetQueries(final String tenant, final Map<String, Long> polls) {
+        final Connection connection = entityManager.unwrap(Connection.class);
+
+        int updated = 0;
+        try (final PreparedStatement statement = connection.prepareStatement(UPDATE_LAST_TARGET_QUERY)) {
+            int batched = 0;
+            for (final Map.Entry<String, Long> poll : polls.entrySet()) {
+                statement.setLong(1, poll.getValue());
+                statement.setString(2, poll.getKey());
+                statement.setString(3, tenant);
+                statement.addBatch();
+
+                if (++batched % POLL_BATCH_SIZE == 0) {
+                    updated += countUpdated(statement.executeBatch());
+                }
+            }
+            if (batched % POLL_BATCH_SIZE != 0) {
+                updated += countUpdated(statement.executeBatch());
+            }
+        } catch (final SQLException e) {
+            throw new SQLStateSQLExceptionTranslator().translate("flushUpdateQueue", UPDATE_LAST_TARGET_QUERY, e);
         }
 
-        final Query updateQuery = entityManager.createNativeQuery(
-                "UPDATE sp_target SET last_target_query = #last_target_query WHERE controller_id IN ("
-                        + formatQueryInStatementParams(paramMapping.keySet()) + ") AND tenant = #tenant");
-
-        paramMapping.forEach(updateQuery::setParameter);
-        updateQuery.setParameter("last_target_query", currentTimeMillis);
-        updateQuery.setParameter("tenant", tenant);
-
-        final int updated = updateQuery.executeUpdate();
-        if (updated < chunk.size()) {
-            LOG.error("Targets polls could not be applied completely ({} instead of {}).", updated, chunk.size());
+        if (updated < polls.size()) {
+            LOG.error("Targets polls could not be applied completely ({} instead of {}).", updated, polls.size());
         }
     }
 
-    private static String formatQueryInStatementParams(final Collection<String> paramNames) {
-        return "#" + String.join(",#", paramNames);
+    private static int countUpdated(final int[] results) {
+        // drivers may report success without the exact count in batch mode
+        return Arrays.stream(results).map(result -> result == Statement.SUCCESS_NO_INFO ? 1 : result).sum();
     }
 
     /**
      * Stores target directly to DB in case either {@link Target#getAddress()} or
-     * {@link Target#getUpdateStatus()} or {@link Target#getName()} changes or the buffer queue is full.
+     * {@link Target#getUpdateStatus()} or {@link Target#getName()} changes.
+     * Otherwise the poll is buffered for the next flush, or dropped if the
+     * buffer is full.
      *
      */
     private Target updateTarget(final JpaTarget toUpdate, final URI address, final String name) {
-        if (isStoreEager(toUpdate, address, name) || !queue.offer(new TargetPoll(toUpdate))) {
+        if (isStoreEager(toUpdate, address, name)) {
             if (isAddressChanged(toUpdate.getAddress(), address)) {
                 toUpdate.setAddress(address.toString());
             }
@@ -506,8 +576,12 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                     .publishEvent(new TargetPollEvent(toUpdate, eventPublisherHolder.getApplicationId())));
             return targetRepository.save(toUpdate);
         }
+        if (!pollBuffer.add(toUpdate.getTenant(), toUpdate.getControllerId(), System.currentTimeMillis())) {
+            LOG.debug("Poll of target {} dropped as the poll buffer is full.", toUpdate.getControllerId());
+        }
         return toUpdate;
     }
+
     private boolean isStoreEager(final JpaTarget toUpdate, final URI address, final String name) {
         return repositoryProperties.isEagerPollPersistence() || isAddressChanged(toUpdate.getAddress(), address)
                 || isNameChanged(toUpdate.getName(), name) || isStatusUnknown(toUpdate.getUpdateStatus());
@@ -892,6 +966,37 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         return targetRepository.findById(targetId).map(t -> (Target) t);
     }
 
+    @Override
+    public Optional<String> getSecurityTokenHashByControllerId(final String controllerId) {
+        final Optional<TargetToken> cached = securityTokenCache.getByControllerId(controllerId);
+        if (cached.isPresent()) {
+            return cached.map(TargetToken::getSecurityTokenHash);
+        }
+
+        final long generation = securityTokenCache.getGeneration();
+        return cacheSecurityToken(targetRepository.findSecurityTokenByControllerId(controllerId), generation)
+                .map(row -> SecurityTokenGenerator.hashToken((String) row[2]));
+    }
+
+    @Override
+    public Optional<String> getControllerIdByTargetId(final long targetId) {
+        final Optional<TargetToken> cached = securityTokenCache.getByTargetId(targetId);
+        if (cached.isPresent()) {
+            return cached.map(TargetToken::getControllerId);
+        }
+
+        final long generation = securityTokenCache.getGeneration();
+        return cacheSecurityToken(targetRepository.findSecurityTokenById(targetId), generation)
+                .map(row -> (String) row[1]);
+    }
+
+    private Optional<Object[]> cacheSecurityToken(final List<Object[]> rows, final long readGeneration) {
+        final Optional<Object[]> row = rows.stream().findFirst();
+        row.ifPresent(
+                value -> securityTokenCache.put((Long) value[0], (String) value[1], (String) value[2], readGeneration));
+        return row;
+    }
+
     @Override
     public Page<ActionStatus> findActionStatusByAction(final Pageable pageReq, final long actionId) {
         if (!actionRepository.existsById(actionId)) {
@@ -940,64 +1045,6 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                         Collectors.mapping(o -> (SoftwareModuleMetadata) o[1], Collectors.toList())));
     }
 
-    private static class TargetPoll {
-
-        private final String tenant;
-        private final String controllerId;
-
-        TargetPoll(final Target target) {
-            this.tenant = target.getTenant();
-            this.controllerId = target.getControllerId();
-        }
-
-        public String getTenant() {
-            return tenant;
-        }
-
-        public String getControllerId() {
-            return controllerId;
-        }
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + (controllerId == null ? 0 : controllerId.hashCode());
-            result = prime * result + (tenant == null ? 0 : tenant.hashCode());
-            return result;
-        }
-
-        @Override
-        public boolean equals(final Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            final TargetPoll other = (TargetPoll) obj;
-            if (controllerId == null) {
-                if (other.controllerId != null) {
-                    return false;
-                }
-            } else if (!controllerId.equals(other.controllerId)) {
-                return false;
-            }
-            if (tenant == null) {
-                if (other.tenant != null) {
-                    return false;
-                }
-            } else if (!tenant.equals(other.tenant)) {
-                return false;
-            }
-            return true;
-        }
-
-    }
-
     /**
      * Cancels given {@link Action} for this {@link Target}. The method will
      * immediately add a {@link Status#CANCELED} status to the action. However,
@@ -1060,6 +1107,20 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                 new CancelTargetAssignmentEvent(target, actionId, eventPublisherHolder.getApplicationId())));
     }
 
+    private static RetryTemplate createRetryTemplate() {
+        final RetryTemplate template = new RetryTemplate();
+
+        final FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
+        backOffPolicy.setBackOffPeriod(Constants.TX_RT_DELAY);
+        template.setBackOffPolicy(backOffPolicy);
+
+        final SimpleRetryPolicy retryPolicy = new SimpleRetryPolicy(Constants.TX_RT_MAX,
+                Collections.singletonMap(ConcurrencyFailureException.class, true));
+        template.setRetryPolicy(retryPolicy);
+
+        return template;
+    }
+
     // for testing
     void setTargetRepository(final TargetRepository targetRepositorySpy) {
         this.targetRepository = targetRepositorySpy;
@@ -35,6 +35,8 @@ import javax.persistence.criteria.Root;
 
 import org.eclipse.hawkbit.repository.ActionFields;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.KeysetSlice;
 import org.eclipse.hawkbit.repository.QuotaManagement;
 import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
@@ -140,6 +142,8 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
     private final TenantAware tenantAware;
     private final Database database;
     private final RetryTemplate retryTemplate;
+    private final NoCountPagingRepository criteriaNoCountDao;
+    private final RolloutGroupStatusCounter rolloutGroupStatusCounter;
 
     protected JpaDeploymentManagement(final EntityManager entityManager, final ActionRepository actionRepository,
             final DistributionSetRepository distributionSetRepository, final TargetRepository targetRepository,
@@ -148,7 +152,7 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
             final VirtualPropertyReplacer virtualPropertyReplacer, final PlatformTransactionManager txManager,
             final TenantConfigurationManagement tenantConfigurationManagement, final QuotaManagement quotaManagement,
             final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware, final Database database,
-            final RepositoryProperties repositoryProperties) {
+            final RepositoryProperties repositoryProperties, final NoCountPagingRepository criteriaNoCountDao) {
         super(actionRepository, repositoryProperties);
         this.entityManager = entityManager;
         this.distributionSetRepository = distributionSetRepository;
@@ -167,6 +171,8 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         this.systemSecurityContext = systemSecurityContext;
         this.tenantAware = tenantAware;
         this.database = database;
+        this.criteriaNoCountDao = criteriaNoCountDao;
+        rolloutGroupStatusCounter = new RolloutGroupStatusCounter(entityManager);
         retryTemplate = createRetryTemplate();
     }
 
@@ -405,7 +411,12 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public void cancelInactiveScheduledActionsForTargets(final List<Long> targetIds) {
         if (!isMultiAssignmentsEnabled()) {
+            // the bulk update bypasses the counters of the rollout groups
+            final List<Object[]> canceledByGroup = actionRepository.countByRolloutGroupForSwitchStatus(targetIds,
+                    false, Status.SCHEDULED);
             actionRepository.switchStatus(Status.CANCELED, targetIds, false, Status.SCHEDULED);
+            canceledByGroup.forEach(row -> rolloutGroupStatusCounter.move((Long) row[0], Status.SCHEDULED,
+                    Status.CANCELED, (Long) row[1]));
         } else {
             LOG.debug("The Multi Assignments feature is enabled: No need to cancel inactive scheduled actions.");
         }
@@ -646,6 +657,27 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         return convertAcPage(actions, pageable);
     }
 
+    @Override
+    public KeysetSlice<Action> findActionsByTargetAndKeyset(final String controllerId,
+            final KeysetPageRequest request) {
+        throwExceptionIfTargetDoesNotExist(controllerId);
+
+        final KeysetSlice<JpaAction> actions = criteriaNoCountDao.findAll(
+                (root, query, cb) -> cb.equal(root.get(JpaAction_.target).get(JpaTarget_.controllerId), controllerId),
+                request, JpaAction.class);
+        return new KeysetSlice<>(actions.getContent(), actions.getNextToken().orElse(null));
+    }
+
+    @Override
+    public KeysetSlice<Action> findActionsByTargetAndKeyset(final String rsqlParam, final String controllerId,
+            final KeysetPageRequest request) {
+        throwExceptionIfTargetDoesNotExist(controllerId);
+
+        final KeysetSlice<JpaAction> actions = criteriaNoCountDao
+                .findAll(createSpecificationFor(controllerId, rsqlParam), request, JpaAction.class);
+        return new KeysetSlice<>(actions.getContent(), actions.getNextToken().orElse(null));
+    }
+
     private Specification<JpaAction> createSpecificationFor(final String controllerId, final String rsqlParam) {
         final Specification<JpaAction> spec = RSQLUtility.parse(rsqlParam, ActionFields.class, virtualPropertyReplacer,
                 database);
@@ -728,6 +760,19 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         return actionStatusRepository.findByActionId(pageReq, actionId);
     }
 
+    @Override
+    public KeysetSlice<ActionStatus> findActionStatusByActionAndKeyset(final KeysetPageRequest request,
+            final long actionId) {
+        if (!actionRepository.existsById(actionId)) {
+            throw new EntityNotFoundException(Action.class, actionId);
+        }
+
+        final KeysetSlice<JpaActionStatus> statusList = criteriaNoCountDao.findAll(
+                (root, query, cb) -> cb.equal(root.get(JpaActionStatus_.action).get(JpaAction_.id), actionId),
+                request, JpaActionStatus.class);
+        return new KeysetSlice<>(statusList.getContent(), statusList.getNextToken().orElse(null));
+    }
+
     @Override
     public Page<String> findMessagesByActionStatusId(final Pageable pageable, final long actionStatusId) {
         final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
@@ -776,6 +821,21 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         return actionRepository.findByDistributionSetId(pageable, dsId);
     }
 
+    @Override
+    public Map<Long, Set<Long>> findDistributionSetIdsInActionHistory(final Collection<Long> targetIds,
+            final Collection<Long> distributionSetIds) {
+        if (targetIds.isEmpty() || distributionSetIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final List<Long> dsIds = new ArrayList<>(distributionSetIds);
+        return Lists.partition(new ArrayList<>(targetIds), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .flatMap(ids -> actionRepository
+                        .findTargetIdAndDistributionSetIdByTargetIdInAndDistributionSetIdIn(ids, dsIds).stream())
+                .collect(Collectors.groupingBy(row -> (Long) row[0],
+                        Collectors.mapping(row -> (Long) row[1], Collectors.toSet())));
+    }
+
     @Override
     public Slice<Action> findActionsAll(final Pageable pageable) {
         return convertAcPage(actionRepository.findAll(pageable), pageable);
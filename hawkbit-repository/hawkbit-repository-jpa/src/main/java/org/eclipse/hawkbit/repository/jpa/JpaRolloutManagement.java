@@ -12,6 +12,8 @@ import static org.eclipse.hawkbit.repository.jpa.builder.JpaRolloutGroupCreate.a
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,6 +29,7 @@ import org.eclipse.hawkbit.repository.AbstractRolloutManagement;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.QuotaManagement;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.RolloutApprovalStrategy;
 import org.eclipse.hawkbit.repository.RolloutFields;
 import org.eclipse.hawkbit.repository.RolloutGroupManagement;
@@ -40,6 +43,7 @@ import org.eclipse.hawkbit.repository.builder.RolloutCreate;
 import org.eclipse.hawkbit.repository.builder.RolloutGroupCreate;
 import org.eclipse.hawkbit.repository.builder.RolloutUpdate;
 import org.eclipse.hawkbit.repository.event.remote.RolloutGroupDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
@@ -50,9 +54,10 @@ import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecuto
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
-import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutHandlerStatistics;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupActionEvaluator;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupConditionEvaluator;
+import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupStatusCounts;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.RolloutSpecification;
 import org.eclipse.hawkbit.repository.jpa.specifications.SpecificationsBuilder;
@@ -84,6 +89,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -129,6 +135,11 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
     private static final List<RolloutStatus> ACTIVE_ROLLOUTS = Arrays.asList(RolloutStatus.CREATING,
             RolloutStatus.DELETING, RolloutStatus.STARTING, RolloutStatus.READY, RolloutStatus.RUNNING);
 
+    // The rollouts of a tenant may select the same targets, so the groups are
+    // filled and the actions are created by one rollout of a tenant at a time
+    private static final List<RolloutStatus> TENANT_LOCKED_ROLLOUTS = Arrays.asList(RolloutStatus.CREATING,
+            RolloutStatus.STARTING);
+
     // In case of DOWNLOAD_ONLY, actions can be finished with DOWNLOADED status.
     private static final List<Status> DOWNLOAD_ONLY_ACTION_TERMINATION_STATUSES = Arrays.asList(Status.ERROR,
             Status.FINISHED, Status.CANCELED, Status.DOWNLOADED);
@@ -159,6 +170,18 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
     @Autowired
     private RolloutStatusCache rolloutStatusCache;
 
+    @Autowired
+    private AuditorAware<String> auditorProvider;
+
+    @Autowired
+    private RolloutHandlerStatistics rolloutHandlerStatistics;
+
+    @Autowired
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
     private final EventPublisherHolder eventPublisherHolder;
 
     private final Database database;
@@ -402,6 +425,7 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
 
         try {
 
+            final long start = System.currentTimeMillis();
             long targetsLeftToAdd = expectedInGroup - currentlyInGroup;
 
             do {
@@ -409,8 +433,13 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
                 // In case a TransactionException is thrown this loop aborts
                 targetsLeftToAdd -= assignTargetsToGroupInNewTransaction(rollout, group, groupTargetFilter,
                         Math.min(TRANSACTION_TARGETS, targetsLeftToAdd));
+                LOGGER.debug("Assigned {} of {} targets to rollout group {}", expectedInGroup - targetsLeftToAdd,
+                        expectedInGroup, group.getId());
             } while (targetsLeftToAdd > 0);
 
+            LOGGER.info("Assigned {} targets to rollout group {} in {} ms", expectedInGroup - targetsLeftToAdd,
+                    group.getId(), System.currentTimeMillis() - start);
+
             group.setStatus(RolloutGroupStatus.READY);
             group.setTotalTargets(
                     DeploymentHelper.runInNewTransaction(txManager, "countRolloutTargetGroupByRolloutGroup",
@@ -440,7 +469,8 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
     }
 
     private void createAssignmentOfTargetsToGroup(final Page<Target> targets, final RolloutGroup group) {
-        targets.forEach(target -> rolloutTargetGroupRepository.save(new RolloutTargetGroup(group, target)));
+        new RolloutBulkWriter(entityManager).insertRolloutTargetGroups(group.getId(),
+                targets.map(Target::getId).getContent());
     }
 
     @Override
@@ -554,12 +584,18 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
         if (actionsLeft <= 0) {
             group.setStatus(RolloutGroupStatus.SCHEDULED);
             rolloutGroupRepository.save(group);
+            // the counters of the group follow the status changes of its
+            // actions from now on, they have to be committed before the
+            // actions are started in transactions of their own
+            DeploymentHelper.runInNewTransaction(txManager, "reconcileRolloutGroupStatus",
+                    status -> rolloutGroupStatusCounter.reconcile(Collections.singletonList(group.getId())));
             return true;
         }
         return false;
     }
 
     private long createActionsForRolloutGroup(final Rollout rollout, final RolloutGroup group) {
+        final long start = System.currentTimeMillis();
         long totalActionsCreated = 0;
         try {
             long actionsCreated;
@@ -567,8 +603,12 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
                 actionsCreated = createActionsForTargetsInNewTransaction(rollout.getId(), group.getId(),
                         TRANSACTION_TARGETS);
                 totalActionsCreated += actionsCreated;
+                LOGGER.debug("Created {} actions for rollout group {}", totalActionsCreated, group.getId());
             } while (actionsCreated > 0);
 
+            LOGGER.info("Created {} actions for rollout group {} in {} ms", totalActionsCreated, group.getId(),
+                    System.currentTimeMillis() - start);
+
         } catch (final TransactionException e) {
             LOGGER.warn("Transaction assigning Targets to RolloutGroup failed", e);
             return 0;
@@ -584,13 +624,9 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
             final RolloutGroup group = rolloutGroupRepository.findById(groupId)
                     .orElseThrow(() -> new EntityNotFoundException(RolloutGroup.class, groupId));
 
-            final DistributionSet distributionSet = rollout.getDistributionSet();
-            final ActionType actionType = rollout.getActionType();
-            final long forceTime = rollout.getForcedTime();
-
             final Page<Target> targets = targetManagement.findByInRolloutGroupWithoutAction(pageRequest, groupId);
             if (targets.getTotalElements() > 0) {
-                createScheduledAction(targets.getContent(), distributionSet, actionType, forceTime, rollout, group);
+                createScheduledAction(targets.getContent(), rollout, group);
             }
 
             return Long.valueOf(targets.getNumberOfElements());
@@ -602,8 +638,7 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
      * scheduled actions the scheduled actions gets canceled. A scheduled action
      * is created in-active.
      */
-    private void createScheduledAction(final Collection<Target> targets, final DistributionSet distributionSet,
-            final ActionType actionType, final Long forcedTime, final Rollout rollout,
+    private void createScheduledAction(final Collection<Target> targets, final Rollout rollout,
             final RolloutGroup rolloutGroup) {
         // cancel all current scheduled actions for this target. E.g. an action
         // is already scheduled and a next action is created then cancel the
@@ -611,22 +646,22 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
         // created.
         final List<Long> targetIds = targets.stream().map(Target::getId).collect(Collectors.toList());
         deploymentManagement.cancelInactiveScheduledActionsForTargets(targetIds);
-        targets.forEach(target -> {
-
-            assertActionsPerTargetQuota(target, 1);
-
-            final JpaAction action = new JpaAction();
-            action.setTarget(target);
-            action.setActive(false);
-            action.setDistributionSet(distributionSet);
-            action.setActionType(actionType);
-            action.setForcedTime(forcedTime);
-            action.setStatus(Status.SCHEDULED);
-            action.setRollout(rollout);
-            action.setRolloutGroup(rolloutGroup);
-            rollout.getWeight().ifPresent(action::setWeight);
-            actionRepository.save(action);
-        });
+
+        assertActionsPerTargetQuota(targetIds, 1);
+
+        final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+        new RolloutBulkWriter(entityManager).insertScheduledActions(rollout, rolloutGroup.getId(), targetIds,
+                tenant, auditorProvider.getCurrentAuditor().orElse(null));
+
+        // the bulk insert bypasses the entity lifecycle, i.e. the events
+        // have to be published here
+        final List<Object[]> actionIds = Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .flatMap(ids -> actionRepository.findIdsByRolloutGroupIdAndTargetIdIn(rolloutGroup.getId(), ids)
+                        .stream())
+                .collect(Collectors.toList());
+        afterCommit.afterCommit(() -> actionIds.forEach(ids -> eventPublisherHolder.getEventPublisher()
+                .publishEvent(new ActionCreatedEvent(tenant, (Long) ids[0], JpaAction.class, (Long) ids[1],
+                        rollout.getId(), rolloutGroup.getId(), eventPublisherHolder.getApplicationId()))));
     }
 
     @Override
@@ -687,11 +722,27 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
     }
 
     private void executeRolloutGroups(final JpaRollout rollout, final List<JpaRolloutGroup> rolloutGroups) {
+        // the conditions read the persisted action counters of the groups,
+        // which are recounted from the actions once per interval
+        final Map<Long, RolloutGroupStatusCounts> statusCounts = new HashMap<>(rolloutGroupStatusCounter
+                .find(rolloutGroups.stream().map(JpaRolloutGroup::getId).collect(Collectors.toList())));
+        final long reconcileBefore = System.currentTimeMillis()
+                - repositoryProperties.getRolloutGroupStatusReconcileInterval();
+        final List<JpaRolloutGroup> toReconcile = rolloutGroups.stream()
+                .filter(group -> !statusCounts.containsKey(group.getId())
+                        || statusCounts.get(group.getId()).getReconciledAt() < reconcileBefore)
+                .collect(Collectors.toList());
+        reconcile(toReconcile, statusCounts);
+        rolloutStatusCache.putRolloutGroupStatus(statusCounts.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toItems())));
+
         for (final JpaRolloutGroup rolloutGroup : rolloutGroups) {
 
-            final long targetCount = countTargetsFrom(rolloutGroup);
-            if (rolloutGroup.getTotalTargets() != targetCount) {
-                updateTotalTargetCount(rolloutGroup, targetCount);
+            // the error action and the completion of a group are confirmed
+            // with recounted counters
+            if (!toReconcile.contains(rolloutGroup) && (checkErrorState(rollout, rolloutGroup)
+                    || isRolloutGroupComplete(rollout, statusCounts.get(rolloutGroup.getId())))) {
+                reconcile(Collections.singletonList(rolloutGroup), statusCounts);
             }
 
             // error state check, do we need to stop the whole
@@ -705,7 +756,8 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
                 // start the next group?
                 final RolloutGroupSuccessCondition finishedCondition = rolloutGroup.getSuccessCondition();
                 checkFinishCondition(rollout, rolloutGroup, finishedCondition);
-                if (isRolloutGroupComplete(rollout, rolloutGroup)) {
+                if (isRolloutGroupComplete(rollout, statusCounts.getOrDefault(rolloutGroup.getId(),
+                        RolloutGroupStatusCounts.empty()))) {
                     rolloutGroup.setStatus(RolloutGroupStatus.FINISHED);
                     rolloutGroupRepository.save(rolloutGroup);
                 }
@@ -723,8 +775,32 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
         rolloutGroupRepository.save(rolloutGroup);
     }
 
-    private long countTargetsFrom(final JpaRolloutGroup rolloutGroup) {
-        return rolloutGroupManagement.countTargetsOfRolloutsGroup(rolloutGroup.getId());
+    private void reconcile(final List<JpaRolloutGroup> rolloutGroups,
+            final Map<Long, RolloutGroupStatusCounts> statusCounts) {
+        if (rolloutGroups.isEmpty()) {
+            return;
+        }
+
+        final List<Long> rolloutGroupIds = rolloutGroups.stream().map(JpaRolloutGroup::getId)
+                .collect(Collectors.toList());
+        final Map<Long, RolloutGroupStatusCounts> reconciled = rolloutGroupStatusCounter.reconcile(rolloutGroupIds);
+        statusCounts.putAll(reconciled);
+        rolloutStatusCache.putRolloutGroupStatus(reconciled.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toItems())));
+
+        // targets of the groups might have been deleted in the meantime
+        final Map<Long, Long> targetCounts = countTargetsFrom(rolloutGroupIds);
+        rolloutGroups.forEach(rolloutGroup -> {
+            final long targetCount = targetCounts.getOrDefault(rolloutGroup.getId(), 0L);
+            if (rolloutGroup.getTotalTargets() != targetCount) {
+                updateTotalTargetCount(rolloutGroup, targetCount);
+            }
+        });
+    }
+
+    private Map<Long, Long> countTargetsFrom(final List<Long> rolloutGroupIds) {
+        return rolloutTargetGroupRepository.countByRolloutGroupIds(rolloutGroupIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
     }
 
     private void executeLatestRolloutGroup(final JpaRollout rollout) {
@@ -754,12 +830,11 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
         return groupsActiveLeft == 0;
     }
 
-    private boolean isRolloutGroupComplete(final JpaRollout rollout, final JpaRolloutGroup rolloutGroup) {
-        final Long actionsLeftForRollout = ActionType.DOWNLOAD_ONLY == rollout.getActionType()
-                ? actionRepository.countByRolloutAndRolloutGroupAndStatusNotIn(rollout, rolloutGroup,
-                        DOWNLOAD_ONLY_ACTION_TERMINATION_STATUSES)
-                : actionRepository.countByRolloutAndRolloutGroupAndStatusNotIn(rollout, rolloutGroup,
-                        DEFAULT_ACTION_TERMINATION_STATUSES);
+    private static boolean isRolloutGroupComplete(final JpaRollout rollout,
+            final RolloutGroupStatusCounts statusCounts) {
+        final long actionsLeftForRollout = ActionType.DOWNLOAD_ONLY == rollout.getActionType()
+                ? statusCounts.countNotIn(DOWNLOAD_ONLY_ACTION_TERMINATION_STATUSES)
+                : statusCounts.countNotIn(DEFAULT_ACTION_TERMINATION_STATUSES);
         return actionsLeftForRollout == 0;
     }
 
@@ -812,32 +887,67 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
     @Transactional(propagation = Propagation.NEVER)
     public void handleRollouts() {
         final List<Long> rollouts = rolloutRepository.findByStatusIn(ACTIVE_ROLLOUTS);
+        final String tenant = tenantAware.getCurrentTenant();
+        rolloutHandlerStatistics.retainRollouts(tenant, rollouts);
 
         if (rollouts.isEmpty()) {
             return;
         }
 
-        final String tenant = tenantAware.getCurrentTenant();
+        // the rollouts are leased one by one so that the rollouts of a
+        // tenant are distributed among the nodes of a cluster
+        rollouts.forEach(rolloutId -> handleRollout(tenant, rolloutId));
+    }
 
-        final String handlerId = tenant + "-rollout";
+    private void handleRollout(final String tenant, final long rolloutId) {
+        final boolean tenantLocked = rolloutRepository.findById(rolloutId)
+                .filter(rollout -> TENANT_LOCKED_ROLLOUTS.contains(rollout.getStatus())).isPresent();
+        final String handlerId = tenant + "-rollout-" + rolloutId;
         final Lock lock = lockRegistry.obtain(handlerId);
         if (!lock.tryLock()) {
+            LOGGER.debug("Rollout {} is handled by another node, skipping", rolloutId);
+            rolloutHandlerStatistics.recordSkipped();
+            return;
+        }
+
+        final Lock tenantLock = tenantLocked ? lockRegistry.obtain(tenant + "-rollout") : null;
+        if (tenantLock != null && !tenantLock.tryLock()) {
+            LOGGER.debug("Another rollout of tenant {} assigns targets, skipping rollout {}", tenant, rolloutId);
+            lock.unlock();
+            rolloutHandlerStatistics.recordSkipped();
             return;
         }
 
+        final long start = System.currentTimeMillis();
+        boolean successful = false;
         try {
-            rollouts.forEach(rolloutId -> DeploymentHelper.runInNewTransaction(txManager, handlerId + "-" + rolloutId,
-                    status -> executeFittingHandler(rolloutId)));
+            DeploymentHelper.runInNewTransaction(txManager, handlerId,
+                    status -> executeFittingHandler(rolloutId, tenantLocked));
+            successful = true;
+        } catch (final RuntimeException e) {
+            LOGGER.error("Failed to handle rollout {}. Continue with next rollout.", rolloutId, e);
         } finally {
+            if (tenantLock != null) {
+                tenantLock.unlock();
+            }
             lock.unlock();
+            rolloutHandlerStatistics.recordHandled(tenant, rolloutId, System.currentTimeMillis() - start, successful);
         }
     }
 
-    private long executeFittingHandler(final long rolloutId) {
+    private long executeFittingHandler(final long rolloutId, final boolean tenantLocked) {
         LOGGER.debug("handle rollout {}", rolloutId);
         final JpaRollout rollout = rolloutRepository.findById(rolloutId)
                 .orElseThrow(() -> new EntityNotFoundException(Rollout.class, rolloutId));
 
+        if (!tenantLocked && TENANT_LOCKED_ROLLOUTS.contains(rollout.getStatus())) {
+            // the status changed after the tenant lock has been checked, the
+            // rollout is handled with the next run
+            LOGGER.debug("Rollout {} switched to {} without the tenant lock, skipping", rolloutId,
+                    rollout.getStatus());
+            return 0;
+        }
+
         switch (rollout.getStatus()) {
         case CREATING:
             handleCreateRollout(rollout);
@@ -1141,9 +1251,13 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
      * @param requested
      *            number of actions to check
      */
-    private void assertActionsPerTargetQuota(final Target target, final int requested) {
+    private void assertActionsPerTargetQuota(final List<Long> targetIds, final int requested) {
         final int quota = quotaManagement.getMaxActionsPerTarget();
-        QuotaHelper.assertAssignmentQuota(target.getId(), requested, quota, Action.class, Target.class,
-                actionRepository::countByTargetId);
+        final Map<Long, Long> actionsPerTarget = Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT)
+                .stream().flatMap(ids -> actionRepository.countByTargetIdInGroupByTargetId(ids).stream())
+                .collect(Collectors.toMap(count -> (Long) count[0], count -> (Long) count[1]));
+
+        targetIds.forEach(targetId -> QuotaHelper.assertAssignmentQuota(targetId, requested, quota, Action.class,
+                Target.class, id -> actionsPerTarget.getOrDefault(id, 0L)));
     }
 }
@@ -13,8 +13,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -23,11 +26,16 @@ import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.MapJoin;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.eclipse.hawkbit.repository.FilterParams;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.KeysetSlice;
 import org.eclipse.hawkbit.repository.QuotaManagement;
 import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetManagement;
@@ -36,6 +44,7 @@ import org.eclipse.hawkbit.repository.TimestampCalculator;
 import org.eclipse.hawkbit.repository.builder.TargetCreate;
 import org.eclipse.hawkbit.repository.builder.TargetUpdate;
 import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetBulkCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
@@ -44,6 +53,7 @@ import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetCreate;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetUpdate;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetMetadata;
@@ -51,6 +61,7 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaTargetMetadata_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetTag;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
 import org.eclipse.hawkbit.repository.jpa.model.TargetMetadataCompositeKey;
+import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.SpecificationsBuilder;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
@@ -64,6 +75,7 @@ import org.eclipse.hawkbit.repository.model.TargetMetadata;
 import org.eclipse.hawkbit.repository.model.TargetTag;
 import org.eclipse.hawkbit.repository.model.TargetTagAssignmentResult;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.model.TargetWithDetails;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
 import org.eclipse.hawkbit.tenancy.TenantAware;
@@ -120,6 +132,8 @@ public class JpaTargetManagement implements TargetManagement {
 
     private final Database database;
 
+    private final RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
     public JpaTargetManagement(final EntityManager entityManager, final QuotaManagement quotaManagement,
             final TargetRepository targetRepository, final TargetMetadataRepository targetMetadataRepository,
             final RolloutGroupRepository rolloutGroupRepository,
@@ -143,6 +157,7 @@ public class JpaTargetManagement implements TargetManagement {
         this.afterCommit = afterCommit;
         this.virtualPropertyReplacer = virtualPropertyReplacer;
         this.database = database;
+        rolloutGroupStatusCounter = new RolloutGroupStatusCounter(entityManager);
     }
 
     @Override
@@ -323,6 +338,116 @@ public class JpaTargetManagement implements TargetManagement {
         return convertPage(targetRepository.findAll(spec, pageable), pageable);
     }
 
+    @Override
+    public KeysetSlice<Target> findByKeyset(final KeysetPageRequest request) {
+        return convertSlice(criteriaNoCountDao.findAll(null, request, JpaTarget.class));
+    }
+
+    @Override
+    public KeysetSlice<Target> findByRsqlAndKeyset(final KeysetPageRequest request, final String rsqlParam) {
+        return convertSlice(criteriaNoCountDao.findAll(
+                RSQLUtility.parse(rsqlParam, TargetFields.class, virtualPropertyReplacer, database), request,
+                JpaTarget.class));
+    }
+
+    @Override
+    public KeysetSlice<TargetWithDetails> findWithDetailsByKeyset(final KeysetPageRequest request) {
+        return withDetails(criteriaNoCountDao.findAll(null, request, JpaTarget.class));
+    }
+
+    @Override
+    public KeysetSlice<TargetWithDetails> findWithDetailsByRsqlAndKeyset(final KeysetPageRequest request,
+            final String rsqlParam) {
+        return withDetails(criteriaNoCountDao.findAll(
+                RSQLUtility.parse(rsqlParam, TargetFields.class, virtualPropertyReplacer, database), request,
+                JpaTarget.class));
+    }
+
+    private KeysetSlice<TargetWithDetails> withDetails(final KeysetSlice<JpaTarget> slice) {
+        final Map<Long, Map<String, String>> attributes = new HashMap<>();
+        final Map<Long, List<TargetTag>> tags = new HashMap<>();
+        final Map<Long, List<TargetMetadata>> metadata = new HashMap<>();
+        final Map<Long, Object[]> distributionSets = new HashMap<>();
+
+        final List<Long> targetIds = slice.getContent().stream().map(JpaTarget::getId).collect(Collectors.toList());
+        Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT).forEach(ids -> {
+            findControllerAttributes(ids).forEach(row -> attributes
+                    .computeIfAbsent((Long) row[0], id -> new LinkedHashMap<>()).put((String) row[1], (String) row[2]));
+            findTags(ids).forEach(
+                    row -> tags.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((TargetTag) row[1]));
+            findMetadata(ids).forEach(row -> metadata.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add((TargetMetadata) row[1]));
+            findDistributionSets(ids).forEach(row -> distributionSets.put((Long) row[0], row));
+        });
+
+        final List<TargetWithDetails> content = slice.getContent().stream().map(target -> {
+            final Object[] assignment = distributionSets.getOrDefault(target.getId(), new Object[3]);
+            return new TargetWithDetails(target, attributes.getOrDefault(target.getId(), Collections.emptyMap()),
+                    tags.getOrDefault(target.getId(), Collections.emptyList()),
+                    metadata.getOrDefault(target.getId(), Collections.emptyList()), (DistributionSet) assignment[1],
+                    (DistributionSet) assignment[2]);
+        }).collect(Collectors.toList());
+
+        // the page may be one of many which are read in the same persistence
+        // context, e.g. by an export, so the per target entities are not kept
+        slice.getContent().forEach(entityManager::detach);
+        metadata.values().forEach(entries -> entries.forEach(entityManager::detach));
+
+        return new KeysetSlice<>(content, slice.getNextToken().orElse(null));
+    }
+
+    private List<Object[]> findControllerAttributes(final List<Long> targetIds) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+        final MapJoin<JpaTarget, String, String> attributes = targetRoot.join(JpaTarget_.controllerAttributes);
+        query.multiselect(targetRoot.get(JpaTarget_.id), attributes.key(), attributes.value());
+        query.where(targetRoot.get(JpaTarget_.id).in(targetIds));
+        query.orderBy(cb.asc(attributes.key()));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private List<Object[]> findTags(final List<Long> targetIds) {
+        final CriteriaQuery<Object[]> query = entityManager.getCriteriaBuilder().createQuery(Object[].class);
+
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+        query.multiselect(targetRoot.get(JpaTarget_.id), targetRoot.join(JpaTarget_.tags));
+        query.where(targetRoot.get(JpaTarget_.id).in(targetIds));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private List<Object[]> findMetadata(final List<Long> targetIds) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+
+        final Root<JpaTargetMetadata> metadataRoot = query.from(JpaTargetMetadata.class);
+        final Path<Long> targetId = metadataRoot.get(JpaTargetMetadata_.target).get(JpaTarget_.id);
+        query.multiselect(targetId, metadataRoot);
+        query.where(targetId.in(targetIds));
+        query.orderBy(cb.asc(metadataRoot.get(JpaTargetMetadata_.key)));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private List<Object[]> findDistributionSets(final List<Long> targetIds) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+        final Join<JpaTarget, JpaDistributionSet> assigned = targetRoot.join(JpaTarget_.assignedDistributionSet,
+                JoinType.LEFT);
+        final Join<JpaTarget, JpaDistributionSet> installed = targetRoot.join(JpaTarget_.installedDistributionSet,
+                JoinType.LEFT);
+        query.multiselect(targetRoot.get(JpaTarget_.id), assigned, installed);
+        query.where(cb.and(targetRoot.get(JpaTarget_.id).in(targetIds),
+                cb.or(cb.isNotNull(assigned), cb.isNotNull(installed))));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
     @Override
     @Transactional
     @Retryable(include = {
@@ -352,6 +477,7 @@ public class JpaTargetManagement implements TargetManagement {
                     targets.stream().map(Target::getId).collect(Collectors.toList()));
         }
 
+        rolloutGroupStatusCounter.removeActionsOfTargets(targetIDs);
         targetRepository.deleteByIdIn(targetIDs);
 
         afterCommit
@@ -369,6 +495,7 @@ public class JpaTargetManagement implements TargetManagement {
     public void deleteByControllerID(final String controllerID) {
         final Target target = getByControllerIdAndThrowIfNotFound(controllerID);
 
+        rolloutGroupStatusCounter.removeActionsOfTargets(Collections.singletonList(target.getId()));
         targetRepository.deleteById(target.getId());
     }
 
@@ -410,6 +537,10 @@ public class JpaTargetManagement implements TargetManagement {
         return new PageImpl<>(Collections.unmodifiableList(findAll.getContent()), pageable, 0);
     }
 
+    private static KeysetSlice<Target> convertSlice(final KeysetSlice<JpaTarget> findAll) {
+        return new KeysetSlice<>(findAll.getContent(), findAll.getNextToken().orElse(null));
+    }
+
     @Override
     public Page<Target> findByInstalledDistributionSet(final Pageable pageReq, final long distributionSetID) {
         throwEntityNotFoundIfDsDoesNotExist(distributionSetID);
@@ -662,6 +793,21 @@ public class JpaTargetManagement implements TargetManagement {
 
     }
 
+    @Override
+    public Page<Target> findByTargetFilterQueryAndNonDSAndIdIn(final Pageable pageRequest,
+            final long distributionSetId, final String targetFilterQuery, final Collection<Long> targetIds) {
+        throwEntityNotFoundIfDsDoesNotExist(distributionSetId);
+
+        final Specification<JpaTarget> spec = RSQLUtility.parse(targetFilterQuery, TargetFields.class,
+                virtualPropertyReplacer, database);
+
+        return findTargetsBySpec(
+                (root, cq, cb) -> cb.and(TargetSpecifications.hasIdIn(targetIds).toPredicate(root, cq, cb),
+                        spec.toPredicate(root, cq, cb), TargetSpecifications
+                                .hasNotDistributionSetInActions(distributionSetId).toPredicate(root, cq, cb)),
+                pageRequest);
+    }
+
     @Override
     public Page<Target> findByTargetFilterQueryAndNotInRolloutGroups(final Pageable pageRequest,
             final Collection<Long> groups, final String targetFilterQuery) {
@@ -725,6 +871,56 @@ public class JpaTargetManagement implements TargetManagement {
         return targets.stream().map(this::create).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional
+    @Retryable(include = {
+            ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
+    public List<Target> createInBulk(final Collection<TargetCreate> creates) {
+        // controller IDs are compared case insensitive as the unique
+        // constraint of some databases is case insensitive as well
+        final Map<String, JpaTargetCreate> newTargets = new LinkedHashMap<>();
+        creates.stream().map(JpaTargetCreate.class::cast)
+                .forEach(create -> newTargets.putIfAbsent(normalize(create.getControllerId()), create));
+        Lists.partition(newTargets.values().stream().map(JpaTargetCreate::getControllerId)
+                .collect(Collectors.toList()), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .map(targetRepository::filterNonExistingControllerIds).flatMap(List::stream)
+                .forEach(controllerId -> newTargets.remove(normalize(controllerId)));
+
+        if (newTargets.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Iterator<String> securityTokens = SecurityTokenGeneratorHolder.getInstance()
+                .generateTokens((int) newTargets.values().stream().filter(JpaTargetManagement::hasNoSecurityToken)
+                        .count())
+                .iterator();
+        final List<JpaTarget> targets = newTargets.values().stream().map(create -> {
+            final JpaTarget target = create.build(hasNoSecurityToken(create) ? securityTokens.next() : null);
+            target.setCreatedInBulk();
+            return target;
+        }).collect(Collectors.toList());
+
+        targetRepository.saveAll(targets);
+
+        // the IDs are generated on commit
+        final String tenant = tenantAware.getCurrentTenant();
+        afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                .publishEvent(new TargetBulkCreatedEvent(tenant,
+                        eventPublisherHolder.getApplicationId(),
+                        targets.stream().map(JpaTarget::getId).collect(Collectors.toList()))));
+
+        return Collections.unmodifiableList(targets);
+    }
+
+    private static String normalize(final String controllerId) {
+        // a missing controller ID is rejected by the validation on save
+        return controllerId == null ? null : controllerId.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean hasNoSecurityToken(final JpaTargetCreate create) {
+        return StringUtils.isEmpty(create.getSecurityToken().orElse(null));
+    }
+
     @Override
     public Page<Target> findByTag(final Pageable pageable, final long tagId) {
         throwEntityNotFoundExceptionIfTagDoesNotExist(tagId);
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.exception.InvalidContinuationTokenException;
+import org.springframework.data.domain.Sort.Order;
+
+/**
+ * Continuation token of a {@link KeysetPageRequest}, i.e. the sort value and
+ * ID of the last entity of the previous page together with the sorting the
+ * token has been issued for. The token is opaque for the client and encoded
+ * as URL safe base64 string.
+ */
+final class KeysetContinuationToken {
+
+    private static final String SEPARATOR = ":";
+    private static final int TOKEN_PARTS = 4;
+
+    private final Comparable<?> value;
+    private final Long id;
+
+    private KeysetContinuationToken(final Comparable<?> value, final Long id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    Comparable<?> getValue() {
+        return value;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    /**
+     * @param order
+     *            of the request
+     * @param value
+     *            of the sort property of the last entity
+     * @param id
+     *            of the last entity
+     * @return the encoded token
+     */
+    static String encode(final Order order, final Object value, final Long id) {
+        if (value == null) {
+            throw new IllegalStateException("Keyset paging is not supported for property " + order.getProperty()
+                    + " with null values.");
+        }
+        final String token = order.getDirection() + SEPARATOR + order.getProperty() + SEPARATOR + id + SEPARATOR
+                + (value instanceof Enum ? ((Enum<?>) value).name() : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token
+     *            the encoded token
+     * @param order
+     *            of the request which has to match the order the token has
+     *            been issued for
+     * @param valueType
+     *            java type of the sort property
+     * @return the decoded token
+     * 
+     * @throws InvalidContinuationTokenException
+     *             if the token cannot be decoded or has been issued for a
+     *             different order
+     */
+    static KeysetContinuationToken decode(final String token, final Order order, final Class<?> valueType) {
+        final String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR,
+                    TOKEN_PARTS);
+        } catch (final IllegalArgumentException e) {
+            throw new InvalidContinuationTokenException("Continuation token is not well formed.", e);
+        }
+
+        if (parts.length != TOKEN_PARTS || !order.getDirection().name().equals(parts[0])
+                || !order.getProperty().equals(parts[1])) {
+            throw new InvalidContinuationTokenException(
+                    "Continuation token has not been issued for sorting by " + order + ".");
+        }
+
+        try {
+            return new KeysetContinuationToken(parseValue(parts[3], valueType), Long.valueOf(parts[2]));
+        } catch (final IllegalArgumentException e) {
+            throw new InvalidContinuationTokenException("Continuation token is not well formed.", e);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparable<?> parseValue(final String value, final Class<?> valueType) {
+        if (String.class.equals(valueType)) {
+            return value;
+        } else if (Long.class.equals(valueType) || long.class.equals(valueType)) {
+            return Long.valueOf(value);
+        } else if (Integer.class.equals(valueType) || int.class.equals(valueType)) {
+            return Integer.valueOf(value);
+        } else if (Boolean.class.equals(valueType) || boolean.class.equals(valueType)) {
+            if (!Boolean.TRUE.toString().equals(value) && !Boolean.FALSE.toString().equals(value)) {
+                throw new IllegalArgumentException("Invalid boolean " + value);
+            }
+            return Boolean.valueOf(value);
+        } else if (valueType.isEnum()) {
+            return Enum.valueOf((Class) valueType, value);
+        }
+        throw new UnsupportedOperationException("Keyset paging is not supported for type " + valueType);
+    }
+}
@@ -9,17 +9,28 @@
 package org.eclipse.hawkbit.repository.jpa;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.persistence.Entity;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.KeysetSlice;
+import org.eclipse.hawkbit.repository.exception.InvalidContinuationTokenException;
+import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
@@ -33,6 +44,8 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class NoCountPagingRepository {
 
+    private static final String ID = "id";
+
     @Autowired
     protected EntityManager em;
 
@@ -77,6 +90,78 @@ public class NoCountPagingRepository {
         return noCountDao.findAll(pageable);
     }
 
+    /**
+     * Searches by keyset paging, i.e. the entities are sorted by the requested
+     * property and their ID and the page starts after the entity given by the
+     * continuation token. Neither an offset scan nor a count query is
+     * necessary as one additional entity is fetched to decide if there is a
+     * next page.
+     *
+     * @param spec
+     *            to search for or {@code null} to search for all entities
+     * @param request
+     *            keyset pagination information
+     * @param domainClass
+     *            of the {@link Entity}
+     *
+     * @return {@link KeysetSlice} of data
+     * 
+     * @throws InvalidContinuationTokenException
+     *             if the continuation token of the request is invalid
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <T> KeysetSlice<T> findAll(final Specification<T> spec, final KeysetPageRequest request,
+            final Class<T> domainClass) {
+        final Order order = request.getOrder();
+        final boolean sortById = ID.equals(order.getProperty());
+
+        final CriteriaBuilder cb = em.getCriteriaBuilder();
+        final CriteriaQuery<T> query = cb.createQuery(domainClass);
+        final Root<T> root = query.from(domainClass);
+        final Path<Comparable> sortPath = root.get(order.getProperty());
+        final Path<Long> idPath = root.get(ID);
+
+        final List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            final Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        request.getContinuationToken().ifPresent(token -> {
+            final KeysetContinuationToken last = KeysetContinuationToken.decode(token, order,
+                    sortPath.getJavaType());
+            final Comparable value = last.getValue();
+            if (sortById) {
+                predicates.add(order.isAscending() ? cb.greaterThan(idPath, last.getId())
+                        : cb.lessThan(idPath, last.getId()));
+            } else if (order.isAscending()) {
+                predicates.add(cb.or(cb.greaterThan(sortPath, value),
+                        cb.and(cb.equal(sortPath, value), cb.greaterThan(idPath, last.getId()))));
+            } else {
+                predicates.add(cb.or(cb.lessThan(sortPath, value),
+                        cb.and(cb.equal(sortPath, value), cb.lessThan(idPath, last.getId()))));
+            }
+        });
+
+        final List<javax.persistence.criteria.Order> orderBy = new ArrayList<>();
+        if (!sortById) {
+            orderBy.add(order.isAscending() ? cb.asc(sortPath) : cb.desc(sortPath));
+        }
+        orderBy.add(order.isAscending() ? cb.asc(idPath) : cb.desc(idPath));
+        query.select(root).where(predicates.toArray(new Predicate[predicates.size()])).orderBy(orderBy);
+
+        final List<T> result = em.createQuery(query).setMaxResults(request.getLimit() + 1).getResultList();
+        if (result.size() <= request.getLimit()) {
+            return new KeysetSlice<>(result, null);
+        }
+
+        final List<T> content = result.subList(0, request.getLimit());
+        final DirectFieldAccessor last = new DirectFieldAccessor(content.get(content.size() - 1));
+        return new KeysetSlice<>(content, KeysetContinuationToken.encode(order,
+                last.getPropertyValue(order.getProperty()), (Long) last.getPropertyValue(ID)));
+    }
+
     /**
      * Repository implementation with disabled count query.
      * 
@@ -10,14 +10,18 @@ package org.eclipse.hawkbit.repository.jpa;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
 import javax.persistence.EntityManager;
 import javax.sql.DataSource;
 
 import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
+import org.eclipse.hawkbit.event.BatchingEventEntityManager;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.ControllerPollStateCache;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.DistributionSetTagManagement;
@@ -36,6 +40,7 @@ import org.eclipse.hawkbit.repository.SoftwareModuleTypeManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.TenantStatsManagement;
@@ -53,6 +58,8 @@ import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.jpa.aspects.ExceptionMappingAspectHandler;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignChecker;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignScheduler;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignStatistics;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignTargetBuffer;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.AutoActionCleanup;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.AutoCleanupScheduler;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.CleanupTask;
@@ -62,7 +69,9 @@ import org.eclipse.hawkbit.repository.jpa.builder.JpaRolloutBuilder;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaSoftwareModuleBuilder;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaSoftwareModuleMetadataBuilder;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetFilterQueryBuilder;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactionManager;
+import org.eclipse.hawkbit.repository.jpa.event.EntitySnapshotCodec;
 import org.eclipse.hawkbit.repository.jpa.event.JpaEventEntityManager;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitDefaultServiceExecutor;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
@@ -71,6 +80,7 @@ import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SystemSecurityContextHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.TenantAwareHolder;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutHandlerStatistics;
 import org.eclipse.hawkbit.repository.jpa.rollout.RolloutScheduler;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.PauseRolloutGroupAction;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.StartNextGroupRolloutGroupSuccessAction;
@@ -94,6 +104,7 @@ import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -125,6 +136,7 @@ import org.springframework.transaction.jta.JtaTransactionManager;
 import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
 
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * General configuration for hawkBit's Repository.
@@ -168,15 +180,29 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    ThresholdRolloutGroupErrorCondition thresholdRolloutGroupErrorCondition(final ActionRepository actionRepository) {
-        return new ThresholdRolloutGroupErrorCondition(actionRepository);
+    ThresholdRolloutGroupErrorCondition thresholdRolloutGroupErrorCondition(
+            final RolloutGroupStatusCounter rolloutGroupStatusCounter, final RolloutStatusCache rolloutStatusCache) {
+        return new ThresholdRolloutGroupErrorCondition(rolloutGroupStatusCounter, rolloutStatusCache);
     }
 
     @Bean
     @ConditionalOnMissingBean
     ThresholdRolloutGroupSuccessCondition thresholdRolloutGroupSuccessCondition(
-            final ActionRepository actionRepository) {
-        return new ThresholdRolloutGroupSuccessCondition(actionRepository);
+            final RolloutGroupStatusCounter rolloutGroupStatusCounter, final RolloutStatusCache rolloutStatusCache) {
+        return new ThresholdRolloutGroupSuccessCondition(rolloutGroupStatusCounter, rolloutStatusCache);
+    }
+
+    /**
+     * {@link RolloutGroupStatusCounter} bean.
+     *
+     * @param entityManager
+     *            to access the counters
+     * @return a new {@link RolloutGroupStatusCounter}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RolloutGroupStatusCounter rolloutGroupStatusCounter(final EntityManager entityManager) {
+        return new RolloutGroupStatusCounter(entityManager);
     }
 
     @Bean
@@ -215,6 +241,22 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return new RolloutStatusCache(tenantAware);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    ControllerPollStateCache controllerPollStateCache(final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties) {
+        return new ControllerPollStateCache(tenantAware, ControllerPollStateCache.DEFAULT_SIZE,
+                repositoryProperties.getPollStateCacheTtl());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    TargetSecurityTokenCache targetSecurityTokenCache(final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties) {
+        return new TargetSecurityTokenCache(tenantAware, TargetSecurityTokenCache.DEFAULT_SIZE,
+                repositoryProperties.getSecurityTokenCacheTtl());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     ApplicationEventFilter applicationEventFilter(final RepositoryProperties repositoryProperties) {
@@ -677,11 +719,12 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final PlatformTransactionManager txManager,
             final TenantConfigurationManagement tenantConfigurationManagement, final QuotaManagement quotaManagement,
             final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware,
-            final JpaProperties properties, final RepositoryProperties repositoryProperties) {
+            final JpaProperties properties, final RepositoryProperties repositoryProperties,
+            final NoCountPagingRepository criteriaNoCountDao) {
         return new JpaDeploymentManagement(entityManager, actionRepository, distributionSetRepository, targetRepository,
                 actionStatusRepository, auditorProvider, eventPublisherHolder, afterCommit, virtualPropertyReplacer,
                 txManager, tenantConfigurationManagement, quotaManagement, systemSecurityContext, tenantAware,
-                properties.getDatabase(), repositoryProperties);
+                properties.getDatabase(), repositoryProperties, criteriaNoCountDao);
     }
 
     /**
@@ -692,8 +735,23 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @Bean
     @ConditionalOnMissingBean
     ControllerManagement controllerManagement(final ScheduledExecutorService executorService,
-            final RepositoryProperties repositoryProperties, final ActionRepository actionRepository) {
-        return new JpaControllerManagement(executorService, repositoryProperties, actionRepository);
+            final RepositoryProperties repositoryProperties, final ActionRepository actionRepository,
+            final ObjectProvider<TargetPollBuffer> pollBuffer) {
+        return new JpaControllerManagement(executorService, repositoryProperties, actionRepository,
+                pollBuffer.getIfAvailable());
+    }
+
+    /**
+     * @param repositoryProperties
+     *            for the capacity of the buffer
+     * @return the {@link TargetPollBuffer} of the polls waiting for
+     *         persistence, there is none if polls are persisted eagerly
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "hawkbit.server.repository", name = "eager-poll-persistence", havingValue = "false", matchIfMissing = true)
+    TargetPollBuffer targetPollBuffer(final RepositoryProperties repositoryProperties) {
+        return new TargetPollBuffer(repositoryProperties.getPollPersistenceQueueSize());
     }
 
     @Bean
@@ -734,12 +792,22 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            the tenant aware
      * @param entityManager
      *            the entitymanager
+     * @param txManager
+     *            to load the entities in a read only transaction
+     * @param repositoryProperties
+     *            to configure the entity snapshots and the batched reload
      * @return a new {@link EventEntityManager}
      */
     @Bean
     @ConditionalOnMissingBean
-    EventEntityManager eventEntityManager(final TenantAware aware, final EntityManager entityManager) {
-        return new JpaEventEntityManager(aware, entityManager);
+    EventEntityManager eventEntityManager(final TenantAware aware, final EntityManager entityManager,
+            final PlatformTransactionManager txManager, final RepositoryProperties repositoryProperties) {
+        final EventEntityManager eventEntityManager = new JpaEventEntityManager(aware, entityManager, txManager,
+                repositoryProperties.isEventEntitySnapshots() ? new EntitySnapshotCodec() : null);
+        if (repositoryProperties.isEventEntityBatchReload()) {
+            return new BatchingEventEntityManager(eventEntityManager, Constants.MAX_ENTRIES_IN_STATEMENT);
+        }
+        return eventEntityManager;
     }
 
     /**
@@ -753,15 +821,49 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to assign distribution sets to targets
      * @param transactionManager
      *            to run transactions
+     * @param tenantAware
+     *            to get the current tenant
+     * @param virtualPropertyReplacer
+     *            to replace the virtual properties of the compiled target
+     *            filter queries
+     * @param autoAssignStatistics
+     *            to record the evaluation cost per target filter query
+     * @param repositoryProperties
+     *            to enable the single pass check
      * @return a new {@link AutoAssignChecker}
      */
     @Bean
     @ConditionalOnMissingBean
     AutoAssignExecutor autoAssignExecutor(final TargetFilterQueryManagement targetFilterQueryManagement,
                                          final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
-                                         final PlatformTransactionManager transactionManager) {
+                                         final PlatformTransactionManager transactionManager, final TenantAware tenantAware,
+                                         final VirtualPropertyReplacer virtualPropertyReplacer,
+                                         final AutoAssignStatistics autoAssignStatistics,
+                                         final RepositoryProperties repositoryProperties) {
         return new AutoAssignChecker(targetFilterQueryManagement, targetManagement, deploymentManagement,
-                transactionManager);
+                transactionManager, tenantAware, virtualPropertyReplacer, autoAssignStatistics,
+                repositoryProperties.isAutoAssignSinglePass());
+    }
+
+    /**
+     * @return the {@link AutoAssignStatistics} of the auto assignment
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    AutoAssignStatistics autoAssignStatistics() {
+        return new AutoAssignStatistics();
+    }
+
+    /**
+     * @param repositoryProperties
+     *            for the capacity of the buffer
+     * @return the {@link AutoAssignTargetBuffer} for the incremental auto
+     *         assignment
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    AutoAssignTargetBuffer autoAssignTargetBuffer(final RepositoryProperties repositoryProperties) {
+        return new AutoAssignTargetBuffer(repositoryProperties.getAutoAssignTargetQueueSize());
     }
 
     /**
@@ -780,6 +882,8 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to run a check as tenant
      * @param lockRegistry
      *            to lock the tenant for auto assignment
+     * @param autoAssignTargetBuffer
+     *            to collect the changed targets
      * @return a new {@link AutoAssignChecker}
      */
     @Bean
@@ -790,8 +894,9 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @ConditionalOnProperty(prefix = "hawkbit.autoassign.scheduler", name = "enabled", matchIfMissing = true)
     AutoAssignScheduler autoAssignScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
-            final LockRegistry lockRegistry) {
-        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry);
+            final LockRegistry lockRegistry, final AutoAssignTargetBuffer autoAssignTargetBuffer) {
+        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry,
+                autoAssignTargetBuffer);
     }
 
     /**
@@ -846,6 +951,10 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to run the rollout handler
      * @param systemSecurityContext
      *            to run as system
+     * @param rolloutHandlerExecutor
+     *            to run the rollout handler of the tenants on
+     * @param rolloutHandlerStatistics
+     *            to record the backlog
      * @return a new {@link RolloutScheduler} bean.
      */
     @Bean
@@ -853,7 +962,34 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @Profile("!test")
     @ConditionalOnProperty(prefix = "hawkbit.rollout.scheduler", name = "enabled", matchIfMissing = true)
     RolloutScheduler rolloutScheduler(final TenantAware tenantAware, final SystemManagement systemManagement,
-            final RolloutManagement rolloutManagement, final SystemSecurityContext systemSecurityContext) {
-        return new RolloutScheduler(systemManagement, rolloutManagement, systemSecurityContext);
+            final RolloutManagement rolloutManagement, final SystemSecurityContext systemSecurityContext,
+            @Qualifier("rolloutHandlerExecutor") final ExecutorService rolloutHandlerExecutor,
+            final RolloutHandlerStatistics rolloutHandlerStatistics) {
+        return new RolloutScheduler(systemManagement, rolloutManagement, systemSecurityContext,
+                rolloutHandlerExecutor, rolloutHandlerStatistics);
+    }
+
+    /**
+     * @param repositoryProperties
+     *            for the number of rollout handler threads
+     * @return the executor of the {@link RolloutScheduler} which handles the
+     *         rollouts of the tenants in parallel
+     */
+    @Bean(name = "rolloutHandlerExecutor", destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = "rolloutHandlerExecutor")
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.rollout.scheduler", name = "enabled", matchIfMissing = true)
+    ExecutorService rolloutHandlerExecutor(final RepositoryProperties repositoryProperties) {
+        return Executors.newFixedThreadPool(repositoryProperties.getRolloutHandlerThreads(),
+                new ThreadFactoryBuilder().setNameFormat("rollout-handler-%d").setDaemon(true).build());
+    }
+
+    /**
+     * @return the {@link RolloutHandlerStatistics} of the rollout handling
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RolloutHandlerStatistics rolloutHandlerStatistics() {
+        return new RolloutHandlerStatistics();
     }
 }
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collection;
+
+import javax.persistence.EntityManager;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.jpa.JpaEntityManager;
+import org.eclipse.persistence.mappings.foundation.AbstractDirectMapping;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+
+/**
+ * Writes the rows that are created in masses during the creation and the
+ * start of a {@link Rollout} by means of JDBC batches on the connection of the
+ * current transaction. In contrast to persisting the entities one by one this
+ * needs one round trip per batch instead of one per row, as the identity
+ * generated IDs of the {@link JpaAction}s prevent EclipseLink from batching
+ * the inserts.
+ *
+ * Note: the entity lifecycle is bypassed, i.e. there are no entity events
+ * and the persistence context does not know the inserted rows.
+ */
+final class RolloutBulkWriter {
+
+    private static final String INSERT_ROLLOUT_TARGET_GROUP = "INSERT INTO sp_rollouttargetgroup (rolloutGroup_Id, target_Id) VALUES (?, ?)";
+
+    private static final String INSERT_SCHEDULED_ACTION = "INSERT INTO sp_action (tenant, created_at, created_by, last_modified_at, last_modified_by, optlock_revision, distribution_set, target, active, action_type, forced_time, status, rollout, rolloutgroup, weight) VALUES (?, ?, ?, ?, ?, 1, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor.
+     *
+     * @param entityManager
+     *            of the current transaction
+     */
+    RolloutBulkWriter(final EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Assigns the given targets to a rollout group.
+     *
+     * @param rolloutGroupId
+     *            of the group
+     * @param targetIds
+     *            of the targets to assign
+     */
+    void insertRolloutTargetGroups(final long rolloutGroupId, final Collection<Long> targetIds) {
+        final Connection connection = entityManager.unwrap(Connection.class);
+
+        try (final PreparedStatement statement = connection.prepareStatement(INSERT_ROLLOUT_TARGET_GROUP)) {
+            int batched = 0;
+            for (final Long targetId : targetIds) {
+                statement.setLong(1, rolloutGroupId);
+                statement.setLong(2, targetId);
+                statement.addBatch();
+
+                if (++batched % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            if (batched % BATCH_SIZE != 0) {
+                statement.executeBatch();
+            }
+        } catch (final SQLException e) {
+            throw new SQLStateSQLExceptionTranslator().translate("insertRolloutTargetGroups",
+                    INSERT_ROLLOUT_TARGET_GROUP, e);
+        }
+    }
+
+    /**
+     * Creates an inactive {@link Status#SCHEDULED} action of the rollout group
+     * for each of the given targets.
+     *
+     * @param rollout
+     *            the actions belong to
+     * @param rolloutGroupId
+     *            the actions belong to
+     * @param targetIds
+     *            of the targets to create the actions for
+     * @param tenant
+     *            of the rollout
+     * @param auditor
+     *            the user that creates the actions, might be <code>null</code>
+     */
+    void insertScheduledActions(final Rollout rollout, final long rolloutGroupId, final Collection<Long> targetIds,
+            final String tenant, final String auditor) {
+        final Object actionType = toDataValue("actionType", rollout.getActionType());
+        final Object status = toDataValue("status", Status.SCHEDULED);
+        final long now = System.currentTimeMillis();
+
+        final Connection connection = entityManager.unwrap(Connection.class);
+
+        try (final PreparedStatement statement = connection.prepareStatement(INSERT_SCHEDULED_ACTION)) {
+            int batched = 0;
+            for (final Long targetId : targetIds) {
+                statement.setString(1, tenant);
+                statement.setLong(2, now);
+                statement.setString(3, auditor);
+                statement.setLong(4, now);
+                statement.setString(5, auditor);
+                statement.setLong(6, rollout.getDistributionSet().getId());
+                statement.setLong(7, targetId);
+                statement.setBoolean(8, false);
+                statement.setObject(9, actionType);
+                statement.setLong(10, rollout.getForcedTime());
+                statement.setObject(11, status);
+                statement.setLong(12, rollout.getId());
+                statement.setLong(13, rolloutGroupId);
+                if (rollout.getWeight().isPresent()) {
+                    statement.setInt(14, rollout.getWeight().get());
+                } else {
+                    statement.setNull(14, Types.INTEGER);
+                }
+                statement.addBatch();
+
+                if (++batched % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            if (batched % BATCH_SIZE != 0) {
+                statement.executeBatch();
+            }
+        } catch (final SQLException e) {
+            throw new SQLStateSQLExceptionTranslator().translate("insertScheduledActions", INSERT_SCHEDULED_ACTION,
+                    e);
+        }
+    }
+
+    /**
+     * Converts an attribute value of {@link JpaAction} into its column value by
+     * means of the converter of the entity mapping, e.g. for {@link Status} and
+     * {@link ActionType}.
+     */
+    private Object toDataValue(final String attributeName, final Object value) {
+        final AbstractSession session = (AbstractSession) entityManager.unwrap(JpaEntityManager.class)
+                .getServerSession();
+        final AbstractDirectMapping mapping = (AbstractDirectMapping) session.getDescriptor(JpaAction.class)
+                .getMappingForAttributeName(attributeName);
+        return mapping.getFieldValue(value, session);
+    }
+}
@@ -0,0 +1,291 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupStatusCounts;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.jpa.JpaEntityManager;
+import org.eclipse.persistence.mappings.DatabaseMapping.WriteType;
+import org.eclipse.persistence.mappings.DirectToFieldMapping;
+import org.eclipse.persistence.mappings.OneToOneMapping;
+import org.eclipse.persistence.queries.DataModifyQuery;
+import org.eclipse.persistence.queries.SQLCall;
+import org.eclipse.persistence.queries.UpdateObjectQuery;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.changesets.DirectToFieldChangeRecord;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Persisted number of actions per {@link Status} of the {@link RolloutGroup}s.
+ * The counters are changed by the {@link ActionListener} in the transaction
+ * that changes the status of an action, so that reading them costs one row
+ * per group and status instead of an aggregation over the actions. Changes
+ * that bypass the entity lifecycle, i.e. bulk updates and the native deletion
+ * of actions, are made up for by recounting the counters from the actions
+ * from time to time by means of {@link #reconcile(Collection)}.
+ */
+public class RolloutGroupStatusCounter {
+
+    private static final String SELECT_COUNTS = "SELECT rolloutgroup_id, status, action_count, reconciled_at FROM sp_rolloutgroup_status_count WHERE rolloutgroup_id IN (%s)";
+
+    private static final String INSERT_COUNT = "INSERT INTO sp_rolloutgroup_status_count (rolloutgroup_id, status, action_count, reconciled_at) VALUES (?1, ?2, 0, 0)";
+
+    private static final String RECONCILE_COUNTS = "UPDATE sp_rolloutgroup_status_count SET action_count = (SELECT COUNT(a.id) FROM sp_action a WHERE a.rolloutgroup = sp_rolloutgroup_status_count.rolloutgroup_id AND a.status = sp_rolloutgroup_status_count.status), reconciled_at = ?1 WHERE rolloutgroup_id IN (%s)";
+
+    private static final String COUNT_ACTIONS_OF_TARGETS = "SELECT rolloutgroup, status, COUNT(id) FROM sp_action WHERE rolloutgroup IS NOT NULL AND target IN (%s) GROUP BY rolloutgroup, status ORDER BY rolloutgroup, status";
+
+    private static final String ADD_TO_COUNT = "UPDATE sp_rolloutgroup_status_count SET action_count = action_count + ?1 WHERE rolloutgroup_id = ?2 AND status = ?3";
+
+    private static final String ADD_TO_COUNT_ON_EVENT = "UPDATE sp_rolloutgroup_status_count SET action_count = action_count + #delta WHERE rolloutgroup_id = #rolloutGroup AND status = #status";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor.
+     *
+     * @param entityManager
+     *            of the current transaction
+     */
+    public RolloutGroupStatusCounter(final EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Reads the counters of the given groups.
+     *
+     * @param rolloutGroupIds
+     *            of the groups
+     * @return the counts by group ID, without the groups that have not been
+     *         reconciled yet
+     */
+    public Map<Long, RolloutGroupStatusCounts> find(final Collection<Long> rolloutGroupIds) {
+        final AbstractSession session = getSession();
+        final Map<Long, Map<Status, Long>> counts = new HashMap<>();
+        final Map<Long, Long> reconciledAt = new HashMap<>();
+
+        for (final List<Long> ids : partition(rolloutGroupIds)) {
+            @SuppressWarnings("unchecked")
+            final List<Object[]> rows = entityManager.createNativeQuery(String.format(SELECT_COUNTS, join(ids)))
+                    .getResultList();
+            rows.forEach(row -> {
+                final Long rolloutGroupId = ((Number) row[0]).longValue();
+                counts.computeIfAbsent(rolloutGroupId, id -> new EnumMap<>(Status.class))
+                        .put(toStatus(session, ((Number) row[1]).intValue()), ((Number) row[2]).longValue());
+                reconciledAt.merge(rolloutGroupId, ((Number) row[3]).longValue(), Math::min);
+            });
+        }
+
+        return counts.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+                entry -> RolloutGroupStatusCounts.of(entry.getValue(), reconciledAt.get(entry.getKey()))));
+    }
+
+    /**
+     * Recounts the counters of the given groups from their actions and creates
+     * the counters of the groups that have none yet.
+     *
+     * @param rolloutGroupIds
+     *            of the groups
+     * @return the recounted counts by group ID
+     */
+    public Map<Long, RolloutGroupStatusCounts> reconcile(final Collection<Long> rolloutGroupIds) {
+        if (rolloutGroupIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Set<Long> counted = find(rolloutGroupIds).keySet();
+        rolloutGroupIds.stream().filter(id -> !counted.contains(id)).forEach(this::insertCounts);
+
+        final long now = System.currentTimeMillis();
+        partition(rolloutGroupIds).forEach(ids -> entityManager
+                .createNativeQuery(String.format(RECONCILE_COUNTS, join(ids))).setParameter(1, now).executeUpdate());
+
+        return find(rolloutGroupIds);
+    }
+
+    /**
+     * Moves actions of a group from one status to another for changes that
+     * bypass the entity lifecycle.
+     *
+     * @param rolloutGroupId
+     *            of the group
+     * @param from
+     *            previous status of the actions
+     * @param to
+     *            new status of the actions
+     * @param count
+     *            number of actions
+     */
+    public void move(final long rolloutGroupId, final Status from, final Status to, final long count) {
+        final AbstractSession session = getSession();
+        addInStatusOrder(session, rolloutGroupId, from, to, count,
+                (status, delta) -> addToCount(rolloutGroupId, status, delta));
+    }
+
+    /**
+     * Removes the actions of the given targets from the counters before the
+     * targets are deleted, as their actions are deleted by the database.
+     *
+     * @param targetIds
+     *            of the targets to delete
+     */
+    public void removeActionsOfTargets(final Collection<Long> targetIds) {
+        for (final List<Long> ids : partition(targetIds)) {
+            @SuppressWarnings("unchecked")
+            final List<Object[]> rows = entityManager
+                    .createNativeQuery(String.format(COUNT_ACTIONS_OF_TARGETS, join(ids))).getResultList();
+            rows.forEach(row -> addToCount(((Number) row[0]).longValue(), row[1], -((Number) row[2]).longValue()));
+        }
+    }
+
+    private void addToCount(final long rolloutGroupId, final Object status, final long delta) {
+        entityManager.createNativeQuery(ADD_TO_COUNT).setParameter(1, delta).setParameter(2, rolloutGroupId)
+                .setParameter(3, status).executeUpdate();
+    }
+
+    private void insertCounts(final long rolloutGroupId) {
+        final AbstractSession session = getSession();
+        Arrays.stream(Status.values()).forEach(status -> entityManager.createNativeQuery(INSERT_COUNT)
+                .setParameter(1, rolloutGroupId).setParameter(2, toDataValue(session, status)).executeUpdate());
+    }
+
+    private AbstractSession getSession() {
+        return (AbstractSession) entityManager.unwrap(JpaEntityManager.class).getServerSession();
+    }
+
+    private static List<List<Long>> partition(final Collection<Long> ids) {
+        return Lists.partition(ids.stream().distinct().collect(Collectors.toList()),
+                Constants.MAX_ENTRIES_IN_STATEMENT);
+    }
+
+    private static String join(final List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static DirectToFieldMapping getStatusMapping(final AbstractSession session) {
+        return (DirectToFieldMapping) session.getDescriptor(JpaAction.class).getMappingForAttributeName("status");
+    }
+
+    private static Object toDataValue(final AbstractSession session, final Status status) {
+        return getStatusMapping(session).getFieldValue(status, session);
+    }
+
+    private static Status toStatus(final AbstractSession session, final Integer dataValue) {
+        return (Status) getStatusMapping(session).getObjectValue(dataValue, session);
+    }
+
+    /**
+     * Applies the change of a status to the counters of the status in the
+     * order of their data values, so that concurrent transactions lock the
+     * counter rows in the same order.
+     */
+    private static void addInStatusOrder(final AbstractSession session, final long rolloutGroupId, final Status from,
+            final Status to, final long count, final CountUpdate update) {
+        final Object fromValue = from == null ? null : toDataValue(session, from);
+        final Object toValue = to == null ? null : toDataValue(session, to);
+
+        if (fromValue == null || (toValue != null && ((Number) toValue).intValue() < ((Number) fromValue).intValue())) {
+            addIfPresent(toValue, count, update);
+            addIfPresent(fromValue, -count, update);
+        } else {
+            addIfPresent(fromValue, -count, update);
+            addIfPresent(toValue, count, update);
+        }
+    }
+
+    private static void addIfPresent(final Object status, final long delta, final CountUpdate update) {
+        if (status != null) {
+            update.add(status, delta);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CountUpdate {
+        void add(Object status, long delta);
+    }
+
+    /**
+     * Changes the counters for the creation, the status change and the
+     * deletion of a {@link JpaAction} of a {@link RolloutGroup}. Counters
+     * which do not exist yet are left alone, they are created with the
+     * current counts on the first {@link #reconcile(Collection)}.
+     */
+    public static class ActionListener extends DescriptorEventAdapter {
+
+        @Override
+        public void postInsert(final DescriptorEvent event) {
+            count(event, null, ((JpaAction) event.getObject()).getStatus());
+        }
+
+        @Override
+        public void postUpdate(final DescriptorEvent event) {
+            final DirectToFieldChangeRecord change = (DirectToFieldChangeRecord) ((UpdateObjectQuery) event
+                    .getQuery()).getObjectChangeSet().getChangesForAttributeNamed("status");
+            if (change != null && change.getOldValue() != change.getNewValue()) {
+                count(event, (Status) change.getOldValue(), (Status) change.getNewValue());
+            }
+        }
+
+        @Override
+        public void postDelete(final DescriptorEvent event) {
+            count(event, ((JpaAction) event.getObject()).getStatus(), null);
+        }
+
+        private static void count(final DescriptorEvent event, final Status from, final Status to) {
+            final Long rolloutGroupId = getRolloutGroupId(event);
+            if (rolloutGroupId == null) {
+                return;
+            }
+
+            final AbstractSession session = (AbstractSession) event.getSession();
+            addInStatusOrder(session, rolloutGroupId, from, to, 1, (status, delta) -> {
+                final DataModifyQuery query = new DataModifyQuery(new SQLCall(ADD_TO_COUNT_ON_EVENT));
+                query.addArgument("delta");
+                query.addArgument("rolloutGroup");
+                query.addArgument("status");
+                session.executeQuery(query, Arrays.asList(delta, rolloutGroupId, status));
+            });
+        }
+
+        /**
+         * Reads the foreign key of the group without loading the lazy
+         * relation.
+         */
+        private static Long getRolloutGroupId(final DescriptorEvent event) {
+            final OneToOneMapping mapping = (OneToOneMapping) event.getDescriptor()
+                    .getMappingForAttributeName("rolloutGroup");
+            final AbstractRecord row = new DatabaseRecord();
+            mapping.writeFromObjectIntoRow(event.getObject(), row, (AbstractSession) event.getSession(),
+                    WriteType.UNDEFINED);
+            final List<DatabaseField> fields = mapping.getForeignKeyFields();
+            final Object value = fields.isEmpty() ? null : row.get(fields.get(0));
+            return value == null ? null : ((Number) value).longValue();
+        }
+    }
+}
@@ -8,10 +8,13 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.List;
+
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroupId;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,4 +34,15 @@ public interface RolloutTargetGroupRepository
      * @return count of targets in the group
      */
     Long countByRolloutGroup(JpaRolloutGroup rolloutGroup);
+
+    /**
+     * Counts the targets of multiple rollout groups by one query.
+     *
+     * @param rolloutGroupIds
+     *            the IDs of the groups to filter for
+     * @return pairs of the group ID and the count of targets in the group,
+     *         groups without targets are missing
+     */
+    @Query("SELECT rtg.rolloutGroup.id, COUNT(rtg.target.id) FROM RolloutTargetGroup rtg WHERE rtg.rolloutGroup.id IN ?1 GROUP BY rtg.rolloutGroup.id")
+    List<Object[]> countByRolloutGroupIds(List<Long> rolloutGroupIds);
 }
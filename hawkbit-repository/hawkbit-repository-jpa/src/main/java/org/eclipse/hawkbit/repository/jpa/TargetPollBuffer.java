@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free buffer for target polls which are persisted asynchronously. Polls
+ * are coalesced per tenant and controller ID, i.e. only the latest poll time of
+ * a target is kept until the next flush. The number of buffered targets is
+ * bounded, polls of further targets are dropped (and counted) until the buffer
+ * is flushed.
+ */
+public class TargetPollBuffer {
+
+    private final int capacity;
+
+    private final ConcurrentMap<TargetPoll, Long> polls;
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong lastFlushDuration = new AtomicLong();
+    private final AtomicLong lastFlushSize = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            maximum number of targets kept in the buffer
+     */
+    public TargetPollBuffer(final int capacity) {
+        this.capacity = capacity;
+        polls = new ConcurrentHashMap<>(Math.min(capacity, 1024));
+    }
+
+    /**
+     * Adds a poll of a target to the buffer.
+     *
+     * @param tenant
+     *            of the target
+     * @param controllerId
+     *            of the target
+     * @param pollTime
+     *            time of the poll in milliseconds
+     * @return <code>true</code> if the poll was buffered, <code>false</code> if
+     *         it was dropped as the buffer is full
+     */
+    public boolean add(final String tenant, final String controllerId, final long pollTime) {
+        received.increment();
+        final TargetPoll key = new TargetPoll(tenant, controllerId);
+
+        if (polls.computeIfPresent(key, (poll, time) -> Math.max(time, pollTime)) != null) {
+            return true;
+        }
+
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+
+        // insert or merge atomically, a concurrent poll of the same target
+        // might have been faster or a drain might have removed the target
+        final boolean[] added = new boolean[1];
+        polls.compute(key, (poll, time) -> {
+            if (time == null) {
+                added[0] = true;
+                return pollTime;
+            }
+            return Math.max(time, pollTime);
+        });
+        if (!added[0]) {
+            size.decrementAndGet();
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes all buffered polls from the buffer. Polls which are added
+     * concurrently are either part of the result or stay in the buffer for
+     * the next drain.
+     *
+     * @return latest poll time by controller ID, grouped by tenant
+     */
+    public Map<String, Map<String, Long>> drain() {
+        final Map<String, Map<String, Long>> result = new HashMap<>();
+
+        polls.forEach((poll, time) -> {
+            if (polls.remove(poll, time)) {
+                size.decrementAndGet();
+                result.computeIfAbsent(poll.getTenant(), tenant -> new HashMap<>()).put(poll.getControllerId(), time);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Records the statistics of a flush of the drained polls.
+     *
+     * @param flushed
+     *            number of persisted polls
+     * @param durationMillis
+     *            duration of the flush
+     */
+    public void recordFlush(final long flushed, final long durationMillis) {
+        lastFlushSize.set(flushed);
+        lastFlushDuration.set(durationMillis);
+    }
+
+    /**
+     * @return number of targets currently waiting for persistence
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * @return maximum number of targets kept in the buffer
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return total number of polls offered to the buffer
+     */
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    /**
+     * @return total number of polls dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return duration of the last flush in milliseconds
+     */
+    public long getLastFlushDuration() {
+        return lastFlushDuration.get();
+    }
+
+    /**
+     * @return number of polls persisted by the last flush
+     */
+    public long getLastFlushSize() {
+        return lastFlushSize.get();
+    }
+
+    private static final class TargetPoll {
+
+        private final String tenant;
+        private final String controllerId;
+
+        private TargetPoll(final String tenant, final String controllerId) {
+            this.tenant = tenant;
+            this.controllerId = controllerId;
+        }
+
+        private String getTenant() {
+            return tenant;
+        }
+
+        private String getControllerId() {
+            return controllerId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, controllerId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final TargetPoll other = (TargetPoll) obj;
+            return Objects.equals(tenant, other.tenant) && Objects.equals(controllerId, other.controllerId);
+        }
+    }
+}
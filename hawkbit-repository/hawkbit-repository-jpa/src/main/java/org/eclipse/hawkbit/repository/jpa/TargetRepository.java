@@ -92,6 +92,30 @@ public interface TargetRepository extends BaseEntityRepository<JpaTarget, Long>,
     @Query("SELECT t.controllerAttributes FROM JpaTarget t WHERE t.controllerId=:controllerId")
     Map<String, String> getControllerAttributes(@Param("controllerId") String controllerId);
 
+    /**
+     * Retrieves the ID, controller ID and security token of a target without
+     * loading the entity.
+     *
+     * @param controllerId
+     *            of the target
+     * @return a single row with ID, controller ID and security token or an
+     *         empty list if the target does not exist
+     */
+    @Query("SELECT t.id, t.controllerId, t.securityToken FROM JpaTarget t WHERE t.controllerId=:controllerId")
+    List<Object[]> findSecurityTokenByControllerId(@Param("controllerId") String controllerId);
+
+    /**
+     * Retrieves the ID, controller ID and security token of a target without
+     * loading the entity.
+     *
+     * @param targetId
+     *            of the target
+     * @return a single row with ID, controller ID and security token or an
+     *         empty list if the target does not exist
+     */
+    @Query("SELECT t.id, t.controllerId, t.securityToken FROM JpaTarget t WHERE t.id=:targetId")
+    List<Object[]> findSecurityTokenById(@Param("targetId") Long targetId);
+
     /**
      * Checks if target with given id exists.
      * 
@@ -8,37 +8,68 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.persistence.PersistenceException;
 
 import org.eclipse.hawkbit.exception.AbstractServerRtException;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.KeysetSlice;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLTargetPredicate;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.DeploymentRequest;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.repository.model.TargetWithDetails;
+import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
+import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.google.common.collect.Lists;
+
 /**
  * Checks if targets need a new distribution set (DS) based on the target filter
  * queries and assigns the new DS when necessary. First all target filter
  * queries are listed. For every target filter query (TFQ) the auto assign DS is
  * retrieved. All targets get listed per target filter query, that match the TFQ
  * and that don't have the auto assign DS in their action history.
+ * 
+ * The incremental check only lists the given (changed) targets per TFQ. TFQs
+ * which have been added or changed since the last check on this node are
+ * checked against all targets.
+ * 
+ * In single pass mode all TFQs which can be compiled to an in-memory
+ * {@link RSQLTargetPredicate} are checked together while the targets are read
+ * once. Only the other TFQs are listed by the database one after another.
  */
 public class AutoAssignChecker implements AutoAssignExecutor {
 
@@ -52,6 +83,20 @@ public class AutoAssignChecker implements AutoAssignExecutor {
 
     private final PlatformTransactionManager transactionManager;
 
+    private final TenantAware tenantAware;
+
+    private final VirtualPropertyReplacer virtualPropertyReplacer;
+
+    private final AutoAssignStatistics statistics;
+
+    private final boolean singlePass;
+
+    /**
+     * Opt lock revision by ID of the TFQs which have been checked against all
+     * targets, per tenant
+     */
+    private final ConcurrentMap<String, Map<Long, Integer>> checkedFilterQueries = new ConcurrentHashMap<>();
+
     /**
      * Maximum for target filter queries with auto assign DS Maximum for targets
      * that are fetched in one turn
@@ -75,14 +120,30 @@ public class AutoAssignChecker implements AutoAssignExecutor {
      *            to assign distribution sets to targets
      * @param transactionManager
      *            to run transactions
+     * @param tenantAware
+     *            to get the current tenant
+     * @param virtualPropertyReplacer
+     *            to replace the virtual properties of the compiled target
+     *            filter queries
+     * @param statistics
+     *            to record the evaluation cost per target filter query
+     * @param singlePass
+     *            <code>true</code> to check all target filter queries in one
+     *            pass over the targets where possible
      */
     public AutoAssignChecker(final TargetFilterQueryManagement targetFilterQueryManagement,
             final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
-            final PlatformTransactionManager transactionManager) {
+            final PlatformTransactionManager transactionManager, final TenantAware tenantAware,
+            final VirtualPropertyReplacer virtualPropertyReplacer, final AutoAssignStatistics statistics,
+            final boolean singlePass) {
         this.targetFilterQueryManagement = targetFilterQueryManagement;
         this.targetManagement = targetManagement;
         this.deploymentManagement = deploymentManagement;
         this.transactionManager = transactionManager;
+        this.tenantAware = tenantAware;
+        this.virtualPropertyReplacer = virtualPropertyReplacer;
+        this.statistics = statistics;
+        this.singlePass = singlePass;
     }
 
     @Override
@@ -90,16 +151,143 @@ public class AutoAssignChecker implements AutoAssignExecutor {
     public void check() {
         LOGGER.debug("Auto assigned check call");
 
-        final PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE);
-
-        final Page<TargetFilterQuery> filterQueries = targetFilterQueryManagement.findWithAutoAssignDS(pageRequest);
+        final List<TargetFilterQuery> filterQueries = findFilterQueries();
 
         // we should ensure that the filter queries are executed
         // in the order of weights
+        checkAllTargets(filterQueries);
+
+        rememberCheckedFilterQueries(filterQueries);
+        statistics.recordFullCheck();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void checkTargets(final Collection<Long> targetIds) {
+        LOGGER.debug("Auto assigned check call for {} targets", targetIds.size());
+
+        final List<TargetFilterQuery> filterQueries = findFilterQueries();
+        final Map<Long, Integer> checked = checkedFilterQueries.getOrDefault(tenantAware.getCurrentTenant(),
+                Collections.emptyMap());
+
+        final Map<Boolean, List<TargetFilterQuery>> changed = filterQueries.stream()
+                .collect(Collectors.partitioningBy(filterQuery -> !Integer
+                        .valueOf(filterQuery.getOptLockRevision()).equals(checked.get(filterQuery.getId()))));
+
+        checkAllTargets(changed.get(true));
+        if (!targetIds.isEmpty()) {
+            changed.get(false)
+                    .forEach(filterQuery -> checkTargetsByTargetFilterQueryAndAssignDS(filterQuery, targetIds));
+        }
+
+        rememberCheckedFilterQueries(filterQueries);
+        statistics.recordIncrementalCheck(targetIds.size());
+    }
+
+    private void checkAllTargets(final List<TargetFilterQuery> filterQueries) {
+        if (!singlePass) {
+            filterQueries.forEach(this::checkByTargetFilterQueryAndAssignDS);
+            return;
+        }
+
+        final List<CompiledFilterQuery> compiled = new ArrayList<>();
+        final List<TargetFilterQuery> others = new ArrayList<>();
         for (final TargetFilterQuery filterQuery : filterQueries) {
-            checkByTargetFilterQueryAndAssignDS(filterQuery);
+            final Optional<Predicate<TargetWithDetails>> predicate = RSQLTargetPredicate.compile(filterQuery.getQuery(),
+                    virtualPropertyReplacer);
+            if (predicate.isPresent()) {
+                compiled.add(new CompiledFilterQuery(filterQuery, predicate.get()));
+            } else {
+                others.add(filterQuery);
+            }
         }
 
+        if (!compiled.isEmpty()) {
+            checkInSinglePass(compiled);
+        }
+        others.forEach(this::checkByTargetFilterQueryAndAssignDS);
+    }
+
+    /**
+     * Reads all targets batch by batch in keyset order and checks every batch
+     * against all given TFQs in their order, i.e. a target which matches
+     * several TFQs gets the DS of every TFQ assigned in the same order as by
+     * {@link #checkByTargetFilterQueryAndAssignDS(TargetFilterQuery)}.
+     *
+     * @param filterQueries
+     *            the compiled target filter queries
+     */
+    private void checkInSinglePass(final List<CompiledFilterQuery> filterQueries) {
+        final Set<Long> dsIds = filterQueries.stream().map(CompiledFilterQuery::getDistributionSetId)
+                .collect(Collectors.toSet());
+
+        KeysetSlice<TargetWithDetails> targets = null;
+        do {
+            final String continuationToken = targets == null ? null : targets.getNextToken().orElse(null);
+            targets = targetManagement
+                    .findWithDetailsByKeyset(KeysetPageRequest.of(Direction.ASC, "id", PAGE_SIZE, continuationToken));
+            checkBatchInSinglePass(filterQueries, targets.getContent(), dsIds);
+        } while (targets.hasNext());
+
+        for (final CompiledFilterQuery filterQuery : filterQueries) {
+            final long duration = TimeUnit.NANOSECONDS.toMillis(filterQuery.getDurationNanos());
+            LOGGER.debug("Auto assign check of target filter query {} assigned {} targets in {} ms (single pass)",
+                    filterQuery.getFilterQuery().getId(), filterQuery.getAssigned(), duration);
+            statistics.recordEvaluation(tenantAware.getCurrentTenant(), filterQuery.getFilterQuery().getId(), duration,
+                    filterQuery.getAssigned());
+        }
+    }
+
+    private void checkBatchInSinglePass(final List<CompiledFilterQuery> filterQueries,
+            final List<TargetWithDetails> targets, final Set<Long> dsIds) {
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        // the DS of the TFQs in the action history of the targets, including
+        // the assignments of the previous TFQs
+        final Map<Long, Set<Long>> actionHistory = new HashMap<>();
+        deploymentManagement
+                .findDistributionSetIdsInActionHistory(
+                        targets.stream().map(target -> target.getTarget().getId()).collect(Collectors.toList()), dsIds)
+                .forEach((targetId, setIds) -> actionHistory.put(targetId, new HashSet<>(setIds)));
+
+        for (final CompiledFilterQuery filterQuery : filterQueries) {
+            final long start = System.nanoTime();
+
+            final List<String> controllerIds = new ArrayList<>();
+            for (final TargetWithDetails target : targets) {
+                if (filterQuery.matches(target) && actionHistory
+                        .computeIfAbsent(target.getTarget().getId(), targetId -> new HashSet<>())
+                        .add(filterQuery.getDistributionSetId())) {
+                    controllerIds.add(target.getTarget().getControllerId());
+                }
+            }
+
+            if (!controllerIds.isEmpty()) {
+                try {
+                    filterQuery.addAssigned(
+                            runTransactionalAssignment(filterQuery.getFilterQuery(), () -> controllerIds));
+                } catch (PersistenceException | AbstractServerRtException e) {
+                    LOGGER.error("Error during auto assign check of target filter query "
+                            + filterQuery.getFilterQuery().getId(), e);
+                }
+            }
+
+            filterQuery.addDurationNanos(System.nanoTime() - start);
+        }
+    }
+
+    private List<TargetFilterQuery> findFilterQueries() {
+        return targetFilterQueryManagement.findWithAutoAssignDS(PageRequest.of(0, PAGE_SIZE)).getContent();
+    }
+
+    private void rememberCheckedFilterQueries(final List<TargetFilterQuery> filterQueries) {
+        final String tenant = tenantAware.getCurrentTenant();
+        checkedFilterQueries.put(tenant, filterQueries.stream()
+                .collect(Collectors.toMap(TargetFilterQuery::getId, TargetFilterQuery::getOptLockRevision)));
+        statistics.retainFilters(tenant,
+                filterQueries.stream().map(TargetFilterQuery::getId).collect(Collectors.toList()));
     }
 
     /**
@@ -111,13 +299,18 @@ public class AutoAssignChecker implements AutoAssignExecutor {
      *            the target filter query
      */
     private void checkByTargetFilterQueryAndAssignDS(final TargetFilterQuery targetFilterQuery) {
+        final long start = System.currentTimeMillis();
+        long assigned = 0;
         try {
             final DistributionSet distributionSet = targetFilterQuery.getAutoAssignDistributionSet();
 
             int count;
             do {
 
-                count = runTransactionalAssignment(targetFilterQuery, distributionSet.getId());
+                count = runTransactionalAssignment(targetFilterQuery,
+                        () -> toControllerIds(targetManagement.findByTargetFilterQueryAndNonDS(
+                                PageRequest.of(0, PAGE_SIZE), distributionSet.getId(), targetFilterQuery.getQuery())));
+                assigned += count;
 
             } while (count == PAGE_SIZE);
 
@@ -125,6 +318,46 @@ public class AutoAssignChecker implements AutoAssignExecutor {
             LOGGER.error("Error during auto assign check of target filter query " + targetFilterQuery.getId(), e);
         }
 
+        recordEvaluation(targetFilterQuery, start, assigned);
+    }
+
+    /**
+     * Checks the given targets against the target filter query and assigns the
+     * DS to the matching ones. Catches PersistenceException and own exceptions
+     * derived from AbstractServerRtException
+     *
+     * @param targetFilterQuery
+     *            the target filter query
+     * @param targetIds
+     *            the targets to check
+     */
+    private void checkTargetsByTargetFilterQueryAndAssignDS(final TargetFilterQuery targetFilterQuery,
+            final Collection<Long> targetIds) {
+        final long start = System.currentTimeMillis();
+        long assigned = 0;
+        try {
+            final DistributionSet distributionSet = targetFilterQuery.getAutoAssignDistributionSet();
+
+            for (final List<Long> ids : Lists.partition(new ArrayList<>(targetIds),
+                    Constants.MAX_ENTRIES_IN_STATEMENT)) {
+                assigned += runTransactionalAssignment(targetFilterQuery,
+                        () -> toControllerIds(targetManagement.findByTargetFilterQueryAndNonDSAndIdIn(
+                                PageRequest.of(0, PAGE_SIZE), distributionSet.getId(), targetFilterQuery.getQuery(),
+                                ids)));
+            }
+
+        } catch (PersistenceException | AbstractServerRtException e) {
+            LOGGER.error("Error during auto assign check of target filter query " + targetFilterQuery.getId(), e);
+        }
+
+        recordEvaluation(targetFilterQuery, start, assigned);
+    }
+
+    private void recordEvaluation(final TargetFilterQuery targetFilterQuery, final long start, final long assigned) {
+        final long duration = System.currentTimeMillis() - start;
+        LOGGER.debug("Auto assign check of target filter query {} assigned {} targets in {} ms",
+                targetFilterQuery.getId(), assigned, duration);
+        statistics.recordEvaluation(tenantAware.getCurrentTenant(), targetFilterQuery.getId(), duration, assigned);
     }
 
     /**
@@ -132,18 +365,21 @@ public class AutoAssignChecker implements AutoAssignExecutor {
      *
      * @param targetFilterQuery
      *            the target filter query
-     * @param dsId
-     *            distribution set id to assign
+     * @param targetFinder
+     *            to get the controller IDs of the matching targets without the
+     *            DS
      * @return count of targets
      */
-    private int runTransactionalAssignment(final TargetFilterQuery targetFilterQuery, final Long dsId) {
+    private int runTransactionalAssignment(final TargetFilterQuery targetFilterQuery,
+            final Supplier<List<String>> targetFinder) {
         final String actionMessage = String.format(ACTION_MESSAGE, targetFilterQuery.getName());
+        final Long dsId = targetFilterQuery.getAutoAssignDistributionSet().getId();
 
         return DeploymentHelper.runInNewTransaction(transactionManager, "autoAssignDSToTargets",
                 Isolation.READ_COMMITTED.value(), status -> {
-                    final List<DeploymentRequest> deploymentRequests = createAssignmentRequests(
-                            targetFilterQuery.getQuery(), dsId, targetFilterQuery.getAutoAssignActionType(),
-                            targetFilterQuery.getAutoAssignWeight().orElse(null), PAGE_SIZE);
+                    final List<DeploymentRequest> deploymentRequests = createAssignmentRequests(targetFinder.get(),
+                            dsId, targetFilterQuery.getAutoAssignActionType(),
+                            targetFilterQuery.getAutoAssignWeight().orElse(null));
                     final int count = deploymentRequests.size();
                     if (count > 0) {
                         deploymentManagement.assignDistributionSets(deploymentRequests, actionMessage);
@@ -153,29 +389,75 @@ public class AutoAssignChecker implements AutoAssignExecutor {
     }
 
     /**
-     * Gets all matching targets with the designated action from the target
-     * management
+     * Creates the deployment requests with the designated action for the
+     * matching targets
      *
-     * @param targetFilterQuery
-     *            the query the targets have to match
+     * @param controllerIds
+     *            the targets matching the query without the DS in their action
+     *            history
      * @param dsId
      *            dsId the targets are not allowed to have in their action history
      * @param type
      *            action type for targets auto assignment
-     * @param count
-     *            maximum amount of targets to retrieve
      * @return list of targets with action type
      */
-    private List<DeploymentRequest> createAssignmentRequests(final String targetFilterQuery, final Long dsId,
-            final ActionType type, final Integer weight, final int count) {
-        final Page<Target> targets = targetManagement.findByTargetFilterQueryAndNonDS(PageRequest.of(0, count), dsId,
-                targetFilterQuery);
+    private static List<DeploymentRequest> createAssignmentRequests(final List<String> controllerIds,
+            final Long dsId, final ActionType type, final Integer weight) {
         // the action type is set to FORCED per default (when not explicitly
         // specified)
         final ActionType autoAssignActionType = type == null ? ActionType.FORCED : type;
 
-        return targets.getContent().stream().map(t -> DeploymentManagement.deploymentRequest(t.getControllerId(), dsId)
+        return controllerIds.stream().map(controllerId -> DeploymentManagement.deploymentRequest(controllerId, dsId)
                 .setActionType(autoAssignActionType).setWeight(weight).build()).collect(Collectors.toList());
     }
 
+    private static List<String> toControllerIds(final Page<Target> targets) {
+        return targets.getContent().stream().map(Target::getControllerId).collect(Collectors.toList());
+    }
+
+    /**
+     * A TFQ with its in-memory predicate and the evaluation cost of a single
+     * pass check
+     */
+    private static final class CompiledFilterQuery {
+
+        private final TargetFilterQuery filterQuery;
+        private final Predicate<TargetWithDetails> predicate;
+        private long durationNanos;
+        private long assigned;
+
+        private CompiledFilterQuery(final TargetFilterQuery filterQuery, final Predicate<TargetWithDetails> predicate) {
+            this.filterQuery = filterQuery;
+            this.predicate = predicate;
+        }
+
+        private TargetFilterQuery getFilterQuery() {
+            return filterQuery;
+        }
+
+        private Long getDistributionSetId() {
+            return filterQuery.getAutoAssignDistributionSet().getId();
+        }
+
+        private boolean matches(final TargetWithDetails target) {
+            return predicate.test(target);
+        }
+
+        private long getDurationNanos() {
+            return durationNanos;
+        }
+
+        private void addDurationNanos(final long nanos) {
+            durationNanos += nanos;
+        }
+
+        private long getAssigned() {
+            return assigned;
+        }
+
+        private void addAssigned(final long count) {
+            assigned += count;
+        }
+    }
+
 }
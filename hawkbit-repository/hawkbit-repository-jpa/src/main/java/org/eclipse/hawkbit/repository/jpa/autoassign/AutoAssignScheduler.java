@@ -8,24 +8,40 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.locks.Lock;
 
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetBulkCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.scheduling.annotation.Scheduled;
 
 /**
- * Scheduler to check target filters for auto assignment of distribution sets
+ * Scheduler to check target filters for auto assignment of distribution sets.
+ * The targets which have been created or updated on this node are collected
+ * from the target events and checked in short intervals. All targets are only
+ * checked in a long interval in order to reconcile changes which have been
+ * missed, e.g. as the buffer was full.
  */
 public class AutoAssignScheduler {
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignScheduler.class);
 
     private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.autoassign.scheduler.fixedDelay:2000}";
 
+    private static final String PROP_RECONCILIATION_DELAY_PLACEHOLDER = "${hawkbit.autoassign.scheduler.reconciliationDelay:600000}";
+
     private final SystemManagement systemManagement;
 
     private final SystemSecurityContext systemSecurityContext;
@@ -34,6 +50,8 @@ public class AutoAssignScheduler {
 
     private final LockRegistry lockRegistry;
 
+    private final AutoAssignTargetBuffer targetBuffer;
+
     /**
      * Instantiates a new AutoAssignScheduler
      * 
@@ -45,30 +63,86 @@ public class AutoAssignScheduler {
      *            to run a check as tenant
      * @param lockRegistry
      *            to acquire a lock per tenant
+     * @param targetBuffer
+     *            to collect the changed targets
      */
     public AutoAssignScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
-            final LockRegistry lockRegistry) {
+            final LockRegistry lockRegistry, final AutoAssignTargetBuffer targetBuffer) {
         this.systemManagement = systemManagement;
         this.systemSecurityContext = systemSecurityContext;
         this.autoAssignExecutor = autoAssignExecutor;
         this.lockRegistry = lockRegistry;
+        this.targetBuffer = targetBuffer;
     }
 
     /**
      * Scheduler method called by the spring-async mechanism. Retrieves all
      * tenants from the {@link SystemManagement#findTenants()} and runs for each
-     * tenant the auto assignments defined in the target filter queries
-     * {@link SystemSecurityContext}.
+     * tenant the auto assignments defined in the target filter queries for the
+     * targets changed since the last run {@link SystemSecurityContext}.
      */
     @Scheduled(initialDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER)
     public void autoAssignScheduler() {
         LOGGER.debug("auto assign schedule checker has been triggered.");
         // run this code in system code privileged to have the necessary
         // permission to query and create entities.
+        systemSecurityContext.runAsSystem(this::executeIncrementalAutoAssign);
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Retrieves all
+     * tenants from the {@link SystemManagement#findTenants()} and runs for each
+     * tenant the auto assignments defined in the target filter queries for all
+     * targets {@link SystemSecurityContext}.
+     */
+    @Scheduled(initialDelayString = PROP_RECONCILIATION_DELAY_PLACEHOLDER, fixedDelayString = PROP_RECONCILIATION_DELAY_PLACEHOLDER)
+    public void autoAssignReconciliation() {
+        LOGGER.debug("auto assign reconciliation has been triggered.");
         systemSecurityContext.runAsSystem(this::executeAutoAssign);
     }
 
+    @EventListener(classes = TargetCreatedEvent.class)
+    void collectOnTargetCreate(final TargetCreatedEvent event) {
+        collect(event, Collections.singletonList(event.getEntityId()));
+    }
+
+    @EventListener(classes = TargetUpdatedEvent.class)
+    void collectOnTargetUpdate(final TargetUpdatedEvent event) {
+        collect(event, Collections.singletonList(event.getEntityId()));
+    }
+
+    @EventListener(classes = TargetBulkCreatedEvent.class)
+    void collectOnTargetBulkCreate(final TargetBulkCreatedEvent event) {
+        collect(event, event.getTargetIds());
+    }
+
+    private void collect(final RemoteTenantAwareEvent event, final Collection<Long> targetIds) {
+        // every node checks only the targets it has changed itself
+        if (!EventPublisherHolder.getInstance().getApplicationId().equals(event.getOriginService())) {
+            return;
+        }
+        targetIds.forEach(targetId -> targetBuffer.add(event.getTenant(), targetId));
+    }
+
+    @SuppressWarnings("squid:S3516")
+    private Object executeIncrementalAutoAssign() {
+        final Lock lock = lockRegistry.obtain("autoassign");
+        if (!lock.tryLock()) {
+            return null;
+        }
+
+        try {
+            final Map<String, Set<Long>> changedTargets = targetBuffer.drain();
+            systemManagement.forEachTenant(tenant -> autoAssignExecutor
+                    .checkTargets(changedTargets.getOrDefault(tenant, Collections.emptySet())));
+        } finally {
+            lock.unlock();
+        }
+
+        return null;
+    }
+
     @SuppressWarnings("squid:S3516")
     private Object executeAutoAssign() {
         // workaround eclipselink that is currently not possible to
@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+
+/**
+ * Statistics of the auto assignment, i.e. the evaluation cost per auto assign
+ * {@link TargetFilterQuery} and the number of full and incremental checks.
+ */
+public class AutoAssignStatistics {
+
+    private final ConcurrentMap<String, Map<Long, FilterStatistics>> filters = new ConcurrentHashMap<>();
+
+    private final LongAdder fullChecks = new LongAdder();
+    private final LongAdder incrementalChecks = new LongAdder();
+    private final LongAdder checkedTargets = new LongAdder();
+
+    /**
+     * Records a finished evaluation of a target filter query.
+     *
+     * @param tenant
+     *            of the target filter query
+     * @param filterId
+     *            of the target filter query
+     * @param durationMillis
+     *            duration of the evaluation including the assignments
+     * @param assigned
+     *            number of targets the distribution set has been assigned to
+     */
+    public void recordEvaluation(final String tenant, final long filterId, final long durationMillis,
+            final long assigned) {
+        filters.computeIfAbsent(tenant, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(filterId, key -> new FilterStatistics()).record(durationMillis, assigned);
+    }
+
+    /**
+     * Records a check of all targets against all target filter queries of a
+     * tenant.
+     */
+    public void recordFullCheck() {
+        fullChecks.increment();
+    }
+
+    /**
+     * Records a check of changed targets against the target filter queries of
+     * a tenant.
+     *
+     * @param targets
+     *            number of checked targets
+     */
+    public void recordIncrementalCheck(final int targets) {
+        incrementalChecks.increment();
+        checkedTargets.add(targets);
+    }
+
+    /**
+     * Removes the statistics of target filter queries of a tenant which have
+     * no auto assign distribution set anymore.
+     *
+     * @param tenant
+     *            of the target filter queries
+     * @param filterIds
+     *            the current auto assign target filter queries of the tenant
+     */
+    public void retainFilters(final String tenant, final Collection<Long> filterIds) {
+        final Map<Long, FilterStatistics> statistics = filters.get(tenant);
+        if (statistics != null) {
+            statistics.keySet().retainAll(filterIds);
+        }
+    }
+
+    /**
+     * @param tenant
+     *            of the target filter queries
+     * @return the statistics by target filter query ID
+     */
+    public Map<Long, FilterStatistics> getFilterStatistics(final String tenant) {
+        final Map<Long, FilterStatistics> statistics = filters.get(tenant);
+        return statistics == null ? Collections.emptyMap() : new HashMap<>(statistics);
+    }
+
+    /**
+     * @return duration of the slowest last evaluation of all target filter
+     *         queries in milliseconds
+     */
+    public long getMaxLastDuration() {
+        return filters.values().stream().flatMap(statistics -> statistics.values().stream())
+                .mapToLong(FilterStatistics::getLastDuration).max().orElse(0);
+    }
+
+    /**
+     * @return total number of checks of all targets
+     */
+    public long getFullCheckCount() {
+        return fullChecks.sum();
+    }
+
+    /**
+     * @return total number of checks of changed targets
+     */
+    public long getIncrementalCheckCount() {
+        return incrementalChecks.sum();
+    }
+
+    /**
+     * @return total number of changed targets which have been checked
+     */
+    public long getCheckedTargetCount() {
+        return checkedTargets.sum();
+    }
+
+    /**
+     * Evaluation cost of one target filter query.
+     */
+    public static final class FilterStatistics {
+
+        private final AtomicLong lastDuration = new AtomicLong();
+        private final LongAdder totalDuration = new LongAdder();
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder assigned = new LongAdder();
+
+        private void record(final long durationMillis, final long assignedTargets) {
+            lastDuration.set(durationMillis);
+            totalDuration.add(durationMillis);
+            evaluations.increment();
+            assigned.add(assignedTargets);
+        }
+
+        /**
+         * @return duration of the last evaluation in milliseconds
+         */
+        public long getLastDuration() {
+            return lastDuration.get();
+        }
+
+        /**
+         * @return duration of all evaluations in milliseconds
+         */
+        public long getTotalDuration() {
+            return totalDuration.sum();
+        }
+
+        /**
+         * @return number of evaluations
+         */
+        public long getEvaluationCount() {
+            return evaluations.sum();
+        }
+
+        /**
+         * @return number of targets the distribution set has been assigned to
+         */
+        public long getAssignedCount() {
+            return assigned.sum();
+        }
+    }
+}
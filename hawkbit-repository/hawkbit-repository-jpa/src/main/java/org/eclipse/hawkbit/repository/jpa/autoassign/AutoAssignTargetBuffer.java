@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free buffer for the targets which have been created or changed since
+ * the last auto assign check. The targets are collected per tenant, the
+ * number of buffered targets is bounded. Further targets are dropped (and
+ * counted) until the buffer is drained, they are covered by the next full auto
+ * assign check.
+ */
+public class AutoAssignTargetBuffer {
+
+    private final int capacity;
+
+    private final ConcurrentMap<String, Set<Long>> targets = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            maximum number of targets kept in the buffer
+     */
+    public AutoAssignTargetBuffer(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a changed target to the buffer.
+     *
+     * @param tenant
+     *            of the target
+     * @param targetId
+     *            of the target
+     * @return <code>true</code> if the target was buffered,
+     *         <code>false</code> if it was dropped as the buffer is full
+     */
+    public boolean add(final String tenant, final long targetId) {
+        received.increment();
+        final Set<Long> tenantTargets = targets.computeIfAbsent(tenant, key -> ConcurrentHashMap.newKeySet());
+
+        if (tenantTargets.contains(targetId)) {
+            return true;
+        }
+
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+
+        if (!tenantTargets.add(targetId)) {
+            // a concurrent change of the same target was faster
+            size.decrementAndGet();
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes all buffered targets from the buffer. Targets which are added
+     * concurrently are either part of the result or stay in the buffer for the
+     * next drain.
+     *
+     * @return IDs of the changed targets by tenant (case insensitive)
+     */
+    public Map<String, Set<Long>> drain() {
+        final Map<String, Set<Long>> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        targets.forEach((tenant, tenantTargets) -> tenantTargets.forEach(targetId -> {
+            if (tenantTargets.remove(targetId)) {
+                size.decrementAndGet();
+                result.computeIfAbsent(tenant, key -> new HashSet<>()).add(targetId);
+            }
+        }));
+
+        return result;
+    }
+
+    /**
+     * @return number of targets currently waiting for the auto assign check
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * @return maximum number of targets kept in the buffer
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return total number of changed targets offered to the buffer
+     */
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    /**
+     * @return total number of targets dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
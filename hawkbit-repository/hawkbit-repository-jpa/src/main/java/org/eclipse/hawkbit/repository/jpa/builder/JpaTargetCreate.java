@@ -26,12 +26,27 @@ public class JpaTargetCreate extends AbstractTargetUpdateCreate<TargetCreate> im
 
     @Override
     public JpaTarget build() {
+        return build(null);
+    }
+
+    /**
+     * Builds the target with the given security token if none has been set,
+     * e.g. with a token which has been generated in bulk.
+     * 
+     * @param generatedSecurityToken
+     *            to use if no security token has been set or {@code null} to
+     *            generate one
+     * @return the target
+     */
+    public JpaTarget build(final String generatedSecurityToken) {
         JpaTarget target;
 
-        if (StringUtils.isEmpty(securityToken)) {
-            target = new JpaTarget(controllerId);
-        } else {
+        if (!StringUtils.isEmpty(securityToken)) {
             target = new JpaTarget(controllerId, securityToken);
+        } else if (generatedSecurityToken != null) {
+            target = new JpaTarget(controllerId, generatedSecurityToken);
+        } else {
+            target = new JpaTarget(controllerId);
         }
 
         if (!StringUtils.isEmpty(name)) {
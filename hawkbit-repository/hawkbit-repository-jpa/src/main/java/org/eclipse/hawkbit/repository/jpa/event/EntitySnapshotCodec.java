@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.event;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtobufIOUtil;
+import io.protostuff.Schema;
+import io.protostuff.runtime.DefaultIdStrategy;
+import io.protostuff.runtime.RuntimeSchema;
+
+/**
+ * Serializes the fields of the JPA entities into snapshots which are sent with
+ * the remote entity events. Only the fields which are allowed for the entity
+ * type are part of the snapshot, i.e. secrets like the security token of a
+ * target are never sent, and entity types without allowed fields are not
+ * snapshotted at all but reloaded on the receiving side.
+ *
+ * The restored entity implements the interfaces of the entity type. The
+ * getters of the allowed fields are answered by the snapshot, all other
+ * methods, e.g. the relations, by the entity which is reloaded from the
+ * repository on first use.
+ */
+public class EntitySnapshotCodec {
+
+    private static final Set<String> BASE_FIELDS = setOf("id", "tenant", "optLockRevision", "createdAt",
+            "createdBy", "lastModifiedAt", "lastModifiedBy");
+
+    private static final Map<Class<?>, Set<String>> SNAPSHOT_FIELDS = Collections.singletonMap(JpaTarget.class,
+            setOf("name", "description", "controllerId", "address", "updateStatus", "lastTargetQuery",
+                    "installationDate", "requestControllerAttributes"));
+
+    private static final Set<String> OBJECT_METHODS = setOf("equals", "hashCode", "toString");
+
+    private final DefaultIdStrategy idStrategy = new DefaultIdStrategy();
+    private final ConcurrentMap<Class<?>, Schema<?>> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * @param entity
+     *            to serialize
+     * @return the snapshot of the entity or <code>null</code> if entities of
+     *         this type are not snapshotted
+     */
+    public byte[] createSnapshot(final TenantAwareBaseEntity entity) {
+        if (!SNAPSHOT_FIELDS.containsKey(entity.getClass())) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        final Schema<Object> schema = (Schema<Object>) getSchema(entity.getClass());
+        return ProtobufIOUtil.toByteArray(entity, schema, LinkedBuffer.allocate());
+    }
+
+    /**
+     * @param snapshot
+     *            created by {@link #createSnapshot(TenantAwareBaseEntity)}
+     * @param entityType
+     *            of the entity
+     * @param reload
+     *            to reload the entity of the given snapshot from the
+     *            repository, called once on the first use of a method which
+     *            is not answered by the snapshot
+     * @return the restored entity or <code>null</code> if entities of this
+     *         type are not snapshotted
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends TenantAwareBaseEntity> E restoreSnapshot(final byte[] snapshot, final Class<E> entityType,
+            final Function<E, E> reload) {
+        final Set<String> fields = SNAPSHOT_FIELDS.get(entityType);
+        if (fields == null) {
+            return null;
+        }
+        final Schema<E> schema = (Schema<E>) getSchema(entityType);
+        final E restored = schema.newMessage();
+        ProtobufIOUtil.mergeFrom(snapshot, restored, schema);
+
+        final Set<String> snapshotMethods = Stream.concat(BASE_FIELDS.stream(), fields.stream())
+                .map(StringUtils::capitalize).flatMap(field -> Stream.of("get" + field, "is" + field))
+                .collect(Collectors.toSet());
+        snapshotMethods.addAll(OBJECT_METHODS);
+        return (E) Proxy.newProxyInstance(entityType.getClassLoader(),
+                ClassUtils.getAllInterfacesForClass(entityType, entityType.getClassLoader()),
+                new SnapshotInvocationHandler<>(restored, snapshotMethods, reload));
+    }
+
+    private Schema<?> getSchema(final Class<?> entityType) {
+        return schemas.computeIfAbsent(entityType,
+                type -> RuntimeSchema.createFrom(type, excludedFields(type), idStrategy));
+    }
+
+    private static Set<String> excludedFields(final Class<?> entityType) {
+        final Set<String> allowed = SNAPSHOT_FIELDS.get(entityType);
+        final Set<String> excluded = new HashSet<>();
+        for (Class<?> type = entityType; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (final Field field : type.getDeclaredFields()) {
+                if (!BASE_FIELDS.contains(field.getName()) && !allowed.contains(field.getName())) {
+                    excluded.add(field.getName());
+                }
+            }
+        }
+        return excluded;
+    }
+
+    private static Set<String> setOf(final String... names) {
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(names)));
+    }
+
+    private static final class SnapshotInvocationHandler<E> implements InvocationHandler {
+        private final E restored;
+        private final Set<String> snapshotMethods;
+        private final Function<E, E> reload;
+        private volatile E reloaded;
+
+        private SnapshotInvocationHandler(final E restored, final Set<String> snapshotMethods,
+                final Function<E, E> reload) {
+            this.restored = restored;
+            this.snapshotMethods = snapshotMethods;
+            this.reload = reload;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            try {
+                return method.invoke(snapshotMethods.contains(method.getName()) ? restored : getReloaded(), args);
+            } catch (final InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private E getReloaded() {
+            if (reloaded == null) {
+                // the snapshot is used if the entity has been deleted meanwhile
+                final E entity = reload.apply(restored);
+                reloaded = entity == null ? restored : entity;
+            }
+            return reloaded;
+        }
+    }
+}
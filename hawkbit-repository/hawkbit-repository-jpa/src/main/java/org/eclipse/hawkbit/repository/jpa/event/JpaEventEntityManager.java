@@ -8,24 +8,39 @@
  */
 package org.eclipse.hawkbit.repository.jpa.event;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
 
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
 import org.eclipse.hawkbit.tenancy.TenantAware;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.collect.Lists;
 
 /**
  * A TenantAwareEvent entity manager, which loads an entity by id and type for
  * remote events.
  */
-@Transactional(readOnly = true)
 public class JpaEventEntityManager implements EventEntityManager {
 
     private final TenantAware tenantAware;
 
     private final EntityManager entityManager;
 
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final EntitySnapshotCodec snapshotCodec;
+
     /**
      * Constructor.
      *
@@ -33,16 +48,58 @@ public class JpaEventEntityManager implements EventEntityManager {
      *            the tenant aware
      * @param entityManager
      *            the entity manager
+     * @param txManager
+     *            to load the entities in a read only transaction
+     * @param snapshotCodec
+     *            to create and restore the snapshots of the entities or
+     *            <code>null</code> if snapshots are not supported
      */
-    public JpaEventEntityManager(final TenantAware tenantAware, final EntityManager entityManager) {
+    public JpaEventEntityManager(final TenantAware tenantAware, final EntityManager entityManager,
+            final PlatformTransactionManager txManager, final EntitySnapshotCodec snapshotCodec) {
         this.tenantAware = tenantAware;
         this.entityManager = entityManager;
+        this.snapshotCodec = snapshotCodec;
+        this.readOnlyTransaction = new TransactionTemplate(txManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
     public <E extends TenantAwareBaseEntity> E findEntity(final String tenant, final Long id,
             final Class<E> entityType) {
-        return tenantAware.runAsTenant(tenant, () -> entityManager.find(entityType, id));
+        return tenantAware.runAsTenant(tenant,
+                () -> readOnlyTransaction.execute(status -> entityManager.find(entityType, id)));
+    }
+
+    @Override
+    public <E extends TenantAwareBaseEntity> List<E> findEntities(final String tenant, final Collection<Long> ids,
+            final Class<E> entityType) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return tenantAware.runAsTenant(tenant, () -> readOnlyTransaction.execute(status -> {
+            final List<E> entities = new ArrayList<>(ids.size());
+            for (final List<Long> partition : Lists.partition(new ArrayList<>(ids),
+                    Constants.MAX_ENTRIES_IN_STATEMENT)) {
+                final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                final CriteriaQuery<E> query = cb.createQuery(entityType);
+                final Root<E> root = query.from(entityType);
+                entities.addAll(entityManager.createQuery(query.where(root.get("id").in(partition))).getResultList());
+            }
+            return entities;
+        }));
+    }
+
+    @Override
+    public byte[] createSnapshot(final TenantAwareBaseEntity entity) {
+        return snapshotCodec == null ? null : snapshotCodec.createSnapshot(entity);
+    }
+
+    @Override
+    public <E extends TenantAwareBaseEntity> E restoreSnapshot(final byte[] snapshot, final Class<E> entityType) {
+        return snapshotCodec == null ? null
+                : snapshotCodec.restoreSnapshot(snapshot, entityType,
+                        restored -> findEntity(restored.getTenant(), restored.getId(), entityType));
     }
 
 }
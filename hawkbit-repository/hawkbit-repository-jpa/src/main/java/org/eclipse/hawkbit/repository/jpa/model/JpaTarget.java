@@ -38,6 +38,7 @@ import javax.persistence.ManyToOne;
 import javax.persistence.MapKeyColumn;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
@@ -172,6 +173,11 @@ public class JpaTarget extends AbstractJpaNamedEntity implements Target, EventAw
     @OneToMany(mappedBy = "target", fetch = FetchType.LAZY, targetEntity = JpaTargetMetadata.class)
     private List<TargetMetadata> metadata;
 
+    // the creation of targets which are imported in bulk is published by one
+    // TargetBulkCreatedEvent per chunk
+    @Transient
+    private transient boolean createdInBulk;
+
     /**
      * Constructor.
      *
@@ -399,8 +405,19 @@ public class JpaTarget extends AbstractJpaNamedEntity implements Target, EventAw
         this.requestControllerAttributes = requestControllerAttributes;
     }
 
+    /**
+     * Marks the target as created by the bulk import, i.e. no
+     * {@link TargetCreatedEvent} is published for it.
+     */
+    public void setCreatedInBulk() {
+        this.createdInBulk = true;
+    }
+
     @Override
     public void fireCreateEvent(final DescriptorEvent descriptorEvent) {
+        if (createdInBulk) {
+            return;
+        }
         EventPublisherHolder.getInstance().getEventPublisher()
                 .publishEvent(new TargetCreatedEvent(this, EventPublisherHolder.getInstance().getApplicationId()));
     }
@@ -8,6 +8,8 @@
  */
 package org.eclipse.hawkbit.repository.jpa.model.helper;
 
+import java.util.List;
+
 import org.eclipse.hawkbit.security.SecurityTokenGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -49,4 +51,15 @@ public final class SecurityTokenGeneratorHolder {
         return securityTokenGenerator.generateToken();
     }
 
+    /**
+     * delegates to {@link SecurityTokenGenerator#generateTokens(int)}.
+     * 
+     * @param count
+     *            of the tokens to generate
+     * @return the result {@link SecurityTokenGenerator#generateTokens(int)}
+     */
+    public List<String> generateTokens(final int count) {
+        return securityTokenGenerator.generateTokens(count);
+    }
+
 }
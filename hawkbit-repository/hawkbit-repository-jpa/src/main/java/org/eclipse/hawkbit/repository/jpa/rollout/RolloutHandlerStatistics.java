@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.model.Rollout;
+
+/**
+ * Statistics of the rollout handling, i.e. the duration of the last handler
+ * run per active {@link Rollout} and the backlog of the tenants waiting for
+ * {@link RolloutManagement#handleRollouts()}.
+ */
+public class RolloutHandlerStatistics {
+
+    private final ConcurrentMap<String, Map<Long, Long>> lastDurations = new ConcurrentHashMap<>();
+
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final LongAdder handled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * Records a finished handler run of a rollout.
+     *
+     * @param tenant
+     *            of the rollout
+     * @param rolloutId
+     *            of the rollout
+     * @param durationMillis
+     *            duration of the handler run
+     * @param successful
+     *            <code>false</code> if the handler failed
+     */
+    public void recordHandled(final String tenant, final long rolloutId, final long durationMillis,
+            final boolean successful) {
+        lastDurations.computeIfAbsent(tenant, key -> new ConcurrentHashMap<>()).put(rolloutId, durationMillis);
+        handled.increment();
+        if (!successful) {
+            failed.increment();
+        }
+    }
+
+    /**
+     * Records a rollout which has been skipped as it is handled by another
+     * node or thread at the moment.
+     */
+    public void recordSkipped() {
+        skipped.increment();
+    }
+
+    /**
+     * Removes the statistics of rollouts of a tenant which are not active
+     * anymore.
+     *
+     * @param tenant
+     *            of the rollouts
+     * @param activeRolloutIds
+     *            the currently active rollouts of the tenant
+     */
+    public void retainRollouts(final String tenant, final Collection<Long> activeRolloutIds) {
+        lastDurations.computeIfPresent(tenant, (key, durations) -> {
+            durations.keySet().retainAll(activeRolloutIds);
+            return durations.isEmpty() ? null : durations;
+        });
+    }
+
+    /**
+     * Increments the number of tenants waiting for or in rollout handling.
+     */
+    public void incrementBacklog() {
+        backlog.incrementAndGet();
+    }
+
+    /**
+     * Decrements the number of tenants waiting for or in rollout handling.
+     */
+    public void decrementBacklog() {
+        backlog.decrementAndGet();
+    }
+
+    /**
+     * @return number of tenants waiting for or in rollout handling
+     */
+    public int getBacklog() {
+        return backlog.get();
+    }
+
+    /**
+     * @return total number of handler runs
+     */
+    public long getHandledCount() {
+        return handled.sum();
+    }
+
+    /**
+     * @return total number of failed handler runs
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return total number of rollouts skipped as they were handled elsewhere
+     */
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    /**
+     * @param tenant
+     *            of the rollouts
+     * @return duration of the last handler run in milliseconds by rollout ID
+     */
+    public Map<Long, Long> getLastDurations(final String tenant) {
+        final Map<Long, Long> durations = lastDurations.get(tenant);
+        return durations == null ? Collections.emptyMap() : new HashMap<>(durations);
+    }
+
+    /**
+     * @return duration of the slowest last handler run of all active rollouts
+     *         in milliseconds
+     */
+    public long getMaxLastDuration() {
+        return lastDurations.values().stream().flatMap(durations -> durations.values().stream())
+                .mapToLong(Long::longValue).max().orElse(0);
+    }
+}
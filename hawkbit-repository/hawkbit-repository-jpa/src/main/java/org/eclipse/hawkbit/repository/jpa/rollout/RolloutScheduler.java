@@ -8,6 +8,10 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rollout;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
 import org.eclipse.hawkbit.repository.RolloutManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
@@ -15,10 +19,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import com.google.common.util.concurrent.MoreExecutors;
+
 /**
  * Scheduler to schedule the {@link RolloutManagement#handleRollouts()}. The
  * delay between the checks be be configured using the property from
  * {#PROP_SCHEDULER_DELAY_PLACEHOLDER}.
+ * 
+ * The rollouts of the tenants are handled in parallel on the given
+ * {@link Executor}. A tenant which is still handled from a previous run is
+ * skipped, i.e. a tenant with slow rollouts does not delay the others.
  */
 public class RolloutScheduler {
 
@@ -32,6 +42,12 @@ public class RolloutScheduler {
 
     private final SystemSecurityContext systemSecurityContext;
 
+    private final Executor rolloutHandlerExecutor;
+
+    private final RolloutHandlerStatistics statistics;
+
+    private final Set<String> tenantsInProgress = ConcurrentHashMap.newKeySet();
+
     /**
      * Constructor.
      * 
@@ -41,12 +57,36 @@ public class RolloutScheduler {
      *            to run the rollout handler
      * @param systemSecurityContext
      *            to run as system
+     * @param rolloutHandlerExecutor
+     *            to run the rollout handler of the tenants on
+     * @param statistics
+     *            to record the backlog of the tenants
      */
     public RolloutScheduler(final SystemManagement systemManagement, final RolloutManagement rolloutManagement,
-            final SystemSecurityContext systemSecurityContext) {
+            final SystemSecurityContext systemSecurityContext, final Executor rolloutHandlerExecutor,
+            final RolloutHandlerStatistics statistics) {
         this.systemManagement = systemManagement;
         this.rolloutManagement = rolloutManagement;
         this.systemSecurityContext = systemSecurityContext;
+        this.rolloutHandlerExecutor = rolloutHandlerExecutor;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Constructor for a scheduler which handles the tenants one after another
+     * on the scheduler thread.
+     * 
+     * @param systemManagement
+     *            to find all tenants
+     * @param rolloutManagement
+     *            to run the rollout handler
+     * @param systemSecurityContext
+     *            to run as system
+     */
+    public RolloutScheduler(final SystemManagement systemManagement, final RolloutManagement rolloutManagement,
+            final SystemSecurityContext systemSecurityContext) {
+        this(systemManagement, rolloutManagement, systemSecurityContext, MoreExecutors.directExecutor(),
+                new RolloutHandlerStatistics());
     }
 
     /**
@@ -69,10 +109,40 @@ public class RolloutScheduler {
             // iterate through all tenants and execute the rollout check for
             // each tenant seperately.
 
-            systemManagement.forEachTenant(tenant -> rolloutManagement.handleRollouts());
+            systemManagement.forEachTenant(this::submitHandleRollouts);
 
             return null;
         });
     }
 
+    private void submitHandleRollouts(final String tenant) {
+        if (!tenantsInProgress.add(tenant)) {
+            LOGGER.debug("Rollouts of tenant {} are still handled, skipping", tenant);
+            return;
+        }
+
+        statistics.incrementBacklog();
+        try {
+            rolloutHandlerExecutor.execute(() -> handleRollouts(tenant));
+        } catch (final RuntimeException e) {
+            statistics.decrementBacklog();
+            tenantsInProgress.remove(tenant);
+            throw e;
+        }
+    }
+
+    private void handleRollouts(final String tenant) {
+        try {
+            systemSecurityContext.runAsSystemAsTenant(() -> {
+                rolloutManagement.handleRollouts();
+                return null;
+            }, tenant);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Failed to handle the rollouts of tenant {}.", tenant, e);
+        } finally {
+            statistics.decrementBacklog();
+            tenantsInProgress.remove(tenant);
+        }
+    }
+
 }
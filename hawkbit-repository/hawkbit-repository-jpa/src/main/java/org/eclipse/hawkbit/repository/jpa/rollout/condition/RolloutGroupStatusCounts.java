@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout.condition;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.RolloutStatusCache;
+import org.eclipse.hawkbit.repository.jpa.RolloutGroupStatusCounter;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Number of actions of a {@link RolloutGroup} by {@link Status}. The counts
+ * are read from the counters of the {@link RolloutGroupStatusCounter} and
+ * shared through the {@link RolloutStatusCache}, so that the conditions of a
+ * group are evaluated on the same snapshot.
+ */
+public final class RolloutGroupStatusCounts {
+
+    private static final RolloutGroupStatusCounts EMPTY = new RolloutGroupStatusCounts(Collections.emptyList(), 0);
+
+    private final Map<Status, Long> counts = new EnumMap<>(Status.class);
+    private final long total;
+    private final long reconciledAt;
+
+    private RolloutGroupStatusCounts(final List<TotalTargetCountActionStatus> items, final long reconciledAt) {
+        items.forEach(item -> counts.merge(item.getStatus(), item.getCount(), Long::sum));
+        total = counts.values().stream().mapToLong(Long::longValue).sum();
+        this.reconciledAt = reconciledAt;
+    }
+
+    /**
+     * @param counts
+     *            number of actions by status
+     * @param reconciledAt
+     *            time in millis the counts have been recounted from the
+     *            actions the last time
+     * @return the counts
+     */
+    public static RolloutGroupStatusCounts of(final Map<Status, Long> counts, final long reconciledAt) {
+        return new RolloutGroupStatusCounts(counts.entrySet().stream()
+                .map(entry -> new TotalTargetCountActionStatus(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList()), reconciledAt);
+    }
+
+    /**
+     * Retrieves the counts of a group from the {@link RolloutStatusCache} or,
+     * if not cached, from the counters.
+     *
+     * @param rolloutStatusCache
+     *            to read from and to fill
+     * @param rolloutGroupStatusCounter
+     *            to read on a cache miss
+     * @param rolloutGroupId
+     *            of the group
+     * @return the counts of the group
+     */
+    public static RolloutGroupStatusCounts get(final RolloutStatusCache rolloutStatusCache,
+            final RolloutGroupStatusCounter rolloutGroupStatusCounter, final long rolloutGroupId) {
+        final List<TotalTargetCountActionStatus> items = rolloutStatusCache.getRolloutGroupStatus(rolloutGroupId);
+
+        if (!CollectionUtils.isEmpty(items)) {
+            return new RolloutGroupStatusCounts(items, 0);
+        }
+
+        final RolloutGroupStatusCounts counts = rolloutGroupStatusCounter
+                .find(Collections.singletonList(rolloutGroupId)).getOrDefault(rolloutGroupId, EMPTY);
+        rolloutStatusCache.putRolloutGroupStatus(rolloutGroupId, counts.toItems());
+        return counts;
+    }
+
+    /**
+     * @return counts of a group without actions
+     */
+    public static RolloutGroupStatusCounts empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return the counts as cache entries, without the statuses no action is
+     *         in
+     */
+    public List<TotalTargetCountActionStatus> toItems() {
+        return counts.entrySet().stream().filter(entry -> entry.getValue() > 0)
+                .map(entry -> new TotalTargetCountActionStatus(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return time in millis the counts have been recounted from the actions
+     *         the last time, <code>0</code> if unknown
+     */
+    public long getReconciledAt() {
+        return reconciledAt;
+    }
+
+    /**
+     * @return total number of actions of the group
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @param status
+     *            of the actions
+     * @return number of actions of the group in the given status
+     */
+    public long getCount(final Status status) {
+        return counts.getOrDefault(status, 0L);
+    }
+
+    /**
+     * @param statuses
+     *            to exclude
+     * @return number of actions of the group in any other than the given
+     *         statuses
+     */
+    public long countNotIn(final Collection<Status> statuses) {
+        return counts.entrySet().stream().filter(entry -> !statuses.contains(entry.getKey()))
+                .mapToLong(Map.Entry::getValue).sum();
+    }
+}
@@ -8,7 +8,8 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 
-import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.RolloutStatusCache;
+import org.eclipse.hawkbit.repository.jpa.RolloutGroupStatusCounter;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -22,10 +23,14 @@ import org.slf4j.LoggerFactory;
 public class ThresholdRolloutGroupSuccessCondition implements RolloutGroupConditionEvaluator {
     private static final Logger LOGGER = LoggerFactory.getLogger(ThresholdRolloutGroupSuccessCondition.class);
 
-    private final ActionRepository actionRepository;
+    private final RolloutGroupStatusCounter rolloutGroupStatusCounter;
 
-    public ThresholdRolloutGroupSuccessCondition(final ActionRepository actionRepository) {
-        this.actionRepository = actionRepository;
+    private final RolloutStatusCache rolloutStatusCache;
+
+    public ThresholdRolloutGroupSuccessCondition(final RolloutGroupStatusCounter rolloutGroupStatusCounter,
+            final RolloutStatusCache rolloutStatusCache) {
+        this.rolloutGroupStatusCounter = rolloutGroupStatusCounter;
+        this.rolloutStatusCache = rolloutStatusCache;
     }
 
     @Override
@@ -41,8 +46,9 @@ public class ThresholdRolloutGroupSuccessCondition implements RolloutGroupCondit
         final Action.Status completeActionStatus = (Action.ActionType.DOWNLOAD_ONLY == rollout.getActionType())
                 ? Action.Status.DOWNLOADED
                 : Action.Status.FINISHED;
-        final long finished = this.actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
-                rolloutGroup.getId(), completeActionStatus);
+        final long finished = RolloutGroupStatusCounts
+                .get(rolloutStatusCache, rolloutGroupStatusCounter, rolloutGroup.getId())
+                .getCount(completeActionStatus);
         try {
             final Integer threshold = Integer.valueOf(expression);
             // calculate threshold
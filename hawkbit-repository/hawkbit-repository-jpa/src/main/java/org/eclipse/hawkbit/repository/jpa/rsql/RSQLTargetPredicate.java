@@ -0,0 +1,359 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.FieldNameProvider;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.model.TargetWithDetails;
+import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import cz.jirutka.rsql.parser.ast.RSQLVisitor;
+
+/**
+ * Compiles RSQL target filter queries into in-memory predicates on
+ * {@link TargetWithDetails}, which evaluate to the same result as the JPA
+ * {@link org.springframework.data.jpa.domain.Specification} created by
+ * {@link RSQLUtility#parse}. The string and status fields of the target, its
+ * tags, attributes, metadata and distribution sets are supported with the
+ * operators <code>==</code>, <code>!=</code>, <code>=in=</code> and
+ * <code>=out=</code>, the time fields of the target with the operators
+ * <code>=gt=</code>, <code>=ge=</code>, <code>=lt=</code> and
+ * <code>=le=</code>. Like in {@link RSQLUtility}, the field names are case
+ * insensitive, the values are compared case insensitive and the virtual
+ * properties of the values of the time fields are replaced.
+ */
+public final class RSQLTargetPredicate {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RSQLTargetPredicate.class);
+
+    private static final char LIKE_WILDCARD = '*';
+
+    private RSQLTargetPredicate() {
+    }
+
+    /**
+     * Compiles the given RSQL query into an in-memory predicate without
+     * replacing virtual properties.
+     *
+     * @param rsql
+     *            the target filter query
+     * @return the predicate or {@link Optional#empty()} if the query contains
+     *         fields or operators which can only be evaluated by the database
+     */
+    public static Optional<Predicate<TargetWithDetails>> compile(final String rsql) {
+        return compile(rsql, null);
+    }
+
+    /**
+     * Compiles the given RSQL query into an in-memory predicate.
+     *
+     * @param rsql
+     *            the target filter query
+     * @param virtualPropertyReplacer
+     *            to replace the virtual properties of the values, might be
+     *            <code>null</code>
+     * @return the predicate or {@link Optional#empty()} if the query contains
+     *         fields or operators which can only be evaluated by the database
+     */
+    public static Optional<Predicate<TargetWithDetails>> compile(final String rsql,
+            final VirtualPropertyReplacer virtualPropertyReplacer) {
+        try {
+            return Optional.of(RSQLUtility.parseRsql(rsql).accept(new PredicateVisitor(virtualPropertyReplacer)));
+        } catch (final RuntimeException e) {
+            LOGGER.debug("RSQL query {} cannot be evaluated in memory", rsql, e);
+            return Optional.empty();
+        }
+    }
+
+    private static final class NotCompilableException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private NotCompilableException(final String message) {
+            super(message);
+        }
+    }
+
+    private static final class PredicateVisitor implements RSQLVisitor<Predicate<TargetWithDetails>, Void> {
+
+        private final VirtualPropertyReplacer virtualPropertyReplacer;
+
+        private PredicateVisitor(final VirtualPropertyReplacer virtualPropertyReplacer) {
+            this.virtualPropertyReplacer = virtualPropertyReplacer;
+        }
+
+        @Override
+        public Predicate<TargetWithDetails> visit(final AndNode node, final Void param) {
+            return acceptChildren(node.getChildren()).stream().reduce(Predicate::and).orElse(target -> true);
+        }
+
+        @Override
+        public Predicate<TargetWithDetails> visit(final OrNode node, final Void param) {
+            return acceptChildren(node.getChildren()).stream().reduce(Predicate::or).orElse(target -> true);
+        }
+
+        private List<Predicate<TargetWithDetails>> acceptChildren(final List<Node> children) {
+            return children.stream().map(child -> child.accept(this)).collect(Collectors.toList());
+        }
+
+        @Override
+        public Predicate<TargetWithDetails> visit(final ComparisonNode node, final Void param) {
+            // only the field names are case insensitive, the values are kept
+            final String[] graph = node.getSelector().toLowerCase()
+                    .split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
+            final String operator = node.getOperator().getSymbol();
+            final List<String> values = node.getArguments();
+
+            switch (graph[0]) {
+            case "id":
+            case "controllerid":
+                return single(graph, 1, operator, values, target -> target.getTarget().getControllerId());
+            case "name":
+                return single(graph, 1, operator, values, target -> target.getTarget().getName());
+            case "description":
+                return single(graph, 1, operator, values, target -> target.getTarget().getDescription());
+            case "ipaddress":
+                return single(graph, 1, operator, values, target -> target.getTarget().getAddress() == null ? null
+                        : target.getTarget().getAddress().toString());
+            case "updatestatus":
+                return updateStatus(graph, operator, values);
+            case "createdat":
+                return time(graph, operator, values, target -> target.getTarget().getCreatedAt());
+            case "lastmodifiedat":
+                return time(graph, operator, values, target -> target.getTarget().getLastModifiedAt());
+            case "lastcontrollerrequestat":
+                return time(graph, operator, values, target -> target.getTarget().getLastTargetQuery());
+            case "assignedds":
+                return distributionSet(graph, operator, values, TargetWithDetails::getAssignedDistributionSet);
+            case "installedds":
+                return distributionSet(graph, operator, values, TargetWithDetails::getInstalledDistributionSet);
+            case "tag":
+                return multi(graph, operator, values, target -> target.getTags().stream().map(TargetTag::getName)
+                        .collect(Collectors.toList()));
+            case "attribute":
+                return map(graph, operator, values, (target, key) -> target.getControllerAttributes().entrySet()
+                        .stream().filter(entry -> entry.getKey().equalsIgnoreCase(key)).findAny());
+            case "metadata":
+                return map(graph, operator, values,
+                        (target, key) -> target.getMetadata().stream()
+                                .filter(metadata -> metadata.getKey().equalsIgnoreCase(key)).findAny()
+                                .map(metadata -> new SimpleImmutableEntry<>(metadata.getKey(), metadata.getValue())));
+            default:
+                throw new NotCompilableException("field " + graph[0] + " is evaluated by the database");
+            }
+        }
+
+        private static Predicate<TargetWithDetails> distributionSet(final String[] graph, final String operator,
+                final List<String> values, final Function<TargetWithDetails, Optional<DistributionSet>> set) {
+            if (graph.length != 2 || values.stream().anyMatch(StringUtils::isEmpty)) {
+                throw new NotCompilableException("unsupported distribution set selector");
+            }
+            switch (graph[1]) {
+            case "name":
+                return single(graph, 2, operator, values,
+                        target -> set.apply(target).map(DistributionSet::getName).orElse(null));
+            case "version":
+                return single(graph, 2, operator, values,
+                        target -> set.apply(target).map(DistributionSet::getVersion).orElse(null));
+            default:
+                throw new NotCompilableException("unsupported distribution set field " + graph[1]);
+            }
+        }
+
+        /**
+         * Field with at most one value per target, <code>null</code> matches
+         * only the negating operators.
+         */
+        private static Predicate<TargetWithDetails> single(final String[] graph, final int length,
+                final String operator, final List<String> values, final Function<TargetWithDetails, String> field) {
+            if (graph.length != length) {
+                throw new NotCompilableException("unsupported selector");
+            }
+            final String value = values.get(0);
+            switch (operator) {
+            case "==":
+                if (StringUtils.isEmpty(value)) {
+                    return target -> StringUtils.isEmpty(field.apply(target));
+                }
+                final Pattern pattern = toPattern(value);
+                return target -> like(field.apply(target), pattern);
+            case "!=":
+                if (StringUtils.isEmpty(value)) {
+                    return target -> !StringUtils.isEmpty(field.apply(target));
+                }
+                final Pattern notPattern = toPattern(value);
+                return target -> !like(field.apply(target), notPattern);
+            case "=in=":
+                final Set<String> in = toUpperCase(values);
+                return target -> in(field.apply(target), in);
+            case "=out=":
+                final Set<String> out = toUpperCase(values);
+                return target -> !in(field.apply(target), out);
+            default:
+                throw new NotCompilableException("operator " + operator + " is evaluated by the database");
+            }
+        }
+
+        /**
+         * Field with any number of values per target, the operators match if
+         * any value (or no value for the negating operators) matches.
+         */
+        private static Predicate<TargetWithDetails> multi(final String[] graph, final String operator,
+                final List<String> values, final Function<TargetWithDetails, Collection<String>> field) {
+            if (graph.length != 1 || values.stream().anyMatch(StringUtils::isEmpty)) {
+                throw new NotCompilableException("unsupported selector");
+            }
+            switch (operator) {
+            case "==":
+                final Pattern pattern = toPattern(values.get(0));
+                return target -> field.apply(target).stream().anyMatch(value -> like(value, pattern));
+            case "!=":
+                final Pattern notPattern = toPattern(values.get(0));
+                return target -> field.apply(target).stream().noneMatch(value -> like(value, notPattern));
+            case "=in=":
+                final Set<String> in = toUpperCase(values);
+                return target -> field.apply(target).stream().anyMatch(value -> in(value, in));
+            case "=out=":
+                final Set<String> out = toUpperCase(values);
+                return target -> field.apply(target).stream().noneMatch(value -> in(value, out));
+            default:
+                throw new NotCompilableException("operator " + operator + " is evaluated by the database");
+            }
+        }
+
+        /**
+         * Map field, the operators only match if the target has an entry with
+         * the given key.
+         */
+        private static Predicate<TargetWithDetails> map(final String[] graph, final String operator,
+                final List<String> values,
+                final BiFunction<TargetWithDetails, String, Optional<? extends Entry<String, String>>> field) {
+            if (graph.length != 2 || values.stream().anyMatch(StringUtils::isEmpty)) {
+                throw new NotCompilableException("unsupported selector");
+            }
+            final String key = graph[1];
+            final Predicate<String> valuePredicate;
+            switch (operator) {
+            case "==":
+                final Pattern pattern = toPattern(values.get(0));
+                valuePredicate = value -> like(value, pattern);
+                break;
+            case "!=":
+                final Pattern notPattern = toPattern(values.get(0));
+                valuePredicate = value -> !like(value, notPattern);
+                break;
+            case "=in=":
+                final Set<String> in = toUpperCase(values);
+                valuePredicate = value -> in(value, in);
+                break;
+            case "=out=":
+                final Set<String> out = toUpperCase(values);
+                valuePredicate = value -> !in(value, out);
+                break;
+            default:
+                throw new NotCompilableException("operator " + operator + " is evaluated by the database");
+            }
+            return target -> field.apply(target, key).map(entry -> valuePredicate.test(entry.getValue()))
+                    .orElse(false);
+        }
+
+        /**
+         * Time field, compared like the database compares the replaced value
+         * with the column, <code>null</code> matches no operator.
+         */
+        private Predicate<TargetWithDetails> time(final String[] graph, final String operator,
+                final List<String> values, final Function<TargetWithDetails, Long> field) {
+            if (graph.length != 1) {
+                throw new NotCompilableException("unsupported selector");
+            }
+            String value = values.get(0);
+            if (virtualPropertyReplacer != null) {
+                value = virtualPropertyReplacer.replace(value);
+            }
+            // values which are no timestamps are rejected by the database query
+            final long bound = Long.parseLong(value.trim());
+            switch (operator) {
+            case "=gt=":
+                return target -> compare(field.apply(target), time -> time > bound);
+            case "=ge=":
+                return target -> compare(field.apply(target), time -> time >= bound);
+            case "=lt=":
+                return target -> compare(field.apply(target), time -> time < bound);
+            case "=le=":
+                return target -> compare(field.apply(target), time -> time <= bound);
+            default:
+                throw new NotCompilableException("operator " + operator + " is evaluated by the database");
+            }
+        }
+
+        private static boolean compare(final Long time, final LongPredicate comparison) {
+            return time != null && comparison.test(time);
+        }
+
+        private static Predicate<TargetWithDetails> updateStatus(final String[] graph, final String operator,
+                final List<String> values) {
+            if (graph.length != 1) {
+                throw new NotCompilableException("unsupported selector");
+            }
+            // invalid values are rejected by the database query
+            final Set<TargetUpdateStatus> status = values.stream().map(String::toUpperCase)
+                    .map(TargetUpdateStatus::valueOf).collect(Collectors.toSet());
+            switch (operator) {
+            case "==":
+            case "=in=":
+                return target -> status.contains(target.getTarget().getUpdateStatus());
+            case "!=":
+            case "=out=":
+                return target -> !status.contains(target.getTarget().getUpdateStatus());
+            default:
+                throw new NotCompilableException("operator " + operator + " is evaluated by the database");
+            }
+        }
+
+        private static Pattern toPattern(final String value) {
+            final String[] parts = value.toUpperCase().split(Pattern.quote(String.valueOf(LIKE_WILDCARD)), -1);
+            return Pattern.compile(Arrays.stream(parts).map(Pattern::quote).collect(Collectors.joining(".*")),
+                    Pattern.DOTALL);
+        }
+
+        private static Set<String> toUpperCase(final List<String> values) {
+            return values.stream().map(String::toUpperCase).collect(Collectors.toSet());
+        }
+
+        private static boolean like(final String value, final Pattern pattern) {
+            return value != null && pattern.matcher(value.toUpperCase()).matches();
+        }
+
+        private static boolean in(final String value, final Set<String> values) {
+            return value != null && values.contains(value.toUpperCase());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+CREATE TABLE sp_rolloutgroup_status_count
+(
+	rolloutgroup_id BIGINT NOT NULL,
+	status INTEGER NOT NULL,
+	action_count BIGINT NOT NULL,
+	reconciled_at BIGINT NOT NULL,
+	PRIMARY KEY (rolloutgroup_id, status)
+);
+
+ALTER TABLE sp_rolloutgroup_status_count ADD CONSTRAINT fk_status_count_rolloutgroup FOREIGN KEY (rolloutgroup_id) REFERENCES sp_rolloutgroup (id) ON DELETE CASCADE;
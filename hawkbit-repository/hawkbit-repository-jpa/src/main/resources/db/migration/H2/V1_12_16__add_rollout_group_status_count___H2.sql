@@ -0,0 +1,13 @@
+create table sp_rolloutgroup_status_count (
+	rolloutgroup_id bigint not null,
+	status integer not null,
+	action_count bigint not null,
+	reconciled_at bigint not null,
+	primary key (rolloutgroup_id, status)
+);
+
+alter table sp_rolloutgroup_status_count
+	add constraint fk_status_count_rolloutgroup
+	foreign key (rolloutgroup_id)
+	references sp_rolloutgroup
+	on delete cascade;
@@ -0,0 +1,18 @@
+CREATE TABLE sp_rolloutgroup_status_count(
+    rolloutgroup_id BIGINT NOT NULL,
+    status INTEGER NOT NULL,
+    action_count BIGINT NOT NULL,
+    reconciled_at BIGINT NOT NULL
+)
+        WITH (
+        OIDS=FALSE
+        );
+
+ALTER TABLE sp_rolloutgroup_status_count
+ADD CONSTRAINT pk_sp_rolloutgroup_status_count PRIMARY KEY (rolloutgroup_id, status);
+
+ALTER TABLE sp_rolloutgroup_status_count
+ADD CONSTRAINT fk_status_count_rolloutgroup FOREIGN KEY (rolloutgroup_id)
+REFERENCES sp_rolloutgroup (id)
+ON UPDATE RESTRICT
+ON DELETE CASCADE;
@@ -55,7 +55,7 @@ public abstract class AbstractRemoteEventTest extends AbstractJpaIntegrationTest
 
     }
 
-    private Message<?> createProtoStuffMessage(final TenantAwareEvent event) {
+    protected Message<?> createProtoStuffMessage(final TenantAwareEvent event) {
         final Map<String, Object> headers = Maps.newLinkedHashMap();
         headers.put(MessageHeaders.CONTENT_TYPE, BusProtoStuffMessageConverter.APPLICATION_BINARY_PROTOSTUFF);
         return busProtoStuffMessageConverter.toMessage(event, new MutableMessageHeaders(headers));
@@ -51,6 +51,39 @@ public class RemoteTenantAwareEventTest extends AbstractRemoteEventTest {
 
     }
 
+    @Test
+    @Description("Verifies that a TargetBulkCreatedEvent can be properly serialized and deserialized")
+    public void testTargetBulkCreatedEvent() {
+        final List<Long> targetIds = Arrays.asList(1L, 2L, 3L);
+        final TargetBulkCreatedEvent event = new TargetBulkCreatedEvent(TENANT_DEFAULT, APPLICATION_ID_DEFAULT,
+                targetIds);
+
+        final TargetBulkCreatedEvent remoteEventProtoStuff = createProtoStuffEvent(event);
+        assertThat(event).isEqualTo(remoteEventProtoStuff);
+        assertThat(remoteEventProtoStuff.getTargetIds()).containsExactlyElementsOf(targetIds);
+
+        final TargetBulkCreatedEvent remoteEventJackson = createJacksonEvent(event);
+        assertThat(event).isEqualTo(remoteEventJackson);
+        assertThat(remoteEventJackson.getTargetIds()).containsExactlyElementsOf(targetIds);
+    }
+
+    @Test
+    @Description("Verifies that a CacheEvictedEvent can be properly serialized and deserialized")
+    public void testCacheEvictedEvent() {
+        final CacheEvictedEvent event = new CacheEvictedEvent(TENANT_DEFAULT, APPLICATION_ID_DEFAULT,
+                "tenantConfiguration", "pollingTime");
+
+        final CacheEvictedEvent remoteEventProtoStuff = createProtoStuffEvent(event);
+        assertThat(event).isEqualTo(remoteEventProtoStuff);
+        assertThat(remoteEventProtoStuff.getCacheName()).isEqualTo("tenantConfiguration");
+        assertThat(remoteEventProtoStuff.getKey()).isEqualTo("pollingTime");
+
+        final CacheEvictedEvent remoteEventJackson = createJacksonEvent(event);
+        assertThat(event).isEqualTo(remoteEventJackson);
+        assertThat(remoteEventJackson.getCacheName()).isEqualTo("tenantConfiguration");
+        assertThat(remoteEventJackson.getKey()).isEqualTo("pollingTime");
+    }
+
     @Test
     @Description("Verifies that a DownloadProgressEvent can be properly serialized and deserialized")
     public void reloadDownloadProgessByRemoteEvent() {
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.hawkbit.event.BatchingEventEntityManager;
+import org.eclipse.hawkbit.repository.event.remote.AbstractRemoteEventTest;
+import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.TestPropertySource;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Test the entity snapshots of the remote entity events and the batched reload
+ * of the entities.
+ */
+@Feature("Component Tests - Repository")
+@Story("Entity snapshots and batched reload of remote entity events")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.eventEntitySnapshots=true",
+        "hawkbit.server.repository.eventEntityBatchReload=true" })
+public class RemoteEntityEventSnapshotTest extends AbstractRemoteEventTest {
+
+    @Autowired
+    private EventEntityManager eventEntityManager;
+
+    @Test
+    @Description("Verifies that the entity of a remote event is restored from the snapshot without reloading it.")
+    public void entityIsRestoredFromSnapshot() {
+        final Target target = targetManagement
+                .update(entityFactory.target().update(testdataFactory.createTarget("12345").getControllerId())
+                        .address("amqp://vhost/exchange").description("snapshot"));
+
+        final TargetUpdatedEvent underTest = createProtoStuffEvent(new TargetUpdatedEvent(target, "node"));
+        assertThat(underTest.getEntitySnapshot()).isNotEmpty();
+
+        targetManagement.deleteByControllerID(target.getControllerId());
+
+        final Target restored = underTest.getEntity();
+        assertThat(restored).isEqualTo(target);
+        assertThat(restored.getControllerId()).isEqualTo(target.getControllerId());
+        assertThat(restored.getAddress()).isEqualTo(target.getAddress());
+        assertThat(restored.getDescription()).isEqualTo("snapshot");
+        assertThat(restored.getTenant()).isEqualToIgnoringCase(target.getTenant());
+    }
+
+    @Test
+    @Description("Verifies that the security token of a target is neither part of the snapshot nor of the encoded bus message, but is reloaded from the repository on first use.")
+    public void securityTokenIsNotPartOfSnapshot() {
+        final Target target = targetManagement.create(
+                entityFactory.target().create().controllerId("12345").securityToken("snapshotSecurityToken"));
+
+        final TargetUpdatedEvent event = new TargetUpdatedEvent(target, "node");
+        final Message<?> message = createProtoStuffMessage(event);
+        assertThat(new String((byte[]) message.getPayload(), StandardCharsets.ISO_8859_1))
+                .contains(target.getControllerId()).doesNotContain("snapshotSecurityToken");
+        assertThat(new String(event.getEntitySnapshot(), StandardCharsets.ISO_8859_1))
+                .doesNotContain("snapshotSecurityToken");
+
+        final TargetUpdatedEvent underTest = createProtoStuffEvent(new TargetUpdatedEvent(target, "node"));
+        assertThat(underTest.getEntity().getSecurityToken()).isEqualTo("snapshotSecurityToken");
+    }
+
+    @Test
+    @Description("Verifies that only the entity types with allowed snapshot fields are snapshotted.")
+    public void entitiesWithoutAllowedFieldsAreNotSnapshotted() {
+        final DistributionSetCreatedEvent underTest = createProtoStuffEvent(
+                new DistributionSetCreatedEvent(testdataFactory.createDistributionSet("snapshot"), "node"));
+
+        assertThat(underTest.getEntitySnapshot()).isNull();
+        assertThat(underTest.getEntity().getName()).isEqualTo("snapshot");
+    }
+
+    @Test
+    @Description("Verifies that the entity of a remote event without snapshot is reloaded from the repository.")
+    public void entityIsReloadedWithoutSnapshot() {
+        final Target target = testdataFactory.createTarget("12345");
+
+        final TargetUpdatedEvent underTest = createJacksonEvent(new TargetUpdatedEvent(target, "node"));
+        assertThat(underTest.getEntitySnapshot()).isNull();
+        assertThat(underTest.getEntity()).isEqualTo(target);
+    }
+
+    @Test
+    @Description("Verifies that the entities are reloaded in batches and missing entities are skipped.")
+    public void entitiesAreReloadedInBatches() {
+        assertThat(eventEntityManager).isInstanceOf(BatchingEventEntityManager.class);
+        final List<Target> targets = testdataFactory.createTargets(3);
+
+        final List<JpaTarget> found = eventEntityManager.findEntities(tenantAware.getCurrentTenant(),
+                Arrays.asList(targets.get(0).getId(), targets.get(2).getId(), -1L), JpaTarget.class);
+        assertThat(found).containsOnly((JpaTarget) targets.get(0), (JpaTarget) targets.get(2));
+
+        assertThat(eventEntityManager.findEntity(tenantAware.getCurrentTenant(), targets.get(1).getId(),
+                JpaTarget.class)).isEqualTo(targets.get(1));
+    }
+}
@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -35,7 +36,9 @@ import javax.validation.ConstraintViolationException;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
+import org.awaitility.Awaitility;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.repository.UpdateMode;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
@@ -69,6 +72,7 @@ import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
 import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
+import org.eclipse.hawkbit.security.SecurityTokenGenerator;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -89,6 +93,9 @@ public class ControllerManagementTest extends AbstractJpaIntegrationTest {
     @Autowired
     private RepositoryProperties repositoryProperties;
 
+    @Autowired
+    private TargetSecurityTokenCache targetSecurityTokenCache;
+
     @Test
     @Description("Verifies that management get access react as specified on calls for non existing entities by means "
             + "of Optional not present.")
@@ -1586,4 +1593,31 @@ public class ControllerManagementTest extends AbstractJpaIntegrationTest {
                 .as("No EntityNotFoundException thrown when deleting a non-existing target")
                 .isThrownBy(() -> controllerManagement.deleteExistingTarget(target.getControllerId()));
     }
+
+    @Test
+    @Description("Verifies that the security token hash of a target is served from the cache until the target is updated or deleted.")
+    public void securityTokenIsServedFromCacheUntilTargetUpdate() {
+        final Target target = testdataFactory.createTarget("tokenTarget");
+        final String token = SecurityTokenGenerator
+                .hashToken(systemSecurityContext.runAsSystem(target::getSecurityToken));
+
+        assertThat(getSecurityTokenAsSystem("tokenTarget")).contains(token);
+        assertThat(controllerManagement.getControllerIdByTargetId(target.getId())).contains("tokenTarget");
+        final long hits = targetSecurityTokenCache.getHitCount();
+        assertThat(getSecurityTokenAsSystem("tokenTarget")).contains(token);
+        assertThat(targetSecurityTokenCache.getHitCount()).isEqualTo(hits + 1);
+
+        targetManagement.update(entityFactory.target().update("tokenTarget").securityToken("changedToken"));
+        Awaitility.await().pollInSameThread().atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(getSecurityTokenAsSystem("tokenTarget")).contains(SecurityTokenGenerator.hashToken("changedToken")));
+
+        targetManagement.deleteByControllerID("tokenTarget");
+        Awaitility.await().pollInSameThread().atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(getSecurityTokenAsSystem("tokenTarget")).isEmpty());
+        assertThat(controllerManagement.getControllerIdByTargetId(target.getId())).isEmpty();
+    }
+
+    private Optional<String> getSecurityTokenAsSystem(final String controllerId) {
+        return systemSecurityContext.runAsSystem(() -> controllerManagement.getSecurityTokenHashByControllerId(controllerId));
+    }
 }
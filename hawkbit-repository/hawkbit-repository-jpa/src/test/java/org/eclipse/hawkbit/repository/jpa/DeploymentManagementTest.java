@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -27,6 +28,8 @@ import javax.validation.ConstraintViolationException;
 import org.assertj.core.api.Assertions;
 import org.eclipse.hawkbit.repository.ActionStatusFields;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.KeysetSlice;
 import org.eclipse.hawkbit.repository.event.remote.MultiActionEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
@@ -116,6 +119,10 @@ public class DeploymentManagementTest extends AbstractJpaIntegrationTest {
                 "DistributionSet");
         verifyThrownExceptionBy(() -> deploymentManagement.findActionsByTarget(NOT_EXIST_ID, PAGE), "Target");
         verifyThrownExceptionBy(() -> deploymentManagement.findActionsByTarget("id==*", NOT_EXIST_ID, PAGE), "Target");
+        verifyThrownExceptionBy(() -> deploymentManagement.findActionsByTargetAndKeyset(NOT_EXIST_ID,
+                KeysetPageRequest.of(Direction.DESC, "id", 10, null)), "Target");
+        verifyThrownExceptionBy(() -> deploymentManagement.findActionStatusByActionAndKeyset(
+                KeysetPageRequest.of(Direction.DESC, "id", 10, null), NOT_EXIST_IDL), "Action");
 
         verifyThrownExceptionBy(() -> deploymentManagement.findActiveActionsByTarget(PAGE, NOT_EXIST_ID), "Target");
         verifyThrownExceptionBy(() -> deploymentManagement.findInActiveActionsByTarget(PAGE, NOT_EXIST_ID), "Target");
@@ -209,6 +216,51 @@ public class DeploymentManagementTest extends AbstractJpaIntegrationTest {
         assertThat(actionStates.getContent().get(0)).as("Action-status of action").isEqualTo(expectedActionStatus);
     }
 
+    @Test
+    @Description("Test verifies that the actions of a target and the action-states of an action are found by keyset paging.")
+    public void findActionsAndActionStatusByKeyset() {
+        final Target target = testdataFactory.createTarget();
+        final List<Long> actionIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final DistributionSet ds = testdataFactory.createDistributionSet("ds" + i);
+            actionIds.add(getFirstAssignedActionId(assignDistributionSet(ds.getId(), target.getControllerId())));
+        }
+        final Long actionId = actionIds.get(2);
+        controllerManagement.addUpdateActionStatus(
+                entityFactory.actionStatus().create(actionId).status(Action.Status.RUNNING));
+        controllerManagement.addUpdateActionStatus(
+                entityFactory.actionStatus().create(actionId).status(Action.Status.DOWNLOADED));
+
+        KeysetSlice<Action> actions = deploymentManagement.findActionsByTargetAndKeyset(target.getControllerId(),
+                KeysetPageRequest.of(Direction.DESC, "id", 2, null));
+        assertThat(actions.getContent()).extracting(Action::getId).containsExactly(actionIds.get(2),
+                actionIds.get(1));
+        actions = deploymentManagement.findActionsByTargetAndKeyset(target.getControllerId(),
+                KeysetPageRequest.of(Direction.DESC, "id", 2, actions.getNextToken().get()));
+        assertThat(actions.getContent()).extracting(Action::getId).containsExactly(actionIds.get(0));
+        assertThat(actions.hasNext()).as("Last page of actions").isFalse();
+
+        assertThat(deploymentManagement
+                .findActionsByTargetAndKeyset("id==" + actionIds.get(1), target.getControllerId(),
+                        KeysetPageRequest.of(Direction.ASC, "id", 10, null))
+                .getContent()).extracting(Action::getId).containsExactly(actionIds.get(1));
+
+        final List<ActionStatus> expectedStates = deploymentManagement.findActionStatusByAction(PAGE, actionId)
+                .getContent();
+        final List<ActionStatus> foundStates = new ArrayList<>();
+        KeysetSlice<ActionStatus> states = deploymentManagement
+                .findActionStatusByActionAndKeyset(KeysetPageRequest.of(Direction.ASC, "createdAt", 1, null), actionId);
+        foundStates.addAll(states.getContent());
+        while (states.hasNext()) {
+            states = deploymentManagement.findActionStatusByActionAndKeyset(
+                    KeysetPageRequest.of(Direction.ASC, "createdAt", 1, states.getNextToken().get()), actionId);
+            foundStates.addAll(states.getContent());
+        }
+        assertThat(foundStates).as("Action-states found by keyset").hasSize(3)
+                .containsExactlyInAnyOrderElementsOf(expectedStates).isSortedAccordingTo(Comparator
+                        .comparing(ActionStatus::getCreatedAt).thenComparing(ActionStatus::getId));
+    }
+
     @Test
     @Description("Test verifies that messages of an action-status are found by using id-based search.")
     public void findMessagesByActionStatusId() {
@@ -10,11 +10,14 @@ package org.eclipse.hawkbit.repository.jpa;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.net.URI;
 import java.util.concurrent.TimeUnit;
 
+import org.awaitility.Awaitility;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
@@ -53,4 +56,48 @@ public class LazyControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(updated.getOptLockRevision()).isEqualTo(target.getOptLockRevision());
         assertThat(updated.getLastTargetQuery()).isGreaterThan(target.getLastTargetQuery());
     }
+
+    @Test
+    @Description("Verfies that the poll state of a target is served from the cache until it is invalidated by an assignment.")
+    public void registerPollIsServedFromCacheUntilAssignment() {
+        final ControllerPollState registered = controllerManagement.registerPoll("AA", LOCALHOST);
+        assertThat(registered.getActiveActionId()).isEmpty();
+
+        final ControllerPollState cached = controllerManagement.registerPoll("AA", LOCALHOST);
+        assertThat(cached).as("poll state should be served from the cache").isSameAs(registered);
+
+        final Long actionId = getFirstAssignedActionId(
+                assignDistributionSet(testdataFactory.createDistributionSet().getId(), "AA"));
+
+        Awaitility.await().pollInSameThread().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(
+                controllerManagement.registerPoll("AA", LOCALHOST).getActiveActionId()).contains(actionId));
+    }
+
+    @Test
+    @Description("Verifies that the poll of a target which is served from the cache is persisted, although the tenant of the poll is given in lower case.")
+    public void registerPollFromCacheIsPersistedForLowerCaseTenant() throws InterruptedException {
+        assertThat(tenantAware.getCurrentTenant()).isEqualTo("default");
+        final ControllerPollState registered = controllerManagement.registerPoll("AA", LOCALHOST);
+        final long lastTargetQuery = targetManagement.getByControllerID("AA").get().getLastTargetQuery();
+
+        TimeUnit.MILLISECONDS.sleep(10);
+        assertThat(controllerManagement.registerPoll("AA", LOCALHOST)).isSameAs(registered);
+
+        Awaitility.await().pollInSameThread().atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(targetManagement.getByControllerID("AA").get().getLastTargetQuery())
+                        .isGreaterThan(lastTargetQuery));
+    }
+
+    @Test
+    @Description("Verfies that a changed address of a target bypasses the cached poll state.")
+    public void registerPollWithChangedAddressIsNotServedFromCache() {
+        final ControllerPollState registered = controllerManagement.registerPoll("AA", LOCALHOST);
+        final URI otherAddress = URI.create("http://127.0.0.2");
+
+        final ControllerPollState moved = controllerManagement.registerPoll("AA", otherAddress);
+
+        assertThat(moved).isNotSameAs(registered);
+        assertThat(moved.getAddress()).isEqualTo(otherAddress);
+        assertThat(targetManagement.getByControllerID("AA").get().getAddress()).isEqualTo(otherAddress);
+    }
 }
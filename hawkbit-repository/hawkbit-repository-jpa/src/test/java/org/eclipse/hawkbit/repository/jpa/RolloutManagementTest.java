@@ -19,7 +19,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
 import javax.validation.ConstraintViolationException;
@@ -50,6 +54,8 @@ import org.eclipse.hawkbit.repository.exception.AssignmentQuotaExceededException
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutHandlerStatistics;
+import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupStatusCounts;
 import org.eclipse.hawkbit.repository.jpa.utils.MultipleInvokeHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.SuccessCondition;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -68,6 +74,7 @@ import org.eclipse.hawkbit.repository.model.RolloutGroupConditionBuilder;
 import org.eclipse.hawkbit.repository.model.RolloutGroupConditions;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
 import org.eclipse.hawkbit.repository.model.TotalTargetCountStatus;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
@@ -75,10 +82,15 @@ import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.T
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -92,6 +104,18 @@ import io.qameta.allure.Story;
 @Story("Rollout Management")
 public class RolloutManagementTest extends AbstractJpaIntegrationTest {
 
+    @Autowired
+    private LockRegistry lockRegistry;
+
+    @Autowired
+    private RolloutHandlerStatistics rolloutHandlerStatistics;
+
+    @Autowired
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Before
     @After
     public void reset() {
@@ -1822,6 +1846,211 @@ public class RolloutManagementTest extends AbstractJpaIntegrationTest {
         assertThat(actions).allMatch(action -> !action.getWeight().isPresent());
     }
 
+    @Test
+    @Description("Verifies that the scheduled actions which are created in bulk for the rollout groups carry the properties of the rollout.")
+    public void scheduledActionsAreCreatedWithRolloutProperties() {
+        final int amountOfTargets = 10;
+        final Rollout rollout = createSimpleTestRolloutWithTargetsAndDistributionSet(amountOfTargets, 2, 5, "80", "50",
+                ActionType.SOFT, null);
+        rolloutManagement.start(rollout.getId());
+        rolloutManagement.handleRollouts();
+
+        final List<JpaAction> actions = actionRepository.findByRolloutIdAndStatus(PAGE, rollout.getId(),
+                Status.SCHEDULED).getContent();
+
+        assertThat(actions).hasSize(amountOfTargets - 2);
+        assertThat(actions).allSatisfy(action -> {
+            assertThat(action.isActive()).isFalse();
+            assertThat(action.getActionType()).isEqualTo(ActionType.SOFT);
+            assertThat(action.getDistributionSet()).isEqualTo(rollout.getDistributionSet());
+            assertThat(action.getRolloutGroup()).isNotNull();
+            assertThat(action.getTenant()).isEqualToIgnoringCase(tenantAware.getCurrentTenant());
+            assertThat(action.getCreatedAt()).isPositive();
+            assertThat(action.getOptLockRevision()).isEqualTo(1);
+        });
+        assertThat(actions.stream().map(action -> action.getTarget().getId()).distinct()).hasSize(actions.size());
+    }
+
+    @Test
+    @Description("Verifies that a rollout which is leased by another node is skipped by the rollout handling and that the handler duration is recorded per rollout until no rollout is active anymore.")
+    public void rolloutLeasedByAnotherNodeIsSkipped() throws Exception {
+        final Rollout rollout = rolloutManagement.create(generateTargetsAndRollout("leasedRollout", 10), 2,
+                new RolloutGroupConditionBuilder().withDefaults().build());
+        final Lock lease = lockRegistry.obtain(tenantAware.getCurrentTenant() + "-rollout-" + rollout.getId());
+        final long skippedBefore = rolloutHandlerStatistics.getSkippedCount();
+
+        final ExecutorService otherNode = Executors.newSingleThreadExecutor();
+        try {
+            otherNode.submit(lease::lock).get();
+            rolloutManagement.handleRollouts();
+            assertThat(rolloutManagement.get(rollout.getId()).get().getStatus()).isEqualTo(RolloutStatus.CREATING);
+            assertThat(rolloutHandlerStatistics.getSkippedCount()).isEqualTo(skippedBefore + 1);
+
+            otherNode.submit(lease::unlock).get();
+            rolloutManagement.handleRollouts();
+            assertThat(rolloutManagement.get(rollout.getId()).get().getStatus()).isEqualTo(RolloutStatus.READY);
+            assertThat(rolloutHandlerStatistics.getLastDurations(tenantAware.getCurrentTenant()))
+                    .containsKey(rollout.getId());
+
+            rolloutManagement.delete(rollout.getId());
+            rolloutManagement.handleRollouts();
+            rolloutManagement.handleRollouts();
+            assertThat(rolloutHandlerStatistics.getLastDurations(tenantAware.getCurrentTenant())).isEmpty();
+        } finally {
+            otherNode.shutdown();
+        }
+    }
+
+    @Test
+    @Description("Verifies that the groups of a rollout are not filled and its actions are not created while another node assigns the targets of a rollout of the same tenant.")
+    public void targetAssignmentIsSkippedWhileTenantIsLocked() throws Exception {
+        final Rollout first = rolloutManagement.create(generateTargetsAndRollout("lockedTenant", 10), 2,
+                new RolloutGroupConditionBuilder().withDefaults().build());
+        rolloutManagement.handleRollouts();
+        final Rollout second = rolloutManagement.create(entityFactory.rollout().create().name("lockedTenantOverlap")
+                .targetFilterQuery("controllerId==lockedTenant-*")
+                .set(testdataFactory.createDistributionSet("dsForLockedTenantOverlap")), 2,
+                new RolloutGroupConditionBuilder().withDefaults().build());
+        rolloutManagement.start(first.getId());
+        final Lock tenantLock = lockRegistry.obtain(tenantAware.getCurrentTenant() + "-rollout");
+        final long skippedBefore = rolloutHandlerStatistics.getSkippedCount();
+
+        final ExecutorService otherNode = Executors.newSingleThreadExecutor();
+        try {
+            otherNode.submit(tenantLock::lock).get();
+            rolloutManagement.handleRollouts();
+            assertThat(rolloutManagement.get(first.getId()).get().getStatus()).isEqualTo(RolloutStatus.STARTING);
+            assertThat(rolloutManagement.get(second.getId()).get().getStatus()).isEqualTo(RolloutStatus.CREATING);
+            assertThat(rolloutHandlerStatistics.getSkippedCount()).isEqualTo(skippedBefore + 2);
+
+            otherNode.submit(tenantLock::unlock).get();
+            rolloutManagement.handleRollouts();
+            assertThat(rolloutManagement.get(first.getId()).get().getStatus()).isEqualTo(RolloutStatus.RUNNING);
+            assertThat(rolloutManagement.get(second.getId()).get().getStatus()).isEqualTo(RolloutStatus.READY);
+        } finally {
+            otherNode.shutdown();
+        }
+    }
+
+    @Test
+    @Description("Verifies that overlapping rollouts of a tenant which are handled by two nodes at the same time fill their groups completely and do not leave two scheduled actions for a target.")
+    public void overlappingRolloutsAreHandledByTwoNodes() throws Exception {
+        final Rollout first = rolloutManagement.create(generateTargetsAndRollout("overlapping", 20), 2,
+                new RolloutGroupConditionBuilder().withDefaults().build());
+        final Rollout second = rolloutManagement.create(entityFactory.rollout().create().name("overlappingSecond")
+                .targetFilterQuery("controllerId==overlapping-*")
+                .set(testdataFactory.createDistributionSet("dsForOverlappingSecond")), 2,
+                new RolloutGroupConditionBuilder().withDefaults().build());
+        final long failedBefore = rolloutHandlerStatistics.getFailedCount();
+
+        handleRolloutsOnTwoNodesUntil(RolloutStatus.READY, first.getId(), second.getId());
+        assertThat(rolloutManagement.get(first.getId()).get().getTotalTargets()).isEqualTo(20);
+        assertThat(rolloutManagement.get(second.getId()).get().getTotalTargets()).isEqualTo(20);
+
+        rolloutManagement.start(first.getId());
+        rolloutManagement.start(second.getId());
+        handleRolloutsOnTwoNodesUntil(RolloutStatus.RUNNING, first.getId(), second.getId());
+
+        final List<Long> scheduledTargets = new ArrayList<>();
+        for (final Long rolloutId : Arrays.asList(first.getId(), second.getId())) {
+            actionRepository.findByRolloutIdAndStatus(PAGE, rolloutId, Status.SCHEDULED)
+                    .forEach(action -> scheduledTargets.add(action.getTarget().getId()));
+        }
+        assertThat(scheduledTargets).doesNotHaveDuplicates();
+        assertThat(rolloutHandlerStatistics.getFailedCount()).isEqualTo(failedBefore);
+    }
+
+    private void handleRolloutsOnTwoNodesUntil(final RolloutStatus status, final Long... rolloutIds)
+            throws Exception {
+        final Callable<Void> node = () -> {
+            for (int run = 0; run < 20 && !allInStatus(status, rolloutIds); run++) {
+                rolloutManagement.handleRollouts();
+            }
+            return null;
+        };
+        final ExecutorService nodes = new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(2));
+        try {
+            for (final Future<Void> run : nodes.invokeAll(Arrays.asList(node, node))) {
+                run.get();
+            }
+        } finally {
+            nodes.shutdown();
+        }
+        assertThat(allInStatus(status, rolloutIds)).isTrue();
+    }
+
+    private boolean allInStatus(final RolloutStatus status, final Long... rolloutIds) {
+        return Arrays.stream(rolloutIds).allMatch(id -> rolloutManagement.get(id).get().getStatus() == status);
+    }
+
+    @Test
+    @Description("Verifies that the status counters of the rollout groups follow the status changes of the actions "
+            + "and that a drift of the counters is repaired by their reconciliation.")
+    public void rolloutGroupStatusCountersFollowActions() {
+        final Rollout rollout = createAndStartRollout(10, 0, 2, "100", "80");
+        final List<Long> rolloutGroupIds = getRolloutGroupIds(rollout);
+        assertStatusCountersMatchActions(rolloutGroupIds);
+
+        changeStatusForAllRunningActions(rollout, Status.FINISHED);
+        rolloutManagement.handleRollouts();
+        assertStatusCountersMatchActions(rolloutGroupIds);
+
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.execute(status -> {
+            rolloutGroupStatusCounter.move(rolloutGroupIds.get(0), Status.FINISHED, Status.ERROR, 3);
+            return null;
+        });
+        assertThat(rolloutGroupStatusCounter.find(rolloutGroupIds).get(rolloutGroupIds.get(0)).getCount(Status.ERROR))
+                .isEqualTo(3);
+
+        transaction.execute(status -> rolloutGroupStatusCounter.reconcile(rolloutGroupIds));
+        assertStatusCountersMatchActions(rolloutGroupIds);
+    }
+
+    @Test
+    @Description("Verifies that the status counters of the rollout groups follow the bulk cancellation of scheduled "
+            + "actions and the deletion of targets, both bypassing the entity lifecycle of the actions.")
+    public void rolloutGroupStatusCountersFollowBulkChanges() {
+        final Rollout rollout = createAndStartRollout(10, 0, 2, "100", "80");
+        final List<Long> rolloutGroupIds = getRolloutGroupIds(rollout);
+        final List<Long> scheduledTargetIds = actionRepository
+                .findByRolloutIdAndStatus(PAGE, rollout.getId(), Status.SCHEDULED).getContent().stream()
+                .map(action -> action.getTarget().getId()).collect(Collectors.toList());
+        final List<Long> runningTargetIds = actionRepository
+                .findByRolloutIdAndStatus(PAGE, rollout.getId(), Status.RUNNING).getContent().stream()
+                .map(action -> action.getTarget().getId()).collect(Collectors.toList());
+
+        deploymentManagement.cancelInactiveScheduledActionsForTargets(scheduledTargetIds.subList(0, 2));
+        assertThat(rolloutGroupStatusCounter.find(rolloutGroupIds).get(rolloutGroupIds.get(1))
+                .getCount(Status.CANCELED)).isEqualTo(2);
+        assertStatusCountersMatchActions(rolloutGroupIds);
+
+        targetManagement.delete(Arrays.asList(runningTargetIds.get(0), scheduledTargetIds.get(2)));
+        targetManagement.deleteByControllerID(targetManagement.get(runningTargetIds.get(1)).get().getControllerId());
+        assertStatusCountersMatchActions(rolloutGroupIds);
+    }
+
+    private List<Long> getRolloutGroupIds(final Rollout rollout) {
+        return rolloutGroupManagement
+                .findByRollout(new OffsetBasedPageRequest(0, 10, new Sort(Direction.ASC, "id")), rollout.getId())
+                .getContent().stream().map(RolloutGroup::getId).collect(Collectors.toList());
+    }
+
+    private void assertStatusCountersMatchActions(final List<Long> rolloutGroupIds) {
+        final Map<Long, RolloutGroupStatusCounts> counters = rolloutGroupStatusCounter.find(rolloutGroupIds);
+        assertThat(counters.keySet()).containsOnlyElementsOf(rolloutGroupIds);
+
+        for (final Long rolloutGroupId : rolloutGroupIds) {
+            final Map<Status, Long> actions = actionRepository.getStatusCountByRolloutGroupId(rolloutGroupId)
+                    .stream().collect(Collectors.toMap(TotalTargetCountActionStatus::getStatus,
+                            TotalTargetCountActionStatus::getCount));
+            for (final Status status : Status.values()) {
+                assertThat(counters.get(rolloutGroupId).getCount(status)).as("count of %s in group %s", status,
+                        rolloutGroupId).isEqualTo(actions.getOrDefault(status, 0L));
+            }
+        }
+    }
+
     private RolloutGroupCreate generateRolloutGroup(final int index, final Integer percentage,
             final String targetFilter) {
         return entityFactory.rolloutGroup().create().name("Group" + index).description("Group" + index + "desc")
@@ -10,26 +10,36 @@ package org.eclipse.hawkbit.repository.jpa;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import javax.validation.ConstraintViolationException;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.eclipse.hawkbit.im.authentication.SpPermission;
 import org.eclipse.hawkbit.repository.FilterParams;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.KeysetSlice;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetBulkCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
@@ -40,6 +50,7 @@ import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetTagCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
+import org.eclipse.hawkbit.repository.exception.InvalidContinuationTokenException;
 import org.eclipse.hawkbit.repository.exception.InvalidTargetAddressException;
 import org.eclipse.hawkbit.repository.exception.AssignmentQuotaExceededException;
 import org.eclipse.hawkbit.repository.exception.TenantNotExistException;
@@ -54,6 +65,7 @@ import org.eclipse.hawkbit.repository.model.Tag;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetMetadata;
 import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.model.TargetWithDetails;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
 import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
@@ -61,6 +73,7 @@ import org.eclipse.hawkbit.repository.test.util.WithUser;
 import org.junit.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
 
 import com.google.common.collect.Iterables;
 
@@ -1083,6 +1096,134 @@ public class TargetManagementTest extends AbstractJpaIntegrationTest {
         validateFoundTargetsByRsql(rsqlOrControllerIdNotEqualFilter, controllerId1, controllerId2);
     }
 
+    @Test
+    @Description("Verifies that all targets are found by keyset paging in the requested order, i.e. sorted by the "
+            + "requested field and the ID for equal values.")
+    public void findTargetsByKeyset() {
+        final List<Target> targets = targetManagement.create(IntStream.range(0, 7).mapToObj(
+                i -> entityFactory.target().create().controllerId("target" + i).name(i % 2 == 0 ? "even" : "odd"))
+                .collect(Collectors.toList()));
+        final List<Long> expectedIds = targets.stream()
+                .sorted(Comparator.comparing(Target::getName).thenComparing(Target::getId).reversed())
+                .map(Target::getId).collect(Collectors.toList());
+
+        assertThat(findAllByKeyset(token -> targetManagement
+                .findByKeyset(KeysetPageRequest.of(Direction.DESC, "name", 2, token)))).as("Targets found by keyset")
+                        .containsExactlyElementsOf(expectedIds);
+
+        assertThat(findAllByKeyset(token -> targetManagement
+                .findByRsqlAndKeyset(KeysetPageRequest.of(Direction.ASC, "createdAt", 3, token), "name==even")))
+                        .as("Targets found by RSQL and keyset").containsExactly(targets.get(0).getId(),
+                                targets.get(2).getId(), targets.get(4).getId(), targets.get(6).getId());
+    }
+
+    @Test
+    @Description("Verifies that a continuation token which is not well formed or has been issued for a different "
+            + "sorting is rejected.")
+    public void findTargetsByKeysetWithInvalidToken() {
+        testdataFactory.createTargets(3);
+        final String token = targetManagement.findByKeyset(KeysetPageRequest.of(Direction.ASC, "name", 1, null))
+                .getNextToken().orElseThrow(() -> new AssertionError("next token expected"));
+
+        assertThatExceptionOfType(InvalidContinuationTokenException.class).as("Token for different sorting")
+                .isThrownBy(() -> targetManagement.findByKeyset(KeysetPageRequest.of(Direction.DESC, "name", 1, token)));
+        assertThatExceptionOfType(InvalidContinuationTokenException.class).as("Token not well formed")
+                .isThrownBy(() -> targetManagement.findByKeyset(KeysetPageRequest.of(Direction.ASC, "name", 1, "$$")));
+        assertThatExceptionOfType(InvalidContinuationTokenException.class).as("Token with invalid value")
+                .isThrownBy(() -> targetManagement.findByKeyset(KeysetPageRequest.of(Direction.ASC, "createdAt", 1,
+                        Base64.getUrlEncoder().encodeToString("ASC:createdAt:1:abc".getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    @Test
+    @Description("Verifies that the bulk creation skips existing and case insensitive duplicate controller IDs, "
+            + "generates the security tokens and publishes one event for all created targets.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = TargetBulkCreatedEvent.class, count = 1) })
+    public void createTargetsInBulk() {
+        final Target existing = testdataFactory.createTarget("existing");
+
+        final List<Target> created = targetManagement.createInBulk(Arrays.asList(
+                entityFactory.target().create().controllerId("new1"),
+                entityFactory.target().create().controllerId("existing").name("changed"),
+                entityFactory.target().create().controllerId("new2").securityToken("token"),
+                entityFactory.target().create().controllerId("new1").name("duplicate"),
+                entityFactory.target().create().controllerId("NEW2").name("duplicate")));
+
+        assertThat(created).extracting(Target::getControllerId).containsExactly("new1", "new2");
+        assertThat(targetManagement.getByControllerID("new1").get().getName()).isEqualTo("new1");
+        assertThat(targetManagement.getByControllerID("new1").get().getSecurityToken()).hasSize(32);
+        assertThat(targetManagement.getByControllerID("new2").get().getSecurityToken()).isEqualTo("token");
+        assertThat(targetManagement.getByControllerID("existing").get().getName()).isEqualTo(existing.getName());
+        assertThat(targetManagement.count()).isEqualTo(3);
+
+        assertThat(targetManagement.createInBulk(
+                Collections.singletonList(entityFactory.target().create().controllerId("existing")))).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the targets are found by keyset paging together with their attributes, tags, "
+            + "meta data and assigned and installed distribution sets.")
+    public void findTargetsWithDetailsByKeyset() {
+        final List<Target> targets = testdataFactory.createTargets(3).stream().sorted(Comparator.comparing(Target::getId))
+                .collect(Collectors.toList());
+        final Target target = targets.get(1);
+        final TargetTag tag = targetTagManagement.create(entityFactory.tag().create().name("exported"));
+        targetManagement.assignTag(Collections.singletonList(target.getControllerId()), tag.getId());
+        controllerManagement.updateControllerAttributes(target.getControllerId(),
+                Collections.singletonMap("revision", "1.1"), null);
+        insertTargetMetadata("key", "value", target);
+
+        final DistributionSet installed = testdataFactory.createDistributionSet("installed");
+        final DistributionSet assigned = testdataFactory.createDistributionSet("assigned");
+        controllerManagement.addUpdateActionStatus(entityFactory.actionStatus()
+                .create(getFirstAssignedActionId(assignDistributionSet(installed.getId(), target.getControllerId())))
+                .status(Status.FINISHED));
+        assignDistributionSet(assigned, Arrays.asList(target, targets.get(2)));
+
+        final KeysetSlice<TargetWithDetails> firstPage = targetManagement
+                .findWithDetailsByKeyset(KeysetPageRequest.of(Direction.ASC, "id", 2, null));
+        assertThat(firstPage.getContent()).as("First page").hasSize(2);
+        final KeysetSlice<TargetWithDetails> secondPage = targetManagement.findWithDetailsByKeyset(
+                KeysetPageRequest.of(Direction.ASC, "id", 2, firstPage.getNextToken().get()));
+        assertThat(secondPage.getContent()).as("Second page").hasSize(1);
+        assertThat(secondPage.hasNext()).as("Has next page").isFalse();
+        assertThat(secondPage.getContent().get(0).getAssignedDistributionSet()).contains(assigned);
+        assertThat(secondPage.getContent().get(0).getInstalledDistributionSet()).isEmpty();
+
+        final TargetWithDetails withoutDetails = firstPage.getContent().get(0);
+        assertThat(withoutDetails.getTarget().getId()).isEqualTo(targets.get(0).getId());
+        assertThat(withoutDetails.getControllerAttributes()).isEmpty();
+        assertThat(withoutDetails.getTags()).isEmpty();
+        assertThat(withoutDetails.getMetadata()).isEmpty();
+        assertThat(withoutDetails.getAssignedDistributionSet()).isEmpty();
+        assertThat(withoutDetails.getInstalledDistributionSet()).isEmpty();
+
+        final TargetWithDetails withDetails = firstPage.getContent().get(1);
+        assertThat(withDetails.getTarget().getId()).isEqualTo(target.getId());
+        assertThat(withDetails.getControllerAttributes()).containsOnly(entry("revision", "1.1"));
+        assertThat(withDetails.getTags()).containsOnly(tag);
+        assertThat(withDetails.getMetadata()).extracting(MetaData::getKey, MetaData::getValue)
+                .containsOnly(tuple("key", "value"));
+        assertThat(withDetails.getAssignedDistributionSet()).contains(assigned);
+        assertThat(withDetails.getInstalledDistributionSet()).contains(installed);
+
+        assertThat(targetManagement.findWithDetailsByRsqlAndKeyset(KeysetPageRequest.of(Direction.ASC, "id", 10, null),
+                "tag==exported").getContent()).extracting(details -> details.getTarget().getId())
+                        .containsOnly(target.getId());
+    }
+
+    private static List<Long> findAllByKeyset(final Function<String, KeysetSlice<Target>> findPage) {
+        final List<Long> found = new ArrayList<>();
+        KeysetSlice<Target> page = findPage.apply(null);
+        found.addAll(page.getContent().stream().map(Target::getId).collect(Collectors.toList()));
+        while (page.hasNext()) {
+            page = findPage.apply(page.getNextToken().get());
+            assertThat(page.getContent()).as("Page content").isNotEmpty();
+            found.addAll(page.getContent().stream().map(Target::getId).collect(Collectors.toList()));
+        }
+        return found;
+    }
+
     private void validateFoundTargetsByRsql(final String rsqlFilter, final String... controllerIds) {
         final Page<Target> foundTargetsByMetadataAndControllerId = targetManagement.findByRsql(PAGE, rsqlFilter);
 
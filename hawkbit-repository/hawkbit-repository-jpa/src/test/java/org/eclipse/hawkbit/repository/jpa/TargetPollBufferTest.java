@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Controller Management")
+public class TargetPollBufferTest {
+
+    @Test
+    @Description("Verifies that polls of the same target are coalesced to the latest poll time per tenant.")
+    public void pollsAreCoalescedPerTenantAndTarget() {
+        final TargetPollBuffer buffer = new TargetPollBuffer(10);
+
+        assertThat(buffer.add("tenant1", "target", 100)).isTrue();
+        assertThat(buffer.add("tenant1", "target", 300)).isTrue();
+        assertThat(buffer.add("tenant1", "target", 200)).isTrue();
+        assertThat(buffer.add("tenant2", "target", 150)).isTrue();
+
+        assertThat(buffer.getSize()).isEqualTo(2);
+
+        final Map<String, Map<String, Long>> drained = buffer.drain();
+        assertThat(drained).hasSize(2);
+        assertThat(drained.get("tenant1")).containsEntry("target", 300L).hasSize(1);
+        assertThat(drained.get("tenant2")).containsEntry("target", 150L).hasSize(1);
+
+        assertThat(buffer.getSize()).isZero();
+        assertThat(buffer.drain()).isEmpty();
+        assertThat(buffer.getReceivedCount()).isEqualTo(4);
+    }
+
+    @Test
+    @Description("Verifies that polls of further targets are dropped if the buffer is full while known targets are still coalesced.")
+    public void pollsAreDroppedIfBufferIsFull() {
+        final TargetPollBuffer buffer = new TargetPollBuffer(2);
+
+        assertThat(buffer.add("tenant", "target1", 100)).isTrue();
+        assertThat(buffer.add("tenant", "target2", 100)).isTrue();
+        assertThat(buffer.add("tenant", "target3", 100)).isFalse();
+        assertThat(buffer.add("tenant", "target1", 200)).isTrue();
+
+        assertThat(buffer.getSize()).isEqualTo(2);
+        assertThat(buffer.getDroppedCount()).isEqualTo(1);
+
+        assertThat(buffer.drain().get("tenant")).containsEntry("target1", 200L).containsEntry("target2", 100L)
+                .hasSize(2);
+
+        assertThat(buffer.add("tenant", "target3", 300)).isTrue();
+        assertThat(buffer.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that the size matches the buffered targets if polls of the same targets race with each other and with drains.")
+    public void sizeIsConsistentWithConcurrentDrains() throws Exception {
+        final TargetPollBuffer buffer = new TargetPollBuffer(1000);
+        final ExecutorService executor = Executors.newFixedThreadPool(5);
+        final AtomicBoolean draining = new AtomicBoolean(true);
+        try {
+            final Future<?> drainer = executor.submit(() -> {
+                while (draining.get()) {
+                    buffer.drain();
+                }
+            });
+            final List<Future<?>> pollers = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                pollers.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        buffer.add("tenant", "target" + (i % 8), i);
+                    }
+                }));
+            }
+            for (final Future<?> poller : pollers) {
+                poller.get();
+            }
+            draining.set(false);
+            drainer.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final int size = buffer.getSize();
+        final Map<String, Map<String, Long>> drained = buffer.drain();
+        assertThat(drained.values().stream().mapToInt(Map::size).sum()).isEqualTo(size);
+        assertThat(buffer.getSize()).isZero();
+    }
+}
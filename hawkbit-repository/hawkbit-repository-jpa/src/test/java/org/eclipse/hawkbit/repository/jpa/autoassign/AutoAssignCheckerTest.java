@@ -11,11 +11,13 @@ package org.eclipse.hawkbit.repository.jpa.autoassign;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.repository.exception.InvalidAutoAssignDistributionSetException;
 import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignStatistics.FilterStatistics;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.Action.Status;
@@ -23,10 +25,12 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -44,6 +48,15 @@ public class AutoAssignCheckerTest extends AbstractJpaIntegrationTest {
     @Autowired
     private AutoAssignChecker autoAssignChecker;
 
+    @Autowired
+    private AutoAssignStatistics autoAssignStatistics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VirtualPropertyReplacer virtualPropertyReplacer;
+
     @Test
     @Description("Verifies that a running action is auto canceled by a AutoAssignment which assigns another distribution-set.")
     public void autoAssignDistributionSetAndAutoCloseOldActions() {
@@ -185,6 +198,70 @@ public class AutoAssignCheckerTest extends AbstractJpaIntegrationTest {
 
     }
 
+    @Test
+    @Description("Verifies that the incremental check assigns the DS only to the given changed targets of a "
+            + "target filter query which has been checked before.")
+    public void checkTargetsAssignsChangedTargetsOnly() {
+        final DistributionSet set = testdataFactory.createDistributionSet();
+        final TargetFilterQuery targetFilterQuery = targetFilterQueryManagement.create(entityFactory
+                .targetFilterQuery().create().name("filterA").query("name==*").autoAssignDistributionSet(set));
+        autoAssignChecker.check();
+
+        final List<Target> targets = testdataFactory.createTargets(10);
+        autoAssignChecker.checkTargets(
+                targets.subList(0, 5).stream().map(Target::getId).collect(Collectors.toList()));
+
+        verifyThatTargetsHaveDistributionSetAssignment(set, targets.subList(0, 5), targets.size());
+        assertThat(deploymentManagement.findActionsAll(PAGE).getContent()).hasSize(5);
+
+        final FilterStatistics statistics = autoAssignStatistics.getFilterStatistics(tenantAware.getCurrentTenant())
+                .get(targetFilterQuery.getId());
+        assertThat(statistics.getEvaluationCount()).isEqualTo(2);
+        assertThat(statistics.getAssignedCount()).isEqualTo(5);
+    }
+
+    @Test
+    @Description("Verifies that the incremental check checks a new target filter query against all targets.")
+    public void checkTargetsChecksNewTargetFilterQueryAgainstAllTargets() {
+        final DistributionSet set = testdataFactory.createDistributionSet();
+        final List<Target> targets = testdataFactory.createTargets(10);
+        autoAssignChecker.checkTargets(Collections.emptyList());
+        assertThat(deploymentManagement.findActionsAll(PAGE).getContent()).isEmpty();
+
+        targetFilterQueryManagement.create(
+                entityFactory.targetFilterQuery().create().name("filterA").query("name==*").autoAssignDistributionSet(set));
+        autoAssignChecker.checkTargets(Collections.emptyList());
+
+        verifyThatTargetsHaveDistributionSetAssignment(set, targets, targets.size());
+        assertThat(deploymentManagement.findActionsAll(PAGE).getContent()).hasSize(10);
+    }
+
+    @Test
+    @Description("Verifies that the single pass check assigns the DS of compiled and database evaluated target "
+            + "filter queries and does not assign a DS twice if two filters match the same target.")
+    public void checkInSinglePass() {
+        final AutoAssignChecker singlePassChecker = new AutoAssignChecker(targetFilterQueryManagement,
+                targetManagement, deploymentManagement, transactionManager, tenantAware, virtualPropertyReplacer, autoAssignStatistics, true);
+        final DistributionSet setA = testdataFactory.createDistributionSet("dsA");
+        final DistributionSet setB = testdataFactory.createDistributionSet("dsB");
+        final List<Target> targetsA = testdataFactory.createTargets(10, "targA", "description");
+        final List<Target> targetsB = testdataFactory.createTargets(10, "targB", "description");
+        final int targetsCount = targetsA.size() + targetsB.size();
+
+        targetFilterQueryManagement.create(entityFactory.targetFilterQuery().create().name("filterA")
+                .query("id==targA*").autoAssignDistributionSet(setA));
+        targetFilterQueryManagement.create(entityFactory.targetFilterQuery().create().name("filterA2")
+                .query("name==targA*").autoAssignDistributionSet(setA));
+        targetFilterQueryManagement.create(entityFactory.targetFilterQuery().create().name("filterB")
+                .query("id==targB*;createdAt=gt=0").autoAssignDistributionSet(setB));
+
+        singlePassChecker.check();
+
+        verifyThatTargetsHaveDistributionSetAssignment(setA, targetsA, targetsCount);
+        verifyThatTargetsHaveDistributionSetAssignment(setB, targetsB, targetsCount);
+        assertThat(deploymentManagement.findActionsAll(PAGE).getContent()).hasSize(targetsCount);
+    }
+
     /**
      * @param set
      *            the expected distribution set
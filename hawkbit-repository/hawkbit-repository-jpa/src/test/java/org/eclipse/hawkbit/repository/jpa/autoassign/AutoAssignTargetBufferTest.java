@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Auto assign checker")
+public class AutoAssignTargetBufferTest {
+
+    @Test
+    @Description("Verifies that changed targets are collected once per tenant and drained case insensitive by tenant.")
+    public void targetsAreCollectedPerTenant() {
+        final AutoAssignTargetBuffer buffer = new AutoAssignTargetBuffer(10);
+
+        assertThat(buffer.add("TENANT1", 1)).isTrue();
+        assertThat(buffer.add("TENANT1", 1)).isTrue();
+        assertThat(buffer.add("TENANT1", 2)).isTrue();
+        assertThat(buffer.add("TENANT2", 1)).isTrue();
+
+        assertThat(buffer.getSize()).isEqualTo(3);
+
+        final Map<String, Set<Long>> drained = buffer.drain();
+        assertThat(drained).hasSize(2);
+        assertThat(drained.get("tenant1")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(drained.get("tenant2")).containsExactly(1L);
+
+        assertThat(buffer.getSize()).isZero();
+        assertThat(buffer.drain()).isEmpty();
+        assertThat(buffer.getReceivedCount()).isEqualTo(4);
+    }
+
+    @Test
+    @Description("Verifies that further targets are dropped if the buffer is full.")
+    public void targetsAreDroppedIfBufferIsFull() {
+        final AutoAssignTargetBuffer buffer = new AutoAssignTargetBuffer(2);
+
+        assertThat(buffer.add("tenant", 1)).isTrue();
+        assertThat(buffer.add("tenant", 2)).isTrue();
+        assertThat(buffer.add("tenant", 3)).isFalse();
+        assertThat(buffer.add("tenant", 1)).isTrue();
+
+        assertThat(buffer.getSize()).isEqualTo(2);
+        assertThat(buffer.getDroppedCount()).isEqualTo(1);
+        assertThat(buffer.drain().get("tenant")).containsExactlyInAnyOrder(1L, 2L);
+
+        assertThat(buffer.add("tenant", 3)).isTrue();
+        assertThat(buffer.getSize()).isEqualTo(1);
+    }
+}
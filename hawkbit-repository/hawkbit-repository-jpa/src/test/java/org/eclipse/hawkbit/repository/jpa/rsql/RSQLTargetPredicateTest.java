@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.model.TargetWithDetails;
+import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("RSQL filter target")
+public class RSQLTargetPredicateTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private VirtualPropertyReplacer virtualPropertyReplacer;
+
+    private List<TargetWithDetails> targets;
+
+    @Before
+    public void setupBeforeTest() {
+        final DistributionSet ds = testdataFactory.createDistributionSet("AssignedDs");
+
+        final Target target = targetManagement.create(entityFactory.target().create().controllerId("targetId123")
+                .name("targetName123").description("targetDesc123"));
+        controllerManagement.updateControllerAttributes(target.getControllerId(),
+                Collections.singletonMap("revision", "1.1"), null);
+        controllerManagement.findOrRegisterTargetIfItDoesNotExist(target.getControllerId(), LOCALHOST);
+        createTargetMetadata(target.getControllerId(), entityFactory.generateTargetMetadata("metaKey", "metaValue"));
+
+        final Target target2 = targetManagement
+                .create(entityFactory.target().create().controllerId("targetId1234").description("targetId1234"));
+        controllerManagement.updateControllerAttributes(target2.getControllerId(),
+                Collections.singletonMap("Revision", "1.2"), null);
+        createTargetMetadata(target2.getControllerId(), entityFactory.generateTargetMetadata("metaKey", "value"));
+
+        final Target target3 = testdataFactory.createTarget("targetId1235");
+        testdataFactory.createTarget("target_1236");
+
+        final TargetTag tag1 = targetTagManagement.create(entityFactory.tag().create().name("Tag1"));
+        final TargetTag tag2 = targetTagManagement.create(entityFactory.tag().create().name("Tag2"));
+        targetManagement.assignTag(Arrays.asList(target.getControllerId(), target2.getControllerId()), tag1.getId());
+        targetManagement.assignTag(Arrays.asList(target.getControllerId(), target3.getControllerId()), tag2.getId());
+
+        assignDistributionSet(ds.getId(), target.getControllerId());
+
+        targets = targetManagement.findWithDetailsByKeyset(KeysetPageRequest.of(Direction.ASC, "id", 100, null))
+                .getContent();
+    }
+
+    @Test
+    @Description("Verifies that the in-memory predicates match the same targets as the database queries.")
+    public void predicatesMatchSameTargetsAsDatabase() {
+        assertSameTargets("id==targetId123");
+        assertSameTargets("id==TARGET*");
+        assertSameTargets("id==target_*");
+        assertSameTargets("id!=targetId123");
+        assertSameTargets("controllerId=in=(targetId123,notexist)");
+        assertSameTargets("controllerId=out=(targetId123,notexist)");
+        assertSameTargets("name==*Name*");
+        assertSameTargets("description==''");
+        assertSameTargets("description!=''");
+        assertSameTargets("description!=targetDesc*");
+        assertSameTargets("description=out=(targetDesc123)");
+        assertSameTargets("updateStatus==pending");
+        assertSameTargets("updateStatus=out=(pending,registered)");
+        assertSameTargets("attribute.revision==1.*");
+        assertSameTargets("attribute.revision!=1.1");
+        assertSameTargets("attribute.revision=out=(1.1)");
+        assertSameTargets("metadata.metaKey==metaValue");
+        assertSameTargets("metadata.metakey!=metaValue");
+        assertSameTargets("tag==tag1");
+        assertSameTargets("tag!=tag1");
+        assertSameTargets("tag=in=(tag2,notexist)");
+        assertSameTargets("tag=out=(tag2)");
+        assertSameTargets("tag==tag1;tag==tag2");
+        assertSameTargets("assignedDs.name==AssignedDs");
+        assertSameTargets("assignedDs.name!=AssignedDs");
+        assertSameTargets("assignedDs.version=out=(notexist)");
+        assertSameTargets("installedDs.name==*");
+        assertSameTargets("(tag==tag2,name==targetName*);updateStatus!=pending");
+    }
+
+    @Test
+    @Description("Verifies that the in-memory predicates compare the values case insensitive but keep them as they "
+            + "are like the database queries.")
+    public void caseInsensitivePredicatesMatchSameTargetsAsDatabase() {
+        assertSameTargets("ID==targetid123");
+        assertSameTargets("name==TARGETNAME123");
+        assertSameTargets("Description=in=(TARGETDESC123)");
+        assertSameTargets("UPDATESTATUS==PENDING");
+        assertSameTargets("attribute.REVISION==1.1");
+        assertSameTargets("Attribute.Revision=out=(1.2)");
+        assertSameTargets("metadata.METAKEY==METAVALUE");
+        assertSameTargets("metadata.metaKey!=VALUE");
+        assertSameTargets("TAG==TAG1");
+        assertSameTargets("assignedDS.NAME==assignedds");
+    }
+
+    @Test
+    @Description("Verifies that the in-memory predicates replace the virtual properties of the time fields and "
+            + "match the same targets as the database queries.")
+    public void timePredicatesMatchSameTargetsAsDatabase() {
+        assertSameTargets("createdAt=gt=0");
+        assertSameTargets("createdAt=lt=0");
+        assertSameTargets("lastModifiedAt=ge=0");
+        assertSameTargets("createdAt=le=${NOW_TS}");
+        assertSameTargets("lastControllerRequestAt=le=${overdue_ts}");
+        assertSameTargets("lastControllerRequestAt=gt=${OVERDUE_TS}");
+        assertSameTargets("lastControllerRequestAt=lt=${now_ts};name==targetName*");
+    }
+
+    @Test
+    @Description("Verifies that queries on fields which are evaluated by the database are not compiled.")
+    public void databaseOnlyQueriesAreNotCompiled() {
+        assertThat(RSQLTargetPredicate.compile("createdAt==0")).isEmpty();
+        assertThat(RSQLTargetPredicate.compile("lastControllerRequestAt=le=${overdue_ts}")).isEmpty();
+        assertThat(RSQLTargetPredicate.compile("lastControllerRequestAt=le=${overdue_ts}", virtualPropertyReplacer))
+                .isPresent();
+        assertThat(RSQLTargetPredicate.compile("name=gt=a")).isEmpty();
+        assertThat(RSQLTargetPredicate.compile("tag==''")).isEmpty();
+        assertThat(RSQLTargetPredicate.compile("name==a;createdAt=in=(0)")).isEmpty();
+        assertThat(RSQLTargetPredicate.compile("unknown==a")).isEmpty();
+        assertThat(RSQLTargetPredicate.compile("name==a;(")).isEmpty();
+        assertThat(RSQLTargetPredicate.compile("name==a,tag==b")).isPresent();
+    }
+
+    private void assertSameTargets(final String rsql) {
+        final List<String> expected = targetManagement.findByRsql(PageRequest.of(0, 100), rsql).getContent()
+                .stream().map(Target::getControllerId).collect(Collectors.toList());
+        final Predicate<TargetWithDetails> predicate = RSQLTargetPredicate
+                .compile(rsql, virtualPropertyReplacer).orElseThrow(() -> new AssertionError("not compiled: " + rsql));
+
+        assertThat(targets.stream().filter(predicate).map(target -> target.getTarget().getControllerId()))
+                .as(rsql).containsExactlyInAnyOrderElementsOf(expected);
+    }
+}
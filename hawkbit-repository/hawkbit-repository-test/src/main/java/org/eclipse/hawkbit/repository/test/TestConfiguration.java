@@ -23,6 +23,7 @@ import org.eclipse.hawkbit.cache.DefaultDownloadIdCache;
 import org.eclipse.hawkbit.cache.DownloadIdCache;
 import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
 import org.eclipse.hawkbit.event.BusProtoStuffMessageConverter;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.RolloutApprovalStrategy;
 import org.eclipse.hawkbit.repository.RolloutStatusCache;
 import org.eclipse.hawkbit.repository.event.ApplicationEventFilter;
@@ -210,11 +211,13 @@ public class TestConfiguration implements AsyncConfigurer {
 
     /**
      *
+     * @param repositoryProperties
+     *            to check if the entity snapshots are enabled
      * @return the protostuff io message converter
      */
     @Bean
     @ConditionalOnBusEnabled
-    MessageConverter busProtoBufConverter() {
-        return new BusProtoStuffMessageConverter();
+    MessageConverter busProtoBufConverter(final RepositoryProperties repositoryProperties) {
+        return new BusProtoStuffMessageConverter(repositoryProperties.isEventEntitySnapshots());
     }
 }
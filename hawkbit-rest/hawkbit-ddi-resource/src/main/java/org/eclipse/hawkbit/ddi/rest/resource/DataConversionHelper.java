@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.ddi.rest.resource;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -28,9 +29,11 @@ import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.rest.data.ResponseList;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.hateoas.Link;
@@ -54,11 +57,13 @@ public final class DataConversionHelper {
         final Map<Long, List<SoftwareModuleMetadata>> metadata = controllerManagement
                 .findTargetVisibleMetaDataBySoftwareModuleId(uAction.getDistributionSet().getModules().stream()
                         .map(SoftwareModule::getId).collect(Collectors.toList()));
+        final TenantMetaData tenantMetaData = systemManagement.getTenantMetadata();
+        final URI requestUri = request.getURI();
 
         return new ResponseList<>(uAction.getDistributionSet().getModules().stream()
                 .map(module -> new DdiChunk(mapChunkLegacyKeys(module.getType().getKey()), module.getVersion(),
                         module.getName(),
-                        createArtifacts(target, module, artifactUrlHandler, systemManagement, request),
+                        createArtifacts(target, module, artifactUrlHandler, tenantMetaData, requestUri),
                         mapMetadata(metadata.get(module.getId()))))
                 .collect(Collectors.toList()));
 
@@ -83,32 +88,38 @@ public final class DataConversionHelper {
     static List<DdiArtifact> createArtifacts(final Target target, final SoftwareModule module,
             final ArtifactUrlHandler artifactUrlHandler, final SystemManagement systemManagement,
             final HttpRequest request) {
+        return createArtifacts(target, module, artifactUrlHandler, systemManagement.getTenantMetadata(),
+                request.getURI());
+    }
+
+    private static List<DdiArtifact> createArtifacts(final Target target, final SoftwareModule module,
+            final ArtifactUrlHandler artifactUrlHandler, final TenantMetaData tenantMetaData, final URI requestUri) {
 
         return new ResponseList<>(module.getArtifacts().stream()
-                .map(artifact -> createArtifact(target, artifactUrlHandler, artifact, systemManagement, request))
+                .map(artifact -> createArtifact(target, artifactUrlHandler, artifact, tenantMetaData, requestUri))
                 .collect(Collectors.toList()));
     }
 
     private static DdiArtifact createArtifact(final Target target, final ArtifactUrlHandler artifactUrlHandler,
-            final Artifact artifact, final SystemManagement systemManagement, final HttpRequest request) {
+            final Artifact artifact, final TenantMetaData tenantMetaData, final URI requestUri) {
         final DdiArtifact file = new DdiArtifact();
         file.setHashes(new DdiArtifactHash(artifact.getSha1Hash(), artifact.getMd5Hash(), artifact.getSha256Hash()));
         file.setFilename(artifact.getFilename());
         file.setSize(artifact.getSize());
 
         artifactUrlHandler
-                .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
+                .getUrls(new URLPlaceholder(tenantMetaData.getTenant(), tenantMetaData.getId(),
+                        target.getControllerId(), target.getId(),
                         new SoftwareData(artifact.getSoftwareModule().getId(), artifact.getFilename(), artifact.getId(),
                                 artifact.getSha1Hash())),
-                        ApiType.DDI, request.getURI())
+                        ApiType.DDI, requestUri)
                 .forEach(entry -> file.add(new Link(entry.getRef()).withRel(entry.getRel())));
 
         return file;
 
     }
 
-    static DdiControllerBase fromTarget(final Target target, final Action action,
+    static DdiControllerBase fromPollState(final ControllerPollState pollState, final Action action,
             final String defaultControllerPollTime, final TenantAware tenantAware) {
         final DdiControllerBase result = new DdiControllerBase(
                 new DdiConfig(new DdiPolling(defaultControllerPollTime)));
@@ -117,7 +128,7 @@ public final class DataConversionHelper {
             if (action.isCancelingOrCanceled()) {
                 result.add(ControllerLinkBuilder
                         .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                                .getControllerCancelAction(tenantAware.getCurrentTenant(), target.getControllerId(),
+                                .getControllerCancelAction(tenantAware.getCurrentTenant(), pollState.getControllerId(),
                                         action.getId()))
                         .withRel(DdiRestConstants.CANCEL_ACTION));
             } else {
@@ -129,15 +140,15 @@ public final class DataConversionHelper {
                 result.add(ControllerLinkBuilder
                         .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
                                 .getControllerBasedeploymentAction(tenantAware.getCurrentTenant(),
-                                        target.getControllerId(), action.getId(), calculateEtag(action), null))
+                                        pollState.getControllerId(), action.getId(), calculateEtag(action), null))
                         .withRel(DdiRestConstants.DEPLOYMENT_BASE_ACTION));
             }
         }
 
-        if (target.isRequestControllerAttributes()) {
+        if (pollState.isRequestControllerAttributes()) {
             result.add(ControllerLinkBuilder
                     .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                            .putConfigData(null, tenantAware.getCurrentTenant(), target.getControllerId()))
+                            .putConfigData(null, tenantAware.getCurrentTenant(), pollState.getControllerId()))
                     .withRel(DdiRestConstants.CONFIG_DATA_ACTION));
         }
         return result;
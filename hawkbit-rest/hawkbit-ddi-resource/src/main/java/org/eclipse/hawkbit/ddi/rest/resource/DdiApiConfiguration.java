@@ -8,7 +8,16 @@
  */
 package org.eclipse.hawkbit.ddi.rest.resource;
 
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.hawkbit.HawkbitServerProperties;
 import org.eclipse.hawkbit.rest.RestConfiguration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -24,4 +33,29 @@ import org.springframework.stereotype.Controller;
 @Import(RestConfiguration.class)
 public class DdiApiConfiguration {
 
+    /**
+     * @param eventPublisher
+     *            to publish the download progress
+     * @param serviceMatcher
+     *            to identify the application in a cluster
+     * @param bus
+     *            to identify the application if there is no
+     *            {@link ServiceMatcher}
+     * @param executorService
+     *            to flush the download progress
+     * @param serverProperties
+     *            for the flush interval and the range log window
+     * @return {@link DownloadTelemetryAggregator} bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    DownloadTelemetryAggregator downloadTelemetryAggregator(final ApplicationEventPublisher eventPublisher,
+            final ObjectProvider<ServiceMatcher> serviceMatcher, final BusProperties bus,
+            final ScheduledExecutorService executorService, final HawkbitServerProperties serverProperties) {
+        return new DownloadTelemetryAggregator(eventPublisher, () -> {
+            final ServiceMatcher matcher = serviceMatcher.getIfAvailable();
+            return matcher != null ? matcher.getServiceId() : bus.getId();
+        }, executorService, serverProperties.getDownload().getProgressFlushInterval(),
+                serverProperties.getDownload().getRangeLogWindow());
+    }
 }
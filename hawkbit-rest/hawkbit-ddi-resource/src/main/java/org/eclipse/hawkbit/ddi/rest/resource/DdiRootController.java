@@ -12,11 +12,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
 
+import org.eclipse.hawkbit.HawkbitServerProperties;
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.ddi.json.model.DdiActionFeedback;
@@ -42,7 +44,6 @@ import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.UpdateMode;
 import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
-import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
 import org.eclipse.hawkbit.repository.exception.ArtifactBinaryNotFoundException;
 import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
@@ -51,6 +52,7 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
@@ -62,9 +64,6 @@ import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.bus.BusProperties;
-import org.springframework.cloud.bus.ServiceMatcher;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -91,15 +90,6 @@ public class DdiRootController implements DdiRootControllerRestApi {
     private static final Logger LOG = LoggerFactory.getLogger(DdiRootController.class);
     private static final String GIVEN_ACTION_IS_NOT_ASSIGNED_TO_GIVEN_TARGET = "given action ({}) is not assigned to given target ({}).";
 
-    @Autowired
-    private ApplicationEventPublisher eventPublisher;
-
-    @Autowired(required = false)
-    private ServiceMatcher serviceMatcher;
-
-    @Autowired
-    private BusProperties bus;
-
     @Autowired
     private ControllerManagement controllerManagement;
 
@@ -109,6 +99,9 @@ public class DdiRootController implements DdiRootControllerRestApi {
     @Autowired
     private HawkbitSecurityProperties securityProperties;
 
+    @Autowired
+    private HawkbitServerProperties serverProperties;
+
     @Autowired
     private TenantAware tenantAware;
 
@@ -124,6 +117,9 @@ public class DdiRootController implements DdiRootControllerRestApi {
     @Autowired
     private EntityFactory entityFactory;
 
+    @Autowired
+    private DownloadTelemetryAggregator downloadTelemetryAggregator;
+
     @Override
     public ResponseEntity<List<DdiArtifact>> getSoftwareModulesArtifacts(@PathVariable("tenant") final String tenant,
             @PathVariable("controllerId") final String controllerId,
@@ -147,14 +143,15 @@ public class DdiRootController implements DdiRootControllerRestApi {
             @PathVariable("controllerId") final String controllerId) {
         LOG.debug("getControllerBase({})", controllerId);
 
-        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist(controllerId, IpUtil
+        final ControllerPollState pollState = controllerManagement.registerPoll(controllerId, IpUtil
                 .getClientIpFromRequest(requestResponseContextHolder.getHttpServletRequest(), securityProperties));
-        final Action action = controllerManagement.findActiveActionWithHighestWeight(controllerId).orElse(null);
+        final Action action = pollState.getActiveActionId().flatMap(controllerManagement::findActionWithDetails)
+                .orElse(null);
 
         checkAndCancelExpiredAction(action);
 
         return new ResponseEntity<>(
-                DataConversionHelper.fromTarget(target, action,
+                DataConversionHelper.fromPollState(pollState, action,
                         action == null ? controllerManagement.getPollingTime()
                                 : controllerManagement.getPollingTimeForAction(action.getId()),
                         tenantAware),
@@ -190,40 +187,56 @@ public class DdiRootController implements DdiRootControllerRestApi {
             if (ifMatch != null && !HttpUtil.matchesHttpHeader(ifMatch, artifact.getSha1Hash())) {
                 result = new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
             } else {
-                final ActionStatus action = checkAndLogDownload(requestResponseContextHolder.getHttpServletRequest(),
+                final long statusId = checkAndLogDownload(requestResponseContextHolder.getHttpServletRequest(),
                         target, module.getId());
-
-                final Long statusId = action.getId();
+                final String currentTenant = tenantAware.getCurrentTenant();
 
                 result = FileStreamingUtil.writeFileResponse(file, artifact.getFilename(), artifact.getCreatedAt(),
                         requestResponseContextHolder.getHttpServletResponse(),
                         requestResponseContextHolder.getHttpServletRequest(),
-                        (length, shippedSinceLastEvent,
-                                total) -> eventPublisher.publishEvent(new DownloadProgressEvent(
-                                        tenantAware.getCurrentTenant(), statusId, shippedSinceLastEvent,
-                                        serviceMatcher != null ? serviceMatcher.getServiceId() : bus.getId())));
+                        (length, shippedSinceLastEvent, total) -> downloadTelemetryAggregator.progress(currentTenant,
+                                statusId, shippedSinceLastEvent, total >= length),
+                        serverProperties.getDownload().isZeroCopy());
 
             }
         }
         return result;
     }
 
-    private ActionStatus checkAndLogDownload(final HttpServletRequest request, final Target target, final Long module) {
+    /**
+     * Logs the download with an {@link ActionStatus}. Repeated range requests
+     * of the same artifact are logged by the {@link ActionStatus} of the first
+     * range request, see {@link DownloadTelemetryAggregator}.
+     *
+     * @return ID of the {@link ActionStatus} the download is logged with
+     */
+    private long checkAndLogDownload(final HttpServletRequest request, final Target target, final Long module) {
         final Action action = controllerManagement
                 .getActionForDownloadByTargetAndSoftwareModule(target.getControllerId(), module)
                 .orElseThrow(() -> new SoftwareModuleNotAssignedToTargetException(module, target.getControllerId()));
         final String range = request.getHeader("Range");
 
-        String message;
-        if (range != null) {
-            message = RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target downloads range " + range + " of: "
-                    + request.getRequestURI();
-        } else {
-            message = RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target downloads " + request.getRequestURI();
+        if (range == null) {
+            return logDownload(action, RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target downloads "
+                    + request.getRequestURI());
         }
 
+        final String tenant = tenantAware.getCurrentTenant();
+        final Optional<Long> loggedStatusId = downloadTelemetryAggregator.getLoggedRangeDownload(tenant,
+                action.getId(), request.getRequestURI());
+        if (loggedStatusId.isPresent()) {
+            return loggedStatusId.get();
+        }
+
+        final long statusId = logDownload(action, RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target downloads range "
+                + range + " of: " + request.getRequestURI());
+        downloadTelemetryAggregator.rangeDownloadLogged(tenant, action.getId(), request.getRequestURI(), statusId);
+        return statusId;
+    }
+
+    private long logDownload(final Action action, final String message) {
         return controllerManagement.addInformationalActionStatus(
-                entityFactory.actionStatus().create(action.getId()).status(Status.DOWNLOAD).message(message));
+                entityFactory.actionStatus().create(action.getId()).status(Status.DOWNLOAD).message(message)).getId();
     }
 
     private static boolean checkModule(final String fileName, final SoftwareModule module) {
@@ -0,0 +1,260 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Aggregates the telemetry of the artifact downloads of the controllers:
+ * <ul>
+ * <li>The shipped bytes are accumulated per {@link ActionStatus} of a download
+ * and published as one {@link DownloadProgressEvent} per flush interval
+ * instead of one event per 10 percent of every download. The last bytes of a
+ * download are published immediately.</li>
+ * <li>Range requests of the same artifact for the same action within the
+ * range log window are logged by a single {@link ActionStatus}.</li>
+ * </ul>
+ */
+public class DownloadTelemetryAggregator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DownloadTelemetryAggregator.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final Supplier<String> applicationId;
+    private final long flushInterval;
+    private final long rangeLogWindow;
+
+    private final ConcurrentMap<StatusKey, Long> shippedBytes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DownloadKey, LoggedDownload> loggedRangeDownloads = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param eventPublisher
+     *            to publish the {@link DownloadProgressEvent}s
+     * @param applicationId
+     *            supplies the ID of the application the events originate from
+     * @param executorService
+     *            to flush the accumulated progress and to purge the expired
+     *            range requests
+     * @param flushInterval
+     *            in milliseconds, 0 to publish every progress immediately
+     * @param rangeLogWindow
+     *            in milliseconds within range requests of the same artifact and
+     *            action are logged by a single {@link ActionStatus}, 0 to log
+     *            every range request
+     */
+    public DownloadTelemetryAggregator(final ApplicationEventPublisher eventPublisher,
+            final Supplier<String> applicationId, final ScheduledExecutorService executorService,
+            final long flushInterval, final long rangeLogWindow) {
+        this.eventPublisher = eventPublisher;
+        this.applicationId = applicationId;
+        this.flushInterval = flushInterval;
+        this.rangeLogWindow = rangeLogWindow;
+
+        if (flushInterval > 0) {
+            executorService.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+        if (rangeLogWindow > 0) {
+            executorService.scheduleWithFixedDelay(this::purgeExpiredRangeDownloads, rangeLogWindow, rangeLogWindow,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records the progress of a download.
+     *
+     * @param tenant
+     *            of the download
+     * @param actionStatusId
+     *            of the {@link ActionStatus} the download has been logged with
+     * @param shipped
+     *            bytes since the last progress
+     * @param completed
+     *            <code>true</code> if the download is completed
+     */
+    public void progress(final String tenant, final long actionStatusId, final long shipped,
+            final boolean completed) {
+        final StatusKey key = new StatusKey(tenant, actionStatusId);
+
+        if (flushInterval <= 0) {
+            publish(key, shipped);
+            return;
+        }
+
+        shippedBytes.merge(key, shipped, Long::sum);
+        if (completed) {
+            flush(key);
+        }
+    }
+
+    /**
+     * Retrieves the {@link ActionStatus} a range request of the same artifact
+     * and action has been logged with recently.
+     *
+     * @param tenant
+     *            of the download
+     * @param actionId
+     *            the download belongs to
+     * @param uri
+     *            of the artifact
+     * @return ID of the {@link ActionStatus} or empty if the range request has
+     *         to be logged
+     */
+    public Optional<Long> getLoggedRangeDownload(final String tenant, final long actionId, final String uri) {
+        if (rangeLogWindow <= 0) {
+            return Optional.empty();
+        }
+
+        final LoggedDownload logged = loggedRangeDownloads.get(new DownloadKey(tenant, actionId, uri));
+        if (logged == null || logged.isExpired()) {
+            return Optional.empty();
+        }
+        return Optional.of(logged.actionStatusId);
+    }
+
+    /**
+     * Remembers the {@link ActionStatus} a range request has been logged with,
+     * see {@link #getLoggedRangeDownload(String, long, String)}.
+     *
+     * @param tenant
+     *            of the download
+     * @param actionId
+     *            the download belongs to
+     * @param uri
+     *            of the artifact
+     * @param actionStatusId
+     *            of the {@link ActionStatus}
+     */
+    public void rangeDownloadLogged(final String tenant, final long actionId, final String uri,
+            final long actionStatusId) {
+        if (rangeLogWindow > 0) {
+            loggedRangeDownloads.put(new DownloadKey(tenant, actionId, uri),
+                    new LoggedDownload(actionStatusId, System.currentTimeMillis() + rangeLogWindow));
+        }
+    }
+
+    /**
+     * Publishes the accumulated progress of all downloads.
+     */
+    public void flush() {
+        try {
+            shippedBytes.keySet().forEach(this::flush);
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to publish the download progress", e);
+        }
+    }
+
+    /**
+     * Forgets the range requests which have been logged before the range log
+     * window.
+     */
+    void purgeExpiredRangeDownloads() {
+        loggedRangeDownloads.values().removeIf(LoggedDownload::isExpired);
+    }
+
+    int getLoggedRangeDownloadCount() {
+        return loggedRangeDownloads.size();
+    }
+
+    private void flush(final StatusKey key) {
+        final Long shipped = shippedBytes.remove(key);
+        if (shipped != null && shipped > 0) {
+            publish(key, shipped);
+        }
+    }
+
+    private void publish(final StatusKey key, final long shipped) {
+        eventPublisher.publishEvent(
+                new DownloadProgressEvent(key.tenant, key.actionStatusId, shipped, applicationId.get()));
+    }
+
+    private static final class StatusKey {
+        private final String tenant;
+        private final long actionStatusId;
+
+        private StatusKey(final String tenant, final long actionStatusId) {
+            this.tenant = tenant;
+            this.actionStatusId = actionStatusId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, actionStatusId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final StatusKey other = (StatusKey) obj;
+            return actionStatusId == other.actionStatusId && Objects.equals(tenant, other.tenant);
+        }
+    }
+
+    private static final class DownloadKey {
+        private final String tenant;
+        private final long actionId;
+        private final String uri;
+
+        private DownloadKey(final String tenant, final long actionId, final String uri) {
+            this.tenant = tenant;
+            this.actionId = actionId;
+            this.uri = uri;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, actionId, uri);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final DownloadKey other = (DownloadKey) obj;
+            return actionId == other.actionId && Objects.equals(tenant, other.tenant)
+                    && Objects.equals(uri, other.uri);
+        }
+    }
+
+    private static final class LoggedDownload {
+        private final long actionStatusId;
+        private final long expiresAt;
+
+        private LoggedDownload(final long actionStatusId, final long expiresAt) {
+            this.actionStatusId = actionStatusId;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
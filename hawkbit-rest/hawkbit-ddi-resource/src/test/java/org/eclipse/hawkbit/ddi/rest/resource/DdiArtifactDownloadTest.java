@@ -39,6 +39,7 @@ import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
 import org.eclipse.hawkbit.repository.test.util.WithUser;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -58,12 +59,17 @@ import io.qameta.allure.Story;
  */
 @Feature("Component Tests - Direct Device Integration API")
 @Story("Artifact Download Resource")
-@SpringBootTest(classes = { DownloadTestConfiguration.class })
+@SpringBootTest(classes = { DownloadTestConfiguration.class }, properties = {
+        // the progress is flushed by the tests
+        "hawkbit.server.download.progress-flush-interval=3600000" })
 public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
 
     private static volatile int downLoadProgress = 0;
     private static volatile long shippedBytes = 0;
 
+    @Autowired
+    private DownloadTelemetryAggregator downloadTelemetryAggregator;
+
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.ENGLISH);
 
     @Before
@@ -193,8 +199,9 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
         assertTrue("The same file that was uploaded is expected when downloaded",
                 Arrays.equals(result.getResponse().getContentAsByteArray(), random));
 
-        // download complete
-        assertThat(downLoadProgress).isEqualTo(10);
+        // download complete, progress is published as a whole
+        downloadTelemetryAggregator.flush();
+        assertThat(downLoadProgress).isEqualTo(2);
         assertThat(shippedBytes).isEqualTo(artifactSize);
     }
 
@@ -252,6 +259,8 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
 
         final int range = 100 * 1024;
 
+        final long actionStatusCount = deploymentManagement.countActionStatusAll();
+
         // full file download with standard range request
         final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         for (int i = 0; i < resultLength / range; i++) {
@@ -274,6 +283,9 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
 
         assertThat(outputStream.toByteArray()).isEqualTo(random);
 
+        // repeated range requests are logged by a single action status
+        assertThat(deploymentManagement.countActionStatusAll()).isEqualTo(actionStatusCount + 1);
+
         // return last 1000 Bytes
         MvcResult result = mvc.perform(
                 get("/{tenant}/controller/v1/{controllerId}/softwaremodules/{softwareModuleId}/artifacts/{filename}",
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Direct Device Integration API")
+@Story("Download Telemetry Aggregator")
+public class DownloadTelemetryAggregatorTest {
+
+    private final List<DownloadProgressEvent> events = new ArrayList<>();
+    private final ScheduledExecutorService executorService = mock(ScheduledExecutorService.class);
+
+    @Test
+    @Description("Verifies that the progress of a download is accumulated until the flush or the end of the download.")
+    public void progressIsAccumulatedPerActionStatus() {
+        final DownloadTelemetryAggregator aggregator = aggregator(60_000, 0);
+
+        aggregator.progress("tenant", 1, 100, false);
+        aggregator.progress("tenant", 1, 200, false);
+        aggregator.progress("tenant", 2, 50, false);
+        assertThat(events).isEmpty();
+
+        aggregator.progress("tenant", 1, 300, true);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getSource()).isEqualTo(1L);
+        assertThat(events.get(0).getShippedBytesSinceLast()).isEqualTo(600);
+
+        aggregator.flush();
+        assertThat(events).hasSize(2);
+        assertThat(events.get(1).getSource()).isEqualTo(2L);
+        assertThat(events.get(1).getShippedBytesSinceLast()).isEqualTo(50);
+
+        aggregator.flush();
+        assertThat(events).hasSize(2);
+    }
+
+    @Test
+    @Description("Verifies that every progress is published if the flush interval is disabled.")
+    public void progressIsPublishedImmediatelyWithoutFlushInterval() {
+        final DownloadTelemetryAggregator aggregator = aggregator(0, 0);
+
+        aggregator.progress("tenant", 1, 100, false);
+        aggregator.progress("tenant", 1, 200, true);
+
+        assertThat(events).extracting(DownloadProgressEvent::getShippedBytesSinceLast).containsExactly(100L, 200L);
+    }
+
+    @Test
+    @Description("Verifies that range requests of the same artifact and action are collapsed within the window.")
+    public void rangeDownloadsAreCollapsedWithinWindow() {
+        final DownloadTelemetryAggregator aggregator = aggregator(0, 60_000);
+
+        assertThat(aggregator.getLoggedRangeDownload("tenant", 1, "/file")).isEmpty();
+        aggregator.rangeDownloadLogged("tenant", 1, "/file", 42);
+
+        assertThat(aggregator.getLoggedRangeDownload("tenant", 1, "/file")).contains(42L);
+        assertThat(aggregator.getLoggedRangeDownload("tenant", 2, "/file")).isEmpty();
+        assertThat(aggregator.getLoggedRangeDownload("tenant", 1, "/other")).isEmpty();
+        assertThat(aggregator.getLoggedRangeDownload("other", 1, "/file")).isEmpty();
+
+        final DownloadTelemetryAggregator disabled = aggregator(0, 0);
+        disabled.rangeDownloadLogged("tenant", 1, "/file", 42);
+        assertThat(disabled.getLoggedRangeDownload("tenant", 1, "/file")).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the expired range requests are purged even if the flush interval is disabled.")
+    public void expiredRangeDownloadsArePurgedWithoutFlushInterval() throws InterruptedException {
+        final DownloadTelemetryAggregator aggregator = aggregator(0, 1);
+        final ArgumentCaptor<Runnable> purge = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).scheduleWithFixedDelay(purge.capture(), eq(1L), eq(1L), any(TimeUnit.class));
+
+        aggregator.rangeDownloadLogged("tenant", 1, "/file", 42);
+        assertThat(aggregator.getLoggedRangeDownloadCount()).isEqualTo(1);
+
+        TimeUnit.MILLISECONDS.sleep(10);
+        purge.getValue().run();
+        assertThat(aggregator.getLoggedRangeDownloadCount()).isZero();
+    }
+
+    private DownloadTelemetryAggregator aggregator(final long flushInterval, final long rangeLogWindow) {
+        return new DownloadTelemetryAggregator(event -> events.add((DownloadProgressEvent) event), () -> "node",
+                executorService, flushInterval, rangeLogWindow);
+    }
+}
@@ -24,7 +24,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 /**
  * A list representation with meta data for pagination, e.g. containing the
  * total elements and size of content. The content of the actual list is stored
- * in the {@link #content} field.
+ * in the {@link #content} field. In case of cursor based paging the total is
+ * not counted but the continuation token of the next page is given instead.
  *
  * @param <T>
  *            the type of elements in this list
@@ -37,7 +38,9 @@ public class PagedList<T> extends ResourceSupport {
     @JsonProperty
     private final List<T> content;
     @JsonProperty
-    private final long total;
+    private final Long total;
+    @JsonProperty
+    private final String next;
     private final int size;
 
     /**
@@ -51,10 +54,32 @@ public class PagedList<T> extends ResourceSupport {
      * @throws NullPointerException
      *             in case {@code content} is {@code null}.
      */
+    public PagedList(final List<T> content, final long total) {
+        this(content, Long.valueOf(total), null);
+    }
+
+    /**
+     * creates a new paged list of a cursor based request with the given
+     * {@code content} and the continuation token of the next page.
+     *
+     * @param content
+     *            the actual content of the list
+     * @param next
+     *            the continuation token of the next page or {@code null} if
+     *            this is the last page
+     * @throws NullPointerException
+     *             in case {@code content} is {@code null}.
+     */
+    public PagedList(final List<T> content, final String next) {
+        this(content, null, next);
+    }
+
     @JsonCreator
-    public PagedList(@JsonProperty("content") @NotNull final List<T> content, @JsonProperty("total") final long total) {
+    private PagedList(@JsonProperty("content") @NotNull final List<T> content,
+            @JsonProperty("total") final Long total, @JsonProperty("next") final String next) {
         this.size = content.size();
         this.total = total;
+        this.next = next;
         this.content = content;
     }
 
@@ -66,12 +91,21 @@ public class PagedList<T> extends ResourceSupport {
     }
 
     /**
-     * @return the total amount of elements
+     * @return the total amount of elements or {@code null} in case of cursor
+     *         based paging
      */
-    public long getTotal() {
+    public Long getTotal() {
         return total;
     }
 
+    /**
+     * @return the continuation token of the next page or {@code null} if
+     *         there is no next page or in case of offset based paging
+     */
+    public String getNext() {
+        return next;
+    }
+
     public List<T> getContent() {
         return Collections.unmodifiableList(content);
     }
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.json.model.target;
+
+import java.util.List;
+
+import org.eclipse.hawkbit.mgmt.json.model.MgmtMetadata;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A json annotated rest model for a target of the target export, i.e. the
+ * target together with its attributes, tags, meta data and distribution sets.
+ * The export contains no links.
+ */
+@JsonInclude(Include.NON_NULL)
+@JsonIgnoreProperties(value = { "links", "_links" }, ignoreUnknown = true)
+public class MgmtTargetExport extends MgmtTarget {
+
+    @JsonProperty
+    private MgmtTargetAttributes attributes;
+
+    @JsonProperty
+    private List<String> tags;
+
+    @JsonProperty
+    private List<MgmtMetadata> metadata;
+
+    @JsonProperty
+    private MgmtTargetDistributionSet assignedDistributionSet;
+
+    @JsonProperty
+    private MgmtTargetDistributionSet installedDistributionSet;
+
+    public MgmtTargetAttributes getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(final MgmtTargetAttributes attributes) {
+        this.attributes = attributes;
+    }
+
+    /**
+     * @return the names of the tags of the target
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(final List<String> tags) {
+        this.tags = tags;
+    }
+
+    public List<MgmtMetadata> getMetadata() {
+        return metadata;
+    }
+
+    public void setMetadata(final List<MgmtMetadata> metadata) {
+        this.metadata = metadata;
+    }
+
+    public MgmtTargetDistributionSet getAssignedDistributionSet() {
+        return assignedDistributionSet;
+    }
+
+    public void setAssignedDistributionSet(final MgmtTargetDistributionSet assignedDistributionSet) {
+        this.assignedDistributionSet = assignedDistributionSet;
+    }
+
+    public MgmtTargetDistributionSet getInstalledDistributionSet() {
+        return installedDistributionSet;
+    }
+
+    public void setInstalledDistributionSet(final MgmtTargetDistributionSet installedDistributionSet) {
+        this.installedDistributionSet = installedDistributionSet;
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.json.model.target;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Response body of the target import.
+ */
+@JsonInclude(Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MgmtTargetImportResult {
+
+    @JsonProperty
+    private long created;
+
+    @JsonProperty
+    private long skipped;
+
+    /**
+     * @return the number of created targets
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(final long created) {
+        this.created = created;
+    }
+
+    /**
+     * @return the number of skipped targets, i.e. targets with a controller ID
+     *         which already existed or has been imported before
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(final long skipped) {
+        this.skipped = skipped;
+    }
+}
@@ -90,6 +90,22 @@ public final class MgmtRestConstants {
      */
     public static final String TARGET_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/targets";
 
+    /**
+     * The target export URL mapping rest resource.
+     */
+    public static final String TARGET_EXPORT_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/targetexport";
+
+    /**
+     * The target import URL mapping rest resource.
+     */
+    public static final String TARGET_IMPORT_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/targetimport";
+
+    /**
+     * Media type of the target export and import, i.e. one JSON document per
+     * line.
+     */
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
     /**
      * The tag URL mapping rest resource.
      */
@@ -166,6 +182,14 @@ public final class MgmtRestConstants {
      */
     public static final String REQUEST_PARAMETER_PAGING_OFFSET = "offset";
 
+    /**
+     * Paging http parameter for cursor based paging. An empty value requests
+     * the first page, the following pages are requested with the continuation
+     * token of the previous response. The offset is ignored and the total is
+     * not counted in case of cursor based paging.
+     */
+    public static final String REQUEST_PARAMETER_PAGING_CURSOR = "cursor";
+
     /**
      * The request parameter for sorting. The value of the sort parameter must
      * be in the following pattern. Example:
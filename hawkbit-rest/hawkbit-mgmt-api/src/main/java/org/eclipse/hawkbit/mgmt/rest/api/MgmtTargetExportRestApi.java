@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.api;
+
+import java.io.InputStream;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * REST resource handling the export of all targets.
+ */
+@RequestMapping(MgmtRestConstants.TARGET_EXPORT_V1_REQUEST_MAPPING)
+@FunctionalInterface
+public interface MgmtTargetExportRestApi {
+
+    /**
+     * Handles the GET request of exporting all targets together with their
+     * attributes, tags, meta data and assigned and installed distribution
+     * sets. The targets are streamed as newline delimited JSON, one target
+     * per line, ordered by their technical ID.
+     *
+     * @param rsqlParam
+     *            the search parameter in the request URL, syntax
+     *            {@code q=name==abc}
+     *
+     * @return responseEntity with status ok if successful
+     */
+    @GetMapping(produces = MgmtRestConstants.MEDIA_TYPE_NDJSON)
+    @ResponseBody
+    ResponseEntity<InputStream> exportTargets(
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) String rsqlParam);
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.api;
+
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportResult;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+/**
+ * REST resource handling the bulk import of targets.
+ */
+@RequestMapping(MgmtRestConstants.TARGET_IMPORT_V1_REQUEST_MAPPING)
+@FunctionalInterface
+public interface MgmtTargetImportRestApi {
+
+    /**
+     * Handles the POST request of importing targets in bulk. The request body
+     * is streamed as newline delimited JSON with one target per line, see
+     * {@link org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetRequestBody}.
+     * The targets are created chunk by chunk, targets with a controller ID
+     * which already exists are skipped. The chunks which have been imported
+     * before a failure are not rolled back.
+     *
+     * @return the number of created and skipped targets
+     */
+    @PostMapping(consumes = MgmtRestConstants.MEDIA_TYPE_NDJSON, produces = { MediaTypes.HAL_JSON_VALUE,
+            MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<MgmtTargetImportResult> importTargets();
+}
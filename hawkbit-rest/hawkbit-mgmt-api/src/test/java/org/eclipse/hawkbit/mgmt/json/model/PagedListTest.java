@@ -12,6 +12,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
@@ -45,6 +46,16 @@ public class PagedListTest {
         assertListSize(knownTotal, knownContentList);
     }
 
+    @Test
+    @Description("Create list of cursor based paging and verify that the total is not given.")
+    public void createListWithNextToken() {
+        final PagedList<String> pagedList = new PagedList<>(Arrays.asList("content1", "content2"), "next");
+
+        assertThat(pagedList.getTotal()).as("total is not counted").isNull();
+        assertThat(pagedList.getNext()).as("next token is wrong").isEqualTo("next");
+        assertThat(pagedList.getSize()).as("list size is wrong").isEqualTo(2);
+    }
+
     private void assertListSize(final long knownTotal, final List<String> knownContentList) {
         final PagedList<String> pagedList = new PagedList<>(knownContentList, knownTotal);
         assertThat(pagedList.getTotal()).as("total size is wrong").isEqualTo(knownTotal);
@@ -12,6 +12,7 @@ import java.io.InputStream;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.eclipse.hawkbit.HawkbitServerProperties;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtDownloadArtifactRestApi;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
@@ -47,6 +48,9 @@ public class MgmtDownloadArtifactResource implements MgmtDownloadArtifactRestApi
     @Autowired
     private RequestResponseContextHolder requestResponseContextHolder;
 
+    @Autowired
+    private HawkbitServerProperties serverProperties;
+
     /**
      * Handles the GET request for downloading an artifact.
      *
@@ -75,7 +79,8 @@ public class MgmtDownloadArtifactResource implements MgmtDownloadArtifactRestApi
         }
 
         return FileStreamingUtil.writeFileResponse(file, artifact.getFilename(), artifact.getCreatedAt(),
-                requestResponseContextHolder.getHttpServletResponse(), request, null);
+                requestResponseContextHolder.getHttpServletResponse(), request, null,
+                serverProperties.getDownload().isZeroCopy());
     }
 
 }
@@ -10,6 +10,7 @@ package org.eclipse.hawkbit.mgmt.rest.resource;
 
 import java.io.InputStream;
 
+import org.eclipse.hawkbit.HawkbitServerProperties;
 import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.cache.DownloadArtifactCache;
@@ -42,11 +43,15 @@ public class MgmtDownloadResource implements MgmtDownloadRestApi {
 
     private final RequestResponseContextHolder requestResponseContextHolder;
 
+    private final HawkbitServerProperties serverProperties;
+
     MgmtDownloadResource(final ArtifactRepository artifactRepository, final DownloadIdCache downloadIdCache,
-            final RequestResponseContextHolder requestResponseContextHolder) {
+            final RequestResponseContextHolder requestResponseContextHolder,
+            final HawkbitServerProperties serverProperties) {
         this.artifactRepository = artifactRepository;
         this.downloadIdCache = downloadIdCache;
         this.requestResponseContextHolder = requestResponseContextHolder;
+        this.serverProperties = serverProperties;
     }
 
     @Override
@@ -79,7 +84,8 @@ public class MgmtDownloadResource implements MgmtDownloadRestApi {
 
             return FileStreamingUtil.writeFileResponse(artifact, downloadId, 0L,
                     requestResponseContextHolder.getHttpServletResponse(),
-                    requestResponseContextHolder.getHttpServletRequest(), null);
+                    requestResponseContextHolder.getHttpServletRequest(), null,
+                    serverProperties.getDownload().isZeroCopy());
 
         } finally {
             downloadIdCache.evict(downloadId);
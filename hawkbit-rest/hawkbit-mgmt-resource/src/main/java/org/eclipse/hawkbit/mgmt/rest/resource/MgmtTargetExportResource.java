@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetExport;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetExportRestApi;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.KeysetSlice;
+import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.model.TargetWithDetails;
+import org.eclipse.hawkbit.rest.util.FileStreamingFailedException;
+import org.eclipse.hawkbit.rest.util.RequestResponseContextHolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * REST Resource handling the export of all targets. The targets are read batch
+ * by batch by keyset paging and each batch is written to the response before
+ * the next one is read, so the memory consumption does not depend on the
+ * number of exported targets.
+ */
+@RestController
+@Scope(value = WebApplicationContext.SCOPE_REQUEST)
+public class MgmtTargetExportResource implements MgmtTargetExportRestApi {
+
+    private static final int BATCH_SIZE = 500;
+    private static final byte[] LINE_SEPARATOR = { '\n' };
+
+    @Autowired
+    private TargetManagement targetManagement;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RequestResponseContextHolder requestResponseContextHolder;
+
+    @Override
+    public ResponseEntity<InputStream> exportTargets(
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+
+        // the first batch is read before the response is committed, i.e. an
+        // invalid query is still answered with a proper error response
+        KeysetSlice<TargetWithDetails> batch = findBatch(rsqlParam, null);
+
+        final HttpServletResponse response = requestResponseContextHolder.getHttpServletResponse();
+        response.setContentType(MgmtRestConstants.MEDIA_TYPE_NDJSON);
+        final ObjectWriter writer = objectMapper.writerFor(MgmtTargetExport.class);
+        try {
+            final OutputStream out = response.getOutputStream();
+            writeBatch(batch, writer, out);
+            while (batch.hasNext()) {
+                batch = findBatch(rsqlParam, batch.getNextToken().orElse(null));
+                writeBatch(batch, writer, out);
+            }
+        } catch (final IOException e) {
+            throw new FileStreamingFailedException("targetExport", e);
+        }
+
+        return ResponseEntity.ok().build();
+    }
+
+    private KeysetSlice<TargetWithDetails> findBatch(final String rsqlParam, final String continuationToken) {
+        final KeysetPageRequest request = KeysetPageRequest.of(Direction.ASC, "id", BATCH_SIZE, continuationToken);
+        if (rsqlParam != null) {
+            return targetManagement.findWithDetailsByRsqlAndKeyset(request, rsqlParam);
+        }
+        return targetManagement.findWithDetailsByKeyset(request);
+    }
+
+    private static void writeBatch(final KeysetSlice<TargetWithDetails> batch, final ObjectWriter writer,
+            final OutputStream out) throws IOException {
+        for (final TargetWithDetails details : batch.getContent()) {
+            out.write(writer.writeValueAsBytes(MgmtTargetMapper.toExportResponse(details)));
+            out.write(LINE_SEPARATOR);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportResult;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetRequestBody;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetImportRestApi;
+import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.rest.util.RequestResponseContextHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * REST Resource handling the bulk import of targets. The request body is read
+ * line by line and the targets are created chunk by chunk, so the memory
+ * consumption does not depend on the number of imported targets.
+ */
+@RestController
+@Scope(value = WebApplicationContext.SCOPE_REQUEST)
+public class MgmtTargetImportResource implements MgmtTargetImportRestApi {
+    private static final Logger LOG = LoggerFactory.getLogger(MgmtTargetImportResource.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private TargetManagement targetManagement;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityFactory entityFactory;
+
+    @Autowired
+    private RequestResponseContextHolder requestResponseContextHolder;
+
+    @Override
+    public ResponseEntity<MgmtTargetImportResult> importTargets() {
+        final HttpServletRequest request = requestResponseContextHolder.getHttpServletRequest();
+        final MgmtTargetImportResult result = new MgmtTargetImportResult();
+        final ObjectReader targetReader = objectMapper.readerFor(MgmtTargetRequestBody.class);
+
+        try (final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            final List<MgmtTargetRequestBody> chunk = new ArrayList<>(CHUNK_SIZE);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                chunk.add(readTarget(targetReader, line, lineNumber, request));
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, result);
+                }
+            }
+            importChunk(chunk, result);
+        } catch (final IOException e) {
+            throw new HttpMessageNotReadableException("Failed to read the targets to import", e,
+                    new ServletServerHttpRequest(request));
+        }
+
+        LOG.debug("{} targets imported, {} skipped", result.getCreated(), result.getSkipped());
+        return ResponseEntity.ok(result);
+    }
+
+    private static MgmtTargetRequestBody readTarget(final ObjectReader targetReader, final String line,
+            final long lineNumber, final HttpServletRequest request) {
+        try {
+            return targetReader.readValue(line);
+        } catch (final IOException e) {
+            throw new HttpMessageNotReadableException("Invalid target in line " + lineNumber, e,
+                    new ServletServerHttpRequest(request));
+        }
+    }
+
+    private void importChunk(final List<MgmtTargetRequestBody> chunk, final MgmtTargetImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        final int created = targetManagement.createInBulk(MgmtTargetMapper.fromRequest(entityFactory, chunk)).size();
+        result.setCreated(result.getCreated() + created);
+        result.setSkipped(result.getSkipped() + chunk.size() - created);
+        chunk.clear();
+    }
+}
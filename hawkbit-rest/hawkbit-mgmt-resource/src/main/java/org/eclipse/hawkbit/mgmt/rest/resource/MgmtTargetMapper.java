@@ -25,6 +25,9 @@ import org.eclipse.hawkbit.mgmt.json.model.MgmtPollStatus;
 import org.eclipse.hawkbit.mgmt.json.model.action.MgmtAction;
 import org.eclipse.hawkbit.mgmt.json.model.action.MgmtActionStatus;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTarget;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetAttributes;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetDistributionSet;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetExport;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetRequestBody;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtDistributionSetRestApi;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
@@ -37,10 +40,13 @@ import org.eclipse.hawkbit.repository.builder.TargetCreate;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.MetaData;
 import org.eclipse.hawkbit.repository.model.PollStatus;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetMetadata;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.model.TargetWithDetails;
 import org.eclipse.hawkbit.rest.data.ResponseList;
 import org.eclipse.hawkbit.rest.data.SortDirection;
 import org.eclipse.hawkbit.util.IpUtil;
@@ -72,7 +78,7 @@ public final class MgmtTargetMapper {
                 .withRel(MgmtRestConstants.TARGET_V1_ATTRIBUTES));
         response.add(linkTo(methodOn(MgmtTargetRestApi.class).getActionHistory(response.getControllerId(), 0,
                 MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE,
-                ActionFields.ID.getFieldName() + ":" + SortDirection.DESC, null))
+                ActionFields.ID.getFieldName() + ":" + SortDirection.DESC, null, null))
                         .withRel(MgmtRestConstants.TARGET_V1_ACTIONS).expand());
         response.add(linkTo(methodOn(MgmtTargetRestApi.class).getMetadata(response.getControllerId(),
                 MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
@@ -119,6 +125,46 @@ public final class MgmtTargetMapper {
             return null;
         }
         final MgmtTarget targetRest = new MgmtTarget();
+        mapTarget(target, targetRest);
+
+        targetRest.add(linkTo(methodOn(MgmtTargetRestApi.class).getTarget(target.getControllerId())).withSelfRel());
+
+        return targetRest;
+    }
+
+    /**
+     * Create an export entry for a target with its details.
+     *
+     * @param details
+     *            the target with its details
+     * @return the export entry without links
+     */
+    static MgmtTargetExport toExportResponse(final TargetWithDetails details) {
+        final MgmtTargetExport targetRest = new MgmtTargetExport();
+        mapTarget(details.getTarget(), targetRest);
+
+        final MgmtTargetAttributes attributes = new MgmtTargetAttributes();
+        attributes.putAll(details.getControllerAttributes());
+        targetRest.setAttributes(attributes);
+        targetRest.setTags(details.getTags().stream().map(TargetTag::getName).collect(Collectors.toList()));
+        targetRest.setMetadata(toResponseTargetMetadata(details.getMetadata()));
+        details.getAssignedDistributionSet()
+                .ifPresent(set -> targetRest.setAssignedDistributionSet(toExportResponse(set)));
+        details.getInstalledDistributionSet()
+                .ifPresent(set -> targetRest.setInstalledDistributionSet(toExportResponse(set)));
+
+        return targetRest;
+    }
+
+    private static MgmtTargetDistributionSet toExportResponse(final DistributionSet distributionSet) {
+        final MgmtTargetDistributionSet setRest = new MgmtTargetDistributionSet();
+        setRest.setId(distributionSet.getId());
+        setRest.setName(distributionSet.getName());
+        setRest.setVersion(distributionSet.getVersion());
+        return setRest;
+    }
+
+    private static void mapTarget(final Target target, final MgmtTarget targetRest) {
         targetRest.setControllerId(target.getControllerId());
         targetRest.setDescription(target.getDescription());
         targetRest.setName(target.getName());
@@ -151,10 +197,6 @@ public final class MgmtTargetMapper {
         if (installationDate != null) {
             targetRest.setInstalledAt(installationDate);
         }
-
-        targetRest.add(linkTo(methodOn(MgmtTargetRestApi.class).getTarget(target.getControllerId())).withSelfRel());
-
-        return targetRest;
     }
 
     static List<TargetCreate> fromRequest(final EntityFactory entityFactory,
@@ -245,8 +287,8 @@ public final class MgmtTargetMapper {
 
         result.add(linkTo(methodOn(MgmtTargetRestApi.class).getActionStatusList(controllerId, action.getId(), 0,
                 MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE,
-                ActionStatusFields.ID.getFieldName() + ":" + SortDirection.DESC))
-                        .withRel(MgmtRestConstants.TARGET_V1_ACTION_STATUS));
+                ActionStatusFields.ID.getFieldName() + ":" + SortDirection.DESC, null))
+                        .withRel(MgmtRestConstants.TARGET_V1_ACTION_STATUS).expand());
 
         return result;
     }
@@ -8,12 +8,18 @@
  */
 package org.eclipse.hawkbit.mgmt.rest.resource;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.repository.ActionFields;
 import org.eclipse.hawkbit.repository.ActionStatusFields;
 import org.eclipse.hawkbit.repository.DistributionSetFields;
 import org.eclipse.hawkbit.repository.DistributionSetMetadataFields;
 import org.eclipse.hawkbit.repository.DistributionSetTypeFields;
+import org.eclipse.hawkbit.repository.FieldNameProvider;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
 import org.eclipse.hawkbit.repository.RolloutFields;
 import org.eclipse.hawkbit.repository.RolloutGroupFields;
 import org.eclipse.hawkbit.repository.SoftwareModuleFields;
@@ -22,9 +28,12 @@ import org.eclipse.hawkbit.repository.SoftwareModuleTypeFields;
 import org.eclipse.hawkbit.repository.TagFields;
 import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetFilterQueryFields;
+import org.eclipse.hawkbit.rest.exception.SortParameterUnsupportedFieldException;
 import org.eclipse.hawkbit.rest.util.SortUtility;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.util.StringUtils;
 
 /**
  * Utility class for for paged body generation.
@@ -127,6 +136,34 @@ public final class PagingUtility {
         return new Sort(SortUtility.parse(ActionStatusFields.class, sortParam));
     }
 
+    /**
+     * Creates the request of the cursor based paging. Cursor based paging
+     * supports sorting by a single non {@code null} field only, i.e. the given
+     * sorting has to contain one of the supported fields.
+     * 
+     * @param sorting
+     *            the sanitized sorting
+     * @param limit
+     *            the sanitized limit
+     * @param cursorParam
+     *            the continuation token or an empty string for the first page
+     * @param supportedFields
+     *            the fields which are supported for cursor based paging
+     * @return the keyset page request
+     * 
+     * @throws SortParameterUnsupportedFieldException
+     *             if the sorting is not supported for cursor based paging
+     */
+    static KeysetPageRequest toKeysetPageRequest(final Sort sorting, final int limit, final String cursorParam,
+            final FieldNameProvider... supportedFields) {
+        final List<Order> orders = sorting.stream().collect(Collectors.toList());
+        if (orders.size() != 1 || Arrays.stream(supportedFields)
+                .noneMatch(field -> field.getFieldName().equals(orders.get(0).getProperty()))) {
+            throw new SortParameterUnsupportedFieldException();
+        }
+        return new KeysetPageRequest(orders.get(0), limit, StringUtils.isEmpty(cursorParam) ? null : cursorParam);
+    }
+
     static Sort sanitizeDistributionSetMetadataSortParam(final String sortParam) {
         if (sortParam == null) {
             // default
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.junit.Test;
+
+import com.jayway.jsonpath.JsonPath;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Spring MVC Tests against the MgmtTargetExportResource.
+ */
+@Feature("Component Tests - Management API")
+@Story("Target Export Resource")
+public class MgmtTargetExportResourceTest extends AbstractManagementApiIntegrationTest {
+
+    @Test
+    @Description("Verifies that all targets are exported with their details as newline delimited JSON, "
+            + "also if more than one batch is read.")
+    public void exportTargets() throws Exception {
+        final List<Target> targets = testdataFactory.createTargets(501);
+        final Target target = targets.get(0);
+        final TargetTag tag = targetTagManagement.create(entityFactory.tag().create().name("exported"));
+        targetManagement.assignTag(Collections.singletonList(target.getControllerId()), tag.getId());
+        controllerManagement.updateControllerAttributes(target.getControllerId(),
+                Collections.singletonMap("revision", "1.1"), null);
+        targetManagement.createMetaData(target.getControllerId(),
+                Collections.singletonList(entityFactory.generateTargetMetadata("key", "value")));
+        final DistributionSet set = testdataFactory.createDistributionSet("exported");
+        assignDistributionSet(set.getId(), target.getControllerId());
+
+        final List<String> lines = exportTargets(null);
+
+        assertThat(lines).hasSize(501);
+        assertThat(lines.stream().map(line -> JsonPath.<String> read(line, "$.controllerId")))
+                .containsExactlyInAnyOrderElementsOf(
+                        targets.stream().map(Target::getControllerId).collect(Collectors.toList()));
+
+        final String exported = lines.stream()
+                .filter(line -> target.getControllerId().equals(JsonPath.read(line, "$.controllerId"))).findAny()
+                .orElseThrow(() -> new AssertionError("target not exported"));
+        assertThat(JsonPath.<Map<String, Object>> read(exported, "$")).doesNotContainKeys("links", "_links");
+        assertThat(JsonPath.<String> read(exported, "$.attributes.revision")).isEqualTo("1.1");
+        assertThat(JsonPath.<List<String>> read(exported, "$.tags")).containsExactly("exported");
+        assertThat(JsonPath.<String> read(exported, "$.metadata[0].key")).isEqualTo("key");
+        assertThat(JsonPath.<String> read(exported, "$.metadata[0].value")).isEqualTo("value");
+        assertThat(JsonPath.<Integer> read(exported, "$.assignedDistributionSet.id").longValue())
+                .isEqualTo(set.getId());
+        assertThat(JsonPath.<String> read(exported, "$.assignedDistributionSet.version"))
+                .isEqualTo(set.getVersion());
+        assertThat(JsonPath.<Map<String, Object>> read(exported, "$")).doesNotContainKey("installedDistributionSet");
+    }
+
+    @Test
+    @Description("Verifies that the exported targets can be filtered by RSQL and that an invalid query is rejected.")
+    public void exportTargetsByRsql() throws Exception {
+        final List<Target> targets = testdataFactory.createTargets(3);
+
+        final List<String> lines = exportTargets("controllerId==" + targets.get(1).getControllerId());
+        assertThat(lines).hasSize(1);
+        assertThat(JsonPath.<String> read(lines.get(0), "$.controllerId"))
+                .isEqualTo(targets.get(1).getControllerId());
+
+        mvc.perform(get(MgmtRestConstants.TARGET_EXPORT_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_SEARCH, "unknown==value"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+    }
+
+    private List<String> exportTargets(final String rsqlParam) throws Exception {
+        final String response = mvc
+                .perform(rsqlParam == null ? get(MgmtRestConstants.TARGET_EXPORT_V1_REQUEST_MAPPING)
+                        : get(MgmtRestConstants.TARGET_EXPORT_V1_REQUEST_MAPPING)
+                                .param(MgmtRestConstants.REQUEST_PARAMETER_SEARCH, rsqlParam))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(content().contentType(MgmtRestConstants.MEDIA_TYPE_NDJSON)).andReturn().getResponse()
+                .getContentAsString();
+        return Arrays.stream(response.split("\n")).filter(line -> !line.isEmpty()).collect(Collectors.toList());
+    }
+}
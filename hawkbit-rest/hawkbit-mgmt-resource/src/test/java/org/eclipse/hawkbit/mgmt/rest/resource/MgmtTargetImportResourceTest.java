@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.event.remote.TargetBulkCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.test.matcher.Expect;
+import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Spring MVC Tests against the MgmtTargetImportResource.
+ */
+@Feature("Component Tests - Management API")
+@Story("Target Import Resource")
+public class MgmtTargetImportResourceTest extends AbstractManagementApiIntegrationTest {
+
+    @Test
+    @Description("Verifies that the targets of the newline delimited JSON body are imported chunk by chunk and that "
+            + "existing and duplicate controller IDs are skipped.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = TargetBulkCreatedEvent.class, count = 2) })
+    public void importTargets() throws Exception {
+        testdataFactory.createTarget("target0");
+        final String body = IntStream.range(0, 501)
+                .mapToObj(i -> "{\"controllerId\":\"target" + i + "\",\"name\":\"imported" + i + "\"}")
+                .collect(Collectors.joining("\n")) + "\n\n{\"controllerId\":\"target1\"}\n";
+
+        mvc.perform(post(MgmtRestConstants.TARGET_IMPORT_V1_REQUEST_MAPPING)
+                .contentType(MgmtRestConstants.MEDIA_TYPE_NDJSON).content(body)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk()).andExpect(jsonPath("$.created", equalTo(500)))
+                .andExpect(jsonPath("$.skipped", equalTo(2)));
+
+        assertThat(targetManagement.count()).isEqualTo(501);
+        assertThat(targetManagement.getByControllerID("target0").get().getName()).isEqualTo("target0");
+        assertThat(targetManagement.getByControllerID("target500").get().getName()).isEqualTo("imported500");
+    }
+
+    @Test
+    @Description("Verifies that a body which is not well formed or contains an invalid target is rejected.")
+    public void importInvalidTargets() throws Exception {
+        mvc.perform(post(MgmtRestConstants.TARGET_IMPORT_V1_REQUEST_MAPPING)
+                .contentType(MgmtRestConstants.MEDIA_TYPE_NDJSON).content("{\"controllerId\":\"target0\"}\n{"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+
+        mvc.perform(post(MgmtRestConstants.TARGET_IMPORT_V1_REQUEST_MAPPING)
+                .contentType(MgmtRestConstants.MEDIA_TYPE_NDJSON).content("{\"name\":\"noControllerId\"}"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+
+        assertThat(targetManagement.count()).isZero();
+    }
+}
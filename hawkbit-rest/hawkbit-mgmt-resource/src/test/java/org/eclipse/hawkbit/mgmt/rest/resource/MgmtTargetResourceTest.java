@@ -143,6 +143,76 @@ public class MgmtTargetResourceTest extends AbstractManagementApiIntegrationTest
                 .andExpect(jsonPath("content.[1].type", equalTo("canceling")));
     }
 
+    @Test
+    @Description("Ensures that all targets are retrieved by cursor based paging without counting the total.")
+    public void getTargetsByCursor() throws Exception {
+        final List<String> controllerIds = testdataFactory.createTargets(5).stream().map(Target::getControllerId)
+                .sorted().collect(Collectors.toList());
+
+        final List<String> found = new LinkedList<>();
+        String cursor = "";
+        while (cursor != null) {
+            final MvcResult result = mvc
+                    .perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                            .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, "2")
+                            .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, cursor))
+                    .andExpect(status().isOk()).andDo(MockMvcResultPrinter.print())
+                    .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL).doesNotExist()).andReturn();
+            final String response = result.getResponse().getContentAsString();
+            found.addAll(JsonPath.read(response, "$.content[*].controllerId"));
+            cursor = JsonPath.<Map<String, Object>> read(response, JSON_PATH_ROOT).containsKey("next")
+                    ? JsonPath.read(response, "$.next")
+                    : null;
+        }
+
+        assertThat(found).isEqualTo(controllerIds);
+    }
+
+    @Test
+    @Description("Ensures that cursor based paging is rejected for unsupported sort fields and invalid continuation tokens.")
+    public void getTargetsByCursorWithInvalidParameters() throws Exception {
+        testdataFactory.createTargets(2);
+
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_SORTING, "DESCRIPTION:ASC")
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, "")).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isBadRequest()).andExpect(jsonPath("$.errorCode",
+                        equalTo(SpServerError.SP_REST_SORT_PARAM_INVALID_FIELD.getKey())));
+
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, "invalid"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest()).andExpect(jsonPath(
+                        "$.errorCode", equalTo(SpServerError.SP_REPO_INVALID_CONTINUATION_TOKEN.getKey())));
+    }
+
+    @Test
+    @Description("Ensures that the actions of a target are retrieved by cursor based paging.")
+    public void getActionHistoryByCursor() throws Exception {
+        final String knownTargetId = "targetId";
+        final List<Action> actions = generateTargetWithTwoUpdatesWithOneOverride(knownTargetId);
+        final long newestActionId = Math.max(actions.get(0).getId(), actions.get(1).getId());
+        final long oldestActionId = Math.min(actions.get(0).getId(), actions.get(1).getId());
+
+        final String response = mvc
+                .perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "/" + knownTargetId + "/"
+                        + MgmtRestConstants.TARGET_V1_ACTIONS).param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, "1")
+                                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, ""))
+                .andExpect(status().isOk()).andDo(MockMvcResultPrinter.print())
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL).doesNotExist())
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_SIZE, equalTo(1)))
+                .andExpect(jsonPath("content.[0].id", equalTo((int) newestActionId)))
+                .andExpect(jsonPath("$.next", notNullValue())).andReturn().getResponse().getContentAsString();
+        final String next = JsonPath.read(response, "$.next");
+
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "/" + knownTargetId + "/"
+                + MgmtRestConstants.TARGET_V1_ACTIONS).param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, "1")
+                        .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, next))
+                .andExpect(status().isOk()).andDo(MockMvcResultPrinter.print())
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_SIZE, equalTo(1)))
+                .andExpect(jsonPath("content.[0].id", equalTo((int) oldestActionId)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
     @Test
     @Description("Ensures that security token is not returned if user does not have READ_TARGET_SEC_TOKEN permission.")
     @WithUser(allSpPermissions = false, authorities = { SpPermission.READ_TARGET, SpPermission.CREATE_TARGET })
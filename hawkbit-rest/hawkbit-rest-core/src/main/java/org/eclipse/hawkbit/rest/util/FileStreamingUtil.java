@@ -12,9 +12,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
@@ -46,10 +52,45 @@ public final class FileStreamingUtil {
 
     private static final int BUFFER_SIZE = 0x2000; // 8k
 
+    // request attributes of the Tomcat connector sendfile support
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_FILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final LongAdder SHIPPED_BYTES = new LongAdder();
+    private static final LongAdder SENDFILE_BYTES = new LongAdder();
+    private static final LongAdder FAILED_STREAMS = new LongAdder();
+
     private FileStreamingUtil() {
 
     }
 
+    /**
+     * @return number of artifact bytes written to the clients since startup,
+     *         counted when the range has been written
+     */
+    public static long getShippedBytes() {
+        return SHIPPED_BYTES.sum();
+    }
+
+    /**
+     * @return number of artifact bytes handed over to the container sendfile
+     *         support since startup, the container writes them after the
+     *         request has been handled
+     */
+    public static long getSendfileBytes() {
+        return SENDFILE_BYTES.sum();
+    }
+
+    /**
+     * @return number of artifact downloads which failed since startup, e.g.
+     *         because the client closed the connection
+     */
+    public static long getFailedStreamCount() {
+        return FAILED_STREAMS.sum();
+    }
+
     /**
      * Write a md5 file response.
      *
@@ -121,8 +162,58 @@ public final class FileStreamingUtil {
     public static ResponseEntity<InputStream> writeFileResponse(final AbstractDbArtifact artifact,
             final String filename, final long lastModified, final HttpServletResponse response,
             final HttpServletRequest request, final FileStreamingProgressListener progressListener) {
+        return writeFileResponse(artifact, filename, lastModified, response, request, progressListener, false);
+    }
+
+    /**
+     * <p>
+     * Write response with target relation and publishes events concerning the
+     * download progress based on given update action status.
+     * </p>
+     *
+     * <p>
+     * The request supports RFC7233 range requests. If zero-copy is enabled, the
+     * artifact is backed by a local file (see
+     * {@link AbstractDbArtifact#getFilePath()}), the servlet container supports
+     * sendfile and no progress has to be reported, a single range is handed
+     * over to the container. In all other cases the artifact is copied to the
+     * response, ranges of local files are read by means of a
+     * {@link FileChannel} and ranges of other artifacts by means of
+     * {@link AbstractDbArtifact#openSeekableChannel()} if the repository
+     * supports positional reads.
+     * </p>
+     *
+     * @param artifact
+     *            the artifact
+     * @param filename
+     *            to be written to the client response
+     * @param lastModified
+     *            unix timestamp of the artifact
+     * @param response
+     *            to be sent back to the requesting client
+     * @param request
+     *            from the client
+     * @param progressListener
+     *            to write progress updates to
+     * @param zeroCopy
+     *            <code>true</code> to hand file-backed artifacts over to the
+     *            sendfile support of the servlet container
+     *
+     * @return http response
+     *
+     * @see <a href="https://tools.ietf.org/html/rfc7233">https://tools.ietf.org
+     *      /html/rfc7233</a>
+     * 
+     * @throws FileStreamingFailedException
+     *             if streaming fails
+     */
+    public static ResponseEntity<InputStream> writeFileResponse(final AbstractDbArtifact artifact,
+            final String filename, final long lastModified, final HttpServletResponse response,
+            final HttpServletRequest request, final FileStreamingProgressListener progressListener,
+            final boolean zeroCopy) {
 
         ResponseEntity<InputStream> result;
+        final Path file = zeroCopy ? artifact.getFilePath().orElse(null) : null;
 
         final String etag = artifact.getHashes().getSha1();
         final long length = artifact.getSize();
@@ -173,33 +264,35 @@ public final class FileStreamingUtil {
         // full request - no range
         if (ranges.isEmpty() || ranges.get(0).equals(full)) {
             LOG.debug("filename ({}) results into a full request: ", filename);
-            result = handleFullFileRequest(artifact, filename, response, progressListener, full);
+            result = handleFullFileRequest(artifact, file, filename, response, request, progressListener, full);
         }
         // standard range request
         else if (ranges.size() == 1) {
             LOG.debug("filename ({}) results into a standard range request: ", filename);
-            result = handleStandardRangeRequest(artifact, filename, response, progressListener, ranges);
+            result = handleStandardRangeRequest(artifact, file, filename, response, request, progressListener,
+                    ranges);
         }
         // multipart range request
         else {
             LOG.debug("filename ({}) results into a multipart range request: ", filename);
-            result = handleMultipartRangeRequest(artifact, filename, response, progressListener, ranges);
+            result = handleMultipartRangeRequest(artifact, file, filename, response, progressListener, ranges);
         }
 
         return result;
     }
 
     private static ResponseEntity<InputStream> handleFullFileRequest(final AbstractDbArtifact artifact,
-            final String filename, final HttpServletResponse response,
-            final FileStreamingProgressListener progressListener, final ByteRange full) {
+            final Path file, final String filename, final HttpServletResponse response,
+            final HttpServletRequest request, final FileStreamingProgressListener progressListener,
+            final ByteRange full) {
         final ByteRange r = full;
         response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
         response.setContentLengthLong(r.getLength());
 
-        try (InputStream from = artifact.getFileInputStream()) {
-            final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+        try {
+            writeSingleRange(artifact, file, filename, response, request, progressListener, r);
         } catch (final IOException e) {
+            FAILED_STREAMS.increment();
             throw new FileStreamingFailedException("fullfileRequest " + filename, e);
         }
 
@@ -258,33 +351,32 @@ public final class FileStreamingUtil {
     }
 
     private static ResponseEntity<InputStream> handleMultipartRangeRequest(final AbstractDbArtifact artifact,
-            final String filename, final HttpServletResponse response,
+            final Path file, final String filename, final HttpServletResponse response,
             final FileStreamingProgressListener progressListener, final List<ByteRange> ranges) {
 
         response.setContentType("multipart/byteranges; boundary=" + ByteRange.MULTIPART_BOUNDARY);
         response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
-        try {
+        // the artifact is opened only once for all ranges if possible
+        try (SeekableByteChannel seekable = openSeekableChannel(artifact, file)) {
             final ServletOutputStream to = response.getOutputStream();
 
             for (final ByteRange r : ranges) {
-                try (InputStream from = artifact.getFileInputStream()) {
-
-                    // Add multipart boundary and header fields for every range.
-                    to.println();
-                    to.println("--" + ByteRange.MULTIPART_BOUNDARY);
-                    to.println(HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/"
-                            + r.getTotal());
-
-                    // Copy single part range of multi part range.
-                    copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
-                }
+                // Add multipart boundary and header fields for every range.
+                to.println();
+                to.println("--" + ByteRange.MULTIPART_BOUNDARY);
+                to.println(
+                        HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
+
+                // Copy single part range of multi part range.
+                copyRange(artifact, seekable, to, progressListener, r, filename);
             }
 
             // End with final multipart boundary.
             to.println();
             to.print("--" + ByteRange.MULTIPART_BOUNDARY + "--");
         } catch (final IOException e) {
+            FAILED_STREAMS.increment();
             throw new FileStreamingFailedException("multipartRangeRequest " + filename, e);
         }
 
@@ -292,17 +384,18 @@ public final class FileStreamingUtil {
     }
 
     private static ResponseEntity<InputStream> handleStandardRangeRequest(final AbstractDbArtifact artifact,
-            final String filename, final HttpServletResponse response,
-            final FileStreamingProgressListener progressListener, final List<ByteRange> ranges) {
+            final Path file, final String filename, final HttpServletResponse response,
+            final HttpServletRequest request, final FileStreamingProgressListener progressListener,
+            final List<ByteRange> ranges) {
         final ByteRange r = ranges.get(0);
         response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
         response.setContentLengthLong(r.getLength());
         response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
-        try (InputStream from = artifact.getFileInputStream()) {
-            final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+        try {
+            writeSingleRange(artifact, file, filename, response, request, progressListener, r);
         } catch (final IOException e) {
+            FAILED_STREAMS.increment();
             LOG.error("standardRangeRequest of file ({}) failed!", filename, e);
             throw new FileStreamingFailedException(filename);
         }
@@ -310,6 +403,55 @@ public final class FileStreamingUtil {
         return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).build();
     }
 
+    private static void writeSingleRange(final AbstractDbArtifact artifact, final Path file, final String filename,
+            final HttpServletResponse response, final HttpServletRequest request,
+            final FileStreamingProgressListener progressListener, final ByteRange r) throws IOException {
+
+        // the container writes the file after the request has been handled
+        // and does not tell when it is done, so the file is only handed over
+        // if no progress has to be reported
+        if (file != null && progressListener == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            LOG.trace("Hand over file {} from {} to {} to the container sendfile support", filename, r.getStart(),
+                    r.getEnd());
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_FILE_START_ATTR, r.getStart());
+            request.setAttribute(SENDFILE_FILE_END_ATTR, r.getEnd() + 1);
+            SENDFILE_BYTES.add(r.getLength());
+            return;
+        }
+
+        try (SeekableByteChannel seekable = openSeekableChannel(artifact, file)) {
+            copyRange(artifact, seekable, response.getOutputStream(), progressListener, r, filename);
+        }
+    }
+
+    private static SeekableByteChannel openSeekableChannel(final AbstractDbArtifact artifact, final Path file)
+            throws IOException {
+        return file != null ? FileChannel.open(file, StandardOpenOption.READ)
+                : artifact.openSeekableChannel().orElse(null);
+    }
+
+    /**
+     * Copies a range of the artifact. If the artifact supports positional reads
+     * only the bytes of the range are read, otherwise the bytes in front of the
+     * range have to be skipped.
+     */
+    private static long copyRange(final AbstractDbArtifact artifact, final SeekableByteChannel seekable,
+            final OutputStream to, final FileStreamingProgressListener progressListener, final ByteRange r,
+            final String filename) throws IOException {
+        if (seekable != null) {
+            seekable.position(r.getStart());
+            // not closed on purpose as this would close the channel
+            return copyStreams(Channels.newInputStream(seekable), to, progressListener, 0, r.getLength(),
+                    filename);
+        }
+
+        try (InputStream from = artifact.getFileInputStream()) {
+            return copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+        }
+    }
+
     private static long copyStreams(final InputStream from, final OutputStream to,
             final FileStreamingProgressListener progressListener, final long start, final long length,
             final String filename) throws IOException {
@@ -320,32 +462,63 @@ public final class FileStreamingUtil {
         Preconditions.checkNotNull(from);
         Preconditions.checkNotNull(to);
         final byte[] buf = new byte[BUFFER_SIZE];
-        long total = 0;
-        int progressPercent = 1;
+        final ProgressTracker progress = new ProgressTracker(progressListener, length);
 
-        ByteStreams.skipFully(from, start);
+        if (start > 0) {
+            ByteStreams.skipFully(from, start);
+        }
 
+        // never read beyond the end of the range
         long toRead = length;
-        boolean toContinue = true;
-        long shippedSinceLastEvent = 0;
-
-        while (toContinue) {
-            final int r = from.read(buf);
+        while (toRead > 0) {
+            final int r = from.read(buf, 0, (int) Math.min(buf.length, toRead));
             if (r == -1) {
                 break;
             }
 
+            to.write(buf, 0, r);
+            progress.shipped(r);
             toRead -= r;
-            if (toRead > 0) {
-                to.write(buf, 0, r);
-                total += r;
-                shippedSinceLastEvent += r;
-            } else {
-                to.write(buf, 0, (int) toRead + r);
-                total += toRead + r;
-                shippedSinceLastEvent += toRead + r;
-                toContinue = false;
-            }
+        }
+
+        return finish(filename, length, progress.getTotal(), startMillis);
+    }
+
+    private static long finish(final String filename, final long length, final long total, final long startMillis) {
+        final long totalTime = System.currentTimeMillis() - startMillis;
+        SHIPPED_BYTES.add(total);
+
+        if (total < length) {
+            FAILED_STREAMS.increment();
+            throw new FileStreamingFailedException(filename + ": " + (length - total)
+                    + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
+        }
+
+        LOG.trace("Finished copy-stream of file {} with length {} in {} ms", filename, length, totalTime);
+
+        return total;
+    }
+
+    /**
+     * Keeps track of the shipped bytes of a single range and notifies the
+     * {@link FileStreamingProgressListener} every 10 percent.
+     */
+    private static final class ProgressTracker {
+        private final FileStreamingProgressListener progressListener;
+        private final long length;
+
+        private long total;
+        private long shippedSinceLastEvent;
+        private int progressPercent = 1;
+
+        private ProgressTracker(final FileStreamingProgressListener progressListener, final long length) {
+            this.progressListener = progressListener;
+            this.length = length;
+        }
+
+        private void shipped(final long shipped) {
+            total += shipped;
+            shippedSinceLastEvent += shipped;
 
             if (progressListener != null) {
                 final int newPercent = DoubleMath.roundToInt(total * 100.0 / length, RoundingMode.DOWN);
@@ -359,16 +532,9 @@ public final class FileStreamingUtil {
             }
         }
 
-        final long totalTime = System.currentTimeMillis() - startMillis;
-
-        if (total < length) {
-            throw new FileStreamingFailedException(filename + ": " + (length - total)
-                    + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
+        private long getTotal() {
+            return total;
         }
-
-        LOG.trace("Finished copy-stream of file {} with length {} in {} ms", filename, length, totalTime);
-
-        return total;
     }
 
     private static final class ByteRange {
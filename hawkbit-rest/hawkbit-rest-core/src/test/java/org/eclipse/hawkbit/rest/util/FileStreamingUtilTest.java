@@ -0,0 +1,348 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Artifact Download")
+@Story("File streaming")
+public class FileStreamingUtilTest {
+
+    private static final int SIZE = 5 * 1024 * 1024;
+    private static final int RESUME_SIZE = 1024 * 1024;
+    private static final String FILENAME = "artifact.bin";
+
+    private static Path file;
+    private static byte[] content;
+
+    @BeforeClass
+    public static void createArtifact() throws IOException {
+        content = new byte[SIZE];
+        new Random().nextBytes(content);
+        file = Files.createTempFile(FileStreamingUtilTest.class.getSimpleName(), "");
+        Files.write(file, content);
+    }
+
+    @AfterClass
+    public static void deleteArtifact() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @Description("Verifies that the zero-copy mode ships the same full file as the stream based mode.")
+    public void fullFileIsIdenticalInBothModes() {
+        for (final boolean zeroCopy : new boolean[] { false, true }) {
+            final MockHttpServletResponse response = new MockHttpServletResponse();
+            final AtomicLong reported = new AtomicLong();
+
+            FileStreamingUtil.writeFileResponse(fileBackedArtifact(file, SIZE), FILENAME, 1L, response,
+                    new MockHttpServletRequest(),
+                    (length, shippedSinceLastEvent, total) -> reported.addAndGet(shippedSinceLastEvent), zeroCopy);
+
+            assertThat(response.getContentAsByteArray()).isEqualTo(content);
+            assertThat(reported.get()).isEqualTo(SIZE);
+        }
+    }
+
+    @Test
+    @Description("Verifies that the zero-copy mode ships the same single range as the stream based mode.")
+    public void singleRangeIsIdenticalInBothModes() {
+        for (final boolean zeroCopy : new boolean[] { false, true }) {
+            final MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("Range", "bytes=1000-500999");
+            final MockHttpServletResponse response = new MockHttpServletResponse();
+
+            FileStreamingUtil.writeFileResponse(fileBackedArtifact(file, SIZE), FILENAME, 1L, response, request,
+                    null, zeroCopy);
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+            assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 1000, 501000));
+        }
+    }
+
+    @Test
+    @Description("Verifies that the zero-copy mode ships the same multipart ranges as the stream based mode.")
+    public void multipartRangeIsIdenticalInBothModes() {
+        final byte[][] results = new byte[2][];
+        for (final boolean zeroCopy : new boolean[] { false, true }) {
+            final MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("Range", "bytes=0-99,2000-2999,-100");
+            final MockHttpServletResponse response = new MockHttpServletResponse();
+
+            FileStreamingUtil.writeFileResponse(fileBackedArtifact(file, SIZE), FILENAME, 1L, response, request,
+                    null, zeroCopy);
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+            results[zeroCopy ? 1 : 0] = response.getContentAsByteArray();
+        }
+
+        assertThat(results[1]).isEqualTo(results[0]);
+    }
+
+    @Test
+    @Description("Verifies that the file is handed over to the container if sendfile is supported.")
+    public void fileIsHandedOverToContainerSendfileSupport() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=100-");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileStreamingUtil.writeFileResponse(fileBackedArtifact(file, SIZE), FILENAME, 1L, response, request, null,
+                true);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getContentLengthLong()).isEqualTo(SIZE - 100L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(file.toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(100L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo((long) SIZE);
+    }
+
+    @Test
+    @Description("Verifies that the file is copied instead of handed over to the container if the progress has to be reported, and that the progress and the shipped bytes are reported once the bytes have been written.")
+    public void fileIsCopiedIfProgressIsReported() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final AtomicLong reported = new AtomicLong();
+        final long shippedBefore = FileStreamingUtil.getShippedBytes();
+        final long sendfileBefore = FileStreamingUtil.getSendfileBytes();
+
+        FileStreamingUtil.writeFileResponse(fileBackedArtifact(file, SIZE), FILENAME, 1L, response, request,
+                (length, shippedSinceLastEvent, total) -> {
+                    assertThat(response.getContentAsByteArray()).hasSize((int) total);
+                    reported.addAndGet(shippedSinceLastEvent);
+                }, true);
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isNull();
+        assertThat(reported.get()).isEqualTo(SIZE);
+        assertThat(FileStreamingUtil.getShippedBytes() - shippedBefore).isEqualTo(SIZE);
+        assertThat(FileStreamingUtil.getSendfileBytes()).isEqualTo(sendfileBefore);
+    }
+
+    @Test
+    @Description("Verifies that the zero-copy mode falls back to stream copying for artifacts that are not file-backed.")
+    public void zeroCopyFallsBackForNonFileArtifacts() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileStreamingUtil.writeFileResponse(streamBackedArtifact(file, SIZE), FILENAME, 1L, response, request, null,
+                true);
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isNull();
+    }
+
+    @Test
+    @Description("Verifies that only the bytes of the requested ranges are read from artifacts supporting positional reads.")
+    public void rangesAreReadByPositionalReads() {
+        final AtomicLong read = new AtomicLong();
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=4000000-4000999");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileStreamingUtil.writeFileResponse(seekableArtifact(file, SIZE, read), FILENAME, 1L, response, request,
+                null, false);
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 4000000, 4001000));
+        assertThat(read.get()).isEqualTo(1000);
+
+        read.set(0);
+        final MockHttpServletRequest multipartRequest = new MockHttpServletRequest();
+        multipartRequest.addHeader("Range", "bytes=0-99,2000-2999,-100");
+        response = new MockHttpServletResponse();
+
+        FileStreamingUtil.writeFileResponse(seekableArtifact(file, SIZE, read), FILENAME, 1L, response,
+                multipartRequest, null, false);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(read.get()).isEqualTo(1200);
+    }
+
+    @Test
+    @Description("Verifies that a resumed download reads the bytes in front of the range only if the artifact does not support positional reads.")
+    public void resumeReadsOnlyTheRangeByPositionalReads() {
+        final long offset = SIZE - RESUME_SIZE;
+        final AtomicLong skipRead = new AtomicLong();
+        final AtomicLong seekRead = new AtomicLong();
+
+        resume(skippingArtifact(file, SIZE, skipRead), offset);
+        resume(seekableArtifact(file, SIZE, seekRead), offset);
+
+        assertThat(skipRead.get()).isEqualTo(offset + RESUME_SIZE);
+        assertThat(seekRead.get()).isEqualTo(RESUME_SIZE);
+    }
+
+    private static void resume(final AbstractDbArtifact artifact, final long offset) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=" + offset + "-" + (offset + RESUME_SIZE - 1));
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileStreamingUtil.writeFileResponse(artifact, FILENAME, 1L, response, request, null, false);
+
+        assertThat(response.getContentAsByteArray())
+                .isEqualTo(Arrays.copyOfRange(content, (int) offset, (int) offset + RESUME_SIZE));
+    }
+
+    private static AbstractDbArtifact streamBackedArtifact(final Path path, final long size) {
+        return new AbstractDbArtifact("1", new DbArtifactHash("sha1", "md5", "sha256"), size, null) {
+            @Override
+            public InputStream getFileInputStream() {
+                try {
+                    return Files.newInputStream(path);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Artifact of a repository that does not support seeking, e.g. a remote
+     * blob store, i.e. skipped bytes are read and discarded.
+     */
+    private static AbstractDbArtifact skippingArtifact(final Path path, final long size, final AtomicLong read) {
+        return new AbstractDbArtifact("1", new DbArtifactHash("sha1", "md5", "sha256"), size, null) {
+            @Override
+            public InputStream getFileInputStream() {
+                return new FilterInputStream(streamBackedArtifact(path, size).getFileInputStream()) {
+                    @Override
+                    public int read(final byte[] b, final int off, final int len) throws IOException {
+                        final int r = super.read(b, off, len);
+                        read.addAndGet(Math.max(r, 0));
+                        return r;
+                    }
+
+                    @Override
+                    public int available() {
+                        return 0;
+                    }
+
+                    @Override
+                    public long skip(final long n) {
+                        return 0;
+                    }
+                };
+            }
+        };
+    }
+
+    private static AbstractDbArtifact seekableArtifact(final Path path, final long size, final AtomicLong read) {
+        return new AbstractDbArtifact("1", new DbArtifactHash("sha1", "md5", "sha256"), size, null) {
+            @Override
+            public InputStream getFileInputStream() {
+                throw new UnsupportedOperationException("ranges have to be read by positional reads");
+            }
+
+            @Override
+            public Optional<SeekableByteChannel> openSeekableChannel() {
+                try {
+                    return Optional.of(new CountingChannel(Files.newByteChannel(path), read));
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private static AbstractDbArtifact fileBackedArtifact(final Path path, final long size) {
+        return new AbstractDbArtifact("1", new DbArtifactHash("sha1", "md5", "sha256"), size, null) {
+            @Override
+            public InputStream getFileInputStream() {
+                return streamBackedArtifact(path, size).getFileInputStream();
+            }
+
+            @Override
+            public Optional<Path> getFilePath() {
+                return Optional.of(path);
+            }
+        };
+    }
+
+    private static final class CountingChannel implements SeekableByteChannel {
+        private final SeekableByteChannel channel;
+        private final AtomicLong read;
+
+        private CountingChannel(final SeekableByteChannel channel, final AtomicLong read) {
+            this.channel = channel;
+            this.read = read;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) throws IOException {
+            final int r = channel.read(dst);
+            read.addAndGet(Math.max(r, 0));
+            return r;
+        }
+
+        @Override
+        public int write(final ByteBuffer src) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public SeekableByteChannel position(final long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(final long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -30,6 +30,7 @@ public final class ApiModelPropertiesGeneric {
     // Paging elements
     public static final String SIZE = "Current page size";
     public static final String TOTAL_ELEMENTS = "Total number of elements";
+    public static final String NEXT_TOKEN = "Continuation token of the next page in case of cursor based paging, missing on the last page";
     public static final String SELF_LINKS_TO_RESOURCE = "Links to the given resource itself";
 
     private ApiModelPropertiesGeneric() {
@@ -39,6 +40,9 @@ public final class ApiModelPropertiesGeneric {
     // parameters
     public static final String OFFSET = "The paging offset (default is 0).";
     public static final String LIMIT = "The maximum number of entries in a page (default is 50).";
+    public static final String CURSOR = "Continuation token of cursor based paging. An empty value requests the first page, "
+            + "the following pages are requested with the token of the previous page. The offset is ignored, the total "
+            + "is not counted and the sort parameter is restricted to a single field.";
     public static final String SORT = "The query parameter sort allows to define the sort order for the result of a query. "
             + "A sort criteria consists of the name of a field and the sort direction (ASC for ascending and DESC descending). "
             + "The sequence of the sort criteria (multiple can be used) defines the sort order of the entities in the result.";
@@ -117,6 +117,10 @@ public final class MgmtApiModelProperties {
 
     public static final String TARGET_LIST = "List of provisioning targets.";
 
+    public static final String TARGET_IMPORT_CREATED = "Number of created targets.";
+
+    public static final String TARGET_IMPORT_SKIPPED = "Number of skipped targets with an existing controller ID.";
+
     public static final String SM_LIST = "List of software modules.";
 
     public static final String ROLLOUT_LIST = "list of rollouts";
@@ -14,6 +14,7 @@ import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuild
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.put;
+import static org.springframework.restdocs.payload.PayloadDocumentation.relaxedResponseFields;
 import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
 import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
@@ -118,6 +119,27 @@ public class TargetResourceDocumentationTest extends AbstractApiRestDocumentatio
                 .andDo(this.document.document(getFilterRequestParamter()));
     }
 
+    @Test
+    @Description("Handles the GET request of retrieving all targets within SP by cursor based paging. Required Permission: READ_TARGET.")
+    public void getTargetsWithCursor() throws Exception {
+        testdataFactory.createTargets(2);
+
+        mockMvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "?limit=1&sort=name:ASC&cursor="))
+                .andExpect(status().isOk()).andDo(MockMvcResultPrinter.print())
+                .andDo(this.document.document(
+                        requestParameters(
+                                parameterWithName("limit").attributes(key("type").value("query"))
+                                        .description(ApiModelPropertiesGeneric.LIMIT),
+                                parameterWithName("sort").description(ApiModelPropertiesGeneric.SORT),
+                                parameterWithName("cursor").description(ApiModelPropertiesGeneric.CURSOR)),
+                        relaxedResponseFields(
+                                fieldWithPath("size").type(JsonFieldType.NUMBER)
+                                        .description(ApiModelPropertiesGeneric.SIZE),
+                                fieldWithPath("next").type(JsonFieldType.STRING)
+                                        .description(ApiModelPropertiesGeneric.NEXT_TOKEN),
+                                fieldWithPath("content").description(MgmtApiModelProperties.TARGET_LIST))));
+    }
+
     @Test
     @Description("Handles the POST request of creating new targets within SP. The request body must always be a list of targets. Required Permission: CREATE_TARGET.")
     public void postTargets() throws Exception {
@@ -792,6 +814,36 @@ public class TargetResourceDocumentationTest extends AbstractApiRestDocumentatio
                                         .description(MgmtApiModelProperties.META_DATA_VALUE))));
     }
 
+    @Test
+    @Description("Handles the GET request of exporting all targets with their details as newline delimited JSON. "
+            + "Required Permission: READ_TARGET.")
+    public void exportTargets() throws Exception {
+        final Target target = testdataFactory.createTarget(targetId);
+        targetManagement.createMetaData(target.getControllerId(),
+                Collections.singletonList(entityFactory.generateTargetMetadata("key", "value")));
+
+        mockMvc.perform(get(MgmtRestConstants.TARGET_EXPORT_V1_REQUEST_MAPPING).param("q", "name==" + targetId))
+                .andExpect(status().isOk()).andDo(MockMvcResultPrinter.print())
+                .andDo(this.document.document(requestParameters(
+                        parameterWithName("q").description(ApiModelPropertiesGeneric.FIQL))));
+    }
+
+    @Test
+    @Description("Handles the POST request of importing targets in bulk from newline delimited JSON. "
+            + "Required Permission: CREATE_TARGET.")
+    public void importTargets() throws Exception {
+        testdataFactory.createTarget("existing");
+        final String body = "{\"controllerId\":\"existing\"}\n"
+                + "{\"controllerId\":\"new\",\"name\":\"imported\",\"securityToken\":\"2345678DGGDGFTDzztgf\"}\n";
+
+        mockMvc.perform(post(MgmtRestConstants.TARGET_IMPORT_V1_REQUEST_MAPPING)
+                .contentType(MgmtRestConstants.MEDIA_TYPE_NDJSON).content(body)).andExpect(status().isOk())
+                .andDo(MockMvcResultPrinter.print())
+                .andDo(this.document.document(responseFields(
+                        fieldWithPath("created").description(MgmtApiModelProperties.TARGET_IMPORT_CREATED),
+                        fieldWithPath("skipped").description(MgmtApiModelProperties.TARGET_IMPORT_SKIPPED))));
+    }
+
     private String createTargetJsonForPostRequest(final String controllerId, final String name,
             final String description) throws JsonProcessingException {
         final Map<String, Object> target = new HashMap<>();
@@ -8,9 +8,15 @@
  */
 package org.eclipse.hawkbit.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.springframework.security.crypto.codec.Hex;
-import org.springframework.security.crypto.keygen.BytesKeyGenerator;
-import org.springframework.security.crypto.keygen.KeyGenerators;
 
 /**
  * A security token generator service which can be used to generate security
@@ -20,7 +26,7 @@ import org.springframework.security.crypto.keygen.KeyGenerators;
 public class SecurityTokenGenerator {
 
     private static final int TOKEN_LENGTH = 16;
-    private static final BytesKeyGenerator SECURE_RANDOM = KeyGenerators.secureRandom(TOKEN_LENGTH);
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
     /**
      * Generates a random secure token of {@link #TOKEN_LENGTH} bytes length as
@@ -29,6 +35,46 @@ public class SecurityTokenGenerator {
      * @return a new generated random alphanumeric string.
      */
     public String generateToken() {
-        return new String(Hex.encode(SECURE_RANDOM.generateKey()));
+        final byte[] key = new byte[TOKEN_LENGTH];
+        SECURE_RANDOM.nextBytes(key);
+        return new String(Hex.encode(key));
+    }
+
+    /**
+     * Generates the given number of random secure tokens like
+     * {@link #generateToken()}, but with a single request of random bytes
+     * for all tokens.
+     * 
+     * @param count
+     *            of the tokens to generate
+     * @return the generated tokens
+     */
+    public List<String> generateTokens(final int count) {
+        final byte[] keys = new byte[TOKEN_LENGTH * count];
+        SECURE_RANDOM.nextBytes(keys);
+
+        final List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tokens.add(new String(Hex.encode(Arrays.copyOfRange(keys, i * TOKEN_LENGTH, (i + 1) * TOKEN_LENGTH))));
+        }
+        return tokens;
+    }
+
+    /**
+     * Hashes a security token so that it can be kept in memory, e.g. in a
+     * cache, and compared without holding the token itself.
+     * 
+     * @param token
+     *            to hash
+     * @return the SHA-256 hash of the token as hexadecimal string
+     */
+    public static String hashToken(final String token) {
+        try {
+            return new String(
+                    Hex.encode(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8))));
+        } catch (final NoSuchAlgorithmException e) {
+            // every Java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -12,7 +12,6 @@ import java.util.Optional;
 
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
-import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.slf4j.Logger;
@@ -67,7 +66,9 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
         if ((authHeader != null) && authHeader.startsWith(TARGET_SECURITY_TOKEN_AUTH_SCHEME)) {
             LOGGER.debug("found authorization header with scheme {} using target security token for authentication",
                     TARGET_SECURITY_TOKEN_AUTH_SCHEME);
-            return new HeaderAuthentication(controllerId, authHeader.substring(OFFSET_TARGET_TOKEN));
+            // compared with the hash of the token which is kept in memory
+            return new HeaderAuthentication(controllerId,
+                    SecurityTokenGenerator.hashToken(authHeader.substring(OFFSET_TARGET_TOKEN)));
         }
         LOGGER.debug(
                 "security token filter is enabled but requst does not contain either the necessary path variables {} or the authorization header with scheme {}",
@@ -77,25 +78,23 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
 
     @Override
     public HeaderAuthentication getPreAuthenticatedCredentials(final DmfTenantSecurityToken securityToken) {
-        final Optional<Target> target = systemSecurityContext.runAsSystemAsTenant(() -> {
-            if (securityToken.getTargetId() != null) {
-                return controllerManagement.get(securityToken.getTargetId());
-            }
-            return controllerManagement.getByControllerId(securityToken.getControllerId());
-        }, securityToken.getTenant());
+        return systemSecurityContext.runAsSystemAsTenant(() -> {
+            final Optional<String> controllerId = securityToken.getTargetId() != null
+                    ? controllerManagement.getControllerIdByTargetId(securityToken.getTargetId())
+                    : Optional.ofNullable(securityToken.getControllerId());
 
-        return target.map(t -> new HeaderAuthentication(t.getControllerId(),
-                systemSecurityContext.runAsSystemAsTenant(() -> t.getSecurityToken(), securityToken.getTenant())))
-                .orElse(null);
+            return controllerId.flatMap(id -> controllerManagement.getSecurityTokenHashByControllerId(id)
+                    .map(token -> new HeaderAuthentication(id, token))).orElse(null);
+        }, securityToken.getTenant());
     }
 
     private String resolveControllerId(final DmfTenantSecurityToken securityToken) {
         if (securityToken.getControllerId() != null) {
             return securityToken.getControllerId();
         }
-        final Optional<Target> foundTarget = systemSecurityContext.runAsSystemAsTenant(
-                () -> controllerManagement.get(securityToken.getTargetId()), securityToken.getTenant());
-        return foundTarget.map(Target::getControllerId).orElse(null);
+        return systemSecurityContext.runAsSystemAsTenant(
+                () -> controllerManagement.getControllerIdByTargetId(securityToken.getTargetId()),
+                securityToken.getTenant()).orElse(null);
     }
 
     @Override
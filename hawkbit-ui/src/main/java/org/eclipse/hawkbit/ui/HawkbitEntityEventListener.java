@@ -18,6 +18,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.hawkbit.ui.common.event.EntityModifiedEventPayload;
+import org.eclipse.hawkbit.ui.common.event.EntityModifiedEventPayload.EntityModifiedEventType;
 import org.eclipse.hawkbit.ui.common.event.EntityModifiedEventPayloadIdentifier;
 import org.eclipse.hawkbit.ui.common.event.EventTopics;
 import org.eclipse.hawkbit.ui.components.NotificationUnreadButton;
@@ -102,8 +103,16 @@ public class HawkbitEntityEventListener {
 
         @EventBusListenerMethod(scope = EventScope.UI)
         private void onRemoteEventReceived(final EntityModifiedEventPayload eventPayload) {
-            if (eventPayload.getEntityType() == null || eventPayload.getEntityModifiedEventType() == null
-                    || CollectionUtils.isEmpty(eventPayload.getEntityIds())) {
+            if (eventPayload.getEntityType() == null || eventPayload.getEntityModifiedEventType() == null) {
+                return;
+            }
+
+            if (eventPayload.getEntityModifiedEventType() == EntityModifiedEventType.ENTITY_REFRESHED) {
+                onRefreshReceived(eventPayload);
+                return;
+            }
+
+            if (CollectionUtils.isEmpty(eventPayload.getEntityIds())) {
                 return;
             }
 
@@ -125,10 +134,32 @@ public class HawkbitEntityEventListener {
             });
         }
 
+        private void onRefreshReceived(final EntityModifiedEventPayload eventPayload) {
+            // the modifications of a deferred event type are still notified,
+            // only the refresh is dispatched instead of the entity IDs
+            final EntityModifiedEventPayloadIdentifier refreshedIdentifier = new EntityModifiedEventPayloadIdentifier(
+                    eventPayload.getParentType(), eventPayload.getEntityType(),
+                    eventPayload.getRefreshedEventType());
+            final Optional<EntityModifiedEventPayloadIdentifier> deferredIdentifier = getEventPayloadIdentifierFromProvider(
+                    refreshedIdentifier).filter(EntityModifiedEventPayloadIdentifier::shouldBeDeffered);
+
+            if (deferredIdentifier.isPresent()) {
+                notificationUnreadButton.incrementUnreadNotification(deferredIdentifier.get().getNotificationType(),
+                        eventPayload);
+            } else {
+                eventBus.publish(EventTopics.ENTITY_MODIFIED, UI.getCurrent(), eventPayload);
+            }
+        }
+
         private Optional<EntityModifiedEventPayloadIdentifier> getEventPayloadIdentifierFromProvider(
                 final EntityModifiedEventPayload eventPayload) {
-            return eventProvider.getEvents().values().stream().filter(providedIdentifier -> providedIdentifier
-                    .equals(EntityModifiedEventPayloadIdentifier.of(eventPayload))).findAny();
+            return getEventPayloadIdentifierFromProvider(EntityModifiedEventPayloadIdentifier.of(eventPayload));
+        }
+
+        private Optional<EntityModifiedEventPayloadIdentifier> getEventPayloadIdentifierFromProvider(
+                final EntityModifiedEventPayloadIdentifier eventPayloadIdentifier) {
+            return eventProvider.getEvents().values().stream()
+                    .filter(providedIdentifier -> providedIdentifier.equals(eventPayloadIdentifier)).findAny();
         }
 
         private Collection<Long> getRemotelyModifiedEntityIds(
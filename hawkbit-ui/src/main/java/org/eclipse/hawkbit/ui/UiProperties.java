@@ -512,6 +512,13 @@ public class UiProperties implements Serializable {
              */
             private long delay = TimeUnit.SECONDS.toMillis(2);
 
+            /**
+             * Maximum number of entity IDs that are collected per tenant
+             * within the delay. Further modifications of an entity type lead
+             * to a refresh of the entity type in the UI.
+             */
+            private int maxEntityIds = 10_000;
+
             public long getDelay() {
                 return delay;
             }
@@ -519,6 +526,14 @@ public class UiProperties implements Serializable {
             public void setDelay(final long delay) {
                 this.delay = delay;
             }
+
+            public int getMaxEntityIds() {
+                return maxEntityIds;
+            }
+
+            public void setMaxEntityIds(final int maxEntityIds) {
+                this.maxEntityIds = maxEntityIds;
+            }
         }
 
         private final Push push = new Push();
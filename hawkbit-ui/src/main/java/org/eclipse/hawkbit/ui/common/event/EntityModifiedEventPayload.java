@@ -23,6 +23,8 @@ public class EntityModifiedEventPayload {
     private final Long parentId;
     private final Class<? extends ProxyIdentifiableEntity> entityType;
     private final Collection<Long> entityIds;
+    private final EntityModifiedEventType refreshedEventType;
+    private final int refreshedEntityCount;
 
     /**
      * Constructor for EntityModifiedEventPayload
@@ -127,11 +129,20 @@ public class EntityModifiedEventPayload {
     public EntityModifiedEventPayload(final EntityModifiedEventType entityModifiedEventType,
             final Class<? extends ProxyIdentifiableEntity> parentType, final Long parentId,
             final Class<? extends ProxyIdentifiableEntity> entityType, final Collection<Long> entityIds) {
+        this(entityModifiedEventType, parentType, parentId, entityType, entityIds, null, 0);
+    }
+
+    private EntityModifiedEventPayload(final EntityModifiedEventType entityModifiedEventType,
+            final Class<? extends ProxyIdentifiableEntity> parentType, final Long parentId,
+            final Class<? extends ProxyIdentifiableEntity> entityType, final Collection<Long> entityIds,
+            final EntityModifiedEventType refreshedEventType, final int refreshedEntityCount) {
         this.entityModifiedEventType = entityModifiedEventType;
         this.parentType = parentType;
         this.parentId = parentId;
         this.entityType = entityType;
         this.entityIds = entityIds;
+        this.refreshedEventType = refreshedEventType;
+        this.refreshedEntityCount = refreshedEntityCount;
     }
 
     /**
@@ -169,6 +180,44 @@ public class EntityModifiedEventPayload {
         return entityIds;
     }
 
+    /**
+     * @return the type of the modifications that caused a payload of type
+     *         {@link EntityModifiedEventType#ENTITY_REFRESHED}, otherwise the
+     *         type of the payload
+     */
+    public EntityModifiedEventType getRefreshedEventType() {
+        return entityModifiedEventType == EntityModifiedEventType.ENTITY_REFRESHED ? refreshedEventType
+                : entityModifiedEventType;
+    }
+
+    /**
+     * @return Number of modified entities, for a payload of type
+     *         {@link EntityModifiedEventType#ENTITY_REFRESHED} the number of
+     *         modifications that have been collected before the entities had
+     *         to be refreshed
+     */
+    public int getEntityCount() {
+        return entityModifiedEventType == EntityModifiedEventType.ENTITY_REFRESHED ? refreshedEntityCount
+                : entityIds.size();
+    }
+
+    /**
+     * Converts the payload into a payload of type
+     * {@link EntityModifiedEventType#ENTITY_REFRESHED}, e.g. to merge it with
+     * a refresh of the same entity type.
+     *
+     * @param additionalEntityCount
+     *          Number of modified entities that are added to the entity count
+     *          of this payload
+     *
+     * @return Payload requesting the refresh of all entities of the type
+     */
+    public EntityModifiedEventPayload toRefresh(final int additionalEntityCount) {
+        return new EntityModifiedEventPayload(EntityModifiedEventType.ENTITY_REFRESHED, parentType, parentId,
+                entityType, Collections.emptyList(), getRefreshedEventType(),
+                getEntityCount() + additionalEntityCount);
+    }
+
     /**
      * Static method for constructor EntityModifiedEventPayload
      *
@@ -202,10 +251,37 @@ public class EntityModifiedEventPayload {
         return of(eventPayloadIdentifier, null, entityIds);
     }
 
+    /**
+     * Static method for a payload of type
+     * {@link EntityModifiedEventType#ENTITY_REFRESHED}
+     *
+     * @param eventPayloadIdentifier
+     *          EntityModifiedEventPayloadIdentifier of the modified entities
+     * @param parentId
+     *          Parent id
+     * @param entityCount
+     *          Number of collected modifications of the entities
+     *
+     * @return Payload requesting the refresh of all entities of the type
+     */
+    public static EntityModifiedEventPayload refresh(
+            final EntityModifiedEventPayloadIdentifier eventPayloadIdentifier, final Long parentId,
+            final int entityCount) {
+        return new EntityModifiedEventPayload(EntityModifiedEventType.ENTITY_REFRESHED,
+                eventPayloadIdentifier.getParentType(), parentId, eventPayloadIdentifier.getEntityType(),
+                Collections.emptyList(), eventPayloadIdentifier.getModifiedEventType(), entityCount);
+    }
+
     /**
      * Event type of modified entity
      */
     public enum EntityModifiedEventType {
-        ENTITY_ADDED, ENTITY_UPDATED, ENTITY_REMOVED;
+        ENTITY_ADDED, ENTITY_UPDATED, ENTITY_REMOVED,
+
+        /**
+         * Too many entities of the type have been modified to list them, the
+         * entities have to be reloaded completely.
+         */
+        ENTITY_REFRESHED;
     }
 }
@@ -87,6 +87,9 @@ public class EntityModifiedListener<T extends ProxyIdentifiableEntity> extends T
         case ENTITY_REMOVED:
             handleEntitiesModified(support -> support.onEntitiesDeleted(entityIds));
             break;
+        case ENTITY_REFRESHED:
+            handleEntitiesModified(EntityModifiedAwareSupport::onEntitiesRefreshed);
+            break;
         }
     }
 
@@ -148,6 +151,13 @@ public class EntityModifiedListener<T extends ProxyIdentifiableEntity> extends T
         default void onEntitiesDeleted(final Collection<Long> entityIds) {
             // do nothing by default
         }
+
+        /**
+         * On too many modified entities to list them
+         */
+        default void onEntitiesRefreshed() {
+            // do nothing by default
+        }
     }
 
     /**
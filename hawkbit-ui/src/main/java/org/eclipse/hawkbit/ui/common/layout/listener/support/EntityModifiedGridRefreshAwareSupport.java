@@ -79,4 +79,9 @@ public class EntityModifiedGridRefreshAwareSupport implements EntityModifiedAwar
     public void onEntitiesDeleted(final Collection<Long> entityIds) {
         refreshGridCallback.run();
     }
+
+    @Override
+    public void onEntitiesRefreshed() {
+        refreshGridCallback.run();
+    }
 }
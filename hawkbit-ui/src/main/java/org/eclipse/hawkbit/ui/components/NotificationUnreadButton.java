@@ -13,6 +13,7 @@ import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.hawkbit.ui.common.event.EntityModifiedEventPayload;
+import org.eclipse.hawkbit.ui.common.event.EntityModifiedEventPayload.EntityModifiedEventType;
 import org.eclipse.hawkbit.ui.common.event.EventNotificationType;
 import org.eclipse.hawkbit.ui.common.event.EventTopics;
 import org.eclipse.hawkbit.ui.utils.UIComponentIdProvider;
@@ -146,7 +147,7 @@ public class NotificationUnreadButton extends Button {
     private Label buildEventNotificationLabel(
             final Entry<EventNotificationType, EntityModifiedEventPayload> remotelyOriginatedEvent) {
         final EventNotificationType notificationType = remotelyOriginatedEvent.getKey();
-        final int modifiedEntitiesCount = remotelyOriginatedEvent.getValue().getEntityIds().size();
+        final int modifiedEntitiesCount = remotelyOriginatedEvent.getValue().getEntityCount();
         String message = "";
         if (modifiedEntitiesCount == 1) {
             message = i18n.getMessage(notificationType.getNotificationMessageKeySing());
@@ -174,19 +175,31 @@ public class NotificationUnreadButton extends Button {
      * @param notificationType
      *            notification type for message
      * @param eventPayload
-     *            EntityModifiedEventPayload
+     *            EntityModifiedEventPayload, a payload of type
+     *            {@link EntityModifiedEventType#ENTITY_REFRESHED} refreshes
+     *            the entities when the notifications are read
      */
     public void incrementUnreadNotification(final EventNotificationType notificationType,
             final EntityModifiedEventPayload eventPayload) {
         remotelyOriginatedEventsStore.merge(notificationType, eventPayload, (oldEventPayload, newEventPayload) -> {
             // currently we do not support parent aware differed events,
             // thus ignoring parentId of the incoming eventPayload
+            if (isRefresh(oldEventPayload)) {
+                return oldEventPayload.toRefresh(newEventPayload.getEntityCount());
+            }
+            if (isRefresh(newEventPayload)) {
+                return newEventPayload.toRefresh(oldEventPayload.getEntityCount());
+            }
             oldEventPayload.getEntityIds().addAll(newEventPayload.getEntityIds());
 
             return oldEventPayload;
         });
 
-        unreadNotificationCounter += eventPayload.getEntityIds().size();
+        unreadNotificationCounter += eventPayload.getEntityCount();
         refreshCaption();
     }
+
+    private static boolean isRefresh(final EntityModifiedEventPayload eventPayload) {
+        return eventPayload.getEntityModifiedEventType() == EntityModifiedEventType.ENTITY_REFRESHED;
+    }
 }
@@ -0,0 +1,415 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ui.push;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.event.EventLane;
+import org.eclipse.hawkbit.repository.event.EventLaneAware;
+import org.eclipse.hawkbit.repository.event.entity.EntityIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetBulkCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.ui.common.event.EntityModifiedEventPayload;
+import org.eclipse.hawkbit.ui.common.event.EntityModifiedEventPayloadIdentifier;
+import org.eclipse.hawkbit.ui.push.event.ActionChangedEvent;
+import org.eclipse.hawkbit.ui.push.event.ParentIdAwareEvent;
+import org.eclipse.hawkbit.ui.push.event.RolloutChangedEvent;
+import org.eclipse.hawkbit.ui.push.event.RolloutGroupChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.SmartApplicationListener;
+
+/**
+ * Collects the {@link EntityIdEvent}s of the repository once for all UIs of
+ * the node. The IDs of the modified entities are deduplicated per tenant,
+ * event type and parent entity and dispatched every delay milliseconds to the
+ * subscribed UIs, see {@link DelayedEventBusPushStrategy}.
+ *
+ * The number of collected entity IDs is limited per tenant. If the limit is
+ * reached the further modifications of an entity type are not collected
+ * anymore and the UIs are requested to refresh the entity type completely
+ * instead.
+ *
+ * The events are collected on the {@link EventLane#UI} lane, so that the
+ * collection neither delays nor is delayed by the other event listeners.
+ */
+public class UIEventAggregator implements SmartApplicationListener, EventLaneAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UIEventAggregator.class);
+
+    private final ScheduledExecutorService executorService;
+    private final UIEventProvider eventProvider;
+    private final int maxEntityIds;
+
+    private final Map<String, TenantEvents> tenantEvents = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param executorService
+     *            the general scheduler service
+     * @param eventProvider
+     *            the event provider
+     * @param delay
+     *            the delay for the event forwarding. Every delay millisecond
+     *            the events are forwarded to the subscribers
+     * @param maxEntityIds
+     *            the maximum number of entity IDs which are collected per
+     *            tenant within the delay
+     */
+    public UIEventAggregator(final ScheduledExecutorService executorService, final UIEventProvider eventProvider,
+            final long delay, final int maxEntityIds) {
+        this.executorService = executorService;
+        this.eventProvider = eventProvider;
+        this.maxEntityIds = maxEntityIds;
+
+        executorService.scheduleWithFixedDelay(this::dispatch, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribes to the aggregated events of all tenants.
+     *
+     * @param subscriber
+     *            to dispatch the events to
+     */
+    public void subscribe(final Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Cancels a subscription, see {@link #subscribe(Subscriber)}.
+     *
+     * @param subscriber
+     *            to remove
+     */
+    public void unsubscribe(final Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Dispatches the events which have been collected since the last dispatch
+     * to the subscribers. Every subscriber is called in its own task so that
+     * a blocked UI does not delay the others.
+     */
+    void dispatch() {
+        try {
+            final Map<String, List<EventGroup>> events = drain();
+            if (events.isEmpty()) {
+                LOG.debug("UI event aggregator has nothing to do.");
+                return;
+            }
+
+            LOG.debug("UI event aggregator dispatches the events of {} tenants to {} UIs", events.size(),
+                    subscribers.size());
+            subscribers.forEach(subscriber -> executorService.execute(() -> dispatchTo(subscriber, events)));
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to dispatch the events to the UIs", e);
+        }
+    }
+
+    private static void dispatchTo(final Subscriber subscriber, final Map<String, List<EventGroup>> events) {
+        try {
+            subscriber.dispatch(events);
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to dispatch the events to UI subscriber {}", subscriber, e);
+        }
+    }
+
+    private Map<String, List<EventGroup>> drain() {
+        final Map<String, List<EventGroup>> events = new HashMap<>();
+        tenantEvents.keySet().forEach(tenant -> {
+            final TenantEvents drained = tenantEvents.remove(tenant);
+            if (drained != null) {
+                events.put(tenant, drained.toGroups());
+            }
+        });
+        return events;
+    }
+
+    @Override
+    public EventLane getEventLane() {
+        return EventLane.UI;
+    }
+
+    /**
+     * Only the events which are collected for the UIs are dispatched to the
+     * {@link EventLane#UI}, so that e.g. a flood of poll events cannot shed
+     * the entity events from the lane.
+     */
+    @Override
+    public boolean supportsEventType(final Class<? extends ApplicationEvent> eventType) {
+        return EntityIdEvent.class.isAssignableFrom(eventType)
+                || TargetBulkCreatedEvent.class.isAssignableFrom(eventType);
+    }
+
+    /**
+     * An application event publisher subscriber which subscribes
+     * {@link EntityIdEvent} from the repository to collect them for the UIs.
+     *
+     * @param applicationEvent
+     *            the entity event which has been published from the repository
+     */
+    @Override
+    public void onApplicationEvent(final ApplicationEvent applicationEvent) {
+        if (applicationEvent instanceof TargetBulkCreatedEvent) {
+            collectTargetBulkCreatedEvent((TargetBulkCreatedEvent) applicationEvent);
+            return;
+        }
+
+        if (!(applicationEvent instanceof EntityIdEvent)) {
+            return;
+        }
+
+        final EntityIdEvent event = (EntityIdEvent) applicationEvent;
+
+        collectRolloutEvent(event);
+        collectActionUpdatedEvent(event);
+
+        // filter out non-relevant UI events
+        if (!isEventProvided(event)) {
+            LOG.trace("Event is not supported in the UI!!! Dropped event is {}", event);
+            return;
+        }
+
+        collect(event);
+    }
+
+    private void collectRolloutEvent(final EntityIdEvent event) {
+        Long rolloutId;
+        Long rolloutGroupId = null;
+        if (event instanceof ActionCreatedEvent) {
+            rolloutId = ((ActionCreatedEvent) event).getRolloutId();
+            rolloutGroupId = ((ActionCreatedEvent) event).getRolloutGroupId();
+        } else if (event instanceof ActionUpdatedEvent) {
+            rolloutId = ((ActionUpdatedEvent) event).getRolloutId();
+            rolloutGroupId = ((ActionUpdatedEvent) event).getRolloutGroupId();
+        } else if (event instanceof RolloutUpdatedEvent) {
+            rolloutId = ((RolloutUpdatedEvent) event).getEntityId();
+        } else if (event instanceof RolloutGroupCreatedEvent) {
+            rolloutId = ((RolloutGroupCreatedEvent) event).getRolloutId();
+            rolloutGroupId = ((RolloutGroupCreatedEvent) event).getEntityId();
+        } else if (event instanceof RolloutGroupUpdatedEvent) {
+            rolloutId = ((RolloutGroupUpdatedEvent) event).getRolloutId();
+            rolloutGroupId = ((RolloutGroupUpdatedEvent) event).getEntityId();
+        } else {
+            return;
+        }
+
+        if (rolloutId != null) {
+            collect(new RolloutChangedEvent(event.getTenant(), rolloutId));
+        }
+
+        if (rolloutGroupId != null) {
+            collect(new RolloutGroupChangedEvent(event.getTenant(), rolloutId, rolloutGroupId));
+        }
+    }
+
+    private void collectActionUpdatedEvent(final EntityIdEvent event) {
+        if (event instanceof ActionUpdatedEvent) {
+            final Long actionId = ((ActionUpdatedEvent) event).getEntityId();
+            final Long targetId = ((ActionUpdatedEvent) event).getTargetId();
+            collect(new ActionChangedEvent(event.getTenant(), targetId, actionId));
+        }
+    }
+
+    private void collectTargetBulkCreatedEvent(final TargetBulkCreatedEvent event) {
+        if (event.getTenant() == null || !eventProvider.getEvents().containsKey(TargetCreatedEvent.class)) {
+            return;
+        }
+        // the UI handles the targets of the bulk import like created targets
+        final GroupKey key = new GroupKey(TargetCreatedEvent.class, null);
+        event.getTargetIds().forEach(targetId -> collect(event.getTenant(), key, targetId));
+    }
+
+    private boolean isEventProvided(final EntityIdEvent event) {
+        return eventProvider.getEvents().containsKey(event.getClass());
+    }
+
+    private void collect(final EntityIdEvent event) {
+        if (event.getTenant() == null) {
+            return;
+        }
+        final Long parentId = event instanceof ParentIdAwareEvent ? ((ParentIdAwareEvent) event).getParentEntityId()
+                : null;
+        collect(event.getTenant(), new GroupKey(event.getClass(), parentId), event.getEntityId());
+    }
+
+    private void collect(final String tenant, final GroupKey key, final Long entityId) {
+        // retry if the events of the tenant have been drained in the meantime
+        while (!tenantEvents.computeIfAbsent(normalize(tenant), normalized -> new TenantEvents()).add(key,
+                entityId)) {
+            LOG.trace("Events of tenant {} have been drained, retry", tenant);
+        }
+    }
+
+    private static String normalize(final String tenant) {
+        return tenant.toUpperCase();
+    }
+
+    /**
+     * Retrieves the events of a tenant from the events that are dispatched to
+     * a {@link Subscriber}.
+     *
+     * @param events
+     *            the dispatched events
+     * @param tenant
+     *            the tenant
+     * @return the events of the tenant
+     */
+    public static List<EventGroup> getTenantEvents(final Map<String, List<EventGroup>> events,
+            final String tenant) {
+        return events.getOrDefault(normalize(tenant), Collections.emptyList());
+    }
+
+    /**
+     * Subscriber of the aggregated events, see
+     * {@link UIEventAggregator#subscribe(Subscriber)}.
+     */
+    @FunctionalInterface
+    public interface Subscriber {
+
+        /**
+         * Dispatches the collected events.
+         *
+         * @param events
+         *            the events per tenant which have to be retrieved with
+         *            {@link UIEventAggregator#getTenantEvents(Map, String)}
+         */
+        void dispatch(Map<String, List<EventGroup>> events);
+    }
+
+    /**
+     * The deduplicated IDs of the entities of an event type and parent entity
+     * which have been modified since the last dispatch.
+     */
+    public final class EventGroup {
+        private final Class<? extends EntityIdEvent> eventType;
+        private final Long parentId;
+        private final Collection<Long> entityIds;
+        private final int overflowCount;
+
+        private EventGroup(final Class<? extends EntityIdEvent> eventType, final Long parentId,
+                final Collection<Long> entityIds, final int overflowCount) {
+            this.eventType = eventType;
+            this.parentId = parentId;
+            this.entityIds = entityIds;
+            this.overflowCount = overflowCount;
+        }
+
+        public Class<? extends EntityIdEvent> getEventType() {
+            return eventType;
+        }
+
+        /**
+         * @return a new payload for the UI event bus, every UI gets its own
+         *         payload because the entity IDs of the payload are modified
+         *         by the listeners
+         */
+        public EntityModifiedEventPayload toPayload() {
+            final EntityModifiedEventPayloadIdentifier eventPayloadIdentifier = eventProvider.getEvents()
+                    .get(eventType);
+            if (overflowCount > 0) {
+                return EntityModifiedEventPayload.refresh(eventPayloadIdentifier, parentId, overflowCount);
+            }
+            return EntityModifiedEventPayload.of(eventPayloadIdentifier, parentId, new ArrayList<>(entityIds));
+        }
+    }
+
+    private final class TenantEvents {
+        private final Map<GroupKey, Set<Long>> entityIds = new LinkedHashMap<>();
+        // the IDs of overflowed groups are dropped, only the number of
+        // modifications is kept for the notifications of the UI
+        private final Map<GroupKey, Integer> overflows = new LinkedHashMap<>();
+        private int size;
+        private boolean drained;
+
+        private synchronized boolean add(final GroupKey key, final Long entityId) {
+            if (drained) {
+                return false;
+            }
+            if (overflows.computeIfPresent(key, (k, count) -> count + 1) != null) {
+                return true;
+            }
+
+            final Set<Long> ids = entityIds.computeIfAbsent(key, k -> new LinkedHashSet<>());
+            if (ids.contains(entityId)) {
+                return true;
+            }
+
+            if (size >= maxEntityIds) {
+                LOG.debug("Limit of UI events is reached, {} of parent {} has to be refreshed", key.eventType,
+                        key.parentId);
+                overflows.put(key, ids.size() + 1);
+                size -= ids.size();
+                entityIds.remove(key);
+                return true;
+            }
+
+            ids.add(entityId);
+            size++;
+            return true;
+        }
+
+        private synchronized List<EventGroup> toGroups() {
+            drained = true;
+            final List<EventGroup> groups = new ArrayList<>(entityIds.size() + overflows.size());
+            entityIds.forEach((key, ids) -> groups
+                    .add(new EventGroup(key.eventType, key.parentId, Collections.unmodifiableSet(ids), 0)));
+            overflows.forEach((key, count) -> groups
+                    .add(new EventGroup(key.eventType, key.parentId, Collections.emptySet(), count)));
+            return groups;
+        }
+    }
+
+    private static final class GroupKey {
+        private final Class<? extends EntityIdEvent> eventType;
+        private final Long parentId;
+
+        private GroupKey(final Class<? extends EntityIdEvent> eventType, final Long parentId) {
+            this.eventType = eventType;
+            this.parentId = parentId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventType, parentId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final GroupKey other = (GroupKey) obj;
+            return Objects.equals(eventType, other.eventType) && Objects.equals(parentId, other.parentId);
+        }
+    }
+}
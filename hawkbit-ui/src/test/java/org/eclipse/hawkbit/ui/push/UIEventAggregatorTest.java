@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2020 Bosch.IO GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ui.push;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.event.EventLaneExecutor;
+import org.eclipse.hawkbit.event.EventLaneExecutor.SheddingPolicy;
+import org.eclipse.hawkbit.event.LaneAwareApplicationEventMulticaster;
+import org.eclipse.hawkbit.repository.event.EventLane;
+import org.eclipse.hawkbit.repository.event.remote.TargetBulkCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.eclipse.hawkbit.ui.common.data.proxies.ProxyAction;
+import org.eclipse.hawkbit.ui.common.data.proxies.ProxyRollout;
+import org.eclipse.hawkbit.ui.common.data.proxies.ProxyTarget;
+import org.eclipse.hawkbit.ui.common.event.EntityModifiedEventPayload;
+import org.eclipse.hawkbit.ui.common.event.EntityModifiedEventPayload.EntityModifiedEventType;
+import org.eclipse.hawkbit.ui.push.UIEventAggregator.EventGroup;
+import org.eclipse.hawkbit.ui.push.event.ActionChangedEvent;
+import org.eclipse.hawkbit.ui.push.event.RolloutChangedEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Management UI")
+@Story("UI event aggregation")
+public class UIEventAggregatorTest {
+
+    private final List<Map<String, List<EventGroup>>> dispatched = new ArrayList<>();
+    private UIEventAggregator underTest;
+
+    @Before
+    public void setup() {
+        final ScheduledExecutorService executorService = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(executorService).execute(any(Runnable.class));
+
+        underTest = new UIEventAggregator(executorService, new HawkbitEventProvider(), 2_000, 3);
+        underTest.subscribe(dispatched::add);
+    }
+
+    @Test
+    @Description("Verifies that the entity IDs are deduplicated per tenant, event type and parent entity.")
+    public void eventsAreDeduplicatedPerTenant() {
+        underTest.onApplicationEvent(new RolloutChangedEvent("tenant", 1L));
+        underTest.onApplicationEvent(new RolloutChangedEvent("TENANT", 1L));
+        underTest.onApplicationEvent(new ActionChangedEvent("tenant", 10L, 100L));
+        underTest.onApplicationEvent(new ActionChangedEvent("other", 10L, 100L));
+
+        underTest.dispatch();
+
+        assertThat(dispatched).hasSize(1);
+        final List<EntityModifiedEventPayload> payloads = payloads("Tenant");
+        assertThat(payloads).hasSize(2);
+        assertThat(payloads.get(0).getEntityType()).isEqualTo(ProxyRollout.class);
+        assertThat(payloads.get(0).getEntityIds()).containsExactly(1L);
+        assertThat(payloads.get(1).getEntityType()).isEqualTo(ProxyAction.class);
+        assertThat(payloads.get(1).getParentId()).isEqualTo(10L);
+        assertThat(payloads.get(1).getEntityIds()).containsExactly(100L);
+        assertThat(payloads("other")).hasSize(1);
+        assertThat(payloads("unknown")).isEmpty();
+
+        underTest.dispatch();
+        assertThat(dispatched).hasSize(1);
+    }
+
+    @Test
+    @Description("Verifies that an entity type is refreshed completely if the limit of entity IDs is reached.")
+    public void overflowLeadsToRefresh() {
+        underTest.onApplicationEvent(new ActionChangedEvent("tenant", 10L, 100L));
+        for (long rolloutId = 1; rolloutId <= 5; rolloutId++) {
+            underTest.onApplicationEvent(new RolloutChangedEvent("tenant", rolloutId));
+        }
+
+        underTest.dispatch();
+
+        final List<EntityModifiedEventPayload> payloads = payloads("tenant");
+        assertThat(payloads).hasSize(2);
+        assertThat(payloads.get(0).getEntityType()).isEqualTo(ProxyAction.class);
+        assertThat(payloads.get(0).getEntityIds()).containsExactly(100L);
+        assertThat(payloads.get(1).getEntityType()).isEqualTo(ProxyRollout.class);
+        assertThat(payloads.get(1).getEntityModifiedEventType()).isEqualTo(EntityModifiedEventType.ENTITY_REFRESHED);
+        assertThat(payloads.get(1).getEntityIds()).isEmpty();
+        assertThat(payloads.get(1).getRefreshedEventType()).isEqualTo(EntityModifiedEventType.ENTITY_UPDATED);
+        assertThat(payloads.get(1).getEntityCount()).isEqualTo(5);
+    }
+
+    @Test
+    @Description("Verifies that an overflowed refresh keeps the created event type, so that the UI still notifies the created entities.")
+    public void overflowedCreatedTargetsKeepEventType() {
+        underTest.onApplicationEvent(new TargetBulkCreatedEvent("tenant", "node", Arrays.asList(1L, 2L, 3L, 4L)));
+
+        underTest.dispatch();
+
+        final List<EntityModifiedEventPayload> payloads = payloads("tenant");
+        assertThat(payloads).hasSize(1);
+        assertThat(payloads.get(0).getEntityType()).isEqualTo(ProxyTarget.class);
+        assertThat(payloads.get(0).getEntityModifiedEventType()).isEqualTo(EntityModifiedEventType.ENTITY_REFRESHED);
+        assertThat(payloads.get(0).getRefreshedEventType()).isEqualTo(EntityModifiedEventType.ENTITY_ADDED);
+        assertThat(payloads.get(0).getEntityCount()).isEqualTo(4);
+    }
+
+    @Test
+    @Description("Verifies that the targets of a bulk import are dispatched like created targets.")
+    public void bulkCreatedTargetsAreDispatchedAsCreated() {
+        underTest.onApplicationEvent(new TargetBulkCreatedEvent("tenant", "node", Arrays.asList(1L, 2L)));
+
+        underTest.dispatch();
+
+        final List<EntityModifiedEventPayload> payloads = payloads("tenant");
+        assertThat(payloads).hasSize(1);
+        assertThat(payloads.get(0).getEntityType()).isEqualTo(ProxyTarget.class);
+        assertThat(payloads.get(0).getEntityModifiedEventType()).isEqualTo(EntityModifiedEventType.ENTITY_ADDED);
+        assertThat(payloads.get(0).getEntityIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @Description("Verifies that only the collected events are dispatched to the UI lane, so that a flood of poll events does not shed the entity events.")
+    public void pollEventsDoNotShedEntityEvents() throws InterruptedException {
+        final EventLaneExecutor uiLane = new EventLaneExecutor("ui", 1, 1, 1, 1000, SheddingPolicy.DISCARD_OLDEST,
+                false, null);
+        final LaneAwareApplicationEventMulticaster multicaster = new LaneAwareApplicationEventMulticaster(
+                Collections.singletonMap(EventLane.UI, uiLane));
+        multicaster.addApplicationListener(underTest);
+
+        assertThat(underTest.supportsEventType(TargetPollEvent.class)).isFalse();
+        assertThat(underTest.supportsEventType(RolloutChangedEvent.class)).isTrue();
+        assertThat(underTest.supportsEventType(TargetBulkCreatedEvent.class)).isTrue();
+
+        // the lane is busy and the entity event fills its queue
+        final CountDownLatch blocker = new CountDownLatch(1);
+        uiLane.execute(() -> {
+            try {
+                blocker.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        multicaster.multicastEvent(new RolloutChangedEvent("tenant", 1L));
+        for (int i = 0; i < 100; i++) {
+            multicaster.multicastEvent(new TargetPollEvent("controller" + i, "tenant", "node"));
+        }
+        blocker.countDown();
+        uiLane.shutdown();
+        assertThat(uiLane.getThreadPool().get().awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(uiLane.getShedTaskCount()).isZero();
+        underTest.dispatch();
+        final List<EntityModifiedEventPayload> payloads = payloads("tenant");
+        assertThat(payloads).hasSize(1);
+        assertThat(payloads.get(0).getEntityType()).isEqualTo(ProxyRollout.class);
+        assertThat(payloads.get(0).getEntityIds()).containsExactly(1L);
+    }
+
+    private List<EntityModifiedEventPayload> payloads(final String tenant) {
+        final List<EntityModifiedEventPayload> payloads = new ArrayList<>();
+        UIEventAggregator.getTenantEvents(dispatched.get(0), tenant)
+                .forEach(group -> payloads.add(group.toPayload()));
+        return payloads;
+    }
+}